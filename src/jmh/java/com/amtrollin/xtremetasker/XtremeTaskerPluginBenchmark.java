@@ -0,0 +1,78 @@
+package com.amtrollin.xtremetasker;
+
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.taskpack.BenchmarkPacks;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plugin-side hot paths that don't need a client: the full tier count rebuild (pack load, account
+ * switch) and rolling a random task.
+ * <p>
+ * The plugin is built bare (nothing injected); the private entry points are reached through method
+ * handles rather than widening them for the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XtremeTaskerPluginBenchmark
+{
+    @Param({"0.0", "0.5", "0.95"})
+    public double completedFraction;
+
+    private XtremeTaskerPlugin plugin;
+    private MethodHandle rebuildTierCounts;
+
+    @Setup
+    public void setUp() throws Throwable
+    {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(XtremeTaskerPlugin.class, MethodHandles.lookup());
+        MethodHandle swapCatalog = lookup.findVirtual(XtremeTaskerPlugin.class, "swapCatalog",
+                MethodType.methodType(void.class, TaskCatalog.class, boolean.class));
+        MethodHandle setManualCompleted = lookup.findVirtual(XtremeTaskerPlugin.class, "setManualCompleted",
+                MethodType.methodType(void.class, int.class, boolean.class));
+        rebuildTierCounts = lookup.findVirtual(XtremeTaskerPlugin.class, "rebuildTierCounts",
+                MethodType.methodType(void.class));
+
+        TaskCatalog catalog = BenchmarkPacks.bundled();
+        plugin = new XtremeTaskerPlugin();
+        swapCatalog.invoke(plugin, catalog, true);
+
+        BitSet done = BenchmarkPacks.completions(catalog, completedFraction, 42);
+        for (int ord = done.nextSetBit(0); ord >= 0; ord = done.nextSetBit(ord + 1))
+        {
+            setManualCompleted.invoke(plugin, ord, true);
+        }
+    }
+
+    @Benchmark
+    public void rebuildTierCounts() throws Throwable
+    {
+        rebuildTierCounts.invokeExact(plugin);
+    }
+
+    @Benchmark
+    public XtremeTask rollRandomTask()
+    {
+        return plugin.rollRandomTask();
+    }
+}
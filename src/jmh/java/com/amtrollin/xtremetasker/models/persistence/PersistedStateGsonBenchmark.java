@@ -0,0 +1,123 @@
+package com.amtrollin.xtremetasker.models.persistence;
+
+import com.amtrollin.xtremetasker.enums.TaskSource;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.persistence.PersistedStateCodec;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The account state round trip the plugin does on save/load, at a few completion counts.
+ * Uses the same plain {@code GsonBuilder().create()} instance the plugin does.
+ * <p>
+ * The {@code v2} benchmarks encode the same completions as bitsets over a pack three times the
+ * completion count, starting from the plugin's in-memory form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistedStateGsonBenchmark
+{
+    @Param({"100", "1000", "10000"})
+    public int completed;
+
+    private final Gson gson = new GsonBuilder().create();
+    private PersistedState state;
+    private String json;
+
+    // No archive directory: bits are only ever read back against the same catalog here
+    private final PersistedStateCodec codec = new PersistedStateCodec(null);
+    private TaskCatalog catalog;
+    private final BitSet manualBits = new BitSet();
+    private final BitSet syncedBits = new BitSet();
+    private String jsonV2;
+
+    @Setup
+    public void setUp()
+    {
+        Set<String> manual = new HashSet<>();
+        Set<String> synced = new HashSet<>();
+        List<XtremeTask> tasks = new ArrayList<>();
+        for (int i = 0; i < completed * 3; i++)
+        {
+            // Shaped like the pack's ids: source_tier_slug_nnn_hash
+            String id = String.format("%s_easy_task-%d_001_%010x",
+                    (i & 1) == 0 ? "combat_achievement" : "collection_log", i, (i * 0x9E3779B97F4A7C15L) >>> 24);
+            tasks.add(new XtremeTask(i, id, "Task " + i, TaskSource.COMBAT_ACHIEVEMENT, TaskTier.EASY, null, null, null, null, null));
+            if (i % 3 != 0)
+            {
+                continue;
+            }
+            if (i % 4 == 0)
+            {
+                synced.add(id);
+                syncedBits.set(i);
+            }
+            else
+            {
+                manual.add(id);
+                manualBits.set(i);
+            }
+        }
+
+        state = new PersistedState(manual, synced, manual.iterator().next());
+        json = gson.toJson(state);
+
+        catalog = TaskCatalog.of(tasks);
+        jsonV2 = serializeV2();
+    }
+
+    @Benchmark
+    public String serialize()
+    {
+        return gson.toJson(state);
+    }
+
+    @Benchmark
+    public PersistedState deserialize()
+    {
+        return gson.fromJson(json, PersistedState.class);
+    }
+
+    @Benchmark
+    public PersistedState roundTrip()
+    {
+        return gson.fromJson(gson.toJson(state), PersistedState.class);
+    }
+
+    @Benchmark
+    public String serializeV2()
+    {
+        return gson.toJson(codec.encode(catalog, manualBits, Collections.emptySet(), syncedBits, Collections.emptySet(), state.getCurrentTaskId()));
+    }
+
+    @Benchmark
+    public PersistedState deserializeV2()
+    {
+        return codec.decode(gson.fromJson(jsonV2, PersistedState.class), catalog);
+    }
+}
@@ -0,0 +1,84 @@
+package com.amtrollin.xtremetasker.tasklist;
+
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
+import com.amtrollin.xtremetasker.taskpack.BenchmarkPacks;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full {@link TaskListPipeline#apply} (search, filters, sort) over the bundled pack,
+ * for the query shapes the Tasks tab actually produces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskListPipelineBenchmark
+{
+    @Param({"THIS_TIER", "ALL_TIERS"})
+    public String scope;
+
+    /**
+     * default: no search, no sorts; search: a two-term prefix search;
+     * incomplete: status filter on; sorted: completion + tier sorts.
+     */
+    @Param({"default", "search", "incomplete", "sorted"})
+    public String query;
+
+    private TaskCatalog catalog;
+    private TaskListFilter.CompletionLookup completed;
+    private TaskListQuery q;
+    private List<XtremeTask> input;
+
+    @Setup
+    public void setUp()
+    {
+        catalog = BenchmarkPacks.bundled();
+        completed = BenchmarkPacks.lookup(BenchmarkPacks.completions(catalog, 0.3, 42));
+
+        q = new TaskListQuery();
+        q.tierScope = TaskListQuery.TierScope.valueOf(scope);
+        switch (query)
+        {
+            case "search":
+                q.searchText = "kill boss";
+                break;
+            case "incomplete":
+                q.statusFilter = TaskListQuery.StatusFilter.INCOMPLETE;
+                break;
+            case "sorted":
+                q.sortByCompletion = true;
+                q.sortByTier = q.tierScope == TaskListQuery.TierScope.ALL_TIERS;
+                break;
+            default:
+                break;
+        }
+
+        input = (q.tierScope == TaskListQuery.TierScope.ALL_TIERS)
+                ? catalog.getTieredTasks()
+                : catalog.getTasksForTier(TaskTier.HARD);
+    }
+
+    @Benchmark
+    public List<XtremeTask> apply()
+    {
+        return TaskListPipeline.apply(input, q, completed, catalog.getSearchIndex(), null, catalog.getNameRanks());
+    }
+}
@@ -0,0 +1,77 @@
+package com.amtrollin.xtremetasker.tasklist;
+
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
+import com.amtrollin.xtremetasker.taskpack.BenchmarkPacks;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskListSorter#sort} over every tiered task, radix path (name ranks) against the comparator path.
+ * Each call re-copies the unsorted list first; {@link #copyOnly} is that cost on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskListSorterBenchmark
+{
+    @Param({"name", "completion", "tier", "completion_tier"})
+    public String sort;
+
+    @Param({"true", "false"})
+    public boolean radix;
+
+    private List<XtremeTask> unsorted;
+    private final List<XtremeTask> work = new ArrayList<>();
+    private TaskListQuery q;
+    private TaskListFilter.CompletionLookup completed;
+    private TaskNameRanks ranks;
+
+    @Setup
+    public void setUp()
+    {
+        TaskCatalog catalog = BenchmarkPacks.bundled();
+        unsorted = catalog.getTieredTasks();
+        completed = BenchmarkPacks.lookup(BenchmarkPacks.completions(catalog, 0.3, 42));
+        ranks = radix ? catalog.getNameRanks() : null;
+
+        q = new TaskListQuery();
+        q.tierScope = TaskListQuery.TierScope.ALL_TIERS;
+        q.sortByCompletion = sort.startsWith("completion");
+        q.sortByTier = sort.endsWith("tier");
+    }
+
+    @Benchmark
+    public List<XtremeTask> sort()
+    {
+        work.clear();
+        work.addAll(unsorted);
+        TaskListSorter.sort(work, q, completed, ranks);
+        return work;
+    }
+
+    @Benchmark
+    public List<XtremeTask> copyOnly()
+    {
+        work.clear();
+        work.addAll(unsorted);
+        return work;
+    }
+}
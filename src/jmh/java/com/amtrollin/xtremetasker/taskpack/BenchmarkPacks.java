@@ -0,0 +1,52 @@
+package com.amtrollin.xtremetasker.taskpack;
+
+import com.amtrollin.xtremetasker.tasklist.TaskListFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Shared fixtures: the bundled pack and a reproducible completion set over it.
+ */
+public final class BenchmarkPacks
+{
+    private BenchmarkPacks()
+    {
+    }
+
+    public static TaskCatalog bundled()
+    {
+        try
+        {
+            return TaskPackLoader.loadBundled();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Roughly {@code fraction} of the pack marked complete, the same bits for the same seed.
+     */
+    public static BitSet completions(TaskCatalog catalog, double fraction, long seed)
+    {
+        Random random = new Random(seed);
+        BitSet done = new BitSet(catalog.size());
+        for (int i = 0; i < catalog.size(); i++)
+        {
+            if (random.nextDouble() < fraction)
+            {
+                done.set(i);
+            }
+        }
+        return done;
+    }
+
+    public static TaskListFilter.CompletionLookup lookup(BitSet done)
+    {
+        return t -> t.getOrdinal() >= 0 && done.get(t.getOrdinal());
+    }
+}
@@ -0,0 +1,90 @@
+package com.amtrollin.xtremetasker.taskpack;
+
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading the real bundled {@code tasks.json}: the JSON and binary paths end to end from the classpath,
+ * and each parser on its own from bytes already in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPackLoadBenchmark
+{
+    private final ClassLoader cl = TaskPackLoadBenchmark.class.getClassLoader();
+    private byte[] json;
+    private byte[] binary;
+    private List<XtremeTask> parsed;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        json = readResource(TaskPackBinary.JSON_RESOURCE);
+        parsed = TaskPackJsonReader.read(new ByteArrayInputStream(json));
+        binary = readResource(TaskPackBinary.BINARY_RESOURCE);
+        if (binary == null)
+        {
+            // Not compiled into this classpath; build it the way compileTaskPack does
+            binary = TaskPackBinary.write(parsed, TaskPackBinary.sha256(json));
+        }
+    }
+
+    @Benchmark
+    public TaskCatalog loadBundled() throws IOException
+    {
+        return TaskPackLoader.loadBundled();
+    }
+
+    @Benchmark
+    public TaskCatalog loadJsonResource() throws IOException
+    {
+        return TaskPackLoader.loadJson(cl);
+    }
+
+    @Benchmark
+    public List<XtremeTask> parseJson() throws IOException
+    {
+        return TaskPackJsonReader.read(new ByteArrayInputStream(json));
+    }
+
+    @Benchmark
+    public TaskCatalog readBinary()
+    {
+        return TaskPackBinary.read(ByteBuffer.wrap(binary));
+    }
+
+    @Benchmark
+    public TaskCatalog indexCatalog()
+    {
+        // Catalog construction (tier/source slices, search index, name ranks) without parsing
+        return TaskCatalog.of(parsed);
+    }
+
+    private byte[] readResource(String name) throws IOException
+    {
+        try (InputStream in = cl.getResourceAsStream(name))
+        {
+            return (in == null) ? null : in.readAllBytes();
+        }
+    }
+}
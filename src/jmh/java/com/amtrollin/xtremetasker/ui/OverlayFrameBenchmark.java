@@ -0,0 +1,85 @@
+package com.amtrollin.xtremetasker.ui;
+
+import com.amtrollin.xtremetasker.StubTaskerService;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.taskpack.BenchmarkPacks;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full overlay frame per view, drawn headlessly through {@link OverlayHarness} into an
+ * offscreen image: what the client pays per frame while the panel is open.
+ * <p>
+ * {@code hover} parks the mouse over the task list, which keeps the hover highlight and tooltip
+ * paths in the frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class OverlayFrameBenchmark
+{
+    @Param({"CURRENT", "TASKS", "RULES", "DETAILS"})
+    public String view;
+
+    @Param({"false", "true"})
+    public boolean hover;
+
+    private OverlayHarness harness;
+    private BufferedImage canvas;
+    private Graphics2D g;
+
+    @Setup
+    public void setUp()
+    {
+        TaskCatalog catalog = BenchmarkPacks.bundled();
+        StubTaskerService service = new StubTaskerService(catalog);
+        List<XtremeTask> easy = catalog.getTasksForTier(TaskTier.EASY);
+        for (int i = 0; i < easy.size(); i += 3)
+        {
+            service.setCompleted(easy.get(i), true);
+        }
+        service.setCurrentTask(easy.get(1));
+
+        harness = new OverlayHarness(service).show(OverlayHarness.View.valueOf(view));
+        if (hover)
+        {
+            harness.moveMouse(OverlayHarness.CANVAS_WIDTH / 2, OverlayHarness.CANVAS_HEIGHT / 2 + 130);
+        }
+
+        canvas = new BufferedImage(OverlayHarness.CANVAS_WIDTH, OverlayHarness.CANVAS_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g = canvas.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage frame()
+    {
+        harness.render(g);
+        return canvas;
+    }
+}
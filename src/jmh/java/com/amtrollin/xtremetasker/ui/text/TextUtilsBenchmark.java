@@ -0,0 +1,95 @@
+package com.amtrollin.xtremetasker.ui.text;
+
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.taskpack.BenchmarkPacks;
+import net.runelite.client.ui.FontManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TextUtils} on real task names and descriptions, with the RuneScape small font.
+ * The *Hit benchmarks repeat one input (the steady overlay frame); the *Miss ones cycle through more
+ * distinct inputs than the LRUs hold, so every call measures and fits from scratch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TextUtilsBenchmark
+{
+    private static final int ROW_WIDTH = 300;
+    private static final int WRAP_WIDTH = 260;
+
+    private FontMetrics fm;
+    private String[] names;
+    private String[] descriptions;
+    private int next = 0;
+
+    @Setup
+    public void setUp()
+    {
+        Graphics2D g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        fm = g.getFontMetrics(FontManager.getRunescapeSmallFont());
+
+        List<String> n = new ArrayList<>();
+        List<String> d = new ArrayList<>();
+        for (XtremeTask t : BenchmarkPacks.bundled().getTasks())
+        {
+            if (t.getName() != null)
+            {
+                // Long enough to need truncating at the row width
+                n.add(t.getName() + " - " + t.getName());
+            }
+            if (t.getDescription() != null)
+            {
+                d.add(t.getDescription());
+            }
+        }
+        names = n.toArray(new String[0]);
+        descriptions = d.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public String truncateHit()
+    {
+        return TextUtils.truncateToWidth(names[0], fm, ROW_WIDTH);
+    }
+
+    @Benchmark
+    public String truncateMiss()
+    {
+        // Width varies too, so even a small pack outruns the 1024-entry LRU
+        int i = next++;
+        return TextUtils.truncateToWidth(names[i % names.length], fm, ROW_WIDTH - (i & 63));
+    }
+
+    @Benchmark
+    public List<String> wrapHit()
+    {
+        return TextUtils.wrapText(descriptions[0], fm, WRAP_WIDTH);
+    }
+
+    @Benchmark
+    public List<String> wrapMiss()
+    {
+        int i = next++;
+        return TextUtils.wrapText(descriptions[i % descriptions.length], fm, WRAP_WIDTH - (i & 63));
+    }
+}
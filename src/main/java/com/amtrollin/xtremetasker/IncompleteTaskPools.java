@@ -0,0 +1,104 @@
+package com.amtrollin.xtremetasker;
+
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Per-tier pools of incomplete task ordinals.
+ * <p>
+ * Each pool is a dense int array; removal swaps the last member into the freed slot,
+ * and a shared position index (by ordinal) makes add/remove/contains O(1).
+ * Picking a random incomplete task of a tier is a single array read.
+ */
+final class IncompleteTaskPools {
+    private static final int TIERS = TaskTier.values().length;
+
+    private final int[][] members = new int[TIERS][];
+    private final int[] sizes = new int[TIERS];
+
+    // Slot of each ordinal inside its tier's pool, or -1 when it isn't pooled (completed or no tier)
+    private int[] positions = new int[0];
+    private byte[] tierByOrdinal = new byte[0];
+
+    IncompleteTaskPools() {
+        for (int i = 0; i < TIERS; i++) {
+            members[i] = new int[0];
+        }
+    }
+
+    /**
+     * Full rebuild; only needed when the task list or the whole completion state is replaced.
+     */
+    void rebuild(List<XtremeTask> tasks, BitSet done) {
+        int n = tasks.size();
+        positions = new int[n];
+        tierByOrdinal = new byte[n];
+        Arrays.fill(positions, -1);
+        Arrays.fill(sizes, 0);
+
+        int[] capacity = new int[TIERS];
+        for (int i = 0; i < n; i++) {
+            TaskTier tier = tasks.get(i).getTier();
+            tierByOrdinal[i] = (byte) (tier == null ? -1 : tier.ordinal());
+            if (tier != null) {
+                capacity[tier.ordinal()]++;
+            }
+        }
+
+        // Sized to the full tier so un-completing never has to grow an array
+        for (int t = 0; t < TIERS; t++) {
+            members[t] = new int[capacity[t]];
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (!done.get(i)) {
+                add(i);
+            }
+        }
+    }
+
+    void add(int ordinal) {
+        int t = tierByOrdinal[ordinal];
+        if (t < 0 || positions[ordinal] >= 0) {
+            return;
+        }
+
+        int slot = sizes[t]++;
+        members[t][slot] = ordinal;
+        positions[ordinal] = slot;
+    }
+
+    void remove(int ordinal) {
+        int t = tierByOrdinal[ordinal];
+        int slot = positions[ordinal];
+        if (t < 0 || slot < 0) {
+            return;
+        }
+
+        int last = --sizes[t];
+        int moved = members[t][last];
+        members[t][slot] = moved;
+        positions[moved] = slot;
+        positions[ordinal] = -1;
+    }
+
+    int size(TaskTier tier) {
+        return (tier == null) ? 0 : sizes[tier.ordinal()];
+    }
+
+    /**
+     * @return a uniformly random incomplete ordinal of {@code tier}, or -1 when the pool is empty
+     */
+    int pick(TaskTier tier, Random random) {
+        int size = size(tier);
+        if (size == 0) {
+            return -1;
+        }
+        return members[tier.ordinal()][random.nextInt(size)];
+    }
+}
@@ -2,8 +2,7 @@ package com.amtrollin.xtremetasker;
 
 import com.amtrollin.xtremetasker.enums.TaskTier;
 import com.amtrollin.xtremetasker.models.XtremeTask;
-
-import java.util.List;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
 
 public interface TaskerService
 {
@@ -11,6 +10,12 @@ public interface TaskerService
 
     boolean hasTaskPackLoaded();
 
+    /**
+     * True while the account's saved progress is still being read. Completion and the current task
+     * read as empty until then, and the actions below are refused.
+     */
+    boolean isStateLoading();
+
     XtremeTask getCurrentTask();
 
     TaskTier getCurrentTier();
@@ -19,10 +24,24 @@ public interface TaskerService
 
     String getTierProgressLabel(TaskTier tier);
 
-    List<XtremeTask> getDummyTasks();
+    /**
+     * The currently loaded pack; {@link TaskCatalog#EMPTY} until a load finishes. Never null.
+     * Read it once per operation so every slice comes from the same load.
+     */
+    TaskCatalog getCatalog();
 
     boolean isTaskCompleted(XtremeTask task);
 
+    int getTaskPackGeneration();
+
+    int getCompletionVersion();
+
+    /**
+     * @return the task whose completion toggle produced the current completion version,
+     * or null if the latest change touched more than one task
+     */
+    XtremeTask getLastCompletionChange();
+
     void toggleTaskCompletedAndPersist(XtremeTask task);
 
     void completeCurrentTaskAndPersist();
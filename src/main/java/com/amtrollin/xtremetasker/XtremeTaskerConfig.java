@@ -15,4 +15,12 @@ public interface XtremeTaskerConfig extends Config {
         return true;
     }
 
+    @ConfigItem(
+            keyName = "showProfiler",
+            name = "Show profiler",
+            description = "Debug: show frame and hot-path timings (p50 / p99 / max) in a small HUD"
+    )
+    default boolean showProfiler() {
+        return false;
+    }
 }
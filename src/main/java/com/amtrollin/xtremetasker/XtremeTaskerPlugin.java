@@ -1,10 +1,18 @@
 package com.amtrollin.xtremetasker;
 
-import com.amtrollin.xtremetasker.enums.TaskSource;
 import com.amtrollin.xtremetasker.enums.TaskTier;
 import com.amtrollin.xtremetasker.models.XtremeTask;
 import com.amtrollin.xtremetasker.models.persistence.PersistedState;
+import com.amtrollin.xtremetasker.models.persistence.UnreadBits;
+import com.amtrollin.xtremetasker.persistence.CompletionJournal;
+import com.amtrollin.xtremetasker.persistence.PersistedStateCodec;
+import com.amtrollin.xtremetasker.persistence.PersistenceWorker;
+import com.amtrollin.xtremetasker.profiling.Profiler;
+import com.amtrollin.xtremetasker.profiling.ProfilerSection;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.amtrollin.xtremetasker.taskpack.TaskPackLoader;
 import com.amtrollin.xtremetasker.ui.XtremeTaskerOverlay;
+import com.amtrollin.xtremetasker.ui.debug.ProfilerOverlay;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.inject.Provides;
@@ -15,6 +23,7 @@ import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
 import net.runelite.api.events.GameStateChanged;
+import net.runelite.client.RuneLite;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
@@ -26,10 +35,12 @@ import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.OverlayManager;
 
 import javax.inject.Inject;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @PluginDescriptor(
@@ -40,6 +51,14 @@ import java.util.stream.Collectors;
 public class XtremeTaskerPlugin extends Plugin implements TaskerService {
     private static final String CONFIG_GROUP = "xtremetasker";
     private static final String STATE_KEY_PREFIX = "state_";
+    private static final String JOURNAL_DIR = "xtremetasker";
+    private static final String PACK_ARCHIVE_DIR = "packs";
+
+    // Journal entries after which the next idle tick folds them into a fresh snapshot
+    private static final int COMPACT_AFTER_ENTRIES = 256;
+
+    // How long logout and shutdown wait for queued writes
+    private static final long FLUSH_TIMEOUT_MS = 2_000L;
 
     private static final List<TaskTier> PROGRESSION = List.of(
             TaskTier.EASY,
@@ -65,15 +84,37 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
     private ClientThread clientThread;
     @Inject
     private KeyManager keyManager;
+    @Inject
+    private ScheduledExecutorService executor;
+
+    // Built on first use from the overlay's row cache; only added while showProfiler is on
+    private ProfilerOverlay profilerOverlay;
 
     private final Gson gson = new GsonBuilder().create();
     private final Random random = new Random();
 
-    private final Set<String> manualCompletedTaskIds = new HashSet<>();
-    private final Set<String> syncedCompletedTaskIds = new HashSet<>();
+    // Completion keyed by XtremeTask ordinal; string IDs are only used at the persistence boundary
+    private final BitSet manualCompleted = new BitSet();
+    private final BitSet syncedCompleted = new BitSet();
+
+    // Persisted IDs not resolvable against the current pack yet (state loaded before the pack, or pack changed)
+    private final Set<String> pendingManualIds = new HashSet<>();
+    private final Set<String> pendingSyncedIds = new HashSet<>();
+
+    // Saved bits no pack or archive here can read (state synced from another machine); saved back
+    // unchanged so they aren't lost, and read once their pack loads. Immutable, replaced wholesale
+    private List<UnreadBits> unreadBits = Collections.emptyList();
 
-    private final EnumMap<TaskTier, Integer> totalByTier = new EnumMap<>(TaskTier.class);
-    private final EnumMap<TaskTier, Integer> doneByTier = new EnumMap<>(TaskTier.class);
+    // Indexed by TaskTier.ordinal(); rebuilt on pack load / account switch, adjusted per completion change otherwise
+    private final int[] totalByTier = new int[TaskTier.values().length];
+    private final int[] doneByTier = new int[TaskTier.values().length];
+
+    // Last label handed out per tier, with the counts it was built from
+    private final String[] progressLabels = new String[TaskTier.values().length];
+    private final int[] progressLabelDone = new int[TaskTier.values().length];
+    private final int[] progressLabelTotal = new int[TaskTier.values().length];
+    private TaskTier cachedCurrentTier = null;
+    private final IncompleteTaskPools incompletePools = new IncompleteTaskPools();
 
     @Getter
     @Setter
@@ -82,8 +123,35 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
     private String activeAccountKey = null;
     private String currentTaskId = null;
 
-    private final List<XtremeTask> tasks = new ArrayList<>();
-    private boolean taskPackLoaded = false;
+    // Snapshot + append-only change log of the active account; null while no account is known
+    // or its state is still being read
+    private CompletionJournal journal = null;
+
+    // Lets a newer account switch (or shutdown) discard a state load still in flight
+    private final AtomicInteger stateLoadSeq = new AtomicInteger();
+    // True from an account switch until its state is applied; saves are held back meanwhile
+    private boolean stateLoadPending = false;
+
+    // Does every journal and config write off the client thread, in the order they were made
+    private final PersistenceWorker persistence = new PersistenceWorker();
+
+    // Shared by every account: the per-pack id lists it archives aren't account specific
+    private final PersistedStateCodec stateCodec = new PersistedStateCodec(
+            RuneLite.RUNELITE_DIR.toPath().resolve(JOURNAL_DIR).resolve(PACK_ARCHIVE_DIR));
+
+    // Replaced wholesale on the client thread once a background load finishes; never mutated
+    private volatile TaskCatalog catalog = TaskCatalog.EMPTY;
+
+    // Lets a newer reload (or shutdown) discard the result of one still in flight
+    private final AtomicInteger packLoadSeq = new AtomicInteger();
+
+    // Bumped whenever the task list / completion sets change; lets the overlay memoize pipeline results
+    private int taskPackGeneration = 0;
+    private int completionVersion = 0;
+
+    // Set when a single task's completion produced the current completionVersion (see getLastCompletionChange)
+    private int lastChangedOrdinal = -1;
+    private int lastChangedVersion = -1;
 
     private boolean dirty = false;
     private int flushTickCounter = 0;
@@ -94,6 +162,7 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
     protected void startUp() {
         log.info("Xtreme Tasker started");
 
+        persistence.start();
         updateOverlayState();
         rebuildTierCounts();
 
@@ -115,7 +184,7 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
         log.info("AccountKey at startup: {}", getAccountKey());
 
 
-        clientThread.invokeLater(this::reloadTaskPackInternal);
+        reloadTaskPack();
     }
 
     @Override
@@ -125,8 +194,14 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
         if (activeAccountKey != null) {
             saveStateForAccount(activeAccountKey);
         }
+        closeJournal();
+        persistence.shutdown(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
 
         overlayManager.remove(overlay);
+        if (profilerOverlay != null) {
+            overlayManager.remove(profilerOverlay);
+        }
+        Profiler.setEnabled(false);
         keyManager.unregisterKeyListener(overlay.getKeyListener());
         mouseManager.unregisterMouseListener(overlay.getMouseAdapter());
         mouseManager.unregisterMouseWheelListener(overlay.getMouseWheelListener());
@@ -134,13 +209,15 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
         currentTask = null;
         currentTaskId = null;
 
-        manualCompletedTaskIds.clear();
-        syncedCompletedTaskIds.clear();
+        clearCompletions();
 
         activeAccountKey = null;
+        stateLoadSeq.incrementAndGet();
+        stateLoadPending = false;
 
-        tasks.clear();
-        taskPackLoaded = false;
+        packLoadSeq.incrementAndGet();
+        catalog = TaskCatalog.EMPTY;
+        taskPackGeneration++;
 
         rebuildTierCounts();
     }
@@ -151,6 +228,22 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
         } else {
             overlayManager.remove(overlay);
         }
+
+        updateProfilerState();
+    }
+
+    private void updateProfilerState() {
+        boolean on = config.showProfiler();
+        Profiler.setEnabled(on);
+
+        if (on) {
+            if (profilerOverlay == null) {
+                profilerOverlay = new ProfilerOverlay(overlay.getRowCache(), persistence);
+            }
+            overlayManager.add(profilerOverlay);
+        } else if (profilerOverlay != null) {
+            overlayManager.remove(profilerOverlay);
+        }
     }
 
     @Subscribe
@@ -177,18 +270,37 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
         return configManager.getConfig(XtremeTaskerConfig.class);
     }
 
-    // overlay still calls getDummyTasks()
-    public List<XtremeTask> getDummyTasks() {
-        return tasks;
+    public TaskCatalog getCatalog() {
+        return catalog;
     }
 
     public boolean hasTaskPackLoaded() {
-        return taskPackLoaded && !tasks.isEmpty();
+        return !catalog.isEmpty();
+    }
+
+    public boolean isStateLoading() {
+        return stateLoadPending;
     }
 
     public boolean isTaskCompleted(XtremeTask task) {
-        String id = task.getId();
-        return manualCompletedTaskIds.contains(id) || syncedCompletedTaskIds.contains(id);
+        int ord = catalog.ordinalOf(task);
+        return ord >= 0 && (manualCompleted.get(ord) || syncedCompleted.get(ord));
+    }
+
+    public int getTaskPackGeneration() {
+        return taskPackGeneration;
+    }
+
+    public int getCompletionVersion() {
+        return completionVersion;
+    }
+
+    public XtremeTask getLastCompletionChange() {
+        TaskCatalog c = catalog;
+        if (lastChangedVersion != completionVersion || lastChangedOrdinal < 0 || lastChangedOrdinal >= c.size()) {
+            return null;
+        }
+        return c.get(lastChangedOrdinal);
     }
 
     public boolean isOverlayEnabled() {
@@ -213,14 +325,6 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
 
                 activeAccountKey = key;
                 loadStateForAccount(activeAccountKey);
-                log.info("Loaded XtremeTasker state for {}", activeAccountKey);
-
-                // IMPORTANT: if user did stuff before key was ready, flush now
-                if (dirty)
-                {
-                    saveStateForAccount(activeAccountKey);
-                    dirty = false;
-                }
             }
         }
 
@@ -228,6 +332,7 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
         if (gs == GameState.LOGIN_SCREEN || gs == GameState.HOPPING) {
             if (activeAccountKey != null) {
                 saveStateForAccount(activeAccountKey);
+                persistence.flush(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
                 log.info("Saved XtremeTasker state for {}", activeAccountKey);
             }
         }
@@ -250,86 +355,259 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
         return STATE_KEY_PREFIX + accountKey;
     }
 
+    /**
+     * Snapshots the account's state and queues the write. Only the copy happens on this thread;
+     * encoding, the config write and journal compaction run on the persistence worker.
+     */
     private void saveStateForAccount(String accountKey) {
         if (accountKey == null) {
             return;
         }
+        if (stateLoadPending && accountKey.equals(activeAccountKey)) {
+            // Memory holds nothing of this account yet; saving would replace its state with an empty one
+            return;
+        }
 
+        long t0 = Profiler.start();
+        TaskCatalog c = catalog;
+        BitSet manual = (BitSet) manualCompleted.clone();
+        BitSet synced = (BitSet) syncedCompleted.clone();
+        Set<String> pendingManual = new HashSet<>(pendingManualIds);
+        Set<String> pendingSynced = new HashSet<>(pendingSyncedIds);
+        String current = currentTaskId;
+        List<UnreadBits> unread = unreadBits;
+        CompletionJournal j = accountKey.equals(activeAccountKey) ? journal : null;
+        Profiler.stop(ProfilerSection.SAVE_STATE, t0);
+
+        persistence.save(accountKey, () -> writeState(accountKey, c, manual, pendingManual, synced, pendingSynced, current, unread, j));
+    }
+
+    /**
+     * Persistence worker only.
+     *
+     * @param j the account's journal, to compact once the snapshot is written, or null
+     */
+    private void writeState(String accountKey, TaskCatalog c, BitSet manual, Set<String> pendingManual,
+                            BitSet synced, Set<String> pendingSynced, String current, List<UnreadBits> unread,
+                            CompletionJournal j) {
         log.info("SAVE state key={}, currentTaskId={}, manualDone={}, syncedDone={}",
                 stateConfigKeyForAccount(accountKey),
-                currentTaskId,
-                manualCompletedTaskIds.size(),
-                syncedCompletedTaskIds.size());
+                current,
+                manual.cardinality() + pendingManual.size(),
+                synced.cardinality() + pendingSynced.size());
 
-        PersistedState state = new PersistedState();
-        state.setManualCompletedTaskIds(new HashSet<>(manualCompletedTaskIds));
-        state.setSyncedCompletedTaskIds(new HashSet<>(syncedCompletedTaskIds));
-        state.setCurrentTaskId(currentTaskId);
+        PersistedState state = stateCodec.encode(c, manual, pendingManual, synced, pendingSynced, current, unread);
+        // The config copy and the snapshot carry the same stamp; the next load picks the newer of them
+        state.setSavedAt(System.currentTimeMillis());
 
         String key = stateConfigKeyForAccount(accountKey);
         configManager.setConfiguration(CONFIG_GROUP, key, gson.toJson(state));
+
+        // Everything journaled before this snapshot was taken is in it now. Appends queued after it
+        // run after this, so they survive; ones it already contains replay harmlessly
+        if (j != null) {
+            try {
+                j.compact(state);
+            } catch (IOException e) {
+                log.warn("Failed to compact completion journal for {}", accountKey, e);
+            }
+        }
+    }
+
+    private static Path journalDirForAccount(String accountKey) {
+        return RuneLite.RUNELITE_DIR.toPath().resolve(JOURNAL_DIR).resolve(accountKey);
+    }
+
+    private void closeJournal() {
+        CompletionJournal j = journal;
+        if (j != null) {
+            // Behind any appends and compaction still queued for it
+            persistence.execute(j::close);
+            journal = null;
+        }
+    }
+
+    /**
+     * Queues one completion change as a journal append. Without a journal (no account yet) or when
+     * the append fails, marks the state dirty so the next flush writes it in full instead.
+     *
+     * @param id task id, or null with {@link CompletionJournal.Op#CURRENT} for no current task
+     */
+    private void journalChange(CompletionJournal.Op op, String id) {
+        CompletionJournal j = journal;
+        if (j == null) {
+            dirty = true;
+            return;
+        }
+
+        String accountKey = activeAccountKey;
+        persistence.execute(() ->
+        {
+            try {
+                j.append(op, id);
+            } catch (IOException e) {
+                log.warn("Failed to append to completion journal for {}; saving in full", accountKey, e);
+                clientThread.invokeLater(() ->
+                {
+                    dirty = true;
+                });
+            }
+        });
     }
 
+    /**
+     * Clears the previous account's state and queues a read of this one's on the persistence worker,
+     * behind any writes still pending; {@link #applyLoadedState} installs the result on the client thread.
+     */
     private void loadStateForAccount(String accountKey)
     {
-        manualCompletedTaskIds.clear();
-        syncedCompletedTaskIds.clear();
+        int seq = stateLoadSeq.incrementAndGet();
+        clearCompletions();
         currentTask = null;
         currentTaskId = null;
 
 
+        closeJournal();
         if (accountKey == null)
         {
+            stateLoadPending = false;
             rebuildTierCounts();
             return;
         }
 
-        String json = configManager.getConfiguration(CONFIG_GROUP, stateConfigKeyForAccount(accountKey));
-        if (json == null || json.trim().isEmpty())
-        {
-            rebuildTierCounts();
-            return;
-        }
+        stateLoadPending = true;
+        rebuildTierCounts();
 
-        try
+        CompletionJournal j = new CompletionJournal(journalDirForAccount(accountKey), gson, stateCodec);
+        TaskCatalog c = catalog;
+        persistence.execute(() ->
         {
-            PersistedState state = gson.fromJson(json, PersistedState.class);
-            if (state != null)
+            PersistedState state = readState(accountKey, j, c);
+            clientThread.invokeLater(() ->
             {
-                if (state.getManualCompletedTaskIds() != null)
+                if (seq != stateLoadSeq.get())
                 {
-                    manualCompletedTaskIds.addAll(state.getManualCompletedTaskIds());
+                    log.debug("Discarding superseded state load for {}", accountKey);
+                    return;
                 }
-                if (state.getSyncedCompletedTaskIds() != null)
+                applyLoadedState(accountKey, j, state);
+            });
+        });
+    }
+
+    /**
+     * Persistence worker only. Reads the journal and the config copy and returns whichever was saved
+     * last, expanded to IDs. Profile sync can bring a config copy from another machine that's newer
+     * than the local journal; otherwise the journal, written on every change, is at least as new. The
+     * config copy also covers accounts saved before the journal existed.
+     * <p>
+     * When the config copy wins it becomes the journal's snapshot, so the appends that follow replay
+     * over it rather than over the stale (or missing) one.
+     *
+     * @return the state to load, or null when neither has anything (or both are unreadable)
+     */
+    private PersistedState readState(String accountKey, CompletionJournal j, TaskCatalog c)
+    {
+        PersistedState journaled = null;
+        try
+        {
+            journaled = j.load(c);
+        }
+        catch (IOException e)
+        {
+            log.warn("Failed to read completion journal for account {}; using the saved config copy", accountKey, e);
+        }
+
+        PersistedState raw = null;
+        PersistedState saved = null;
+        String json = configManager.getConfiguration(CONFIG_GROUP, stateConfigKeyForAccount(accountKey));
+        if (json != null && !json.trim().isEmpty())
+        {
+            try
+            {
+                raw = gson.fromJson(json, PersistedState.class);
+                if (raw != null)
                 {
-                    syncedCompletedTaskIds.addAll(state.getSyncedCompletedTaskIds());
+                    saved = stateCodec.decode(raw, c);
                 }
-                currentTaskId = state.getCurrentTaskId();
             }
+            catch (Exception e)
+            {
+                log.warn("Failed to parse the saved config copy for account {}", accountKey, e);
+            }
+        }
+
+        if (saved == null || (journaled != null && journaled.getSavedAt() >= saved.getSavedAt()))
+        {
+            return journaled;
         }
-        catch (Exception e)
+
+        try
         {
-            log.warn("Failed to parse persisted state for account {}. Resetting.", accountKey, e);
-            manualCompletedTaskIds.clear();
-            syncedCompletedTaskIds.clear();
-            currentTask = null;
-            currentTaskId = null;
+            j.compact(raw);
+        }
+        catch (IOException e)
+        {
+            log.warn("Failed to seed completion journal for account {}", accountKey, e);
+        }
+        return saved;
+    }
+
+    /**
+     * Client thread only. Installs a state read by {@link #readState} and starts journaling to {@code j}.
+     */
+    private void applyLoadedState(String accountKey, CompletionJournal j, PersistedState state)
+    {
+        // Anything toggled while the load was in flight went to the empty state; the loaded one wins
+        clearCompletions();
+        currentTask = null;
+        currentTaskId = null;
+
+        journal = j;
+        stateLoadPending = false;
+
+        if (state != null)
+        {
+            if (state.getManualCompletedTaskIds() != null)
+            {
+                pendingManualIds.addAll(state.getManualCompletedTaskIds());
+            }
+            if (state.getSyncedCompletedTaskIds() != null)
+            {
+                pendingSyncedIds.addAll(state.getSyncedCompletedTaskIds());
+            }
+            currentTaskId = state.getCurrentTaskId();
+            if (state.getUnreadBits() != null)
+            {
+                unreadBits = stateCodec.resolve(state.getUnreadBits(), catalog, pendingManualIds, pendingSyncedIds);
+            }
         }
 
+        // Unknown IDs stay pending until the next pack load decides whether they're dead
+        resolvePendingCompletions(false);
         resolveCurrentTaskIfPossible();
         rebuildTierCounts();
+        log.info("Loaded XtremeTasker state for {}", accountKey);
+
+        // IMPORTANT: if user did stuff before key was ready, flush now
+        if (dirty)
+        {
+            saveStateForAccount(accountKey);
+            dirty = false;
+        }
     }
 
 
     private void resolveCurrentTaskIfPossible()
     {
-        if (currentTaskId == null || tasks.isEmpty())
+        TaskCatalog c = catalog;
+        if (currentTaskId == null || c.isEmpty())
         {
             return;
         }
 
-        String id = currentTaskId;
-        currentTask = tasks.stream().filter(t -> id.equals(t.getId())).findFirst().orElse(null);
+        int ord = c.ordinalOf(currentTaskId);
+        currentTask = (ord < 0) ? null : c.get(ord);
 
         // If we can't resolve it (pack changed), don't keep saving a dead ID forever
         if (currentTask == null)
@@ -341,34 +619,75 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
 
     // ---------- tier counts / progress ----------
 
-    private void rebuildTierCounts() {
-        totalByTier.clear();
-        doneByTier.clear();
+    void rebuildTierCounts() {
+        long t0 = Profiler.start();
+        Arrays.fill(totalByTier, 0);
+        Arrays.fill(doneByTier, 0);
+
+        TaskCatalog c = catalog;
+        BitSet done = (BitSet) manualCompleted.clone();
+        done.or(syncedCompleted);
 
         for (TaskTier tier : TaskTier.values()) {
-            totalByTier.put(tier, 0);
-            doneByTier.put(tier, 0);
+            totalByTier[tier.ordinal()] = c.tierTotal(tier);
+            doneByTier[tier.ordinal()] = c.countInTier(tier, done);
+        }
+
+        incompletePools.rebuild(c.getTasks(), done);
+        recomputeCurrentTier();
+        Profiler.stop(ProfilerSection.TIER_COUNTS, t0);
+    }
+
+    /**
+     * Keeps tier counters in step with a single manual completion change.
+     */
+    void setManualCompleted(int ord, boolean value) {
+        boolean wasDone = manualCompleted.get(ord) || syncedCompleted.get(ord);
+        manualCompleted.set(ord, value);
+        boolean nowDone = value || syncedCompleted.get(ord);
+        completionVersion++;
+        lastChangedOrdinal = ord;
+        lastChangedVersion = completionVersion;
+
+        TaskTier tier = catalog.get(ord).getTier();
+        if (wasDone == nowDone || tier == null) {
+            return;
+        }
+
+        doneByTier[tier.ordinal()] += nowDone ? 1 : -1;
+        if (nowDone) {
+            incompletePools.remove(ord);
+        } else {
+            incompletePools.add(ord);
         }
 
-        for (XtremeTask t : tasks) {
-            TaskTier tier = t.getTier();
-            totalByTier.put(tier, totalByTier.getOrDefault(tier, 0) + 1);
+        // The current tier can only move when some tier's incomplete count reaches or leaves zero
+        int incomplete = getTierIncomplete(tier);
+        if ((nowDone && incomplete == 0) || (!nowDone && incomplete == 1)) {
+            recomputeCurrentTier();
         }
+    }
 
-        for (XtremeTask t : tasks) {
-            if (isTaskCompleted(t)) {
-                TaskTier tier = t.getTier();
-                doneByTier.put(tier, doneByTier.getOrDefault(tier, 0) + 1);
+    private void recomputeCurrentTier() {
+        cachedCurrentTier = null;
+        for (TaskTier tier : PROGRESSION) {
+            if (getTierIncomplete(tier) > 0) {
+                cachedCurrentTier = tier;
+                return;
             }
         }
     }
 
     public int getTierTotal(TaskTier tier) {
-        return totalByTier.getOrDefault(tier, 0);
+        return (tier == null) ? 0 : totalByTier[tier.ordinal()];
     }
 
     public int getTierDone(TaskTier tier) {
-        return doneByTier.getOrDefault(tier, 0);
+        return (tier == null) ? 0 : doneByTier[tier.ordinal()];
+    }
+
+    public int getTierIncomplete(TaskTier tier) {
+        return getTierTotal(tier) - getTierDone(tier);
     }
 
     public int getTierPercent(TaskTier tier) {
@@ -388,35 +707,38 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
                 ? 0
                 : (int) ((done * 100L) / total); // integer division = floor
 
-        return done + "/" + total + " (" + pct + "%)";
+        if (tier == null) {
+            return done + "/" + total + " (" + pct + "%)";
+        }
+
+        // Rendered every frame; only rebuild the string when the counts move
+        int i = tier.ordinal();
+        if (progressLabels[i] == null || progressLabelDone[i] != done || progressLabelTotal[i] != total) {
+            progressLabelDone[i] = done;
+            progressLabelTotal[i] = total;
+            progressLabels[i] = done + "/" + total + " (" + pct + "%)";
+        }
+        return progressLabels[i];
     }
 
 
     public TaskTier getCurrentTier() {
-        for (TaskTier tier : PROGRESSION) {
-            boolean hasIncomplete = tasks.stream().anyMatch(t -> t.getTier() == tier && !isTaskCompleted(t));
-            if (hasIncomplete) return tier;
-        }
-        return null;
+        return cachedCurrentTier;
     }
 
     // ---------- core actions ----------
 
     public XtremeTask rollRandomTask() {
-        TaskTier currentTier = getCurrentTier();
-        if (currentTier == null) return null;
-
-        List<XtremeTask> available = tasks.stream()
-                .filter(t -> t.getTier() == currentTier)
-                .filter(t -> !isTaskCompleted(t))
-                .collect(Collectors.toList());
-
-        if (available.isEmpty()) return null;
-        return available.get(random.nextInt(available.size()));
+        int ord = incompletePools.pick(getCurrentTier(), random);
+        return (ord < 0) ? null : catalog.get(ord);
     }
 
     public void rollRandomTaskAndPersist()
     {
+        if (refuseWhileStateLoads())
+        {
+            return;
+        }
         if (!hasTaskPackLoaded())
         {
             chat("No tasks loaded. Load tasks in Rules tab");
@@ -433,28 +755,45 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
         setCurrentTask(newTask);
 
         currentTaskId = (newTask != null) ? newTask.getId() : null;
-        dirty = true;
-        persistIfPossible(); // writes immediately if activeAccountKey != null
+        journalChange(CompletionJournal.Op.CURRENT, currentTaskId);
+        persistIfPossible(); // only writes in full if the journal couldn't take the change
     }
 
     public void completeCurrentTaskAndPersist()
     {
+        if (refuseWhileStateLoads())
+        {
+            return;
+        }
+
         XtremeTask cur = getCurrentTask();
         if (cur == null) return;
 
-        manualCompletedTaskIds.add(cur.getId());
+        int ord = catalog.ordinalOf(cur);
+        if (ord < 0)
+        {
+            log.warn("Current task is not part of the loaded pack: {}", cur.getId());
+            return;
+        }
+
+        setManualCompleted(ord, true);
+        journalChange(CompletionJournal.Op.DONE, cur.getId());
 
         // Clear current when done so it won't pin on restart
         currentTask = null;
         currentTaskId = null;
+        journalChange(CompletionJournal.Op.CURRENT, null);
 
-        rebuildTierCounts();
-        dirty = true;
         persistIfPossible();
     }
 
     public void toggleTaskCompletedAndPersist(XtremeTask task)
     {
+        if (refuseWhileStateLoads())
+        {
+            return;
+        }
+
         String id = task.getId();
         if (id == null || id.trim().isEmpty())
         {
@@ -462,18 +801,24 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
             return;
         }
 
-        if (manualCompletedTaskIds.contains(id)) manualCompletedTaskIds.remove(id);
-        else manualCompletedTaskIds.add(id);
+        int ord = catalog.ordinalOf(task);
+        if (ord < 0)
+        {
+            log.warn("Refusing to toggle completion for task not in the loaded pack: {}", id);
+            return;
+        }
+
+        boolean done = !manualCompleted.get(ord);
+        setManualCompleted(ord, done);
+        journalChange(done ? CompletionJournal.Op.DONE : CompletionJournal.Op.UNDONE, id);
 
-        rebuildTierCounts();
-        dirty = true;
         persistIfPossible();
     }
 
     @Subscribe
     public void onGameTick(net.runelite.api.events.GameTick tick)
     {
-        if (activeAccountKey == null)
+        if (activeAccountKey == null || stateLoadPending)
         {
             return;
         }
@@ -481,6 +826,12 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
         if (!dirty)
         {
             flushTickCounter = 0;
+
+            // Periodic compaction: keeps replay on the next login short
+            if (journal != null && journal.size() >= COMPACT_AFTER_ENTRIES && !persistence.isSavePending(activeAccountKey))
+            {
+                saveStateForAccount(activeAccountKey);
+            }
             return;
         }
 
@@ -496,132 +847,154 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
 
     private void persistIfPossible()
     {
-        if (!dirty || activeAccountKey == null)
+        if (!dirty || activeAccountKey == null || stateLoadPending)
         {
             return;
         }
 
-        // Run the write on the client thread and block until it executes.
-        clientThread.invoke(() ->
-        {
-            saveStateForAccount(activeAccountKey);
-            dirty = false;
-        });
+        // Only the snapshot is taken here; the write is queued and coalesced with any still pending
+        saveStateForAccount(activeAccountKey);
+        dirty = false;
     }
 
     // ---------- JSON task pack loading ----------
 
     public void reloadTaskPack() {
-        clientThread.invokeLater(this::reloadTaskPackInternal);
-    }
-
-    private void reloadTaskPackInternal() {
-        try {
-            InputStream in = XtremeTaskerPlugin.class
-                    .getClassLoader()
-                    .getResourceAsStream("task_data/tasks.json");
+        int seq = packLoadSeq.incrementAndGet();
 
-            if (in == null) {
-                throw new IllegalStateException("tasks.json resource not found");
-            }
-
-            String json;
-            try (in) {
-                json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
-            }
-
-            TaskPack pack = gson.fromJson(json, TaskPack.class);
-
-            if (pack == null || pack.tasks == null) {
-                throw new IllegalArgumentException("Invalid tasks.json");
+        // Parse + index off the client thread; only the swap runs there
+        executor.execute(() ->
+        {
+            TaskCatalog loaded;
+            long t0 = Profiler.start();
+            try {
+                loaded = TaskPackLoader.loadBundled();
+                Profiler.stop(ProfilerSection.PACK_LOAD, t0);
+            } catch (Exception e) {
+                log.error("Failed to load embedded tasks.json", e);
+                clientThread.invokeLater(() ->
+                {
+                    if (seq != packLoadSeq.get()) return;
+                    swapCatalog(TaskCatalog.EMPTY, false);
+                    chat("Failed to load tasks.json (see logs).");
+                });
+                return;
             }
 
-            List<XtremeTask> loaded = new ArrayList<>();
-            Set<String> seenIds = new HashSet<>();
-
-            for (TaskDef d : pack.tasks) {
-                if (d == null) continue;
-
-                TaskTier tier = (d.tier == TaskTier.GRANDMASTER) ? TaskTier.MASTER : d.tier;
-
-                String id = ensureId(d.id, d.name, d.source, tier);
-
-                XtremeTask task = new XtremeTask(
-                        id,
-                        safeTrim(d.name),
-                        d.source,
-                        tier,
-                        d.iconItemId,
-                        safeTrim(d.iconKey),
-                        safeTrim(d.description),
-                        safeTrim(d.prereqs),
-                        safeTrim(d.wikiUrl)
-                );
-
-                if (!seenIds.add(task.getId())) {
-                    // IMPORTANT: Do NOT rename duplicates; it breaks persisted completion mapping when pack order changes.
-                    log.warn("Duplicate task id in tasks.json: {} (name={}). Skipping duplicate.", task.getId(), task.getName());
-                    continue;
+            clientThread.invokeLater(() ->
+            {
+                if (seq != packLoadSeq.get()) {
+                    log.debug("Discarding superseded task pack load #{}", seq);
+                    return;
                 }
 
-                loaded.add(task);
-            }
+                swapCatalog(loaded, true);
+                persistIfPossible();
+                chat("Loaded " + loaded.size() + " tasks.");
+            });
+        });
+    }
+
+    /**
+     * Client thread only. Publishes a new catalog and remaps completion state onto its ordinals.
+     *
+     * @param pruneUnknown true to drop completion IDs the new pack doesn't contain
+     */
+    void swapCatalog(TaskCatalog next, boolean pruneUnknown) {
+        long t0 = Profiler.start();
 
-            tasks.clear();
-            tasks.addAll(loaded);
-            taskPackLoaded = !tasks.isEmpty();
+        // Ordinals are only meaningful within one pack; carry completion across by id
+        stashCompletionsById();
 
-            Set<String> validIds = tasks.stream()
-                    .map(XtremeTask::getId)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toSet());
+        catalog = next;
+        taskPackGeneration++;
+        unreadBits = stateCodec.resolve(unreadBits, next, pendingManualIds, pendingSyncedIds);
 
-            manualCompletedTaskIds.retainAll(validIds);
-            syncedCompletedTaskIds.retainAll(validIds);
+        if (pruneUnknown) {
+            resolvePendingCompletions(true);
 
-            if (currentTaskId != null && !validIds.contains(currentTaskId))
+            if (currentTaskId != null && !next.contains(currentTaskId))
             {
                 currentTaskId = null;
                 currentTask = null;
             }
-            else if (currentTask != null && !validIds.contains(currentTask.getId()))
+            else if (currentTask != null && !next.contains(currentTask.getId()))
             {
                 currentTask = null;
             }
 
-
             resolveCurrentTaskIfPossible();
+        }
 
-            rebuildTierCounts();
-            persistIfPossible();
-
-            chat("Loaded " + tasks.size() + " tasks.");
-        } catch (Exception e) {
-            log.error("Failed to load embedded tasks.json", e);
-            tasks.clear();
-            taskPackLoaded = false;
-            rebuildTierCounts();
-            chat("Failed to load tasks.json (see logs).");
+        rebuildTierCounts();
+        Profiler.stop(ProfilerSection.PACK_SWAP, t0);
+    }
+
+    // ---------- ordinal <-> id mapping ----------
+
+    private void clearCompletions() {
+        manualCompleted.clear();
+        syncedCompleted.clear();
+        pendingManualIds.clear();
+        pendingSyncedIds.clear();
+        unreadBits = Collections.emptyList();
+        completionVersion++;
+    }
+
+    /**
+     * Moves completion bits back to string IDs so they survive the current task list being replaced.
+     */
+    private void stashCompletionsById() {
+        pendingManualIds.addAll(completedIds(manualCompleted));
+        pendingSyncedIds.addAll(completedIds(syncedCompleted));
+        manualCompleted.clear();
+        syncedCompleted.clear();
+        completionVersion++;
+    }
+
+    /**
+     * Maps pending IDs onto ordinals of the loaded pack.
+     *
+     * @param dropUnknown true to discard IDs the pack doesn't contain, false to keep them pending
+     */
+    private void resolvePendingCompletions(boolean dropUnknown) {
+        resolveInto(pendingManualIds, manualCompleted, dropUnknown);
+        resolveInto(pendingSyncedIds, syncedCompleted, dropUnknown);
+        completionVersion++;
+    }
+
+    private void resolveInto(Set<String> pending, BitSet bits, boolean dropUnknown) {
+        Iterator<String> it = pending.iterator();
+        while (it.hasNext()) {
+            int ord = catalog.ordinalOf(it.next());
+            if (ord >= 0) {
+                bits.set(ord);
+                it.remove();
+            } else if (dropUnknown) {
+                it.remove();
+            }
         }
     }
 
-    private static class TaskPack {
-        int version;
-        List<TaskDef> tasks;
+    private Set<String> completedIds(BitSet bits) {
+        TaskCatalog c = catalog;
+        Set<String> out = new HashSet<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0 && i < c.size(); i = bits.nextSetBit(i + 1)) {
+            out.add(c.get(i).getId());
+        }
+        return out;
     }
 
-    private static class TaskDef {
-        String id;
-        String name;
-        TaskSource source;
-        TaskTier tier;
-
-        Integer iconItemId;
-        String iconKey;
-
-        String description;
-        String prereqs;
-        String wikiUrl;
+    /**
+     * Completion changes made before the account's state arrives would be wiped when
+     * {@link #applyLoadedState} installs it, so they're refused instead of silently lost.
+     */
+    private boolean refuseWhileStateLoads() {
+        if (!stateLoadPending) {
+            return false;
+        }
+        chat("Still loading your progress; try again in a moment.");
+        return true;
     }
 
     private void chat(String msg) {
@@ -630,28 +1003,6 @@ public class XtremeTaskerPlugin extends Plugin implements TaskerService {
         );
     }
 
-    private static String safeTrim(String s) {
-        if (s == null) return null;
-        String t = s.trim();
-        return t.isEmpty() ? null : t;
-    }
-
-    private static String ensureId(String rawId, String name, TaskSource source, TaskTier tier) {
-        String id = safeTrim(rawId);
-        if (id != null) {
-            return id;
-        }
-
-        String n = safeTrim(name);
-        if (n == null) n = "unnamed";
-
-        String s = (source == null) ? "UNKNOWN_SOURCE" : source.name();
-        String t = (tier == null) ? "UNKNOWN_TIER" : tier.name();
-
-        String base = (n + "|" + s + "|" + t).toLowerCase(Locale.ROOT);
-        return "gen_" + Integer.toHexString(base.hashCode());
-    }
-
     public void pushGameMessage(String msg)
     {
         if (msg == null || msg.trim().isEmpty())
@@ -21,13 +21,32 @@ public class XtremeTask {
     private final String prereqs;
     private final String wikiUrl;
 
+    // Dense position in the loaded pack (0..n-1), or -1 for tasks not created by the pack loader
+    private final int ordinal;
+
     // Backwards-compatible constructor
     public XtremeTask(String id, String name, TaskSource source, TaskTier tier) {
         this(id, name, source, tier, null, null, null, null, null);
     }
 
-    // Full constructor (used by JSON pack, now includes enrichment)
+    // Full constructor without a pack ordinal
+    public XtremeTask(
+            String id,
+            String name,
+            TaskSource source,
+            TaskTier tier,
+            Integer iconItemId,
+            String iconKey,
+            String description,
+            String prereqs,
+            String wikiUrl
+    ) {
+        this(-1, id, name, source, tier, iconItemId, iconKey, description, prereqs, wikiUrl);
+    }
+
+    // Full constructor (used by JSON pack, now includes enrichment + dense ordinal)
     public XtremeTask(
+            int ordinal,
             String id,
             String name,
             TaskSource source,
@@ -38,6 +57,7 @@ public class XtremeTask {
             String prereqs,
             String wikiUrl
     ) {
+        this.ordinal = ordinal;
         this.name = safeTrimToNull(name);
         this.source = source;
         this.tier = tier;
@@ -91,6 +111,10 @@ public class XtremeTask {
         return wikiUrl;
     }
 
+    public int getOrdinal() {
+        return ordinal;
+    }
+
     @Override
     public String toString() {
         return name;
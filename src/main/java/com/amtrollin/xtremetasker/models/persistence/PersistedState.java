@@ -1,17 +1,41 @@
 package com.amtrollin.xtremetasker.models.persistence;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+/**
+ * An account's saved completion state.
+ * <p>
+ * Version 1 (no {@code version} field) lists every completed task id. Version 2 stores completion as
+ * bitsets over the ordinals of the pack identified by {@code packHash} and keeps only the IDs that
+ * pack doesn't contain in the id sets; see {@code PersistedStateCodec}.
+ * <p>
+ * {@code savedAt} (epoch millis, 0 in older saves) tells which of the config copy and the journal
+ * snapshot is newer when profile sync has brought one from another machine. {@code unreadBits} holds
+ * bits against other packs that couldn't be read where the state was last loaded, re-saved unchanged
+ * (null when there are none).
+ */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class PersistedState {
+    private int version;
+    private long savedAt;
+    private String packHash;
+    private String manualCompletedBits;
+    private String syncedCompletedBits;
+    private List<UnreadBits> unreadBits;
+
     private Set<String> manualCompletedTaskIds = new HashSet<>();
     private Set<String> syncedCompletedTaskIds = new HashSet<>();
     private String currentTaskId;
+
+    public PersistedState(Set<String> manualCompletedTaskIds, Set<String> syncedCompletedTaskIds, String currentTaskId) {
+        this.manualCompletedTaskIds = manualCompletedTaskIds;
+        this.syncedCompletedTaskIds = syncedCompletedTaskIds;
+        this.currentTaskId = currentTaskId;
+    }
 }
@@ -0,0 +1,19 @@
+package com.amtrollin.xtremetasker.models.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Completion bits written against a pack whose id list wasn't available when they were loaded
+ * (config synced from another machine, or the pack archive deleted). They're carried through saves
+ * as they are until a pack or archive that can read them turns up.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadBits {
+    private String packHash;
+    private String manualCompletedBits;
+    private String syncedCompletedBits;
+}
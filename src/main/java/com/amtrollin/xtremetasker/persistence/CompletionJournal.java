@@ -0,0 +1,256 @@
+package com.amtrollin.xtremetasker.persistence;
+
+import com.amtrollin.xtremetasker.models.persistence.PersistedState;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+
+/**
+ * One account's completion state on disk: a snapshot plus an append-only journal of the changes
+ * made since it was written.
+ * <p>
+ * A toggle appends one short line ({@code <millis> <op> <task id>}, tab separated) instead of
+ * rewriting every completed ID. {@link #compact} folds the journal into a new snapshot and empties
+ * it; {@link #load} replays the journal over the snapshot. Ops are absolute (done / not done /
+ * current = id), so replaying an entry the snapshot already contains is harmless, which makes a
+ * crash between writing the snapshot and truncating the journal safe. A torn last line (no newline)
+ * is dropped on load.
+ * <p>
+ * Entries carry task IDs rather than ordinals: ordinals are only stable within one pack, and the
+ * journal has to survive pack updates. The snapshot may be in any {@link PersistedState} version;
+ * it's expanded to IDs through the {@link PersistedStateCodec} before the journal is replayed over it.
+ * Methods that touch the files are synchronized. {@link #size()} isn't: the client thread polls it
+ * every tick and mustn't wait behind an append or compaction holding the lock for its I/O.
+ */
+@Slf4j
+public final class CompletionJournal {
+    static final String SNAPSHOT_FILE = "snapshot.json";
+    static final String JOURNAL_FILE = "journal.log";
+
+    public enum Op {
+        DONE('+'),
+        UNDONE('-'),
+        CURRENT('c');
+
+        private final char code;
+
+        Op(char code) {
+            this.code = code;
+        }
+
+        static Op of(char code) {
+            for (Op op : values()) {
+                if (op.code == code) {
+                    return op;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Path dir;
+    private final Path snapshot;
+    private final Path journal;
+    private final Gson gson;
+    private final PersistedStateCodec codec;
+
+    private Writer out = null;
+    // Written under the lock, read without it by size()
+    private volatile int entries = 0;
+
+    public CompletionJournal(Path dir, Gson gson, PersistedStateCodec codec) {
+        this.dir = dir;
+        this.snapshot = dir.resolve(SNAPSHOT_FILE);
+        this.journal = dir.resolve(JOURNAL_FILE);
+        this.gson = gson;
+        this.codec = codec;
+    }
+
+    /**
+     * @return true if a snapshot or journal has been written for this account before
+     */
+    public synchronized boolean exists() {
+        return Files.exists(snapshot) || Files.exists(journal);
+    }
+
+    /**
+     * Reads the snapshot and replays the journal over it.
+     *
+     * @param current the loaded pack, for decoding a snapshot stored as bits
+     * @return the replayed state, its {@code savedAt} the time of the newest entry (or the snapshot's
+     * own when the journal is empty), or null when nothing has been written for this account yet
+     */
+    public synchronized PersistedState load(TaskCatalog current) throws IOException {
+        if (!exists()) {
+            return null;
+        }
+
+        PersistedState state = readSnapshot(current);
+        entries = 0;
+        int replayed = 0;
+        long newest = state.getSavedAt();
+
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(journal);
+        } catch (NoSuchFileException e) {
+            return state;
+        }
+
+        // Anything after the last newline is a write that didn't finish; drop it so the next
+        // append starts on a line of its own
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] != '\n') {
+            end--;
+        }
+        if (end < bytes.length) {
+            log.warn("Dropping a torn completion journal entry in {}", journal);
+            try (FileChannel ch = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+                ch.truncate(end);
+            }
+        }
+
+        String text = new String(bytes, 0, end, StandardCharsets.UTF_8);
+        int lineNo = 0;
+        for (int start = 0; start < text.length(); ) {
+            int nl = text.indexOf('\n', start);
+            lineNo++;
+            long at = apply(state, text.substring(start, nl));
+            if (at >= 0) {
+                replayed++;
+                newest = Math.max(newest, at);
+            } else {
+                log.warn("Skipping unreadable completion journal entry {} in {}", lineNo, journal);
+            }
+            start = nl + 1;
+        }
+        entries = replayed;
+        state.setSavedAt(newest);
+        return state;
+    }
+
+    /**
+     * Appends one change and flushes it to the OS. Opens the journal on first use.
+     *
+     * @param id task id, or null with {@link Op#CURRENT} for "no current task"
+     */
+    public synchronized void append(Op op, String id) throws IOException {
+        if (out == null) {
+            Files.createDirectories(dir);
+            out = new BufferedWriter(Files.newBufferedWriter(journal, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE));
+        }
+
+        out.write(Long.toString(System.currentTimeMillis()));
+        out.write('\t');
+        out.write(op.code);
+        out.write('\t');
+        out.write(id == null ? "" : id);
+        out.write('\n');
+        out.flush();
+        entries++;
+    }
+
+    /**
+     * Writes {@code state} as the new snapshot (via a temp file and rename) and empties the journal.
+     */
+    public synchronized void compact(PersistedState state) throws IOException {
+        Files.createDirectories(dir);
+        close();
+
+        Path tmp = dir.resolve(SNAPSHOT_FILE + ".tmp");
+        try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            gson.toJson(state, w);
+        }
+        try {
+            Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        Files.write(journal, new byte[0]);
+        entries = 0;
+    }
+
+    /**
+     * Entries appended (or replayed) since the last compaction. Doesn't take the lock.
+     */
+    public int size() {
+        return entries;
+    }
+
+    public synchronized void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Failed to close completion journal {}", journal, e);
+        }
+        out = null;
+    }
+
+    private PersistedState readSnapshot(TaskCatalog current) throws IOException {
+        PersistedState state = null;
+        if (Files.exists(snapshot)) {
+            try {
+                state = gson.fromJson(new String(Files.readAllBytes(snapshot), StandardCharsets.UTF_8), PersistedState.class);
+            } catch (JsonParseException e) {
+                log.warn("Unreadable completion snapshot {}; replaying the journal over an empty state", snapshot, e);
+            }
+        }
+
+        // Replay edits the id sets, so bits have to be expanded first
+        return (state == null) ? new PersistedState(new HashSet<>(), new HashSet<>(), null) : codec.decode(state, current);
+    }
+
+    /**
+     * @return the entry's time in millis (0 if it has none), or -1 if the line isn't an entry
+     */
+    private static long apply(PersistedState state, String line) {
+        int a = line.indexOf('\t');
+        int b = (a < 0) ? -1 : line.indexOf('\t', a + 1);
+        if (b != a + 2) {
+            return -1L;
+        }
+
+        Op op = Op.of(line.charAt(a + 1));
+        String id = line.substring(b + 1);
+        if (op == null || (op != Op.CURRENT && id.isEmpty())) {
+            return -1L;
+        }
+
+        switch (op) {
+            case DONE:
+                state.getManualCompletedTaskIds().add(id);
+                break;
+            case UNDONE:
+                state.getManualCompletedTaskIds().remove(id);
+                break;
+            case CURRENT:
+                state.setCurrentTaskId(id.isEmpty() ? null : id);
+                break;
+        }
+
+        try {
+            return Long.parseLong(line.substring(0, a));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
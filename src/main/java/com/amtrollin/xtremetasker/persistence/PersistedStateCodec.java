@@ -0,0 +1,336 @@
+package com.amtrollin.xtremetasker.persistence;
+
+import com.amtrollin.xtremetasker.models.persistence.PersistedState;
+import com.amtrollin.xtremetasker.models.persistence.UnreadBits;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Converts completion state between its in-memory form (ordinal bitsets plus IDs the pack can't
+ * resolve) and {@link PersistedState} version 2.
+ * <p>
+ * A version 2 state records the pack's {@link TaskCatalog#getContentHash() content hash} and one
+ * bitset per completion kind: {@code BitSet.toByteArray()}, base64 encoded, prefixed {@code b}, or
+ * prefixed {@code z} when deflating it first came out shorter. IDs the pack doesn't contain are kept
+ * as strings so they survive until a pack that knows them turns up.
+ * <p>
+ * Bits only mean something against the ID order they were written with. When a state's hash isn't
+ * the loaded pack's (the plugin updated, or state loaded before the pack), the IDs come from
+ * {@code <hash>.ids} in the archive directory, which {@link #encode} writes the first time it stores
+ * bits against a pack. If that can't be written the state is stored as plain IDs instead.
+ * The archive is local, so a state synced to another machine, or one whose archive was deleted, can
+ * name a pack nothing here can read. Those bits come out of {@link #decode} as {@link UnreadBits}
+ * and go back into the next {@link #encode} unchanged, so they're never replaced by an empty state;
+ * {@link #resolve} reads them once that pack is loaded.
+ * Version 1 states (IDs only) decode as they are, so old saves migrate on their next save.
+ * <p>
+ * Synchronized: the persistence worker encodes while the client thread may decode on login.
+ */
+@Slf4j
+public final class PersistedStateCodec {
+    public static final int VERSION = 2;
+
+    static final char RAW = 'b';
+    static final char DEFLATED = 'z';
+    static final String ARCHIVE_SUFFIX = ".ids";
+
+    // Deflating a handful of bytes only adds the zlib header
+    private static final int MIN_DEFLATE_BYTES = 32;
+
+    private final Path archiveDir;
+
+    // Last pack known to have an archived id list, and the last id list read back from one
+    private String archivedHash = null;
+    private String cachedHash = null;
+    private List<String> cachedIds = null;
+
+    /**
+     * @param archiveDir where per-pack id lists are kept, or null to store bits only against the
+     *                   loaded pack and never archive (tests)
+     */
+    public PersistedStateCodec(Path archiveDir) {
+        this.archiveDir = archiveDir;
+    }
+
+    /**
+     * Builds a version 2 state. Bits past the end of {@code catalog} are ignored; the pending sets
+     * are copied.
+     */
+    public PersistedState encode(TaskCatalog catalog, BitSet manual, Set<String> pendingManual,
+                                 BitSet synced, Set<String> pendingSynced, String currentTaskId) {
+        return encode(catalog, manual, pendingManual, synced, pendingSynced, currentTaskId, Collections.emptyList());
+    }
+
+    /**
+     * @param unread bits an earlier {@link #decode} couldn't read, written back as they are
+     */
+    public synchronized PersistedState encode(TaskCatalog catalog, BitSet manual, Set<String> pendingManual,
+                                              BitSet synced, Set<String> pendingSynced, String currentTaskId,
+                                              List<UnreadBits> unread) {
+        PersistedState state = new PersistedState(new HashSet<>(pendingManual), new HashSet<>(pendingSynced), currentTaskId);
+        state.setVersion(VERSION);
+        state.setUnreadBits(unread.isEmpty() ? null : new ArrayList<>(unread));
+
+        if (catalog.isEmpty() || !archive(catalog)) {
+            // Nothing to index against: everything goes out as IDs
+            addIds(catalog, manual, state.getManualCompletedTaskIds());
+            addIds(catalog, synced, state.getSyncedCompletedTaskIds());
+            return state;
+        }
+
+        state.setPackHash(catalog.getContentHash());
+        state.setManualCompletedBits(encodeBits(clip(manual, catalog.size())));
+        state.setSyncedCompletedBits(encodeBits(clip(synced, catalog.size())));
+        return state;
+    }
+
+    /**
+     * Expands any state version into completed IDs only ({@code packHash} and bits unset), ready to
+     * be resolved against whatever pack is loaded. {@code savedAt} is kept. Bits that can't be read
+     * here, this state's own or ones it carried, are returned in {@code unreadBits} (null if none).
+     *
+     * @param current the loaded pack, used directly when it's the one the bits were written against
+     */
+    public synchronized PersistedState decode(PersistedState state, TaskCatalog current) {
+        PersistedState out = new PersistedState(copy(state.getManualCompletedTaskIds()), copy(state.getSyncedCompletedTaskIds()),
+                state.getCurrentTaskId());
+        out.setSavedAt(state.getSavedAt());
+
+        List<UnreadBits> unread = new ArrayList<>();
+        if (state.getPackHash() != null) {
+            UnreadBits own = new UnreadBits(state.getPackHash(), state.getManualCompletedBits(), state.getSyncedCompletedBits());
+            if (!read(own, current, true, out.getManualCompletedTaskIds(), out.getSyncedCompletedTaskIds())) {
+                unread.add(own);
+            }
+        }
+        if (state.getUnreadBits() != null) {
+            for (UnreadBits bits : state.getUnreadBits()) {
+                if (bits != null && bits.getPackHash() != null
+                        && !read(bits, current, true, out.getManualCompletedTaskIds(), out.getSyncedCompletedTaskIds())) {
+                    unread.add(bits);
+                }
+            }
+        }
+
+        out.setUnreadBits(unread.isEmpty() ? null : unread);
+        return out;
+    }
+
+    /**
+     * Reads whichever of {@code unread} were written against {@code current} into the ID sets. Only
+     * the catalog is consulted, never the archive, so this is cheap enough for a pack swap.
+     *
+     * @return the bits still unread, unmodifiable
+     */
+    public synchronized List<UnreadBits> resolve(List<UnreadBits> unread, TaskCatalog current,
+                                                 Set<String> manualOut, Set<String> syncedOut) {
+        if (unread.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<UnreadBits> rest = new ArrayList<>();
+        for (UnreadBits bits : unread) {
+            if (!read(bits, current, false, manualOut, syncedOut)) {
+                rest.add(bits);
+            }
+        }
+        return Collections.unmodifiableList(rest);
+    }
+
+    static String encodeBits(BitSet bits) {
+        byte[] raw = bits.toByteArray();
+        if (raw.length >= MIN_DEFLATE_BYTES) {
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                deflater.setInput(raw);
+                deflater.finish();
+                byte[] buf = new byte[raw.length];
+                int n = deflater.deflate(buf);
+                if (deflater.finished() && n < raw.length) {
+                    return DEFLATED + Base64.getEncoder().encodeToString(Arrays.copyOf(buf, n));
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        return RAW + Base64.getEncoder().encodeToString(raw);
+    }
+
+    static BitSet decodeBits(String encoded) throws DataFormatException {
+        if (encoded == null || encoded.isEmpty()) {
+            return new BitSet();
+        }
+
+        byte[] bytes = Base64.getDecoder().decode(encoded.substring(1));
+        switch (encoded.charAt(0)) {
+            case RAW:
+                return BitSet.valueOf(bytes);
+            case DEFLATED:
+                return BitSet.valueOf(inflate(bytes));
+            default:
+                throw new IllegalArgumentException("Unknown bitset encoding '" + encoded.charAt(0) + "'");
+        }
+    }
+
+    /**
+     * Makes sure the catalog's id order is on disk before any bits reference it.
+     *
+     * @return true if bits written against {@code catalog} can be decoded later
+     */
+    private boolean archive(TaskCatalog catalog) {
+        String hash = catalog.getContentHash();
+        if (archiveDir == null || hash.equals(archivedHash)) {
+            return true;
+        }
+
+        Path file = archiveDir.resolve(hash + ARCHIVE_SUFFIX);
+        try {
+            if (!Files.exists(file)) {
+                Files.createDirectories(archiveDir);
+                Path tmp = archiveDir.resolve(hash + ARCHIVE_SUFFIX + ".tmp");
+                try (Writer w = new BufferedWriter(new OutputStreamWriter(new DeflaterOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8))) {
+                    for (int i = 0; i < catalog.size(); i++) {
+                        w.write(catalog.get(i).getId());
+                        w.write('\n');
+                    }
+                }
+                try {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to archive the task list of pack {}; saving completion as IDs", hash, e);
+            return false;
+        }
+
+        archivedHash = hash;
+        return true;
+    }
+
+    /**
+     * @return false (and nothing added) if no id list for the bits' pack is available or they're corrupt
+     */
+    private boolean read(UnreadBits bits, TaskCatalog current, boolean useArchive, Set<String> manualOut, Set<String> syncedOut) {
+        String hash = bits.getPackHash();
+        List<String> ids = idsFor(hash, current, useArchive);
+        if (ids == null) {
+            log.warn("No task list for pack {}; keeping its completion bits until one turns up", hash);
+            return false;
+        }
+
+        BitSet manual;
+        BitSet synced;
+        try {
+            manual = decodeBits(bits.getManualCompletedBits());
+            synced = decodeBits(bits.getSyncedCompletedBits());
+        } catch (IllegalArgumentException | DataFormatException e) {
+            log.error("Unreadable completion bits for pack {}; keeping them as they are", hash, e);
+            return false;
+        }
+
+        addIds(ids, manual, manualOut);
+        addIds(ids, synced, syncedOut);
+        return true;
+    }
+
+    private List<String> idsFor(String hash, TaskCatalog current, boolean useArchive) {
+        if (hash.equals(current.getContentHash())) {
+            List<String> ids = new ArrayList<>(current.size());
+            for (int i = 0; i < current.size(); i++) {
+                ids.add(current.get(i).getId());
+            }
+            return ids;
+        }
+        if (hash.equals(cachedHash)) {
+            return cachedIds;
+        }
+        if (archiveDir == null || !useArchive) {
+            return null;
+        }
+
+        byte[] bytes;
+        try (InflaterInputStream in = new InflaterInputStream(Files.newInputStream(archiveDir.resolve(hash + ARCHIVE_SUFFIX)))) {
+            bytes = in.readAllBytes();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to read the task list of pack {}", hash, e);
+            return null;
+        }
+
+        List<String> ids = new ArrayList<>();
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        for (int start = 0, nl; (nl = text.indexOf('\n', start)) >= 0; start = nl + 1) {
+            ids.add(text.substring(start, nl));
+        }
+        cachedHash = hash;
+        cachedIds = Collections.unmodifiableList(ids);
+        return cachedIds;
+    }
+
+    private static BitSet clip(BitSet bits, int size) {
+        return (bits.length() > size) ? bits.get(0, size) : bits;
+    }
+
+    private static void addIds(TaskCatalog catalog, BitSet bits, Set<String> out) {
+        for (int i = bits.nextSetBit(0); i >= 0 && i < catalog.size(); i = bits.nextSetBit(i + 1)) {
+            out.add(catalog.get(i).getId());
+        }
+    }
+
+    private static void addIds(List<String> ids, BitSet bits, Set<String> out) {
+        for (int i = bits.nextSetBit(0); i >= 0 && i < ids.size(); i = bits.nextSetBit(i + 1)) {
+            out.add(ids.get(i));
+        }
+    }
+
+    private static Set<String> copy(Set<String> ids) {
+        return (ids == null) ? new HashSet<>() : new HashSet<>(ids);
+    }
+
+    private static byte[] inflate(byte[] bytes) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buf = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buf);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated deflate stream");
+                }
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.amtrollin.xtremetasker.persistence;
+
+import com.amtrollin.xtremetasker.profiling.Profiler;
+import com.amtrollin.xtremetasker.profiling.ProfilerSection;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single background thread that does the plugin's disk and config writes, so the client thread
+ * only pays for taking a snapshot.
+ * <p>
+ * Work runs in submission order. {@link #save} coalesces: while a save for a key is still queued,
+ * a newer one replaces it instead of queueing a second write, so a burst of toggles costs one write
+ * of the latest snapshot. Before {@link #start()} and after {@link #shutdown} everything runs on the
+ * caller's thread.
+ */
+@Slf4j
+public final class PersistenceWorker {
+    private static final String THREAD_NAME = "xtremetasker-persistence";
+
+    // Saves queued but not yet started, by key; guarded by this
+    private final Map<String, Runnable> pendingSaves = new HashMap<>();
+    private ExecutorService executor = null; // guarded by this
+
+    private final AtomicLong saveRequests = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong tasks = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastWriteNanos = 0L;
+
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadExecutor(r ->
+        {
+            Thread t = new Thread(r, THREAD_NAME);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Queues {@code write}, or folds it into the save already queued for {@code key}.
+     *
+     * @param write must only touch state captured when it was created
+     */
+    public void save(String key, Runnable write) {
+        saveRequests.incrementAndGet();
+
+        ExecutorService ex;
+        synchronized (this) {
+            ex = executor;
+            if (ex != null && pendingSaves.put(key, write) != null) {
+                return; // the queued save will pick this snapshot up instead
+            }
+        }
+
+        if (ex == null || !tryExecute(ex, () -> runSave(takePending(key)))) {
+            runSave(ex == null ? write : takePending(key));
+        }
+    }
+
+    /**
+     * Queues a task that isn't coalesced (journal appends); runs after everything submitted before it.
+     */
+    public void execute(Runnable task) {
+        tasks.incrementAndGet();
+
+        ExecutorService ex;
+        synchronized (this) {
+            ex = executor;
+        }
+        if (ex == null || !tryExecute(ex, () -> runTask(task))) {
+            runTask(task);
+        }
+    }
+
+    public synchronized boolean isSavePending(String key) {
+        return pendingSaves.containsKey(key);
+    }
+
+    /**
+     * Waits for everything queued so far.
+     *
+     * @return false if the queue didn't drain within the timeout
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        ExecutorService ex;
+        synchronized (this) {
+            ex = executor;
+        }
+        if (ex == null) {
+            return true;
+        }
+
+        long t0 = System.nanoTime();
+        try {
+            Future<?> marker = ex.submit(() ->
+            {
+            });
+            marker.get(timeout, unit);
+            log.debug("Persistence flush took {}us", (System.nanoTime() - t0) / 1_000L);
+            return true;
+        } catch (RejectedExecutionException | ExecutionException e) {
+            return true; // shut down concurrently; shutdown() did the waiting
+        } catch (TimeoutException e) {
+            log.warn("Persistence queue didn't drain within {}ms", unit.toMillis(timeout));
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Lets queued work finish for up to {@code timeout}, then stops the thread. Work still running at
+     * the timeout is left to complete in the background rather than interrupted mid-write.
+     *
+     * @return false if the queue didn't drain in time
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        ExecutorService ex;
+        synchronized (this) {
+            ex = executor;
+            executor = null;
+        }
+        if (ex == null) {
+            return true;
+        }
+
+        ex.shutdown();
+        try {
+            if (ex.awaitTermination(timeout, unit)) {
+                return true;
+            }
+            log.warn("Persistence queue didn't drain within {}ms of shutdown", unit.toMillis(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * Save requests since startup; {@code saveRequests - writes - failures} were coalesced away.
+     */
+    public long getSaveRequests() {
+        return saveRequests.get();
+    }
+
+    public long getWrites() {
+        return writes.get();
+    }
+
+    public long getTasks() {
+        return tasks.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * Duration of the most recent save, snapshot encoding through the last byte written.
+     */
+    public long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+
+    private synchronized Runnable takePending(String key) {
+        return pendingSaves.remove(key);
+    }
+
+    private static boolean tryExecute(ExecutorService ex, Runnable r) {
+        try {
+            ex.execute(r);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void runSave(Runnable write) {
+        if (write == null) {
+            return;
+        }
+
+        long p0 = Profiler.start();
+        long t0 = System.nanoTime();
+        try {
+            write.run();
+            writes.incrementAndGet();
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.warn("Background state save failed", e);
+        } finally {
+            lastWriteNanos = System.nanoTime() - t0;
+            Profiler.stop(ProfilerSection.PERSIST_WRITE, p0);
+        }
+    }
+
+    private void runTask(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.warn("Background persistence task failed", e);
+        }
+    }
+}
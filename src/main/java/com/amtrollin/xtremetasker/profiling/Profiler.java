@@ -0,0 +1,62 @@
+package com.amtrollin.xtremetasker.profiling;
+
+/**
+ * Section timers for the debug HUD ({@code showProfiler} in the config).
+ * <p>
+ * Usage: {@code long t = Profiler.start(); ... Profiler.stop(ProfilerSection.X, t);}.
+ * Static so hot paths like {@code TaskListPipeline.apply} can be timed without threading a
+ * profiler through them. While the toggle is off {@link #start()} is one field read and returns 0,
+ * and {@link #stop} returns straight away on a 0 start, so the timers cost nothing measurable.
+ */
+public final class Profiler {
+    private static final LatencyHistogram[] HISTOGRAMS = new LatencyHistogram[ProfilerSection.values().length];
+
+    static {
+        for (int i = 0; i < HISTOGRAMS.length; i++) {
+            HISTOGRAMS[i] = new LatencyHistogram();
+        }
+    }
+
+    private static volatile boolean enabled = false;
+
+    private Profiler() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turning the profiler on starts every histogram from empty.
+     */
+    public static void setEnabled(boolean on) {
+        if (on && !enabled) {
+            reset();
+        }
+        enabled = on;
+    }
+
+    /**
+     * @return a start timestamp, or 0 while profiling is off
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public static void stop(ProfilerSection section, long start) {
+        if (start == 0L) {
+            return;
+        }
+        HISTOGRAMS[section.ordinal()].record(System.nanoTime() - start);
+    }
+
+    public static LatencyHistogram histogram(ProfilerSection section) {
+        return HISTOGRAMS[section.ordinal()];
+    }
+
+    public static void reset() {
+        for (LatencyHistogram h : HISTOGRAMS) {
+            h.reset();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.amtrollin.xtremetasker.profiling;
+
+/**
+ * Code paths the profiler times. Order is the order the HUD lists them in.
+ */
+public enum ProfilerSection {
+    OVERLAY_FRAME("Overlay frame"),
+    CURRENT_TAB("  Current tab"),
+    TASKS_TAB("  Tasks tab"),
+    RULES_TAB("  Help tab"),
+    DETAILS_POPUP("  Details popup"),
+    PIPELINE("Task pipeline"),
+    TIER_COUNTS("Tier counts"),
+    SAVE_STATE("Save state"),
+    PERSIST_WRITE("  Background write"),
+    PACK_LOAD("Pack load"),
+    PACK_SWAP("Pack swap");
+
+    private final String label;
+
+    ProfilerSection(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -1,5 +1,6 @@
 package com.amtrollin.xtremetasker.tasklist;
 
+import com.amtrollin.xtremetasker.enums.TaskSource;
 import com.amtrollin.xtremetasker.models.XtremeTask;
 import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
 
@@ -21,7 +22,7 @@ public final class TaskListFilter
             query = new TaskListQuery();
         }
 
-        final TaskListQuery.SourceFilter sourceFilter = query.sourceFilter;
+        final TaskSource source = sourceOf(query.sourceFilter);
         final TaskListQuery.StatusFilter statusFilter = query.statusFilter;
 
         return t ->
@@ -34,26 +35,9 @@ public final class TaskListFilter
             // -------------------------
             // 1) Source filter
             // -------------------------
-            if (sourceFilter != null && sourceFilter != TaskListQuery.SourceFilter.ALL)
+            if (source != null && t.getSource() != source)
             {
-                boolean ok;
-                switch (sourceFilter)
-                {
-                    case CA:
-                        ok = isCombatAchievementTask(t);
-                        break;
-                    case CLOGS:
-                        ok = isCollectionLogTask(t);
-                        break;
-                    default:
-                        ok = true;
-                        break;
-                }
-
-                if (!ok)
-                {
-                    return false;
-                }
+                return false;
             }
 
             // -------------------------
@@ -86,35 +70,26 @@ public final class TaskListFilter
 
     // =========================================================
     // SOURCE DETECTION
-    // Update these two methods to match your actual XtremeTask model.
     // =========================================================
 
-    private static boolean isCombatAchievementTask(XtremeTask t)
+    /**
+     * @return the task source a filter selects, or null when it doesn't restrict source
+     */
+    public static TaskSource sourceOf(TaskListQuery.SourceFilter filter)
     {
-
-        String src = safeLower(String.valueOf(t.getSource()));
-        if (!src.isEmpty())
+        if (filter == null)
         {
-            return src.contains("combat");
+            return null;
         }
 
-        return false;
-    }
-
-    private static boolean isCollectionLogTask(XtremeTask t)
-    {
-
-        String src = safeLower(String.valueOf(t.getSource()));
-        if (!src.isEmpty())
+        switch (filter)
         {
-            return src.contains("collection");
+            case CA:
+                return TaskSource.COMBAT_ACHIEVEMENT;
+            case CLOGS:
+                return TaskSource.COLLECTION_LOG;
+            default:
+                return null;
         }
-
-        return false;
-    }
-
-    private static String safeLower(String s)
-    {
-        return s == null ? "" : s.toLowerCase();
     }
 }
@@ -1,9 +1,12 @@
 package com.amtrollin.xtremetasker.tasklist;
 
 import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.profiling.Profiler;
+import com.amtrollin.xtremetasker.profiling.ProfilerSection;
 import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.*;
@@ -18,11 +21,56 @@ public final class TaskListPipeline {
             List<XtremeTask> input,
             TaskListQuery query,
             TaskListFilter.CompletionLookup completed
+    ) {
+        return apply(input, query, completed, null);
+    }
+
+    /**
+     * Same as {@link #apply(List, TaskListQuery, TaskListFilter.CompletionLookup)}, but answers the
+     * keyword search from a prebuilt {@link TaskSearchIndex} when one is available.
+     * Tasks the index doesn't know about fall back to the per-task token scan.
+     */
+    public static List<XtremeTask> apply(
+            List<XtremeTask> input,
+            TaskListQuery query,
+            TaskListFilter.CompletionLookup completed,
+            TaskSearchIndex index
+    ) {
+        return apply(input, query, completed, index, null);
+    }
+
+    /**
+     * Index-backed apply that also narrows incrementally: when the search only grew since the
+     * refiner's last call, just the previous matches are re-checked (see {@link TaskSearchRefiner}).
+     */
+    public static List<XtremeTask> apply(
+            List<XtremeTask> input,
+            TaskListQuery query,
+            TaskListFilter.CompletionLookup completed,
+            TaskSearchIndex index,
+            TaskSearchRefiner refiner
+    ) {
+        return apply(input, query, completed, index, refiner, null);
+    }
+
+    /**
+     * Full form: with precomputed name ranks the sort is a radix sort on composite keys
+     * (see {@link TaskListSorter#sort}); output order is the same either way.
+     */
+    public static List<XtremeTask> apply(
+            List<XtremeTask> input,
+            TaskListQuery query,
+            TaskListFilter.CompletionLookup completed,
+            TaskSearchIndex index,
+            TaskSearchRefiner refiner,
+            TaskNameRanks ranks
     ) {
         if (input == null || input.isEmpty()) {
             return new ArrayList<>();
         }
 
+        long t0 = Profiler.start();
+
         // Defensive defaults
         if (query == null) {
             query = new TaskListQuery();
@@ -34,12 +82,22 @@ public final class TaskListPipeline {
         Predicate<XtremeTask> filterPred = TaskListFilter.build(query, completed);
 
         // Pre-tokenize the user's query once
-        final List<String> queryTerms = keywordTokens(q);
+        final List<String> queryTerms = searchTerms(q);
+
+        // AND-of-prefix answered by bitset intersection; null = no search constraint
+        final BitSet searchHits;
+        if (index == null) {
+            searchHits = null;
+        } else if (refiner != null) {
+            searchHits = refiner.match(index, queryTerms);
+        } else {
+            searchHits = index.match(queryTerms);
+        }
 
         List<XtremeTask> out = new ArrayList<>(input.size());
         for (XtremeTask t : input) {
             // Search (name/description/prereqs keyword tokens; ignores stopwords)
-            if (!matchesKeywordSearch(queryTerms, t)) {
+            if (!matchesSearch(queryTerms, searchHits, index, t)) {
                 continue;
             }
 
@@ -51,10 +109,38 @@ public final class TaskListPipeline {
             out.add(t);
         }
 
-        out.sort(TaskListSorter.comparator(query, completed));
+        TaskListSorter.sort(out, query, completed, ranks);
+        Profiler.stop(ProfilerSection.PIPELINE, t0);
         return out;
     }
 
+    /**
+     * Whether a single task passes the query's search and filters (scope is the caller's concern).
+     * Used to re-evaluate one task after its completion changed without re-running {@link #apply}.
+     */
+    static boolean accepts(
+            XtremeTask t,
+            TaskListQuery query,
+            TaskListFilter.CompletionLookup completed,
+            TaskSearchIndex index,
+            TaskSearchRefiner refiner
+    ) {
+        String q = (query.searchText == null) ? "" : query.searchText.trim();
+        List<String> queryTerms = searchTerms(q);
+
+        BitSet searchHits;
+        if (index == null) {
+            searchHits = null;
+        } else if (refiner != null) {
+            searchHits = refiner.match(index, queryTerms);
+        } else {
+            searchHits = index.match(queryTerms);
+        }
+
+        return matchesSearch(queryTerms, searchHits, index, t)
+                && TaskListFilter.build(query, completed).test(t);
+    }
+
 
     private static final Pattern TOKEN_SPLIT = Pattern.compile("[^a-z0-9]+");
 
@@ -70,7 +156,7 @@ public final class TaskListPipeline {
             "with"
     ));
 
-    private static List<String> keywordTokens(String s) {
+    static List<String> keywordTokens(String s) {
         if (s == null || s.isEmpty()) {
             return Collections.emptyList();
         }
@@ -93,31 +179,60 @@ public final class TaskListPipeline {
     }
 
     /**
-     * Keyword-search match against a task.
-     * AND semantics: every query term must appear in name/description/prereqs tokens.
+     * Query tokens that actually constrain the search (short prefixes are ignored).
      */
-    private static boolean matchesKeywordSearch(List<String> queryTerms, XtremeTask t) {
-        if (queryTerms == null || queryTerms.isEmpty()) {
-            return true;
-        }
-        if (t == null) {
-            return false;
+    static List<String> searchTerms(String q) {
+        List<String> tokens = keywordTokens(q);
+        if (tokens.isEmpty()) {
+            return tokens;
         }
 
-        ArrayList<String> realTerms = new ArrayList<>();
-        for (String term : queryTerms) {
+        ArrayList<String> realTerms = new ArrayList<>(tokens.size());
+        for (String term : tokens) {
             if (term.length() >= 3) {
                 realTerms.add(term);
             }
         }
-        if (realTerms.isEmpty()) {
-            return true;
-        }
+        return realTerms;
+    }
 
+    /**
+     * Name/description/prereqs keyword tokens for a task, in that order.
+     */
+    static List<String> taskTokens(XtremeTask t) {
         ArrayList<String> hay = new ArrayList<>();
         hay.addAll(keywordTokens(safe(t.getName())));
         hay.addAll(keywordTokens(safe(t.getDescription())));
         hay.addAll(keywordTokens(safe(t.getPrereqs())));
+        return hay;
+    }
+
+    private static boolean matchesSearch(List<String> queryTerms, BitSet searchHits, TaskSearchIndex index, XtremeTask t) {
+        if (queryTerms.isEmpty()) {
+            return true;
+        }
+        if (t == null) {
+            return false;
+        }
+
+        int ord = (index != null) ? index.indexOf(t) : -1;
+        if (ord >= 0) {
+            return searchHits == null || searchHits.get(ord);
+        }
+
+        return matchesKeywordSearch(queryTerms, t);
+    }
+
+    /**
+     * Keyword-search match against a task.
+     * AND semantics: every query term must prefix-match a name/description/prereqs token.
+     */
+    static boolean matchesKeywordSearch(List<String> realTerms, XtremeTask t) {
+        if (realTerms == null || realTerms.isEmpty()) {
+            return true;
+        }
+
+        List<String> hay = taskTokens(t);
 
         for (String term : realTerms) {
             boolean matched = false;
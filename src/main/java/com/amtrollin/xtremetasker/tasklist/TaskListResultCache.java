@@ -0,0 +1,395 @@
+package com.amtrollin.xtremetasker.tasklist;
+
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes the last {@link TaskListPipeline#apply} result.
+ * <p>
+ * The pipeline only re-runs when a query field, the active tier, the task pack generation
+ * or (for completion-dependent queries) the completion version actually changes.
+ * Render, wheel, key and mouse handlers can call {@link #get} as often as they like.
+ * <p>
+ * When the only change is a single task's completion (one checkbox toggle), the cached list is
+ * patched instead: that task is removed and binary-search inserted at its new position.
+ * The cache also tracks each task's position in the current list ({@link #positionOf}).
+ */
+public final class TaskListResultCache
+{
+    private final TaskSearchRefiner refiner = new TaskSearchRefiner();
+
+    private Key lastKey = null;
+    private List<XtremeTask> lastResult = Collections.emptyList();
+    private List<XtremeTask> lastSorted = Collections.emptyList();
+
+    // Position of each task (by ordinal) in lastSorted, -1 when absent; only valid with lastRanks
+    private TaskNameRanks lastRanks = null;
+    private int[] positionByOrdinal = new int[0];
+
+    /**
+     * @param input             supplies the scoped input list; only invoked on a cache miss
+     * @param packGeneration    bumped by the plugin whenever the task list is replaced
+     * @param completionVersion bumped by the plugin whenever completion state changes
+     * @param index             keyword index for the current pack (may be null)
+     * @param ranks             name ranks for the current pack (may be null)
+     * @param changed           the task whose completion change produced {@code completionVersion},
+     *                          or null when the latest change wasn't a single task
+     * @return an unmodifiable, sorted + filtered view; do not hold on to it across frames
+     */
+    public List<XtremeTask> get(
+            Supplier<List<XtremeTask>> input,
+            TaskListQuery query,
+            TaskTier activeTier,
+            int packGeneration,
+            int completionVersion,
+            TaskListFilter.CompletionLookup completed,
+            TaskSearchIndex index,
+            TaskNameRanks ranks,
+            XtremeTask changed
+    )
+    {
+        if (query == null)
+        {
+            query = new TaskListQuery();
+        }
+
+        // Hit path is called every frame, so compare against the last key without building a new one
+        if (lastKey != null && lastKey.matches(query, activeTier, packGeneration, completionVersion))
+        {
+            return lastResult;
+        }
+
+        Key key = new Key(query, activeTier, packGeneration, completionVersion);
+
+        if (changed != null && ranks != null && ranks == lastRanks && key.isNextCompletionOf(lastKey))
+        {
+            List<XtremeTask> patched = moveChanged(changed, input, query, completed, index, ranks);
+            if (patched != null)
+            {
+                publish(key, patched);
+                return lastResult;
+            }
+        }
+
+        List<XtremeTask> sorted = TaskListPipeline.apply(input.get(), query, completed, index, refiner, ranks);
+        publish(key, sorted);
+
+        lastRanks = ranks;
+        positionByOrdinal = new int[(ranks == null) ? 0 : ranks.size()];
+        Arrays.fill(positionByOrdinal, -1);
+        if (ranks != null)
+        {
+            reindex(0, sorted.size() - 1);
+        }
+        return lastResult;
+    }
+
+    /**
+     * Position of {@code task} in the list last returned by {@link #get}, or -1 if it isn't in it.
+     */
+    public int positionOf(XtremeTask task)
+    {
+        int ord = (task == null || lastRanks == null) ? -1 : task.getOrdinal();
+        if (ord < 0 || ord >= positionByOrdinal.length)
+        {
+            return linearPositionOf(task);
+        }
+
+        int pos = positionByOrdinal[ord];
+        return (pos >= 0 && lastSorted.get(pos) == task) ? pos : -1;
+    }
+
+    public void invalidate()
+    {
+        lastKey = null;
+        lastResult = Collections.emptyList();
+        lastSorted = Collections.emptyList();
+        lastRanks = null;
+        positionByOrdinal = new int[0];
+        refiner.clear();
+    }
+
+    private void publish(Key key, List<XtremeTask> sorted)
+    {
+        lastKey = key;
+        lastSorted = sorted;
+        lastResult = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Patches the cached list for one task's completion change.
+     * Search, source and scope didn't change, so only that task's membership and position can move.
+     * The list is copied rather than edited in place so a list handed out earlier stays intact.
+     *
+     * @return the patched list, or null to fall back to a full pipeline run
+     */
+    private List<XtremeTask> moveChanged(
+            XtremeTask changed,
+            Supplier<List<XtremeTask>> input,
+            TaskListQuery query,
+            TaskListFilter.CompletionLookup completed,
+            TaskSearchIndex index,
+            TaskNameRanks ranks
+    )
+    {
+        int ord = ranks.rankOf(changed) < 0 ? -1 : changed.getOrdinal();
+        if (ord < 0)
+        {
+            return null;
+        }
+
+        int from = positionByOrdinal[ord];
+        boolean keep = TaskListPipeline.accepts(changed, query, completed, index, refiner);
+
+        // Was filtered out and still is: nothing moves
+        if (from < 0 && !keep)
+        {
+            return lastSorted;
+        }
+
+        // Newly visible (status filter): it must also be in scope, which only the input knows
+        if (from < 0 && !containsIdentity(input.get(), changed))
+        {
+            return lastSorted;
+        }
+
+        ArrayList<XtremeTask> next = new ArrayList<>(lastSorted);
+        if (from >= 0)
+        {
+            next.remove(from);
+            positionByOrdinal[ord] = -1;
+        }
+
+        int to = -1;
+        if (keep)
+        {
+            to = insertionPoint(next, changed, query, completed, ranks);
+            if (to < 0)
+            {
+                return null;
+            }
+            next.add(to, changed);
+        }
+
+        lastSorted = next;
+        if (from < 0)
+        {
+            reindex(to, next.size() - 1);
+        }
+        else if (to < 0)
+        {
+            reindex(from, next.size() - 1);
+        }
+        else
+        {
+            reindex(Math.min(from, to), Math.max(from, to));
+        }
+        return next;
+    }
+
+    /**
+     * Upper bound of the task's (sort key, ordinal) among {@code sorted}. Ties on sort key fall back
+     * to ordinal order, which is what the stable full sort produces from the catalog's ordinal-ordered slices.
+     *
+     * @return the index, or -1 if a key can't be computed
+     */
+    private static int insertionPoint(List<XtremeTask> sorted, XtremeTask t, TaskListQuery q,
+                                      TaskListFilter.CompletionLookup completed, TaskNameRanks ranks)
+    {
+        long key = TaskListSorter.sortKey(t, q, completed, ranks);
+        if (key < 0)
+        {
+            return -1;
+        }
+
+        int lo = 0;
+        int hi = sorted.size();
+        while (lo < hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            XtremeTask m = sorted.get(mid);
+            long mk = TaskListSorter.sortKey(m, q, completed, ranks);
+            if (mk < 0)
+            {
+                return -1;
+            }
+
+            int cmp = (mk != key) ? Long.compare(mk, key) : Integer.compare(m.getOrdinal(), t.getOrdinal());
+            if (cmp < 0)
+            {
+                lo = mid + 1;
+            }
+            else
+            {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void reindex(int fromPos, int toPos)
+    {
+        for (int i = Math.max(0, fromPos); i <= toPos && i < lastSorted.size(); i++)
+        {
+            int ord = lastSorted.get(i).getOrdinal();
+            if (ord >= 0 && ord < positionByOrdinal.length)
+            {
+                positionByOrdinal[ord] = i;
+            }
+        }
+    }
+
+    private int linearPositionOf(XtremeTask task)
+    {
+        for (int i = 0; i < lastSorted.size(); i++)
+        {
+            if (lastSorted.get(i) == task)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean containsIdentity(List<XtremeTask> list, XtremeTask t)
+    {
+        for (XtremeTask x : list)
+        {
+            if (x == t)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Immutable snapshot of everything the pipeline output depends on.
+     * TaskListQuery is mutable, so its fields are copied rather than referenced.
+     */
+    private static final class Key
+    {
+        private final String searchText;
+        private final TaskListQuery.SourceFilter sourceFilter;
+        private final TaskListQuery.StatusFilter statusFilter;
+        private final TaskListQuery.TierScope tierScope;
+        private final boolean sortByCompletion;
+        private final boolean completedFirst;
+        private final boolean sortByTier;
+        private final boolean easyTierFirst;
+        private final TaskTier tier;
+        private final int packGeneration;
+        private final int completionVersion;
+
+        private Key(TaskListQuery q, TaskTier activeTier, int packGeneration, int completionVersion)
+        {
+            this.searchText = (q.searchText == null) ? "" : q.searchText.trim();
+            this.sourceFilter = q.sourceFilter;
+            this.statusFilter = q.statusFilter;
+            this.tierScope = q.tierScope;
+            this.sortByCompletion = q.sortByCompletion;
+            this.completedFirst = q.completedFirst;
+            this.sortByTier = q.sortByTier;
+            this.easyTierFirst = q.easyTierFirst;
+
+            // ALL_TIERS ignores the active tab, so switching tabs there shouldn't miss
+            this.tier = (q.tierScope == TaskListQuery.TierScope.ALL_TIERS) ? null : activeTier;
+            this.packGeneration = packGeneration;
+
+            // Only queries that filter or sort on completion need to re-run when a box is ticked
+            boolean dependsOnCompletion = q.sortByCompletion
+                    || (q.statusFilter != null && q.statusFilter != TaskListQuery.StatusFilter.ALL);
+            this.completionVersion = dependsOnCompletion ? completionVersion : 0;
+        }
+
+        /**
+         * Same as {@code equals(new Key(q, activeTier, packGeneration, completionVersion))}, without the allocation.
+         */
+        private boolean matches(TaskListQuery q, TaskTier activeTier, int packGeneration, int completionVersion)
+        {
+            if (sortByCompletion != q.sortByCompletion
+                    || completedFirst != q.completedFirst
+                    || sortByTier != q.sortByTier
+                    || easyTierFirst != q.easyTierFirst
+                    || this.packGeneration != packGeneration
+                    || sourceFilter != q.sourceFilter
+                    || statusFilter != q.statusFilter
+                    || tierScope != q.tierScope)
+            {
+                return false;
+            }
+
+            TaskTier t = (q.tierScope == TaskListQuery.TierScope.ALL_TIERS) ? null : activeTier;
+            boolean dependsOnCompletion = q.sortByCompletion
+                    || (q.statusFilter != null && q.statusFilter != TaskListQuery.StatusFilter.ALL);
+            int version = dependsOnCompletion ? completionVersion : 0;
+            if (tier != t || this.completionVersion != version)
+            {
+                return false;
+            }
+
+            return searchText.equals((q.searchText == null) ? "" : q.searchText.trim());
+        }
+
+        /**
+         * True when this key differs from {@code prev} only by exactly one completion change.
+         */
+        private boolean isNextCompletionOf(Key prev)
+        {
+            return prev != null
+                    && completionVersion != 0
+                    && completionVersion == prev.completionVersion + 1
+                    && sortByCompletion == prev.sortByCompletion
+                    && completedFirst == prev.completedFirst
+                    && sortByTier == prev.sortByTier
+                    && easyTierFirst == prev.easyTierFirst
+                    && packGeneration == prev.packGeneration
+                    && sourceFilter == prev.sourceFilter
+                    && statusFilter == prev.statusFilter
+                    && tierScope == prev.tierScope
+                    && tier == prev.tier
+                    && searchText.equals(prev.searchText);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof Key))
+            {
+                return false;
+            }
+
+            Key k = (Key) o;
+            return sortByCompletion == k.sortByCompletion
+                    && completedFirst == k.completedFirst
+                    && sortByTier == k.sortByTier
+                    && easyTierFirst == k.easyTierFirst
+                    && packGeneration == k.packGeneration
+                    && completionVersion == k.completionVersion
+                    && sourceFilter == k.sourceFilter
+                    && statusFilter == k.statusFilter
+                    && tierScope == k.tierScope
+                    && tier == k.tier
+                    && searchText.equals(k.searchText);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(searchText, sourceFilter, statusFilter, tierScope, sortByCompletion,
+                    completedFirst, sortByTier, easyTierFirst, tier, packGeneration, completionVersion);
+        }
+    }
+}
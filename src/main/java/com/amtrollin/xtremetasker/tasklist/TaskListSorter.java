@@ -1,14 +1,30 @@
 package com.amtrollin.xtremetasker.tasklist;
 
+import com.amtrollin.xtremetasker.enums.TaskTier;
 import com.amtrollin.xtremetasker.models.XtremeTask;
 import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 
 public final class TaskListSorter
 {
     private TaskListSorter() {}
 
+    // Every TaskTier plus one slot for "no tier"
+    private static final int TIER_SLOTS = TaskTier.values().length + 1;
+
+    /**
+     * Case-insensitive name order; the final tie-breaker of every task list sort.
+     */
+    public static final Comparator<XtremeTask> NAME_ORDER = (a, b) ->
+    {
+        String an = a.getName() == null ? "" : a.getName();
+        String bn = b.getName() == null ? "" : b.getName();
+        return an.compareToIgnoreCase(bn);
+    };
+
     public static Comparator<XtremeTask> comparator(TaskListQuery q, TaskListFilter.CompletionLookup completed)
     {
         final boolean sortByCompletion = q.sortByCompletion;
@@ -60,12 +76,143 @@ public final class TaskListSorter
 
 
             // 3) Always alphabetical fallback
-            String an = a.getName() == null ? "" : a.getName();
-            String bn = b.getName() == null ? "" : b.getName();
-            return an.compareToIgnoreCase(bn);
+            return NAME_ORDER.compare(a, b);
         };
     }
 
+    /**
+     * Sorts {@code tasks} in place into exactly the order {@link #comparator} gives (including
+     * its stability on ties), but without per-comparison string compares.
+     * <p>
+     * Each task gets one composite int key (completion, tier, precomputed name rank) and the list
+     * is LSD radix sorted on that key, a byte per pass. Falls back to the comparator when
+     * {@code ranks} is null or doesn't cover every task.
+     */
+    public static void sort(List<XtremeTask> tasks, TaskListQuery q, TaskListFilter.CompletionLookup completed, TaskNameRanks ranks)
+    {
+        int n = tasks.size();
+        if (n < 2)
+        {
+            return;
+        }
+
+        int[] keys = (ranks == null) ? null : compositeKeys(tasks, q, completed, ranks);
+        if (keys == null)
+        {
+            tasks.sort(comparator(q, completed));
+            return;
+        }
+
+        XtremeTask[] src = tasks.toArray(new XtremeTask[0]);
+        XtremeTask[] dst = new XtremeTask[n];
+        int[] keyDst = new int[n];
+        int[] counts = new int[257];
+
+        int maxKey = 0;
+        for (int k : keys)
+        {
+            maxKey = Math.max(maxKey, k);
+        }
+
+        // Counting sort per byte, least significant first; each pass is stable
+        for (int shift = 0; shift < 32; shift += 8)
+        {
+            if (shift > 0 && (maxKey >>> shift) == 0)
+            {
+                break;
+            }
+
+            Arrays.fill(counts, 0);
+            for (int k : keys)
+            {
+                counts[((k >>> shift) & 0xFF) + 1]++;
+            }
+            for (int b = 0; b < 256; b++)
+            {
+                counts[b + 1] += counts[b];
+            }
+            for (int i = 0; i < n; i++)
+            {
+                int slot = counts[(keys[i] >>> shift) & 0xFF]++;
+                dst[slot] = src[i];
+                keyDst[slot] = keys[i];
+            }
+
+            XtremeTask[] swapTasks = src;
+            src = dst;
+            dst = swapTasks;
+
+            int[] swapKeys = keys;
+            keys = keyDst;
+            keyDst = swapKeys;
+        }
+
+        for (int i = 0; i < n; i++)
+        {
+            tasks.set(i, src[i]);
+        }
+    }
+
+    /**
+     * Composite sort key; ascending key order is {@link #comparator} order (ties aside).
+     * Layout, most significant first: completion (2 values), tier (TIER_SLOTS values), name rank.
+     *
+     * @return the key, or -1 when {@code ranks} doesn't know the task
+     */
+    public static long sortKey(XtremeTask t, TaskListQuery q, TaskListFilter.CompletionLookup completed, TaskNameRanks ranks)
+    {
+        int rank = ranks.rankOf(t);
+        if (rank < 0)
+        {
+            return -1;
+        }
+
+        long rankSpan = Math.max(1, ranks.rankCount());
+        long key = rank;
+
+        if (q.sortByTier && q.tierScope == TaskListQuery.TierScope.ALL_TIERS)
+        {
+            // Null tiers rank after every real tier (see tierRank)
+            int tier = (t.getTier() == null) ? TIER_SLOTS - 1 : t.getTier().ordinal();
+            int tierKey = q.easyTierFirst ? tier : (TIER_SLOTS - 1 - tier);
+            key += tierKey * rankSpan;
+        }
+
+        if (q.sortByCompletion)
+        {
+            boolean done = completed.isCompleted(t);
+            if (done != q.completedFirst)
+            {
+                key += TIER_SLOTS * rankSpan;
+            }
+        }
+
+        return key;
+    }
+
+    /**
+     * Returns null when a task has no rank or the key space would overflow an int.
+     */
+    private static int[] compositeKeys(List<XtremeTask> tasks, TaskListQuery q, TaskListFilter.CompletionLookup completed, TaskNameRanks ranks)
+    {
+        if (2L * TIER_SLOTS * Math.max(1, ranks.rankCount()) > Integer.MAX_VALUE)
+        {
+            return null;
+        }
+
+        int[] keys = new int[tasks.size()];
+        for (int i = 0; i < keys.length; i++)
+        {
+            long key = sortKey(tasks.get(i), q, completed, ranks);
+            if (key < 0)
+            {
+                return null;
+            }
+            keys[i] = (int) key;
+        }
+        return keys;
+    }
+
     private static int tierRank(XtremeTask t)
     {
         // Adjust to your real model API.
@@ -0,0 +1,85 @@
+package com.amtrollin.xtremetasker.tasklist;
+
+import com.amtrollin.xtremetasker.models.XtremeTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Precomputed position of every task in {@link TaskListSorter#NAME_ORDER}.
+ * <p>
+ * Tasks whose names compare equal (ignoring case) share a rank, so sorting by rank
+ * ties exactly where the name comparator ties. Built once per pack load.
+ */
+public final class TaskNameRanks
+{
+    public static final TaskNameRanks EMPTY = build(Collections.emptyList());
+
+    private final XtremeTask[] tasks;
+    private final int[] rankByOrdinal;
+    private final int rankCount;
+
+    private TaskNameRanks(XtremeTask[] tasks, int[] rankByOrdinal, int rankCount)
+    {
+        this.tasks = tasks;
+        this.rankByOrdinal = rankByOrdinal;
+        this.rankCount = rankCount;
+    }
+
+    /**
+     * @param tasks pack tasks in ordinal order
+     */
+    public static TaskNameRanks build(List<XtremeTask> tasks)
+    {
+        int n = tasks.size();
+        XtremeTask[] arr = tasks.toArray(new XtremeTask[0]);
+
+        List<XtremeTask> sorted = new ArrayList<>(tasks);
+        sorted.sort(TaskListSorter.NAME_ORDER);
+
+        int[] ranks = new int[n];
+        int rank = -1;
+        XtremeTask prev = null;
+        for (XtremeTask t : sorted)
+        {
+            if (prev == null || TaskListSorter.NAME_ORDER.compare(prev, t) != 0)
+            {
+                rank++;
+            }
+            ranks[t.getOrdinal()] = rank;
+            prev = t;
+        }
+
+        return new TaskNameRanks(arr, ranks, rank + 1);
+    }
+
+    /**
+     * @return the task's name rank, or -1 if it isn't part of the pack these ranks were built for
+     */
+    public int rankOf(XtremeTask t)
+    {
+        int ord = (t == null) ? -1 : t.getOrdinal();
+        if (ord < 0 || ord >= tasks.length || tasks[ord] != t)
+        {
+            return -1;
+        }
+        return rankByOrdinal[ord];
+    }
+
+    /**
+     * Number of tasks covered (the pack size).
+     */
+    public int size()
+    {
+        return tasks.length;
+    }
+
+    /**
+     * Number of distinct ranks (ranks are 0..rankCount-1).
+     */
+    public int rankCount()
+    {
+        return rankCount;
+    }
+}
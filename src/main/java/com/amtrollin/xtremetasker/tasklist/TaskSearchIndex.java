@@ -0,0 +1,218 @@
+package com.amtrollin.xtremetasker.tasklist;
+
+import com.amtrollin.xtremetasker.models.XtremeTask;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Inverted keyword index over a loaded task pack.
+ * <p>
+ * Built once per pack load. Holds the per-task keyword tokens plus a sorted term dictionary
+ * where each term maps to the set of task positions containing it. A prefix query is a
+ * contiguous range in the dictionary, so AND-of-prefix search is a handful of bitset ORs
+ * followed by an intersection per query term.
+ */
+public final class TaskSearchIndex
+{
+    public static final TaskSearchIndex EMPTY = build(Collections.emptyList());
+
+    private final Map<XtremeTask, Integer> positions;
+    private final String[][] tokensByTask;
+
+    // Sorted, de-duplicated terms and their postings (parallel arrays)
+    private final String[] terms;
+    private final BitSet[] postings;
+
+    private TaskSearchIndex(Map<XtremeTask, Integer> positions, String[][] tokensByTask, String[] terms, BitSet[] postings)
+    {
+        this.positions = positions;
+        this.tokensByTask = tokensByTask;
+        this.terms = terms;
+        this.postings = postings;
+    }
+
+    public static TaskSearchIndex build(List<XtremeTask> tasks)
+    {
+        int n = tasks.size();
+        Map<XtremeTask, Integer> positions = new IdentityHashMap<>(n);
+        String[][] tokensByTask = new String[n][];
+        TreeMap<String, BitSet> dict = new TreeMap<>();
+
+        for (int i = 0; i < n; i++)
+        {
+            XtremeTask t = tasks.get(i);
+            positions.put(t, i);
+
+            List<String> tokens = TaskListPipeline.taskTokens(t);
+            String[] arr = new String[tokens.size()];
+            for (int k = 0; k < arr.length; k++)
+            {
+                // Share one String instance per distinct term across all tasks
+                String tok = tokens.get(k);
+                BitSet bits = dict.get(tok);
+                if (bits == null)
+                {
+                    bits = new BitSet(n);
+                    dict.put(tok, bits);
+                }
+                else
+                {
+                    tok = dict.ceilingKey(tok);
+                }
+                bits.set(i);
+                arr[k] = tok;
+            }
+            tokensByTask[i] = arr;
+        }
+
+        String[] terms = dict.keySet().toArray(new String[0]);
+        BitSet[] postings = dict.values().toArray(new BitSet[0]);
+        return new TaskSearchIndex(positions, tokensByTask, terms, postings);
+    }
+
+    /**
+     * Rebuilds an index from a precompiled term dictionary (see the binary task pack),
+     * skipping tokenization. Produces the same index as {@link #build} for the same tasks.
+     *
+     * @param terms          sorted, distinct terms
+     * @param termIdsByTask  per task, indices into {@code terms} in token order
+     */
+    public static TaskSearchIndex fromTerms(List<XtremeTask> tasks, String[] terms, int[][] termIdsByTask)
+    {
+        int n = tasks.size();
+        if (termIdsByTask.length != n)
+        {
+            throw new IllegalArgumentException("Token rows (" + termIdsByTask.length + ") don't match task count (" + n + ")");
+        }
+        for (int k = 1; k < terms.length; k++)
+        {
+            if (terms[k - 1].compareTo(terms[k]) >= 0)
+            {
+                throw new IllegalArgumentException("Terms are not sorted/distinct at " + k);
+            }
+        }
+
+        Map<XtremeTask, Integer> positions = new IdentityHashMap<>(n);
+        String[][] tokensByTask = new String[n][];
+        BitSet[] postings = new BitSet[terms.length];
+        for (int k = 0; k < postings.length; k++)
+        {
+            postings[k] = new BitSet(n);
+        }
+
+        for (int i = 0; i < n; i++)
+        {
+            positions.put(tasks.get(i), i);
+
+            int[] ids = termIdsByTask[i];
+            String[] arr = new String[ids.length];
+            for (int k = 0; k < ids.length; k++)
+            {
+                arr[k] = terms[ids[k]];
+                postings[ids[k]].set(i);
+            }
+            tokensByTask[i] = arr;
+        }
+
+        return new TaskSearchIndex(positions, tokensByTask, terms.clone(), postings);
+    }
+
+    public int size()
+    {
+        return tokensByTask.length;
+    }
+
+    public int termCount()
+    {
+        return terms.length;
+    }
+
+    /**
+     * Position of the task in the pack this index was built from, or -1 if unknown.
+     */
+    public int indexOf(XtremeTask t)
+    {
+        Integer idx = positions.get(t);
+        return idx == null ? -1 : idx;
+    }
+
+    public String[] tokensOf(int idx)
+    {
+        return tokensByTask[idx];
+    }
+
+    public String termAt(int termIdx)
+    {
+        return terms[termIdx];
+    }
+
+    /**
+     * Position of {@code term} in the sorted dictionary, or -1 if it isn't indexed.
+     */
+    public int termIndex(String term)
+    {
+        int i = Arrays.binarySearch(terms, term);
+        return i < 0 ? -1 : i;
+    }
+
+    /**
+     * Tasks whose tokens prefix-match every query term.
+     *
+     * @param queryTerms already tokenized/filtered search terms
+     * @return matching positions, or null when there are no terms (everything matches)
+     */
+    public BitSet match(List<String> queryTerms)
+    {
+        if (queryTerms == null || queryTerms.isEmpty())
+        {
+            return null;
+        }
+
+        BitSet acc = null;
+        for (String term : queryTerms)
+        {
+            BitSet hits = prefixUnion(term);
+            if (acc == null)
+            {
+                acc = hits;
+            }
+            else
+            {
+                acc.and(hits);
+            }
+
+            if (acc.isEmpty())
+            {
+                break;
+            }
+        }
+        return acc;
+    }
+
+    /**
+     * Union of postings for every dictionary term starting with {@code prefix}.
+     * Always returns a fresh BitSet the caller may mutate.
+     */
+    BitSet prefixUnion(String prefix)
+    {
+        BitSet out = new BitSet(tokensByTask.length);
+
+        int i = Arrays.binarySearch(terms, prefix);
+        if (i < 0)
+        {
+            i = -i - 1;
+        }
+
+        for (; i < terms.length && terms[i].startsWith(prefix); i++)
+        {
+            out.or(postings[i]);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,143 @@
+package com.amtrollin.xtremetasker.tasklist;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Remembers recent search match sets so typing narrows incrementally.
+ * <p>
+ * Keeps a stack of (terms, matches) where every entry refines the one below it.
+ * When the new query only extends the top entry ("vork" -> "vorka", or an extra term),
+ * only the previous survivors are re-checked against their token arrays.
+ * When the query shrinks (backspace), entries are popped until a cached ancestor matches exactly.
+ */
+public final class TaskSearchRefiner
+{
+    // Search text is capped at 40 chars by the key handler, so this is never the limiting factor in practice
+    static final int MAX_DEPTH = 48;
+
+    private final Deque<Entry> stack = new ArrayDeque<>();
+    private TaskSearchIndex index = null;
+
+    /**
+     * @return matching positions in {@code index}, or null when there are no terms (everything matches).
+     * The returned set is shared with the cache and must not be mutated.
+     */
+    public BitSet match(TaskSearchIndex index, List<String> terms)
+    {
+        if (index != this.index)
+        {
+            stack.clear();
+            this.index = index;
+        }
+
+        if (terms == null || terms.isEmpty())
+        {
+            return null;
+        }
+
+        // Backspace / edits: drop anything that isn't an ancestor of (or equal to) the new query
+        while (!stack.isEmpty() && !isAncestorOrSame(stack.peek().terms, terms))
+        {
+            stack.pop();
+        }
+
+        Entry top = stack.peek();
+        if (top != null && top.terms.equals(terms))
+        {
+            return top.matches;
+        }
+
+        BitSet matches = (top == null)
+                ? index.match(terms)
+                : refine(index, top, terms);
+
+        if (stack.size() >= MAX_DEPTH)
+        {
+            stack.removeLast();
+        }
+        stack.push(new Entry(new ArrayList<>(terms), matches));
+        return matches;
+    }
+
+    public void clear()
+    {
+        stack.clear();
+        index = null;
+    }
+
+    /**
+     * Re-checks only the ancestor's survivors against the terms that changed.
+     */
+    private static BitSet refine(TaskSearchIndex index, Entry ancestor, List<String> terms)
+    {
+        // Terms before the ancestor's last one are unchanged; its last term may have grown
+        int firstChanged = Math.max(0, ancestor.terms.size() - 1);
+        List<String> changed = terms.subList(firstChanged, terms.size());
+
+        BitSet out = (BitSet) ancestor.matches.clone();
+        for (int i = out.nextSetBit(0); i >= 0; i = out.nextSetBit(i + 1))
+        {
+            String[] tokens = index.tokensOf(i);
+            for (String term : changed)
+            {
+                if (!anyStartsWith(tokens, term))
+                {
+                    out.clear(i);
+                    break;
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * True when every task matching {@code next} must also match {@code prev}:
+     * same leading terms, prev's last term is a prefix of next's term at that slot,
+     * and next may add more terms.
+     */
+    private static boolean isAncestorOrSame(List<String> prev, List<String> next)
+    {
+        int k = prev.size();
+        if (k == 0 || k > next.size())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < k - 1; i++)
+        {
+            if (!prev.get(i).equals(next.get(i)))
+            {
+                return false;
+            }
+        }
+        return next.get(k - 1).startsWith(prev.get(k - 1));
+    }
+
+    private static boolean anyStartsWith(String[] tokens, String prefix)
+    {
+        for (String tok : tokens)
+        {
+            if (tok.startsWith(prefix))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry
+    {
+        private final List<String> terms;
+        private final BitSet matches;
+
+        private Entry(List<String> terms, BitSet matches)
+        {
+            this.terms = terms;
+            this.matches = matches;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.amtrollin.xtremetasker.taskpack;
+
+import com.amtrollin.xtremetasker.enums.TaskSource;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.tasklist.TaskListSorter;
+import com.amtrollin.xtremetasker.tasklist.TaskNameRanks;
+import com.amtrollin.xtremetasker.tasklist.TaskSearchIndex;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a loaded task pack plus everything derived from it.
+ * <p>
+ * Built off the client thread and published by swapping a single reference, so readers
+ * always see tasks, ordinals, tier masks and the search index from the same load.
+ * <p>
+ * Also precomputes the slices the task list scopes over: per tier, per source, tier x source,
+ * and a name-sorted order. Every list is unmodifiable and in pack (ordinal) order unless noted.
+ * Slices only contain tasks that have a tier, since those are the only ones the task list shows.
+ */
+public final class TaskCatalog {
+    public static final TaskCatalog EMPTY = of(Collections.emptyList());
+
+    private static final int CONTENT_HASH_BYTES = 16;
+
+    private final List<XtremeTask> tasks;
+    private final Map<String, Integer> ordinalById;
+    private final BitSet[] tierMasks;
+    private final int[] tierTotals;
+    private final TaskSearchIndex searchIndex;
+    private final TaskNameRanks nameRanks;
+
+    private final List<XtremeTask> tiered;
+    private final List<XtremeTask> byName;
+    private final List<List<XtremeTask>> byTier;
+    private final List<List<XtremeTask>> bySource;
+    // [tier][source]
+    private final List<List<List<XtremeTask>>> byTierAndSource;
+
+    // Computed on first use; only persistence needs it
+    private volatile String contentHash;
+
+    private TaskCatalog(List<XtremeTask> tasks, Map<String, Integer> ordinalById, BitSet[] tierMasks, TaskSearchIndex searchIndex) {
+        this.tasks = tasks;
+        this.ordinalById = ordinalById;
+        this.tierMasks = tierMasks;
+        this.searchIndex = searchIndex;
+        this.nameRanks = TaskNameRanks.build(tasks);
+
+        int tierCount = TaskTier.values().length;
+        int sourceCount = TaskSource.values().length;
+
+        List<XtremeTask> tieredOut = new ArrayList<>(tasks.size());
+        List<List<XtremeTask>> tierOut = newBuckets(tierCount);
+        List<List<XtremeTask>> sourceOut = newBuckets(sourceCount);
+        List<List<List<XtremeTask>>> cellOut = new ArrayList<>(tierCount);
+        for (int i = 0; i < tierCount; i++) {
+            cellOut.add(newBuckets(sourceCount));
+        }
+
+        for (XtremeTask t : tasks) {
+            if (t.getTier() == null) {
+                continue;
+            }
+
+            tieredOut.add(t);
+            tierOut.get(t.getTier().ordinal()).add(t);
+            if (t.getSource() != null) {
+                sourceOut.get(t.getSource().ordinal()).add(t);
+                cellOut.get(t.getTier().ordinal()).get(t.getSource().ordinal()).add(t);
+            }
+        }
+
+        List<XtremeTask> nameOut = new ArrayList<>(tieredOut);
+        nameOut.sort(TaskListSorter.NAME_ORDER);
+
+        this.tiered = Collections.unmodifiableList(tieredOut);
+        this.byName = Collections.unmodifiableList(nameOut);
+        this.byTier = freeze(tierOut);
+        this.bySource = freeze(sourceOut);
+
+        List<List<List<XtremeTask>>> cells = new ArrayList<>(tierCount);
+        for (List<List<XtremeTask>> row : cellOut) {
+            cells.add(freeze(row));
+        }
+        this.byTierAndSource = Collections.unmodifiableList(cells);
+
+        this.tierTotals = new int[tierMasks.length];
+        for (int i = 0; i < tierMasks.length; i++) {
+            tierTotals[i] = tierMasks[i].cardinality();
+        }
+    }
+
+    /**
+     * @param loaded tasks in pack order; each task's ordinal must equal its index
+     */
+    public static TaskCatalog of(List<XtremeTask> loaded) {
+        return of(loaded, null);
+    }
+
+    /**
+     * @param searchIndex prebuilt index over {@code loaded} (e.g. from the binary pack), or null to build one
+     */
+    public static TaskCatalog of(List<XtremeTask> loaded, TaskSearchIndex searchIndex) {
+        if (searchIndex != null && searchIndex.size() != loaded.size()) {
+            throw new IllegalArgumentException("Search index covers " + searchIndex.size() + " tasks, pack has " + loaded.size());
+        }
+
+        List<XtremeTask> tasks = Collections.unmodifiableList(new ArrayList<>(loaded));
+        Map<String, Integer> ordinalById = new HashMap<>(tasks.size() * 2);
+        BitSet[] tierMasks = new BitSet[TaskTier.values().length];
+        for (int i = 0; i < tierMasks.length; i++) {
+            tierMasks[i] = new BitSet(tasks.size());
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            XtremeTask t = tasks.get(i);
+            if (t.getOrdinal() != i) {
+                throw new IllegalArgumentException("Task " + t.getId() + " has ordinal " + t.getOrdinal() + ", expected " + i);
+            }
+
+            ordinalById.put(t.getId(), i);
+            if (t.getTier() != null) {
+                tierMasks[t.getTier().ordinal()].set(i);
+            }
+        }
+
+        TaskSearchIndex index = (searchIndex != null) ? searchIndex : TaskSearchIndex.build(tasks);
+        return new TaskCatalog(tasks, Collections.unmodifiableMap(ordinalById), tierMasks, index);
+    }
+
+    /**
+     * Unmodifiable, in pack (ordinal) order.
+     */
+    public List<XtremeTask> getTasks() {
+        return tasks;
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
+    public XtremeTask get(int ordinal) {
+        return tasks.get(ordinal);
+    }
+
+    /**
+     * Hex SHA-256 prefix over every task id in ordinal order. Catalogs with the same hash assign the
+     * same ordinal to the same task, so state stored by ordinal against one can be read with the other.
+     */
+    public String getContentHash() {
+        String h = contentHash;
+        if (h == null) {
+            MessageDigest md = TaskPackBinary.newSha256();
+            for (XtremeTask t : tasks) {
+                md.update(t.getId().getBytes(StandardCharsets.UTF_8));
+                md.update((byte) '\n');
+            }
+            byte[] digest = md.digest();
+            StringBuilder sb = new StringBuilder(CONTENT_HASH_BYTES * 2);
+            for (int i = 0; i < CONTENT_HASH_BYTES; i++) {
+                sb.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            contentHash = h = sb.toString();
+        }
+        return h;
+    }
+
+    public TaskSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    public TaskNameRanks getNameRanks() {
+        return nameRanks;
+    }
+
+    /**
+     * Every task that has a tier (the "all tiers" scope).
+     */
+    public List<XtremeTask> getTieredTasks() {
+        return tiered;
+    }
+
+    /**
+     * Tiered tasks in case-insensitive name order (stable, so equal names keep pack order).
+     */
+    public List<XtremeTask> getTasksByName() {
+        return byName;
+    }
+
+    public List<XtremeTask> getTasksForTier(TaskTier tier) {
+        return (tier == null) ? Collections.emptyList() : byTier.get(tier.ordinal());
+    }
+
+    public List<XtremeTask> getTasksForSource(TaskSource source) {
+        return (source == null) ? Collections.emptyList() : bySource.get(source.ordinal());
+    }
+
+    public List<XtremeTask> getTasks(TaskTier tier, TaskSource source) {
+        if (tier == null || source == null) {
+            return Collections.emptyList();
+        }
+        return byTierAndSource.get(tier.ordinal()).get(source.ordinal());
+    }
+
+    /**
+     * @return ordinal of the task with this id, or -1 if the pack doesn't contain it
+     */
+    public int ordinalOf(String id) {
+        Integer ord = (id == null) ? null : ordinalById.get(id);
+        return (ord == null) ? -1 : ord;
+    }
+
+    /**
+     * Resolves a task instance against this catalog. Instances from an older load
+     * (or built elsewhere) fall back to an id lookup.
+     */
+    public int ordinalOf(XtremeTask task) {
+        if (task == null) {
+            return -1;
+        }
+
+        int ord = task.getOrdinal();
+        if (ord >= 0 && ord < tasks.size() && tasks.get(ord) == task) {
+            return ord;
+        }
+        return ordinalOf(task.getId());
+    }
+
+    public boolean contains(String id) {
+        return ordinalOf(id) >= 0;
+    }
+
+    public int tierTotal(TaskTier tier) {
+        return (tier == null) ? 0 : tierTotals[tier.ordinal()];
+    }
+
+    /**
+     * Number of tasks in {@code tier} whose ordinal is set in {@code bits}.
+     */
+    public int countInTier(TaskTier tier, BitSet bits) {
+        if (tier == null) {
+            return 0;
+        }
+
+        BitSet inTier = (BitSet) tierMasks[tier.ordinal()].clone();
+        inTier.and(bits);
+        return inTier.cardinality();
+    }
+
+    private static List<List<XtremeTask>> newBuckets(int n) {
+        List<List<XtremeTask>> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            out.add(new ArrayList<>());
+        }
+        return out;
+    }
+
+    private static List<List<XtremeTask>> freeze(List<List<XtremeTask>> buckets) {
+        List<List<XtremeTask>> out = new ArrayList<>(buckets.size());
+        for (List<XtremeTask> b : buckets) {
+            out.add(Collections.unmodifiableList(b));
+        }
+        return Collections.unmodifiableList(out);
+    }
+}
@@ -0,0 +1,245 @@
+package com.amtrollin.xtremetasker.taskpack;
+
+import com.amtrollin.xtremetasker.enums.TaskSource;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.tasklist.TaskSearchIndex;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of tasks.json, compiled at build time (see the compileTaskPack Gradle task).
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int    magic "XTPK", int version
+ * byte[32] SHA-256 of the tasks.json it was compiled from (provenance only; not re-checked on load)
+ * int    string count, then per string: int byte length + UTF-8 bytes
+ * int    task count, then per task:
+ *          int id, int name (string refs, -1 = null)
+ *          byte source, byte tier (enum ordinals, -1 = null)
+ *          byte hasIconItemId, int iconItemId
+ *          int iconKey, int description, int prereqs, int wikiUrl (string refs)
+ * int    term count, then per term: int string ref (sorted, distinct)
+ * per task: int token count, then int term ids in token order
+ * </pre>
+ */
+public final class TaskPackBinary {
+    public static final String JSON_RESOURCE = "task_data/tasks.json";
+    public static final String BINARY_RESOURCE = "task_data/tasks.bin";
+
+    private static final int MAGIC = 0x5854504B; // "XTPK"
+    private static final int VERSION = 1;
+    private static final int HASH_BYTES = 32;
+
+    private static final TaskSource[] SOURCES = TaskSource.values();
+    private static final TaskTier[] TIERS = TaskTier.values();
+
+    private TaskPackBinary() {
+    }
+
+    /**
+     * Compiles an already-loaded pack. {@code tasks} must be in ordinal order.
+     */
+    public static byte[] write(List<XtremeTask> tasks, byte[] sourceHash) throws IOException {
+        if (sourceHash.length != HASH_BYTES) {
+            throw new IllegalArgumentException("Expected a SHA-256 source hash");
+        }
+
+        TaskSearchIndex index = TaskSearchIndex.build(tasks);
+
+        StringTable strings = new StringTable();
+        int[][] taskRefs = new int[tasks.size()][];
+        for (int i = 0; i < tasks.size(); i++) {
+            XtremeTask t = tasks.get(i);
+            taskRefs[i] = new int[]{
+                    strings.ref(t.getId()),
+                    strings.ref(t.getName()),
+                    strings.ref(t.getIconKey()),
+                    strings.ref(t.getDescription()),
+                    strings.ref(t.getPrereqs()),
+                    strings.ref(t.getWikiUrl())
+            };
+        }
+
+        int[] termRefs = new int[index.termCount()];
+        for (int k = 0; k < termRefs.length; k++) {
+            termRefs[k] = strings.ref(index.termAt(k));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * 1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.write(sourceHash);
+
+            out.writeInt(strings.values.size());
+            for (String s : strings.values) {
+                byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(utf8.length);
+                out.write(utf8);
+            }
+
+            out.writeInt(tasks.size());
+            for (int i = 0; i < tasks.size(); i++) {
+                XtremeTask t = tasks.get(i);
+                int[] refs = taskRefs[i];
+
+                out.writeInt(refs[0]);
+                out.writeInt(refs[1]);
+                out.writeByte(t.getSource() == null ? -1 : t.getSource().ordinal());
+                out.writeByte(t.getTier() == null ? -1 : t.getTier().ordinal());
+                out.writeByte(t.getIconItemId() == null ? 0 : 1);
+                out.writeInt(t.getIconItemId() == null ? 0 : t.getIconItemId());
+                out.writeInt(refs[2]);
+                out.writeInt(refs[3]);
+                out.writeInt(refs[4]);
+                out.writeInt(refs[5]);
+            }
+
+            out.writeInt(termRefs.length);
+            for (int ref : termRefs) {
+                out.writeInt(ref);
+            }
+
+            for (int i = 0; i < tasks.size(); i++) {
+                String[] tokens = index.tokensOf(i);
+                out.writeInt(tokens.length);
+                for (String tok : tokens) {
+                    out.writeInt(index.termIndex(tok));
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the source hash recorded in the header, or null if this isn't a readable pack
+     */
+    public static byte[] sourceHash(ByteBuffer buf) {
+        ByteBuffer b = buf.duplicate();
+        if (b.remaining() < 8 + HASH_BYTES || b.getInt() != MAGIC || b.getInt() != VERSION) {
+            return null;
+        }
+
+        byte[] hash = new byte[HASH_BYTES];
+        b.get(hash);
+        return hash;
+    }
+
+    /**
+     * Single pass over the buffer. Throws on a malformed pack; callers fall back to JSON.
+     */
+    public static TaskCatalog read(ByteBuffer buf) {
+        ByteBuffer b = buf.duplicate();
+        if (b.getInt() != MAGIC || b.getInt() != VERSION) {
+            throw new IllegalArgumentException("Not a version " + VERSION + " task pack");
+        }
+        b.position(b.position() + HASH_BYTES);
+
+        String[] strings = new String[b.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            int len = b.getInt();
+            strings[i] = decode(b, len);
+        }
+
+        int taskCount = b.getInt();
+        List<XtremeTask> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            String id = str(strings, b.getInt());
+            String name = str(strings, b.getInt());
+            byte source = b.get();
+            byte tier = b.get();
+            boolean hasIcon = b.get() != 0;
+            int icon = b.getInt();
+
+            tasks.add(new XtremeTask(
+                    i,
+                    id,
+                    name,
+                    source < 0 ? null : SOURCES[source],
+                    tier < 0 ? null : TIERS[tier],
+                    hasIcon ? icon : null,
+                    str(strings, b.getInt()),
+                    str(strings, b.getInt()),
+                    str(strings, b.getInt()),
+                    str(strings, b.getInt())
+            ));
+        }
+
+        String[] terms = new String[b.getInt()];
+        for (int k = 0; k < terms.length; k++) {
+            terms[k] = strings[b.getInt()];
+        }
+
+        int[][] termIds = new int[taskCount][];
+        for (int i = 0; i < taskCount; i++) {
+            int[] ids = new int[b.getInt()];
+            for (int k = 0; k < ids.length; k++) {
+                ids[k] = b.getInt();
+            }
+            termIds[i] = ids;
+        }
+
+        return TaskCatalog.of(tasks, TaskSearchIndex.fromTerms(tasks, terms, termIds));
+    }
+
+    public static byte[] sha256(byte[] data) {
+        return newSha256().digest(data);
+    }
+
+    static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to ship SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String decode(ByteBuffer b, int len) {
+        if (b.hasArray()) {
+            String s = new String(b.array(), b.arrayOffset() + b.position(), len, StandardCharsets.UTF_8);
+            b.position(b.position() + len);
+            return s;
+        }
+
+        byte[] tmp = new byte[len];
+        b.get(tmp);
+        return new String(tmp, StandardCharsets.UTF_8);
+    }
+
+    private static String str(String[] strings, int ref) {
+        return ref < 0 ? null : strings[ref];
+    }
+
+    // De-duplicated string pool; equal values share one entry
+    private static final class StringTable {
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int ref(String s) {
+            if (s == null) {
+                return -1;
+            }
+
+            Integer ref = refs.get(s);
+            if (ref == null) {
+                ref = values.size();
+                refs.put(s, ref);
+                values.add(s);
+            }
+            return ref;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.amtrollin.xtremetasker.taskpack;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Build-time entry point: compiles tasks.json into the binary pack read by {@link TaskPackLoader}.
+ * Invoked by the compileTaskPack Gradle task; not used at runtime.
+ */
+public final class TaskPackCompiler {
+    private TaskPackCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: TaskPackCompiler <tasks.json> <tasks.bin>");
+        }
+
+        Path json = Paths.get(args[0]);
+        Path out = Paths.get(args[1]);
+
+        byte[] source = Files.readAllBytes(json);
+        byte[] pack = compile(source);
+
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.write(out, pack);
+
+        System.out.println("Compiled " + json.getFileName() + " (" + source.length + " bytes) -> "
+                + out.getFileName() + " (" + pack.length + " bytes)");
+    }
+
+    public static byte[] compile(byte[] json) throws IOException {
+        return TaskPackBinary.write(
+                TaskPackJsonReader.read(new ByteArrayInputStream(json)),
+                TaskPackBinary.sha256(json)
+        );
+    }
+}
@@ -0,0 +1,197 @@
+package com.amtrollin.xtremetasker.taskpack;
+
+import com.amtrollin.xtremetasker.enums.TaskSource;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams tasks.json one task at a time and builds {@link XtremeTask}s directly.
+ * <p>
+ * No intermediate String copy of the file or DTO object graph is created.
+ * Repeated values (prereqs such as "None", shared names, wiki URLs) are interned per load
+ * so the pack doesn't hold hundreds of equal String instances.
+ */
+@Slf4j
+public final class TaskPackJsonReader {
+    private final Map<String, String> strings = new HashMap<>();
+    private final Set<String> seenIds = new HashSet<>();
+    private final List<XtremeTask> loaded = new ArrayList<>();
+
+    private TaskPackJsonReader() {
+    }
+
+    /**
+     * @return tasks in pack order, ordinals assigned 0..n-1, duplicates (by id) dropped
+     */
+    public static List<XtremeTask> read(InputStream in) throws IOException {
+        TaskPackJsonReader r = new TaskPackJsonReader();
+        try (JsonReader json = new JsonReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))) {
+            r.readPack(json);
+        }
+
+        log.debug("Interned {} distinct strings for {} tasks", r.strings.size(), r.loaded.size());
+        return r.loaded;
+    }
+
+    private void readPack(JsonReader json) throws IOException {
+        boolean sawTasks = false;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            if ("tasks".equals(json.nextName()) && json.peek() == JsonToken.BEGIN_ARRAY) {
+                sawTasks = true;
+                json.beginArray();
+                while (json.hasNext()) {
+                    readTask(json);
+                }
+                json.endArray();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (!sawTasks) {
+            throw new IllegalArgumentException("Invalid tasks.json");
+        }
+    }
+
+    private void readTask(JsonReader json) throws IOException {
+        if (json.peek() != JsonToken.BEGIN_OBJECT) {
+            json.skipValue();
+            return;
+        }
+
+        String rawId = null;
+        String name = null;
+        TaskSource source = null;
+        TaskTier tier = null;
+        Integer iconItemId = null;
+        String iconKey = null;
+        String description = null;
+        String prereqs = null;
+        String wikiUrl = null;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            String field = json.nextName();
+            if (json.peek() == JsonToken.NULL) {
+                json.nextNull();
+                continue;
+            }
+
+            switch (field) {
+                case "id":
+                    rawId = json.nextString();
+                    break;
+                case "name":
+                    name = intern(json.nextString());
+                    break;
+                case "source":
+                    source = parseEnum(TaskSource.class, json.nextString());
+                    break;
+                case "tier":
+                    tier = parseEnum(TaskTier.class, json.nextString());
+                    break;
+                case "iconItemId":
+                    iconItemId = json.nextInt();
+                    break;
+                case "iconKey":
+                    iconKey = intern(json.nextString());
+                    break;
+                case "description":
+                    description = intern(json.nextString());
+                    break;
+                case "prereqs":
+                    prereqs = intern(json.nextString());
+                    break;
+                case "wikiUrl":
+                    wikiUrl = intern(json.nextString());
+                    break;
+                default:
+                    json.skipValue();
+                    break;
+            }
+        }
+        json.endObject();
+
+        if (tier == TaskTier.GRANDMASTER) {
+            tier = TaskTier.MASTER;
+        }
+
+        String id = ensureId(rawId, name, source, tier);
+        if (!seenIds.add(id)) {
+            // IMPORTANT: Do NOT rename duplicates; it breaks persisted completion mapping when pack order changes.
+            log.warn("Duplicate task id in tasks.json: {} (name={}). Skipping duplicate.", id, safeTrim(name));
+            return;
+        }
+
+        loaded.add(new XtremeTask(
+                loaded.size(),
+                id,
+                safeTrim(name),
+                source,
+                tier,
+                iconItemId,
+                safeTrim(iconKey),
+                safeTrim(description),
+                safeTrim(prereqs),
+                safeTrim(wikiUrl)
+        ));
+    }
+
+    private String intern(String s) {
+        String t = safeTrim(s);
+        if (t == null) return null;
+
+        String prev = strings.putIfAbsent(t, t);
+        return (prev != null) ? prev : t;
+    }
+
+    // Mirrors Gson's enum adapter: unknown constants read as null rather than failing the load
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String safeTrim(String s) {
+        if (s == null) return null;
+        String t = s.trim();
+        return t.isEmpty() ? null : t;
+    }
+
+    private static String ensureId(String rawId, String name, TaskSource source, TaskTier tier) {
+        String id = safeTrim(rawId);
+        if (id != null) {
+            return id;
+        }
+
+        String n = safeTrim(name);
+        if (n == null) n = "unnamed";
+
+        String s = (source == null) ? "UNKNOWN_SOURCE" : source.name();
+        String t = (tier == null) ? "UNKNOWN_TIER" : tier.name();
+
+        String base = (n + "|" + s + "|" + t).toLowerCase(Locale.ROOT);
+        return "gen_" + Integer.toHexString(base.hashCode());
+    }
+}
@@ -0,0 +1,92 @@
+package com.amtrollin.xtremetasker.taskpack;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+/**
+ * Loads the task pack bundled with the plugin.
+ * <p>
+ * Prefers the precompiled binary pack; falls back to parsing tasks.json only when the binary
+ * is missing or unreadable. The build compiles tasks.bin from tasks.json in processResources, so
+ * the two can't drift apart in a packaged plugin and there's nothing to re-verify at runtime.
+ * Safe to call from any thread; touches no plugin state.
+ */
+@Slf4j
+public final class TaskPackLoader {
+    private TaskPackLoader() {
+    }
+
+    public static TaskCatalog loadBundled() throws IOException {
+        ClassLoader cl = TaskPackLoader.class.getClassLoader();
+
+        long startNanos = System.nanoTime();
+        long startAlloc = threadAllocatedBytes();
+
+        String from = "binary";
+        TaskCatalog loaded = loadBinary(cl);
+        if (loaded == null) {
+            from = "json";
+            loaded = loadJson(cl);
+        }
+
+        long allocated = threadAllocatedBytes() - startAlloc;
+        log.info("Loaded {} tasks from {} pack in {} ms (allocated ~{} KB)",
+                loaded.size(),
+                from,
+                (System.nanoTime() - startNanos) / 1_000_000L,
+                (startAlloc < 0) ? "?" : String.valueOf(allocated / 1024));
+
+        return loaded;
+    }
+
+    static TaskCatalog loadJson(ClassLoader cl) throws IOException {
+        InputStream in = cl.getResourceAsStream(TaskPackBinary.JSON_RESOURCE);
+        if (in == null) {
+            throw new IllegalStateException("tasks.json resource not found");
+        }
+        return TaskCatalog.of(TaskPackJsonReader.read(in));
+    }
+
+    /**
+     * @return the catalog, or null when the JSON path should be used instead
+     */
+    static TaskCatalog loadBinary(ClassLoader cl) {
+        try {
+            byte[] bin;
+            try (InputStream in = cl.getResourceAsStream(TaskPackBinary.BINARY_RESOURCE)) {
+                if (in == null) {
+                    log.debug("No binary task pack bundled; using tasks.json");
+                    return null;
+                }
+                bin = in.readAllBytes();
+            }
+
+            ByteBuffer buf = ByteBuffer.wrap(bin);
+            if (TaskPackBinary.sourceHash(buf) == null) {
+                log.warn("Binary task pack has an unknown format; using tasks.json");
+                return null;
+            }
+
+            return TaskPackBinary.read(buf);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read binary task pack; using tasks.json", e);
+            return null;
+        }
+    }
+
+    // Bytes allocated by the calling thread so far, or -1 when the JVM can't tell us
+    private static long threadAllocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+            if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+                return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+}
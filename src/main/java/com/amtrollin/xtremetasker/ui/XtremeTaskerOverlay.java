@@ -7,7 +7,11 @@ import com.amtrollin.xtremetasker.XtremeTaskerPlugin;
 import com.amtrollin.xtremetasker.enums.TaskSource;
 import com.amtrollin.xtremetasker.enums.TaskTier;
 import com.amtrollin.xtremetasker.models.XtremeTask;
-import com.amtrollin.xtremetasker.tasklist.TaskListPipeline;
+import com.amtrollin.xtremetasker.profiling.Profiler;
+import com.amtrollin.xtremetasker.profiling.ProfilerSection;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.amtrollin.xtremetasker.tasklist.TaskListFilter;
+import com.amtrollin.xtremetasker.tasklist.TaskListResultCache;
 import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
 import com.amtrollin.xtremetasker.ui.anim.OverlayAnimations;
 import com.amtrollin.xtremetasker.ui.tasks.TaskControlsRenderer;
@@ -27,11 +31,17 @@ import com.amtrollin.xtremetasker.ui.rules.RulesTabLayout;
 import com.amtrollin.xtremetasker.ui.rules.RulesTabRenderer;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskListScrollController;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskListViewController;
+import com.amtrollin.xtremetasker.ui.tasklist.ListHitTester;
+import com.amtrollin.xtremetasker.ui.tasklist.TaskRowsLayout;
+import com.amtrollin.xtremetasker.ui.tasklist.RowRasterCache;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskRowsRenderer;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskSelectionModel;
+import com.amtrollin.xtremetasker.ui.style.UiFonts;
 import com.amtrollin.xtremetasker.ui.style.UiPalette;
+import com.amtrollin.xtremetasker.ui.style.UiText;
 import com.amtrollin.xtremetasker.ui.text.TextUtils;
 import com.amtrollin.xtremetasker.ui.widgets.ButtonRenderer;
+import com.amtrollin.xtremetasker.ui.widgets.RetainedLayer;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
@@ -40,7 +50,6 @@ import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.client.input.KeyListener;
 import net.runelite.client.input.MouseAdapter;
 import net.runelite.client.input.MouseWheelListener;
-import net.runelite.client.ui.FontManager;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPosition;
@@ -53,6 +62,8 @@ import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 import java.util.*;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.amtrollin.xtremetasker.tasklist.models.TaskListQuery.SourceFilter.CA;
 import static com.amtrollin.xtremetasker.tasklist.models.TaskListQuery.SourceFilter.CLOGS;
@@ -63,6 +74,8 @@ import static com.amtrollin.xtremetasker.ui.style.UiStrings.*;
 public class XtremeTaskerOverlay extends Overlay {
     private static final BufferedImage WIKI_ICON = loadWikiIconSafe();
     private static final UiPalette P = UiPalette.DEFAULT;
+    private static final Color ICON_BG = new Color(40, 32, 22, 220);
+    private static final Color HEADER_LINE = UiPalette.withAlpha(P.UI_GOLD, 90);
 
     private static BufferedImage loadWikiIconSafe() {
         try {
@@ -82,10 +95,12 @@ public class XtremeTaskerOverlay extends Overlay {
     private final Rectangle rulesTabBounds = new Rectangle();
 
     private final Rectangle taskListViewportBounds = new Rectangle();
-    private final Rectangle rulesViewportBounds = new Rectangle();
+    private int headerLineY;
+
+    private final RetainedLayer chromeLayer = new RetainedLayer();
+    private final RetainedLayer.Painter chromePainter = this::paintChrome;
 
     private final Map<TaskTier, Rectangle> tierTabBounds = new EnumMap<>(TaskTier.class);
-    private final Map<XtremeTask, Rectangle> taskRowBounds = new HashMap<>();
 
     // Current tab bounds (now come from CurrentTabLayout)
     private final CurrentTabLayout currentLayout = new CurrentTabLayout();
@@ -103,13 +118,19 @@ public class XtremeTaskerOverlay extends Overlay {
     private static final int PANEL_W_TASKS = 520;
     private static final int PANEL_H_TASKS = 560;
 
+    // Returned from render(); resized in place rather than allocated per frame
+    private final Dimension iconSize = new Dimension(ICON_WIDTH, ICON_HEIGHT);
+    private final Dimension panelSize = new Dimension();
+
 
     // ---- animations (extracted) ----
     private final OverlayAnimations animations = new OverlayAnimations(COMPLETE_ANIM_MS, ROLL_ANIM_MS);
 
     // ---- client/plugin ----
     private final Client client;
-    private final XtremeTaskerPlugin plugin;
+    private final TaskerService plugin;
+    private final UiFonts fonts;
+    private final OverlayInputAccess inputAccess;
 
     @Getter
     private final MouseAdapter mouseAdapter;
@@ -124,17 +145,16 @@ public class XtremeTaskerOverlay extends Overlay {
 
     private static final List<TaskTier> TIER_TABS = Arrays.asList(TaskTier.EASY, TaskTier.MEDIUM, TaskTier.HARD, TaskTier.ELITE, TaskTier.MASTER);
     private TaskTier activeTierTab = TaskTier.EASY;
-    private final Map<XtremeTask, Rectangle> taskCheckboxBounds = new HashMap<>();
 
     // Task Details popup
-    private final TaskDetailsPopup taskDetailsPopup =
-            new TaskDetailsPopup(P, new TaskListScrollController(SCROLL_ROWS_PER_NOTCH));
+    private final TaskDetailsPopup taskDetailsPopup;
 
 
     // ==========================
     // Extracted state/controllers
     // ==========================
     private final TaskListQuery taskQuery = new TaskListQuery();
+    private final TaskListResultCache taskListCache = new TaskListResultCache();
 
     private final TaskControlsLayout controls = new TaskControlsLayout();
     private final TaskControlsRenderer controlsRenderer = new TaskControlsRenderer(PANEL_WIDTH, PANEL_PADDING, ROW_HEIGHT, P.TAB_INACTIVE_BG, P.UI_EDGE_LIGHT, P.UI_EDGE_DARK, P.UI_GOLD, P.UI_TEXT, P.UI_TEXT_DIM, P.INPUT_BG, P.INPUT_FOCUS_OUTLINE, P.PILL_ON_BG, P.PILL_OFF_BG);
@@ -156,8 +176,9 @@ public class XtremeTaskerOverlay extends Overlay {
 
     private final TaskRowsRenderer taskRowsRendererTasks = new TaskRowsRenderer(PANEL_W_TASKS, PANEL_PADDING, ROW_HEIGHT, LIST_ROW_SPACING, STATUS_PIP_SIZE, STATUS_PIP_PAD_LEFT + 4, TASK_TEXT_PAD_LEFT + 4, P.ROW_HOVER_BG, P.ROW_SELECTED_BG, P.ROW_SELECTED_OUTLINE, P.ROW_DONE_BG, P.ROW_LINE, P.STRIKE_COLOR, P.UI_TEXT, P.UI_TEXT_DIM, P.PIP_RING, P.PIP_DONE_FILL, P.PIP_DONE_RING, P.UI_GOLD, P.UI_EDGE_LIGHT, P.UI_EDGE_DARK);
 
-    private final RulesTabRenderer rulesTabRenderer = new RulesTabRenderer(PANEL_W_TASKS, PANEL_PADDING, ROW_HEIGHT, LIST_ROW_SPACING, P.UI_GOLD, P.UI_TEXT_DIM);
-    private final TasksTabRenderer tasksTabRenderer = new TasksTabRenderer(P);
+    // Built in the constructor, once the fonts are known
+    private final RulesTabRenderer rulesTabRenderer;
+    private final TasksTabRenderer tasksTabRenderer;
     private final TasksTabState tasksTabState = new TasksTabState(
             taskQuery,
             controls,
@@ -165,17 +186,44 @@ public class XtremeTaskerOverlay extends Overlay {
             tasksScroll,
             taskListView,
             tierTabBounds,
-            taskRowBounds,
-            taskCheckboxBounds,
             taskListViewportBounds
     );
     private final ButtonRenderer buttonRenderer = new ButtonRenderer(P);
 
+    // Callbacks handed to the renderers, bound once so a frame doesn't allocate new lambdas
+    private final TaskListFilter.CompletionLookup completedLookup;
+    private final TaskRowsRenderer.AnimProgressLookup animProgress = animations::completionProgress;
+    private final Function<TaskTier, String> tierProgressLabel;
+    private final Function<TaskTier, List<XtremeTask>> tasksForTier = this::getTasksForTier;
+    private final Function<TaskTier, List<XtremeTask>> sortedTasksForTier = this::getSortedTasksForTier;
+    private final Supplier<List<XtremeTask>> scopedTasks;
+
+    // Current tab line of the last frame (see computeCurrentLineForRender)
+    private XtremeTask currentLineTask = null;
+    private boolean currentLineCompleted = false;
+    private FontMetrics currentLineFm = null;
+    private String currentLine = null;
+
 
     @Inject
     public XtremeTaskerOverlay(Client client, XtremeTaskerPlugin plugin) {
+        this(client, plugin, UiFonts.CLIENT);
+    }
+
+    /**
+     * Builds the overlay against any {@link TaskerService}; the headless render harness uses this
+     * with a stub client and service, and fonts of its own.
+     */
+    XtremeTaskerOverlay(Client client, TaskerService plugin, UiFonts fonts) {
         this.client = client;
         this.plugin = plugin;
+        this.fonts = fonts;
+        this.taskDetailsPopup = new TaskDetailsPopup(P, fonts, new TaskListScrollController(SCROLL_ROWS_PER_NOTCH));
+        this.rulesTabRenderer = new RulesTabRenderer(PANEL_W_TASKS, PANEL_PADDING, ROW_HEIGHT, LIST_ROW_SPACING, P.UI_GOLD, P.UI_TEXT_DIM, fonts);
+        this.tasksTabRenderer = new TasksTabRenderer(P, fonts);
+        this.completedLookup = plugin::isTaskCompleted;
+        this.tierProgressLabel = plugin::getTierProgressLabel;
+        this.scopedTasks = () -> getTasksForScope(plugin.getCatalog(), taskQuery, activeTierTab);
 
         setPosition(OverlayPosition.DYNAMIC);
         setLayer(OverlayLayer.ABOVE_WIDGETS);
@@ -184,6 +232,7 @@ public class XtremeTaskerOverlay extends Overlay {
 // Extracted input handlers
 // -----------------------------
         OverlayInputAccess access = buildInputAccess();
+        this.inputAccess = access;
 
         this.keyListener = new OverlayKeyHandler(access);
 
@@ -202,34 +251,28 @@ public class XtremeTaskerOverlay extends Overlay {
         this.mouseWheelListener = new OverlayWheelHandler(access);
     }
 
-    // -----------------------------
-    // rowBlock accessors (for wheel)
-    // -----------------------------
-    int tasksRowBlock() {
-        return taskRowsRendererTasks.rowBlock();
-    }
-
-
-    int rulesRowBlock() {
-        return rulesTabRenderer.rowBlock();
-    }
-
     @Override
     public Dimension render(Graphics2D g) {
+        long t0 = Profiler.start();
+        Dimension size = renderFrame(g);
+        Profiler.stop(ProfilerSection.OVERLAY_FRAME, t0);
+        return size;
+    }
+
+    private Dimension renderFrame(Graphics2D g) {
         if (!plugin.isOverlayEnabled()) {
             return null;
         }
 
-        g.setFont(FontManager.getRunescapeSmallFont());
+        g.setFont(fonts.small());
         FontMetrics fm = g.getFontMetrics();
 
         int canvasW = client.getCanvasWidth();
         int canvasH = client.getCanvasHeight();
 
         // icon
-        Point iconPos = computeIconPosition(canvasW, canvasH);
-        iconBounds.setBounds(iconPos.x, iconPos.y, ICON_WIDTH, ICON_HEIGHT);
-        drawBevelBox(g, iconBounds, new Color(40, 32, 22, 220));
+        placeIcon(canvasW, canvasH);
+        drawBevelBox(g, iconBounds, ICON_BG);
 
         g.setColor(P.UI_TEXT);
         String iconLabel = "XT";
@@ -237,11 +280,10 @@ public class XtremeTaskerOverlay extends Overlay {
         g.drawString(iconLabel, iconBounds.x + (ICON_WIDTH - iconTextW) / 2, centeredTextBaseline(iconBounds, fm));
 
         if (!panelOpen) {
-            return new Dimension(ICON_WIDTH, ICON_HEIGHT);
+            return iconSize;
         }
 
         // clear per-frame bounds
-        taskRowBounds.clear();
         tierTabBounds.clear();
         int panelW = PANEL_W_TASKS;
         int panelHeight = PANEL_H_TASKS;
@@ -255,27 +297,12 @@ public class XtremeTaskerOverlay extends Overlay {
         panelBounds.setBounds(panelX, panelY, panelW, panelHeight);
         panelDragBarBounds.setBounds(panelX, panelY, panelW, ROW_HEIGHT + PANEL_PADDING + 12);
 
-        drawBevelBox(g, panelBounds, P.UI_BG);
-
         int cursorY = panelY + PANEL_PADDING;
 
         // header
-        Font oldFont = g.getFont();
-        g.setFont(FontManager.getRunescapeBoldFont());
-        FontMetrics hfm = g.getFontMetrics();
-
-        String title = "Xtreme Tasker";
-        int titleW = hfm.stringWidth(title);
-        g.setColor(P.UI_GOLD);
-        g.drawString(title, panelX + (panelWidth() - titleW) / 2, cursorY + hfm.getAscent());
-
+        FontMetrics hfm = g.getFontMetrics(fonts.bold());
         cursorY += hfm.getHeight() + 2;
-
-        g.setColor(new Color(P.UI_GOLD.getRed(), P.UI_GOLD.getGreen(), P.UI_GOLD.getBlue(), 90));
-        g.drawLine(panelX + PANEL_PADDING, cursorY, panelX + panelWidth() - PANEL_PADDING, cursorY);
-
-        g.setFont(oldFont);
-        fm = g.getFontMetrics();
+        headerLineY = cursorY;
         cursorY += 6;
 
         // tabs
@@ -291,40 +318,55 @@ public class XtremeTaskerOverlay extends Overlay {
         tasksTabBounds.setBounds(tab2X, cursorY, tabW, tabH);
         rulesTabBounds.setBounds(tab3X, cursorY, tabW, tabH);
 
-        buttonRenderer.drawTab(g, currentTabBounds, "Current", activeTab == MainTab.CURRENT);
-        buttonRenderer.drawTab(g, tasksTabBounds, "Tasks", activeTab == MainTab.TASKS);
-        buttonRenderer.drawTab(g, rulesTabBounds, "Help", activeTab == MainTab.RULES);
+        // Panel, title and tab strip only change with the active tab; +1 for the outline's right/bottom edge
+        chromeLayer.draw(g, panelX, panelY, panelW + 1, panelHeight + 1, activeTab.ordinal(), chromePainter);
 
         cursorY += tabH + 10;
 
         int textCursorY = cursorY + fm.getAscent();
 
+        long tabStart = Profiler.start();
         if (activeTab == MainTab.CURRENT) {
             renderCurrentTab(g, fm, panelX, textCursorY);
+            Profiler.stop(ProfilerSection.CURRENT_TAB, tabStart);
         } else if (activeTab == MainTab.TASKS) {
             renderTasksTab(g, fm, panelX, textCursorY);
+            Profiler.stop(ProfilerSection.TASKS_TAB, tabStart);
         } else {
             renderRulesTab(g, fm, panelX, textCursorY);
+            Profiler.stop(ProfilerSection.RULES_TAB, tabStart);
         }
 
         if (taskDetailsPopup.isOpen()) {
+            long popupStart = Profiler.start();
             taskDetailsPopup.render(
                     g,
                     fm,
                     panelBounds,
-                    plugin::isTaskCompleted,
+                    completedLookup,
                     client.getMouseCanvasPosition()
             );
+            Profiler.stop(ProfilerSection.DETAILS_POPUP, popupStart);
         }
 
         animations.prune();
-        return new Dimension(panelW, panelHeight);
+        panelSize.setSize(panelW, panelHeight);
+        return panelSize;
     }
 
     // ----------------------------
     // CURRENT TAB (renderer + overlay draws buttons)
     // ----------------------------
     private void renderCurrentTab(Graphics2D g, FontMetrics fm, int panelX, int cursorYBaseline) {
+        if (plugin.isStateLoading()) {
+            // No buttons this frame, so nothing is clickable until the account's progress is in
+            currentTabState.layout().wikiButtonBounds.setBounds(0, 0, 0, 0);
+            currentTabState.layout().rollButtonBounds.setBounds(0, 0, 0, 0);
+            currentTabState.layout().completeButtonBounds.setBounds(0, 0, 0, 0);
+            drawStateLoading(g, panelX, cursorYBaseline);
+            return;
+        }
+
         XtremeTask current = plugin.getCurrentTask();
         boolean currentCompleted = current != null && plugin.isTaskCompleted(current);
 
@@ -346,15 +388,21 @@ public class XtremeTaskerOverlay extends Overlay {
                 current,
                 currentCompleted,
                 rolling,
-                plugin::getTierProgressLabel,
-                (ignored) -> computeCurrentLineForRender(current, currentCompleted, fm),
-                this::getTasksForTier,
+                tierProgressLabel,
+                computeCurrentLineForRender(current, currentCompleted, fm),
+                tasksForTier,
                 tierForProgress,
                 src
         );
     }
 
     private void renderTasksTab(Graphics2D g, FontMetrics fm, int panelX, int cursorYBaseline) {
+        if (plugin.isStateLoading()) {
+            // Every task would read as incomplete; the plugin refuses toggles meanwhile anyway
+            drawStateLoading(g, panelX, cursorYBaseline);
+            return;
+        }
+
         net.runelite.api.Point rlMouse = client.getMouseCanvasPosition();
         int hoverX = rlMouse == null ? -1 : rlMouse.getX();
         int hoverY = rlMouse == null ? -1 : rlMouse.getY();
@@ -369,10 +417,11 @@ public class XtremeTaskerOverlay extends Overlay {
                 controlsRendererTasks,
                 taskRowsRendererTasks,
                 plugin,
-                animations,
+                animProgress,
+                completedLookup,
                 TIER_TABS,
                 activeTierTab,
-                this::getSortedTasksForTier,
+                sortedTasksForTier,
                 hoverX,
                 hoverY
         );
@@ -382,17 +431,21 @@ public class XtremeTaskerOverlay extends Overlay {
     // ----------------------------
     // RULES TAB
     // ----------------------------
+    private void drawStateLoading(Graphics2D g, int panelX, int cursorYBaseline) {
+        g.setColor(P.UI_TEXT_DIM);
+        g.drawString(UiText.STATE_LOADING, panelX + PANEL_PADDING, cursorYBaseline);
+    }
+
     private void renderRulesTab(Graphics2D g, FontMetrics fm, int panelX, int cursorYBaseline) {
         RulesTabLayout layout = rulesTabRenderer.render(g, fm, panelX, cursorYBaseline, panelBounds, rulesScroll.offsetRows);
 
         rulesLayout.viewportBounds.setBounds(layout.viewportBounds);
         rulesLayout.reloadButtonBounds.setBounds(layout.reloadButtonBounds);
         rulesLayout.totalContentRows = layout.totalContentRows;
+        rulesLayout.rows.copyFrom(layout.rows);
         rulesLayout.taskerFaqLinkBounds.setBounds(layout.taskerFaqLinkBounds);
         rulesLayout.syncProgressButtonBounds.setBounds(layout.syncProgressButtonBounds);
 
-        rulesViewportBounds.setBounds(layout.viewportBounds);
-
         if (rulesLayout.reloadButtonBounds.width > 0) {
             buttonRenderer.drawButton(g, rulesLayout.reloadButtonBounds, "Reload tasks list", true);
         }
@@ -407,7 +460,7 @@ public class XtremeTaskerOverlay extends Overlay {
 
         if (rulesLayout.syncProgressButtonBounds.contains(mx, my)) {
             Font old = g.getFont();
-            g.setFont(FontManager.getRunescapeSmallFont());
+            g.setFont(fonts.small());
             FontMetrics tfm = g.getFontMetrics();
 
             Rectangle r = rulesLayout.syncProgressButtonBounds;
@@ -434,13 +487,24 @@ public class XtremeTaskerOverlay extends Overlay {
         final int maxW = panelInnerTextMaxWidth();
 
         if (!animations.isRolling()) {
+            // Idle frames reuse the last line; it only depends on the task, its status and the font
+            if (currentLine != null && current == currentLineTask && currentCompleted == currentLineCompleted && fm == currentLineFm) {
+                return currentLine;
+            }
+
+            String line;
             if (current == null) {
-                return TextUtils.truncateToWidth("Click \"Roll task\" to get a task", fm, maxW);
+                line = TextUtils.truncateToWidth("Click \"Roll task\" to get a task", fm, maxW);
+            } else {
+                String tierTag = " [" + current.getTier().name() + "]";
+                line = TextUtils.truncateToWidth((currentCompleted ? "[Marked completed in task tab] " : "Current: ") + current.getName() + tierTag, fm, maxW);
             }
 
-            String tierTag = " [" + current.getTier().name() + "]";
-            String line = (currentCompleted ? "[Marked completed in task tab] " : "Current: ") + current.getName() + tierTag;
-            return TextUtils.truncateToWidth(line, fm, maxW);
+            currentLineTask = current;
+            currentLineCompleted = currentCompleted;
+            currentLineFm = fm;
+            currentLine = line;
+            return line;
         }
 
         TaskTier tier = (current != null) ? current.getTier() : plugin.getCurrentTier();
@@ -626,7 +690,7 @@ public class XtremeTaskerOverlay extends Overlay {
             }
 
             boolean wasDone = plugin.isTaskCompleted(task);
-            if (!wasDone) {
+            if (!wasDone && !plugin.isStateLoading()) {
                 animations.startCompletionAnim(task.getId());
             }
 
@@ -634,8 +698,7 @@ public class XtremeTaskerOverlay extends Overlay {
             plugin.toggleTaskCompletedAndPersist(task);
 
             // Re-anchor selection to the same task after reorder (matches mouse behavior)
-            List<XtremeTask> tasksAfter = getSortedTasksForTier(activeTierTab);
-            selectionModel.setSelectionToTask(activeTierTab, tasksAfter, task);
+            selectionModel.setSelectionToPosition(activeTierTab, sortedPositionOf(task));
 
             return true;
         }
@@ -650,8 +713,10 @@ public class XtremeTaskerOverlay extends Overlay {
         XtremeTask current = plugin.getCurrentTask();
         boolean currentCompleted = current != null && plugin.isTaskCompleted(current);
 
-        boolean rollEnabled = (current == null) || currentCompleted;
-        boolean completeEnabled = (current != null) && !currentCompleted;
+        // Nothing is rolled or completed until the account's progress is in; it would be overwritten
+        boolean ready = !plugin.isStateLoading();
+        boolean rollEnabled = ready && ((current == null) || currentCompleted);
+        boolean completeEnabled = ready && (current != null) && !currentCompleted;
 
         if (code == KeyEvent.VK_R && rollEnabled) {
             animations.startRoll();
@@ -692,26 +757,74 @@ public class XtremeTaskerOverlay extends Overlay {
     }
 
 
+    /**
+     * Panel background, title, header rule and main tabs, at the bounds render() just laid out.
+     */
+    private void paintChrome(Graphics2D g) {
+        drawBevelBox(g, panelBounds, P.UI_BG);
+
+        Font oldFont = g.getFont();
+        g.setFont(fonts.bold());
+        FontMetrics hfm = g.getFontMetrics();
+
+        String title = "Xtreme Tasker";
+        int titleW = hfm.stringWidth(title);
+        g.setColor(P.UI_GOLD);
+        g.drawString(title, panelBounds.x + (panelWidth() - titleW) / 2, panelBounds.y + PANEL_PADDING + hfm.getAscent());
+
+        g.setColor(HEADER_LINE);
+        g.drawLine(panelBounds.x + PANEL_PADDING, headerLineY, panelBounds.x + panelWidth() - PANEL_PADDING, headerLineY);
+
+        g.setFont(oldFont);
+        buttonRenderer.drawTab(g, currentTabBounds, "Current", activeTab == MainTab.CURRENT);
+        buttonRenderer.drawTab(g, tasksTabBounds, "Tasks", activeTab == MainTab.TASKS);
+        buttonRenderer.drawTab(g, rulesTabBounds, "Help", activeTab == MainTab.RULES);
+    }
+
+    /**
+     * The same state bridge the input handlers use; lets the render harness open the panel,
+     * switch tabs and open the details popup without synthesizing clicks.
+     */
+    OverlayInputAccess inputAccess() {
+        return inputAccess;
+    }
+
+    /**
+     * Rendered-row cache of the Tasks list, for the profiler HUD.
+     */
+    public RowRasterCache getRowCache() {
+        return taskRowsRendererTasks.rowCache();
+    }
+
     private void resetTaskListViewAfterQueryChange() {
+        controlsRendererTasks.invalidate();
         List<XtremeTask> tasks = getSortedTasksForTier(activeTierTab);
         taskListView.resetAfterQueryChange(activeTierTab, tasks, taskQuery.completedFirst, plugin::isTaskCompleted);
     }
 
     // --------- data + pipeline ---------
     private List<XtremeTask> getTasksForTier(TaskTier tier) {
-        List<XtremeTask> out = new ArrayList<>();
-        for (XtremeTask t : plugin.getDummyTasks()) {
-            if (t.getTier() == tier) {
-                out.add(t);
-            }
-        }
-        return out;
+        return plugin.getCatalog().getTasksForTier(tier);
     }
 
     private List<XtremeTask> getSortedTasksForTier(TaskTier tier) {
-        List<XtremeTask> base = getTasksForScope(taskQuery.tierScope, activeTierTab);
+        TaskCatalog catalog = plugin.getCatalog();
+        return taskListCache.get(
+                scopedTasks,
+                taskQuery,
+                activeTierTab,
+                plugin.getTaskPackGeneration(),
+                plugin.getCompletionVersion(),
+                completedLookup,
+                catalog.getSearchIndex(),
+                catalog.getNameRanks(),
+                plugin.getLastCompletionChange()
+        );
+    }
 
-        return TaskListPipeline.apply(base, taskQuery, plugin::isTaskCompleted);
+    private int sortedPositionOf(XtremeTask task) {
+        getSortedTasksForTier(activeTierTab);
+        return taskListCache.positionOf(task);
     }
 
     // -----------------------------
@@ -725,8 +838,8 @@ public class XtremeTaskerOverlay extends Overlay {
             }
 
             @Override
-            public XtremeTaskerPlugin plugin() {
-                return (XtremeTaskerPlugin) plugin;
+            public TaskerService plugin() {
+                return plugin;
             }
 
             @Override
@@ -795,6 +908,7 @@ public class XtremeTaskerOverlay extends Overlay {
 
             @Override
             public void setActiveTab(MainTab tab) {
+                chromeLayer.invalidate();
                 switch (tab) {
                     case CURRENT:
                         activeTab = XtremeTaskerOverlay.MainTab.CURRENT;
@@ -835,6 +949,7 @@ public class XtremeTaskerOverlay extends Overlay {
             @Override
             public void setActiveTier(TaskTier tier) {
                 activeTierTab = tier;
+                controlsRendererTasks.invalidate();
             }
 
             @Override
@@ -872,19 +987,14 @@ public class XtremeTaskerOverlay extends Overlay {
                 return taskListViewportBounds;
             }
 
-            @Override
-            public Rectangle rulesViewportBounds() {
-                return rulesViewportBounds;
-            }
-
             @Override
             public Map<TaskTier, Rectangle> tierTabBounds() {
                 return tierTabBounds;
             }
 
             @Override
-            public Map<XtremeTask, Rectangle> taskRowBounds() {
-                return taskRowBounds;
+            public TaskRowsLayout taskRows() {
+                return tasksTabState.taskRows();
             }
 
             @Override
@@ -954,22 +1064,8 @@ public class XtremeTaskerOverlay extends Overlay {
             }
 
             @Override
-            public Map<XtremeTask, Rectangle> taskCheckboxBounds() {
-                return taskCheckboxBounds;
-            }
-
-
-            // -----------------------------
-            // rowBlock accessors for wheel
-            // -----------------------------
-            @Override
-            public int tasksRowBlock() {
-                return XtremeTaskerOverlay.this.tasksRowBlock();
-            }
-
-            @Override
-            public int rulesRowBlock() {
-                return XtremeTaskerOverlay.this.rulesRowBlock();
+            public int sortedPositionOf(XtremeTask task) {
+                return XtremeTaskerOverlay.this.sortedPositionOf(task);
             }
 
             @Override
@@ -998,18 +1094,8 @@ public class XtremeTaskerOverlay extends Overlay {
             }
 
             @Override
-            public Rectangle taskDetailsViewportBounds() {
-                return taskDetailsPopup.viewportBounds();
-            }
-
-            @Override
-            public int taskDetailsTotalContentRows() {
-                return taskDetailsPopup.totalContentRows();
-            }
-
-            @Override
-            public int taskDetailsRowBlock() {
-                return ROW_HEIGHT; // popup content uses ROW_HEIGHT rows
+            public ListHitTester taskDetailsRows() {
+                return taskDetailsPopup.rows();
             }
 
             @Override
@@ -1044,7 +1130,7 @@ public class XtremeTaskerOverlay extends Overlay {
         return bounds.y + ((bounds.height - fm.getHeight()) / 2) + fm.getAscent();
     }
 
-    private Point computeIconPosition(int canvasWidth, int canvasHeight) {
+    private void placeIcon(int canvasWidth, int canvasHeight) {
         Widget orb = client.getWidget(WidgetInfo.MINIMAP_WORLDMAP_ORB);
 
         if (orb != null) {
@@ -1056,10 +1142,11 @@ public class XtremeTaskerOverlay extends Overlay {
             x = Math.max(0, Math.min(x, canvasWidth - ICON_WIDTH));
             y = Math.max(0, Math.min(y, canvasHeight - ICON_HEIGHT));
 
-            return new Point(x, y);
+            iconBounds.setBounds(x, y, ICON_WIDTH, ICON_HEIGHT);
+            return;
         }
 
-        return new Point(canvasWidth - ICON_WIDTH - ICON_FALLBACK_RIGHT_MARGIN, ICON_FALLBACK_Y);
+        iconBounds.setBounds(canvasWidth - ICON_WIDTH - ICON_FALLBACK_RIGHT_MARGIN, ICON_FALLBACK_Y, ICON_WIDTH, ICON_HEIGHT);
     }
 
     // ---- panel sizing helpers ----
@@ -1078,20 +1165,16 @@ public class XtremeTaskerOverlay extends Overlay {
         return panelInnerWidth();
     }
 
-    private List<XtremeTask> getTasksForScope(TaskListQuery.TierScope scope, TaskTier activeTier) {
-        if (scope == TaskListQuery.TierScope.ALL_TIERS) {
-            // all tiers
-            List<XtremeTask> out = new ArrayList<>();
-            for (XtremeTask t : plugin.getDummyTasks()) {
-                if (t.getTier() != null) {
-                    out.add(t);
-                }
-            }
-            return out;
+    // Scope + source filter are a catalog lookup; the pipeline only applies search/status on top
+    private static List<XtremeTask> getTasksForScope(TaskCatalog catalog, TaskListQuery query, TaskTier activeTier) {
+        TaskSource source = TaskListFilter.sourceOf(query.sourceFilter);
+
+        if (query.tierScope == TaskListQuery.TierScope.ALL_TIERS) {
+            return (source == null) ? catalog.getTieredTasks() : catalog.getTasksForSource(source);
         }
 
         // default: only active tier
-        return getTasksForTier(activeTier);
+        return (source == null) ? catalog.getTasksForTier(activeTier) : catalog.getTasks(activeTier, source);
     }
 
 }
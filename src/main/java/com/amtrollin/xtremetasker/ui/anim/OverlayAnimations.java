@@ -42,7 +42,12 @@ public final class OverlayAnimations
     public void prune()
     {
         long now = System.currentTimeMillis();
-        completionAnimStartMs.entrySet().removeIf(e -> (now - e.getValue()) > (completeAnimMs + 50));
+
+        // Called every frame; nothing to iterate (or allocate) while no animation is running
+        if (!completionAnimStartMs.isEmpty())
+        {
+            completionAnimStartMs.entrySet().removeIf(e -> (now - e.getValue()) > (completeAnimMs + 50));
+        }
         if (rollAnimStartMs > 0 && (now - rollAnimStartMs) >= rollAnimMs)
         {
             // let isRolling() go false without leaving stale long-term state
@@ -3,11 +3,15 @@ package com.amtrollin.xtremetasker.ui.current;
 import com.amtrollin.xtremetasker.enums.TaskSource;
 import com.amtrollin.xtremetasker.enums.TaskTier;
 import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.ui.style.UiPalette;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskRowsRenderer;
+import com.amtrollin.xtremetasker.ui.text.TextLayoutCache;
 
 import java.awt.*;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 import static com.amtrollin.xtremetasker.ui.text.TaskLabelFormatter.tierLabel;
 import static com.amtrollin.xtremetasker.ui.text.TextUtils.truncateToWidth;
@@ -28,6 +32,27 @@ public final class CurrentTabRenderer
 
     private final String wikiButtonText;
 
+    private static final Color BADGE_BG = new Color(32, 26, 17, 235);
+    private final Color rollingText;
+    private final Color badgeOutline;
+    private final Color badgeText;
+
+    // Reused every frame
+    private final CurrentTabLayout layout = new CurrentTabLayout();
+
+    // Last progress line; rebuilt when the tier or its label changes
+    private TaskTier progressTier = null;
+    private String progressLabel = null;
+    private String progressLine = null;
+
+    // Wrapped description/prereqs of the task shown, rebuilt when the task, font or width changes
+    private final TextLayoutCache<XtremeTask> descLayout = new TextLayoutCache<>(CurrentTabRenderer::wrapDescription);
+    private final TextLayoutCache<XtremeTask> prereqLayout = new TextLayoutCache<>(CurrentTabRenderer::wrapPrereqs);
+
+    // Bold badge font derived from whatever font the tab draws with
+    private Font badgeBaseFont = null;
+    private Font badgeFont = null;
+
     public CurrentTabRenderer(
             int panelWidth,
             int panelPadding,
@@ -51,11 +76,16 @@ public final class CurrentTabRenderer
         this.edgeLight = edgeLight;
         this.edgeDark = edgeDark;
         this.wikiButtonText = wikiButtonText;
+
+        this.rollingText = UiPalette.withAlpha(uiTextDim, 160);
+        this.badgeOutline = UiPalette.withAlpha(uiGold, 200);
+        this.badgeText = UiPalette.withAlpha(uiText, 235);
     }
 
     /**
      * Render Current tab.
      * Returns layout with bounds for wiki / roll / complete buttons so Overlay can handle clicks.
+     * The layout is owned by this renderer and overwritten by the next call.
      */
     public CurrentTabLayout render(
             Graphics2D g,
@@ -68,15 +98,13 @@ public final class CurrentTabRenderer
             boolean currentCompleted,
             boolean rolling,
             Function<TaskTier, String> tierProgressLabel,
-            Function<TaskTier, Integer> tierPercent, // optional, can be null
-            Function<XtremeTask, String> currentLineProvider,
+            ToIntFunction<TaskTier> tierPercent, // optional, can be null
+            String currentLine,
             Function<TaskTier, List<XtremeTask>> tasksForTierProvider,
             TaskTier tierForProgress,
             TaskSource currentSource
     )
     {
-        CurrentTabLayout layout = new CurrentTabLayout();
-
         layout.wikiButtonBounds.setBounds(0, 0, 0, 0);
         layout.rollButtonBounds.setBounds(0, 0, 0, 0);
         layout.completeButtonBounds.setBounds(0, 0, 0, 0);
@@ -93,15 +121,14 @@ public final class CurrentTabRenderer
             tierForProgress = TaskTier.EASY;
         }
 
-        String progress = prettyTier(tierForProgress) + ": " + (tierProgressLabel == null ? "" : tierProgressLabel.apply(tierForProgress));
+        String progress = progressLine(tierForProgress, tierProgressLabel == null ? "" : tierProgressLabel.apply(tierForProgress));
         progress = truncateToWidth(progress, fm, panelWidth - 2 * panelPadding);
 
         g.setColor(uiTextDim);
         g.drawString(progress, panelX + panelPadding, cursorYBaseline);
         cursorYBaseline += rowHeight + 6;
 
-        String currentLine = currentLineProvider != null ? currentLineProvider.apply(current) : "";
-        currentLine = truncateToWidth(currentLine, fm, panelWidth - 2 * panelPadding);
+        currentLine = truncateToWidth(currentLine == null ? "" : currentLine, fm, panelWidth - 2 * panelPadding);
 
         g.setColor(uiText);
         g.drawString(currentLine, panelX + panelPadding, cursorYBaseline);
@@ -115,7 +142,7 @@ public final class CurrentTabRenderer
 
         if (rolling)
         {
-            g.setColor(new Color(uiTextDim.getRed(), uiTextDim.getGreen(), uiTextDim.getBlue(), 160));
+            g.setColor(rollingText);
             g.drawString("Rolling...", panelX + panelPadding, cursorYBaseline);
             cursorYBaseline += rowHeight + 6;
 
@@ -137,7 +164,7 @@ public final class CurrentTabRenderer
                 cursorYBaseline += rowHeight;
 
                 g.setColor(uiText);
-                cursorYBaseline = drawWrapped(g, fm, desc, x, cursorYBaseline, maxW, 7);
+                cursorYBaseline = drawWrapped(g, fm, descLayout.lines(current, fm, maxW), x, cursorYBaseline, maxW, 7);
                 cursorYBaseline += 8;
             }
 
@@ -150,13 +177,7 @@ public final class CurrentTabRenderer
 
             if (prereqs != null && !prereqs.trim().isEmpty())
             {
-                String formatted = prereqs
-                        .replace("\r", "")
-                        .replaceAll("\\s*;\\s*", "\n")
-                        .replaceAll("\n{2,}", "\n")
-                        .trim();
-
-                cursorYBaseline = drawWrapped(g, fm, formatted, x, cursorYBaseline, maxW, 6);
+                cursorYBaseline = drawWrapped(g, fm, prereqLayout.lines(current, fm, maxW), x, cursorYBaseline, maxW, 6);
             }
             else
             {
@@ -222,16 +243,51 @@ public final class CurrentTabRenderer
         return bounds.y + ((bounds.height - fm.getHeight()) / 2) + fm.getAscent();
     }
 
-    private int drawWrapped(Graphics2D g, FontMetrics fm, String text, int x, int yBaseline, int maxWidth, int maxLines)
+    private String progressLine(TaskTier tier, String label)
+    {
+        if (tier != progressTier || !label.equals(progressLabel))
+        {
+            progressTier = tier;
+            progressLabel = label;
+            progressLine = prettyTier(tier) + ": " + label;
+        }
+        return progressLine;
+    }
+
+    private static List<String> wrapDescription(XtremeTask task, FontMetrics fm, int maxWidth)
+    {
+        String desc = task.getDescription();
+        return (desc == null || desc.trim().isEmpty()) ? Collections.emptyList() : wrapText(desc, fm, maxWidth);
+    }
+
+    private static List<String> wrapPrereqs(XtremeTask task, FontMetrics fm, int maxWidth)
+    {
+        String prereqs = task.getPrereqs();
+        if (prereqs == null || prereqs.trim().isEmpty())
+        {
+            return Collections.emptyList();
+        }
+
+        String formatted = prereqs
+                .replace("\r", "")
+                .replaceAll("\\s*;\\s*", "\n")
+                .replaceAll("\n{2,}", "\n")
+                .trim();
+
+        return wrapText(formatted, fm, maxWidth);
+    }
+
+    private int drawWrapped(Graphics2D g, FontMetrics fm, List<String> lines, int x, int yBaseline, int maxWidth, int maxLines)
     {
-        List<String> lines = wrapText(text, fm, maxWidth);
         int y = yBaseline;
         int drawn = 0;
 
-        for (String line : lines)
+        for (int i = 0; i < lines.size(); i++)
         {
             if (drawn >= maxLines) break;
 
+            String line = lines.get(i);
+
             if (line.isEmpty())
             {
                 y += rowHeight;
@@ -280,21 +336,26 @@ public final class CurrentTabRenderer
                 + verticalNudge;
 
 
-        g.setColor(new Color(32, 26, 17, 235));
+        g.setColor(BADGE_BG);
         g.fillRoundRect(x, y, w, h, 6, 6);
 
-        g.setColor(new Color(uiGold.getRed(), uiGold.getGreen(), uiGold.getBlue(), 200));
+        g.setColor(badgeOutline);
         g.drawRoundRect(x, y, w, h, 6, 6);
 
         Font old = g.getFont();
-        g.setFont(old.deriveFont(Font.BOLD, 12f));
+        if (old != badgeBaseFont)
+        {
+            badgeBaseFont = old;
+            badgeFont = old.deriveFont(Font.BOLD, 12f);
+        }
+        g.setFont(badgeFont);
         FontMetrics bfm = g.getFontMetrics();
 
         int tw = bfm.stringWidth(text);
         int tx = x + (w - tw) / 2;
         int ty = y + ((h - bfm.getHeight()) / 2) + bfm.getAscent();
 
-        g.setColor(new Color(uiText.getRed(), uiText.getGreen(), uiText.getBlue(), 235));
+        g.setColor(badgeText);
         g.drawString(text, tx, ty);
 
         g.setFont(old);
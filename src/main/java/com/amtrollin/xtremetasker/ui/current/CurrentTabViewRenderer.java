@@ -5,7 +5,7 @@ import com.amtrollin.xtremetasker.enums.TaskTier;
 import com.amtrollin.xtremetasker.models.XtremeTask;
 import com.amtrollin.xtremetasker.ui.current.models.CurrentTabState;
 import com.amtrollin.xtremetasker.ui.style.UiPalette;
-import com.amtrollin.xtremetasker.ui.text.TextUtils;
+import com.amtrollin.xtremetasker.ui.text.FittedText;
 import com.amtrollin.xtremetasker.ui.widgets.ButtonRenderer;
 
 import java.awt.*;
@@ -21,11 +21,16 @@ public final class CurrentTabViewRenderer
     private final UiPalette palette;
     private final ButtonRenderer buttonRenderer;
 
+    private static final String KEY_HINT = "Keys: R - roll, C - complete, W - wiki";
+    private final Color hintColor;
+    private final FittedText hintText = new FittedText();
+
     public CurrentTabViewRenderer(CurrentTabRenderer baseRenderer, UiPalette palette)
     {
         this.baseRenderer = baseRenderer;
         this.palette = palette;
         this.buttonRenderer = new ButtonRenderer(palette);
+        this.hintColor = UiPalette.withAlpha(palette.UI_TEXT_DIM, 160);
     }
 
     public void render(
@@ -40,7 +45,7 @@ public final class CurrentTabViewRenderer
             boolean currentCompleted,
             boolean rolling,
             Function<TaskTier, String> tierProgressLabel,
-            Function<XtremeTask, String> currentLineProvider,
+            String currentLine,
             Function<TaskTier, List<XtremeTask>> tasksForTierProvider,
             TaskTier tierForProgress,
             TaskSource currentSource
@@ -58,7 +63,7 @@ public final class CurrentTabViewRenderer
                 rolling,
                 tierProgressLabel,
                 null,
-                currentLineProvider,
+                currentLine,
                 tasksForTierProvider,
                 tierForProgress,
                 currentSource
@@ -81,10 +86,9 @@ public final class CurrentTabViewRenderer
         buttonRenderer.drawButton(g, state.layout().completeButtonBounds, currentCompleted ? "Completed" : "Mark complete", completeEnabled);
         buttonRenderer.drawButton(g, state.layout().rollButtonBounds, "Roll task", rollEnabled);
 
-        g.setColor(new Color(palette.UI_TEXT_DIM.getRed(), palette.UI_TEXT_DIM.getGreen(), palette.UI_TEXT_DIM.getBlue(), 160));
-        String hint = "Keys: R - roll, C - complete, W - wiki";
+        g.setColor(hintColor);
         g.drawString(
-                TextUtils.truncateToWidth(hint, fm, panelBounds.width - (2 * PANEL_PADDING)),
+                hintText.fit(KEY_HINT, fm, panelBounds.width - (2 * PANEL_PADDING)),
                 panelX + PANEL_PADDING,
                 state.layout().rollButtonBounds.y + state.layout().rollButtonBounds.height + ROW_HEIGHT
         );
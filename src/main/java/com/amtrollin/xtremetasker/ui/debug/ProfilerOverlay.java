@@ -0,0 +1,170 @@
+package com.amtrollin.xtremetasker.ui.debug;
+
+import com.amtrollin.xtremetasker.persistence.PersistenceWorker;
+import com.amtrollin.xtremetasker.profiling.LatencyHistogram;
+import com.amtrollin.xtremetasker.profiling.Profiler;
+import com.amtrollin.xtremetasker.profiling.ProfilerSection;
+import com.amtrollin.xtremetasker.ui.style.UiPalette;
+import com.amtrollin.xtremetasker.ui.tasklist.RowRasterCache;
+import net.runelite.client.ui.FontManager;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayLayer;
+import net.runelite.client.ui.overlay.OverlayPosition;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.util.Arrays;
+
+/**
+ * Debug HUD: p50 / p99 / max and sample count per {@link ProfilerSection}, plus the task row cache hit rate
+ * and the persistence worker's write counts.
+ * The text is rebuilt a few times a second rather than every frame, so the HUD barely shows up in its own numbers.
+ */
+public class ProfilerOverlay extends Overlay
+{
+    private static final long REFRESH_MS = 250L;
+    private static final int PAD = 6;
+    private static final int COLUMN_GAP = 10;
+
+    private static final UiPalette P = UiPalette.DEFAULT;
+    private static final Color BG = new Color(0, 0, 0, 170);
+
+    private static final String[] HEADER = {"section", "p50", "p99", "max", "n"};
+    private static final ProfilerSection[] SECTIONS = ProfilerSection.values();
+
+    private final RowRasterCache rowCache;
+    private final PersistenceWorker persistence;
+
+    // [row][column]; row 0 is the header
+    private final String[][] cells = new String[SECTIONS.length + 1][];
+    private String rowCacheLine = "";
+    private String persistenceLine = "";
+    private long lastRefreshMs = 0L;
+
+    private final int[] colW = new int[HEADER.length];
+    private final Dimension size = new Dimension();
+
+    public ProfilerOverlay(RowRasterCache rowCache, PersistenceWorker persistence)
+    {
+        this.rowCache = rowCache;
+        this.persistence = persistence;
+        cells[0] = HEADER;
+
+        setPosition(OverlayPosition.TOP_LEFT);
+        setLayer(OverlayLayer.ABOVE_WIDGETS);
+    }
+
+    @Override
+    public Dimension render(Graphics2D g)
+    {
+        if (!Profiler.isEnabled())
+        {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        if (cells[1] == null || now - lastRefreshMs >= REFRESH_MS)
+        {
+            refresh();
+            lastRefreshMs = now;
+        }
+
+        g.setFont(FontManager.getRunescapeSmallFont());
+        FontMetrics fm = g.getFontMetrics();
+
+        int columns = HEADER.length;
+        Arrays.fill(colW, 0);
+        for (String[] row : cells)
+        {
+            for (int c = 0; c < columns; c++)
+            {
+                colW[c] = Math.max(colW[c], fm.stringWidth(row[c]));
+            }
+        }
+
+        int lineH = fm.getHeight();
+        int w = PAD * 2 + (columns - 1) * COLUMN_GAP;
+        for (int cw : colW)
+        {
+            w += cw;
+        }
+        w = Math.max(w, fm.stringWidth(rowCacheLine) + PAD * 2);
+        w = Math.max(w, fm.stringWidth(persistenceLine) + PAD * 2);
+        int h = PAD * 2 + lineH * (cells.length + 2);
+
+        g.setColor(BG);
+        g.fillRect(0, 0, w, h);
+        g.setColor(P.UI_EDGE_DARK);
+        g.drawRect(0, 0, w, h);
+
+        int y = PAD + fm.getAscent();
+        for (int r = 0; r < cells.length; r++)
+        {
+            g.setColor(r == 0 ? P.UI_GOLD : P.UI_TEXT);
+            int x = PAD;
+            for (int c = 0; c < columns; c++)
+            {
+                String cell = cells[r][c];
+                // Numbers right-aligned, the section name left-aligned
+                int cx = (c == 0) ? x : x + colW[c] - fm.stringWidth(cell);
+                g.drawString(cell, cx, y);
+                x += colW[c] + COLUMN_GAP;
+            }
+            y += lineH;
+        }
+
+        g.setColor(P.UI_TEXT_DIM);
+        g.drawString(rowCacheLine, PAD, y);
+        g.drawString(persistenceLine, PAD, y + lineH);
+
+        size.setSize(w + 1, h + 1);
+        return size;
+    }
+
+    private void refresh()
+    {
+        for (int i = 0; i < SECTIONS.length; i++)
+        {
+            LatencyHistogram hist = Profiler.histogram(SECTIONS[i]);
+            cells[i + 1] = new String[]{
+                    SECTIONS[i].getLabel(),
+                    formatNanos(hist.percentile(0.50)),
+                    formatNanos(hist.percentile(0.99)),
+                    formatNanos(hist.max()),
+                    Long.toString(hist.count())
+            };
+        }
+
+        rowCacheLine = (rowCache == null)
+                ? ""
+                : String.format("row cache: %.1f%% hits (%d/%d)", rowCache.hitRate() * 100.0, rowCache.hits(), rowCache.hits() + rowCache.misses());
+
+        if (persistence == null)
+        {
+            persistenceLine = "";
+        }
+        else
+        {
+            long requests = persistence.getSaveRequests();
+            long writes = persistence.getWrites();
+            long failed = persistence.getFailures();
+            persistenceLine = String.format("saves: %d written, %d coalesced, %d failed, last %s; journal ops %d",
+                    writes, Math.max(0L, requests - writes - failed), failed, formatNanos(persistence.getLastWriteNanos()), persistence.getTasks());
+        }
+    }
+
+    static String formatNanos(long nanos)
+    {
+        if (nanos < 1_000L)
+        {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000L)
+        {
+            return String.format("%.1fus", nanos / 1_000.0);
+        }
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+}
@@ -8,8 +8,10 @@ import com.amtrollin.xtremetasker.ui.anim.OverlayAnimations;
 import com.amtrollin.xtremetasker.ui.tasks.models.TaskControlsLayout;
 import com.amtrollin.xtremetasker.ui.current.CurrentTabLayout;
 import com.amtrollin.xtremetasker.ui.rules.RulesTabLayout;
+import com.amtrollin.xtremetasker.ui.tasklist.ListHitTester;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskListScrollController;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskListViewController;
+import com.amtrollin.xtremetasker.ui.tasklist.TaskRowsLayout;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskSelectionModel;
 import net.runelite.api.Client;
 
@@ -38,10 +40,6 @@ public interface OverlayInputAccess
 
     void setPanelOverride(Integer x, Integer y);
 
-    // rowBlock accessors for wheel
-    int tasksRowBlock();
-    int rulesRowBlock();
-
     // tabs
     enum MainTab { CURRENT, TASKS, RULES }
     MainTab activeTab();
@@ -60,10 +58,9 @@ public interface OverlayInputAccess
     Rectangle rulesTabBounds();
 
     Rectangle taskListViewportBounds();
-    Rectangle rulesViewportBounds();
 
     Map<TaskTier, Rectangle> tierTabBounds();
-    Map<XtremeTask, Rectangle> taskRowBounds();
+    TaskRowsLayout taskRows();
 
     // layouts with click targets
     CurrentTabLayout currentLayout();
@@ -84,15 +81,15 @@ public interface OverlayInputAccess
     boolean handleCurrentKey(java.awt.event.KeyEvent e);
 
     List<XtremeTask> getSortedTasksForTier(TaskTier tier);
+
+    // Position of the task in the current sorted list (refreshing it first), or -1 if not shown
+    int sortedPositionOf(XtremeTask task);
     int taskRowBlock();
 
-    Rectangle taskDetailsViewportBounds();
-    int taskDetailsTotalContentRows();
-    int taskDetailsRowBlock();
+    ListHitTester taskDetailsRows();
     TaskListScrollController taskDetailsScroll();
 
 
-    Map<XtremeTask, Rectangle> taskCheckboxBounds();
     boolean isTaskDetailsOpen();
     void openTaskDetails(XtremeTask task);
     void closeTaskDetails();
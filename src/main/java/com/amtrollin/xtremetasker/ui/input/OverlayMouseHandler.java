@@ -4,6 +4,7 @@ import com.amtrollin.xtremetasker.enums.TaskTier;
 import com.amtrollin.xtremetasker.models.XtremeTask;
 import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
 import com.amtrollin.xtremetasker.ui.rules.RulesTabRenderer;
+import com.amtrollin.xtremetasker.ui.tasklist.TaskRowsLayout;
 import lombok.RequiredArgsConstructor;
 import net.runelite.client.input.MouseAdapter;
 import net.runelite.client.util.LinkBrowser;
@@ -11,7 +12,6 @@ import net.runelite.client.util.LinkBrowser;
 import java.awt.*;
 import java.awt.Cursor;
 import java.awt.event.MouseEvent;
-import java.util.List;
 import java.util.Map;
 
 @RequiredArgsConstructor
@@ -82,7 +82,7 @@ public final class OverlayMouseHandler extends MouseAdapter {
                 XtremeTask t = a.taskDetailsTask();
                 if (t != null) {
                     boolean wasDone = a.plugin().isTaskCompleted(t);
-                    if (!wasDone) {
+                    if (!wasDone && !a.plugin().isStateLoading()) {
                         a.animations().startCompletionAnim(t.getId());
                     }
                     a.plugin().toggleTaskCompletedAndPersist(t);
@@ -231,8 +231,10 @@ public final class OverlayMouseHandler extends MouseAdapter {
             }
 
             boolean currentCompleted = current != null && a.plugin().isTaskCompleted(current);
-            boolean rollEnabled = (current == null) || currentCompleted;
-            boolean completeEnabled = (current != null) && !currentCompleted;
+            // Nothing is rolled or completed until the account's progress is in; it would be overwritten
+            boolean ready = !a.plugin().isStateLoading();
+            boolean rollEnabled = ready && ((current == null) || currentCompleted);
+            boolean completeEnabled = ready && (current != null) && !currentCompleted;
 
             if (completeEnabled && a.currentLayout().completeButtonBounds.contains(p)) {
                 if (current != null) {
@@ -258,40 +260,34 @@ public final class OverlayMouseHandler extends MouseAdapter {
         if (a.activeTab() == OverlayInputAccess.MainTab.TASKS
                 && (button == MouseEvent.BUTTON1 || button == MouseEvent.BUTTON3))
         {
-            for (Map.Entry<XtremeTask, Rectangle> entry : a.taskRowBounds().entrySet())
+            TaskRowsLayout rows = a.taskRows();
+            int slot = rows.rowAt(p.x, p.y);
+            if (slot >= 0)
             {
-                if (!entry.getValue().contains(p))
-                {
-                    continue;
-                }
-
-                XtremeTask task = entry.getKey();
+                XtremeTask task = rows.taskAt(slot);
                 if (task == null)
                 {
                     return e;
                 }
 
-                // Anchor selection to the clicked task (by id) in the current list
-                List<XtremeTask> tasksBefore = a.getSortedTasksForTier(a.activeTier());
-                a.selectionModel().setSelectionToTask(a.activeTier(), tasksBefore, task);
+                // Anchor selection to the clicked task in the current list
+                a.selectionModel().setSelectionToPosition(a.activeTier(), a.sortedPositionOf(task));
 
                 // Checkbox region?
-                Rectangle cb = a.taskCheckboxBounds().get(task);
-                boolean clickedCheckbox = (cb != null && cb.contains(p));
+                boolean clickedCheckbox = rows.checkboxContains(slot, p.x, p.y);
 
                 // Left click checkbox => toggle
                 if (button == MouseEvent.BUTTON1 && clickedCheckbox)
                 {
                     boolean wasDone = a.plugin().isTaskCompleted(task);
-                    if (!wasDone) {
+                    if (!wasDone && !a.plugin().isStateLoading()) {
                         a.animations().startCompletionAnim(task.getId());
                     }
 
                     a.plugin().toggleTaskCompletedAndPersist(task);
 
                     // Re-anchor selection after reorder
-                    List<XtremeTask> tasksAfter = a.getSortedTasksForTier(a.activeTier());
-                    a.selectionModel().setSelectionToTask(a.activeTier(), tasksAfter, task);
+                    a.selectionModel().setSelectionToPosition(a.activeTier(), a.sortedPositionOf(task));
 
                     e.consume();
                     return e;
@@ -1,12 +1,11 @@
 package com.amtrollin.xtremetasker.ui.input;
 
-import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.ui.tasklist.ListHitTester;
 import lombok.RequiredArgsConstructor;
 import net.runelite.client.input.MouseWheelListener;
 
 import java.awt.*;
 import java.awt.event.MouseWheelEvent;
-import java.util.List;
 
 @RequiredArgsConstructor
 public final class OverlayWheelHandler implements MouseWheelListener
@@ -33,20 +32,14 @@ public final class OverlayWheelHandler implements MouseWheelListener
         // ------------------------------------------
         // DETAILS POPUP scroll (highest priority)
         // ------------------------------------------
-        // Requires the popup hooks on OverlayInputAccess (see below).
-        if (a.isTaskDetailsOpen() && a.taskDetailsViewportBounds().contains(p))
+        if (a.isTaskDetailsOpen() && a.taskDetailsRows().contains(p.x, p.y))
         {
-            if (a.taskDetailsViewportBounds().height <= 0)
-            {
-                return e;
-            }
-
-            int total = a.taskDetailsTotalContentRows();
+            ListHitTester rows = a.taskDetailsRows();
             a.taskDetailsScroll().onWheel(
                     precise,
-                    a.taskDetailsViewportBounds().height,
-                    a.taskDetailsRowBlock(),
-                    total <= 0 ? 1 : total,
+                    rows.viewport().height,
+                    rows.rowBlock(),
+                    Math.max(1, rows.itemCount()),
                     null
             );
 
@@ -55,42 +48,28 @@ public final class OverlayWheelHandler implements MouseWheelListener
 
 
         // TASKS scroll
-        if (a.activeTab() == OverlayInputAccess.MainTab.TASKS && a.taskListViewportBounds().contains(p))
+        if (a.activeTab() == OverlayInputAccess.MainTab.TASKS && a.taskRows().rows.contains(p.x, p.y))
         {
-            Rectangle vp = a.taskListViewportBounds();
-            if (vp.height <= 0)
-            {
-                return e;
-            }
-
-            List<XtremeTask> tasks = a.getSortedTasksForTier(a.activeTier());
-            int total = tasks.size();
-
+            ListHitTester rows = a.taskRows().rows;
             a.taskListView().onWheel(
                     precise,
-                    vp.height,
-                    a.tasksRowBlock(),
-                    total
+                    rows.viewport().height,
+                    rows.rowBlock(),
+                    rows.itemCount()
             );
 
             return e;
         }
 
         // RULES scroll
-        if (a.activeTab() == OverlayInputAccess.MainTab.RULES && a.rulesViewportBounds().contains(p))
+        if (a.activeTab() == OverlayInputAccess.MainTab.RULES && a.rulesLayout().rows.contains(p.x, p.y))
         {
-            Rectangle vp = a.rulesViewportBounds();
-            if (vp.height <= 0)
-            {
-                return e;
-            }
-
-            int total = a.rulesLayout().totalContentRows;
+            ListHitTester rows = a.rulesLayout().rows;
             a.rulesScroll().onWheel(
                     precise,
-                    vp.height,
-                    a.rulesRowBlock(),
-                    total <= 0 ? 1 : total,
+                    rows.viewport().height,
+                    rows.rowBlock(),
+                    Math.max(1, rows.itemCount()),
                     null
             );
 
@@ -1,5 +1,7 @@
 package com.amtrollin.xtremetasker.ui.rules;
 
+import com.amtrollin.xtremetasker.ui.tasklist.ListHitTester;
+
 import java.awt.Rectangle;
 
 public final class RulesTabLayout
@@ -7,6 +9,7 @@ public final class RulesTabLayout
     public final Rectangle viewportBounds = new Rectangle();
     public final Rectangle reloadButtonBounds = new Rectangle();
     public int totalContentRows = 0;
+    public final ListHitTester rows = new ListHitTester();
     public final Rectangle taskerFaqLinkBounds = new Rectangle();
     public final Rectangle taskerFaqButtonBounds = new Rectangle();
     public final Rectangle syncProgressButtonBounds = new Rectangle();
@@ -1,7 +1,8 @@
 package com.amtrollin.xtremetasker.ui.rules;
 
+import com.amtrollin.xtremetasker.ui.text.TextLayoutCache;
 import com.amtrollin.xtremetasker.ui.text.TextUtils;
-import net.runelite.client.ui.FontManager;
+import com.amtrollin.xtremetasker.ui.style.UiFonts;
 
 import java.awt.*;
 import java.util.ArrayList;
@@ -16,6 +17,14 @@ public final class RulesTabRenderer
 
     private final Color uiGold;
     private final Color uiTextDim;
+    private final UiFonts fonts;
+
+    // Reused every frame
+    private final RulesTabLayout layout = new RulesTabLayout();
+
+    // The help copy is static, so one identity stands for it in the layout cache
+    private static final Object RULES_DOC = new Object();
+    private final TextLayoutCache<Object> linesLayout = new TextLayoutCache<>(RulesTabRenderer::buildLines);
 
     private static final String TASKER_FAQ_URL =
             "https://docs.google.com/document/d/e/2PACX-1vTHfXHzMQFbt_iYAP-O88uRhhz3wigh1KMiiuomU7ftli-rL_c3bRqfGYmUliE1EHcIr3LfMx2UTf2U/pub";
@@ -30,9 +39,11 @@ public final class RulesTabRenderer
             int rowHeight,
             int listRowSpacing,
             Color uiGold,
-            Color uiTextDim
+            Color uiTextDim,
+            UiFonts fonts
     )
     {
+        this.fonts = fonts;
         this.panelWidth = panelWidth;
         this.panelPadding = panelPadding;
         this.rowHeight = rowHeight;
@@ -55,7 +66,6 @@ public final class RulesTabRenderer
             int scrollOffsetRows
     )
     {
-        RulesTabLayout layout = new RulesTabLayout();
         layout.taskerFaqLinkBounds.setBounds(0, 0, 0, 0);
         layout.reloadButtonBounds.setBounds(0, 0, 0, 0);
         layout.syncProgressButtonBounds.setBounds(0, 0, 0, 0);
@@ -68,8 +78,9 @@ public final class RulesTabRenderer
 
         layout.viewportBounds.setBounds(bx, viewportY, viewportW, viewportH);
 
-        List<String> lines = buildLines(fm, viewportW - 8);
-        layout.totalContentRows = lines.size();
+        // Wrapped once per font and width; totalContentRows (and so the scroll clamp) comes from the same layout
+        List<String> lines = linesLayout.lines(RULES_DOC, fm, viewportW - 8);
+        layout.totalContentRows = linesLayout.totalRows();
 
         int rb = rowBlock();
         int visibleRows = (rb <= 0) ? 0 : Math.max(0, viewportH / rb);
@@ -79,12 +90,14 @@ public final class RulesTabRenderer
         int start = clamp(scrollOffsetRows, maxOffset);
         int end = Math.min(lines.size(), start + visibleRows);
 
+        layout.rows.update(bx, viewportY, viewportW, viewportH, viewportY, rb, start, end - start, layout.totalContentRows);
+
         Shape oldClip = g.getClip();
         g.setClip(layout.viewportBounds);
 
         // Fonts for hierarchy
         Font normalFont = g.getFont();
-        Font sectionTitleFont = FontManager.getRunescapeBoldFont();
+        Font sectionTitleFont = fonts.bold();
 
         int drawY = cursorYBaseline;
 
@@ -138,7 +151,6 @@ public final class RulesTabRenderer
                 FontMetrics tfm = g.getFontMetrics();
 
                 g.setColor(uiGold);
-                lines.add("");
                 String title = "Data Syncs";
                 int w = tfm.stringWidth(title);
                 int cx = bx + (viewportW - w) / 2;
@@ -228,7 +240,7 @@ public final class RulesTabRenderer
         return layout;
     }
 
-    private List<String> buildLines(FontMetrics fm, int maxWidth)
+    private static List<String> buildLines(Object doc, FontMetrics fm, int maxWidth)
     {
         List<String> lines = new ArrayList<>();
         lines.add("");
@@ -0,0 +1,31 @@
+package com.amtrollin.xtremetasker.ui.style;
+
+import net.runelite.client.ui.FontManager;
+
+import java.awt.Font;
+
+/**
+ * The fonts the overlay draws with. The plugin uses {@link #CLIENT}; a headless renderer hands the
+ * overlay its own so its output doesn't depend on which client build is on the classpath.
+ */
+public interface UiFonts
+{
+    UiFonts CLIENT = new UiFonts()
+    {
+        @Override
+        public Font small()
+        {
+            return FontManager.getRunescapeSmallFont();
+        }
+
+        @Override
+        public Font bold()
+        {
+            return FontManager.getRunescapeBoldFont();
+        }
+    };
+
+    Font small();
+
+    Font bold();
+}
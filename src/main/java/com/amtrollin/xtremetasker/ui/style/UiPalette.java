@@ -51,4 +51,13 @@ public final class UiPalette
             new Color(120, 200, 140);
 
     private UiPalette() {}
+
+    /**
+     * Same RGB with a different alpha (clamped to 0..255).
+     * Renderers call this once when they're built and keep the result, not per frame.
+     */
+    public static Color withAlpha(Color c, int alpha)
+    {
+        return new Color(c.getRed(), c.getGreen(), c.getBlue(), Math.max(0, Math.min(255, alpha)));
+    }
 }
@@ -31,6 +31,9 @@ public final class UiText
     public static final String CURRENT_ROLLING = "Rolling...";
     public static final String CURRENT_ROLLING_PREFIX = "Rolling: ";
 
+    // Current / Tasks tab, while the account's progress is read
+    public static final String STATE_LOADING = "Loading progress...";
+
     // Tasks tab
     public static final String TASKS_NONE_LOADED = "No tasks loaded.";
     public static final String TASKS_PROGRESS_LABEL_SUFFIX = " progress: ";
@@ -0,0 +1,132 @@
+package com.amtrollin.xtremetasker.ui.tasklist;
+
+import java.awt.Rectangle;
+
+/**
+ * Geometry of a scrolling list of fixed-pitch rows, as drawn in the last frame.
+ * <p>
+ * Rows are evenly spaced, so a point maps to a row by integer division instead of
+ * checking per-row bounds. Renderers refill this in place every frame; input handlers read it.
+ * Used by the Tasks list, the Rules tab and the task details popup.
+ */
+public final class ListHitTester
+{
+    private final Rectangle viewport = new Rectangle();
+
+    // Top of the first visible row; may sit a little above the viewport
+    private int originY = 0;
+    private int rowBlock = 0;
+
+    // Index of the first visible row (scroll offset), visible rows, and rows in the whole list
+    private int scrollOffset = 0;
+    private int visibleCount = 0;
+    private int itemCount = 0;
+
+    public void update(
+            int viewportX,
+            int viewportY,
+            int viewportW,
+            int viewportH,
+            int originY,
+            int rowBlock,
+            int scrollOffset,
+            int visibleCount,
+            int itemCount
+    )
+    {
+        viewport.setBounds(viewportX, viewportY, viewportW, viewportH);
+        this.originY = originY;
+        this.rowBlock = rowBlock;
+        this.scrollOffset = scrollOffset;
+        this.visibleCount = visibleCount;
+        this.itemCount = itemCount;
+    }
+
+    public void copyFrom(ListHitTester other)
+    {
+        Rectangle v = other.viewport;
+        update(v.x, v.y, v.width, v.height, other.originY, other.rowBlock, other.scrollOffset, other.visibleCount, other.itemCount);
+    }
+
+    public void clear()
+    {
+        update(0, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public boolean contains(int x, int y)
+    {
+        return viewport.width > 0 && viewport.height > 0 && viewport.contains(x, y);
+    }
+
+    /**
+     * @return the visible slot (0 = first visible row) under the point, or -1
+     */
+    public int slotAt(int x, int y)
+    {
+        if (rowBlock <= 0 || !contains(x, y))
+        {
+            return -1;
+        }
+
+        int dy = y - originY;
+        if (dy < 0)
+        {
+            return -1;
+        }
+
+        int slot = dy / rowBlock;
+        return (slot < visibleCount) ? slot : -1;
+    }
+
+    /**
+     * @return the list index of the row under the point, or -1
+     */
+    public int indexAt(int x, int y)
+    {
+        int slot = slotAt(x, y);
+        return (slot < 0) ? -1 : scrollOffset + slot;
+    }
+
+    public int rowTop(int slot)
+    {
+        return originY + slot * rowBlock;
+    }
+
+    public Rectangle viewport()
+    {
+        return viewport;
+    }
+
+    public int originY()
+    {
+        return originY;
+    }
+
+    public int rowBlock()
+    {
+        return rowBlock;
+    }
+
+    public int scrollOffset()
+    {
+        return scrollOffset;
+    }
+
+    public int visibleCount()
+    {
+        return visibleCount;
+    }
+
+    /**
+     * Exclusive end of the visible range.
+     */
+    public int visibleEnd()
+    {
+        return scrollOffset + visibleCount;
+    }
+
+    public int itemCount()
+    {
+        return itemCount;
+    }
+}
@@ -0,0 +1,232 @@
+package com.amtrollin.xtremetasker.ui.tasklist;
+
+import com.amtrollin.xtremetasker.models.XtremeTask;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Rendered task rows, keyed by (task ordinal, completed, selected, tier prefix shown, width), in a
+ * bounded LRU.
+ * <p>
+ * Keys are packed into a long and looked up through a small chained hash over parallel arrays, so a
+ * hit doesn't box or allocate. Entries also remember the task object they were drawn for: a reloaded
+ * pack reuses ordinals with new task objects, and those lookups miss instead of showing old rows.
+ * Evicted entries hand their image to the next row that needs one.
+ */
+public final class RowRasterCache
+{
+    private static final int FLAG_BITS = 3;
+    private static final int WIDTH_BITS = 16;
+    private static final int ORDINAL_SHIFT = FLAG_BITS + WIDTH_BITS;
+
+    private final int capacity;
+    private final long[] keys;
+    private final XtremeTask[] owners;
+    private final BufferedImage[] images;
+    private final long[] lastUse;
+    private final int[] next;
+    private final int[] buckets;
+    private final int bucketMask;
+
+    private int size = 0;
+    private long clock = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    public RowRasterCache(int capacity)
+    {
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.owners = new XtremeTask[capacity];
+        this.images = new BufferedImage[capacity];
+        this.lastUse = new long[capacity];
+        this.next = new int[capacity];
+
+        int bucketCount = Integer.highestOneBit(Math.max(2, capacity * 2) - 1) << 1;
+        this.buckets = new int[bucketCount];
+        this.bucketMask = bucketCount - 1;
+        Arrays.fill(buckets, -1);
+    }
+
+    public static long key(int ordinal, boolean completed, boolean selected, boolean showTierPrefix, int width)
+    {
+        int flags = (completed ? 1 : 0) | (selected ? 2 : 0) | (showTierPrefix ? 4 : 0);
+        return ((long) ordinal << ORDINAL_SHIFT) | ((long) (width & 0xFFFF) << FLAG_BITS) | flags;
+    }
+
+    /**
+     * @return the cached row, or null on a miss (counted either way)
+     */
+    public BufferedImage get(long key, XtremeTask task)
+    {
+        int idx = find(key);
+        if (idx >= 0 && owners[idx] == task)
+        {
+            lastUse[idx] = ++clock;
+            hits++;
+            return images[idx];
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Claims an entry for {@code key}, evicting the least recently used one if full.
+     * The returned image is at least the given size but its previous contents aren't cleared.
+     */
+    public BufferedImage put(long key, XtremeTask task, int width, int height)
+    {
+        int idx = find(key);
+        if (idx < 0)
+        {
+            if (size < capacity)
+            {
+                idx = size++;
+            }
+            else
+            {
+                idx = leastRecentlyUsed();
+                unlink(idx);
+            }
+            keys[idx] = key;
+            int b = bucket(key);
+            next[idx] = buckets[b];
+            buckets[b] = idx;
+        }
+
+        BufferedImage img = images[idx];
+        if (img == null || img.getWidth() != width || img.getHeight() != height)
+        {
+            img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            images[idx] = img;
+        }
+
+        owners[idx] = task;
+        lastUse[idx] = ++clock;
+        return img;
+    }
+
+    /**
+     * Drops every entry for one task, e.g. after its completion changed.
+     */
+    public void evict(int ordinal)
+    {
+        for (int i = 0; i < size; )
+        {
+            if ((int) (keys[i] >>> ORDINAL_SHIFT) == ordinal)
+            {
+                remove(i);
+            }
+            else
+            {
+                i++;
+            }
+        }
+    }
+
+    public void clear()
+    {
+        Arrays.fill(buckets, -1);
+        Arrays.fill(owners, null);
+        size = 0;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public long hits()
+    {
+        return hits;
+    }
+
+    public long misses()
+    {
+        return misses;
+    }
+
+    /**
+     * Share of lookups served from the cache since startup, [0..1].
+     */
+    public double hitRate()
+    {
+        long total = hits + misses;
+        return (total == 0) ? 0.0 : (double) hits / (double) total;
+    }
+
+    private int find(long key)
+    {
+        for (int i = buckets[bucket(key)]; i >= 0; i = next[i])
+        {
+            if (keys[i] == key)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int bucket(long key)
+    {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & bucketMask;
+    }
+
+    private int leastRecentlyUsed()
+    {
+        int lru = 0;
+        for (int i = 1; i < size; i++)
+        {
+            if (lastUse[i] < lastUse[lru])
+            {
+                lru = i;
+            }
+        }
+        return lru;
+    }
+
+    private void unlink(int idx)
+    {
+        int b = bucket(keys[idx]);
+        if (buckets[b] == idx)
+        {
+            buckets[b] = next[idx];
+            return;
+        }
+        for (int i = buckets[b]; i >= 0; i = next[i])
+        {
+            if (next[i] == idx)
+            {
+                next[i] = next[idx];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes entry {@code idx} by moving the last entry into its place; its image is kept for reuse.
+     */
+    private void remove(int idx)
+    {
+        unlink(idx);
+        int last = --size;
+        BufferedImage freed = images[idx];
+
+        if (idx != last)
+        {
+            unlink(last);
+            keys[idx] = keys[last];
+            owners[idx] = owners[last];
+            images[idx] = images[last];
+            lastUse[idx] = lastUse[last];
+            int b = bucket(keys[idx]);
+            next[idx] = buckets[b];
+            buckets[b] = idx;
+        }
+
+        images[last] = freed;
+        owners[last] = null;
+    }
+}
@@ -3,16 +3,72 @@ package com.amtrollin.xtremetasker.ui.tasklist;
 import com.amtrollin.xtremetasker.models.XtremeTask;
 
 import java.awt.Rectangle;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
+/**
+ * Geometry of the rows drawn in the last frame.
+ * <p>
+ * Owned and refilled in place by {@link TaskRowsRenderer}. Rows are hit-tested arithmetically through
+ * {@link #rows}; the checkbox sits in the same column and at the same offset in every row, so it's one range check.
+ */
 public final class TaskRowsLayout
 {
     public final Rectangle viewportBounds = new Rectangle();
+    public final ListHitTester rows = new ListHitTester();
 
-    /** Full clickable row bounds (used for selection + row click). */
-    public final Map<XtremeTask, Rectangle> rowBounds = new HashMap<>();
+    /** Height of the drawn row highlight. */
+    public int rowHeight = 0;
 
-    /** Click target for the checkbox/pip area (used to toggle). */
-    public final Map<XtremeTask, Rectangle> checkboxBounds = new HashMap<>();
+    /** Click target for the checkbox/pip area (used to toggle), relative to each row's top. */
+    public int checkboxX = 0;
+    public int checkboxOffsetY = 0;
+    public int checkboxSize = 0;
+
+    /** Task in each visible slot; the arrays only grow, so a steady frame writes into the same storage. */
+    public XtremeTask[] tasks = new XtremeTask[0];
+
+    void reset(int capacity)
+    {
+        if (tasks.length < capacity)
+        {
+            tasks = new XtremeTask[capacity];
+        }
+        else
+        {
+            // Don't keep tasks from an older pack reachable
+            Arrays.fill(tasks, null);
+        }
+    }
+
+    public void clear()
+    {
+        viewportBounds.setBounds(0, 0, 0, 0);
+        rows.clear();
+        reset(0);
+    }
+
+    /**
+     * @return the slot of the row containing the point, or -1
+     */
+    public int rowAt(int x, int y)
+    {
+        return rows.slotAt(x, y);
+    }
+
+    public boolean checkboxContains(int slot, int x, int y)
+    {
+        if (slot < 0 || slot >= rows.visibleCount())
+        {
+            return false;
+        }
+
+        int top = rows.rowTop(slot) + checkboxOffsetY;
+        return x >= checkboxX && x < checkboxX + checkboxSize
+                && y >= top && y < top + checkboxSize;
+    }
+
+    public XtremeTask taskAt(int slot)
+    {
+        return (slot < 0 || slot >= rows.visibleCount()) ? null : tasks[slot];
+    }
 }
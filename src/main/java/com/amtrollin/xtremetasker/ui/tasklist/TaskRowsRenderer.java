@@ -2,12 +2,15 @@ package com.amtrollin.xtremetasker.ui.tasklist;
 
 import com.amtrollin.xtremetasker.enums.TaskTier;
 import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.tasklist.TaskListFilter;
+import com.amtrollin.xtremetasker.ui.style.UiPalette;
 import com.amtrollin.xtremetasker.ui.text.TaskLabelFormatter;
 import com.amtrollin.xtremetasker.ui.text.TextUtils;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
 import java.util.List;
-import java.util.function.Function;
 
 import static com.amtrollin.xtremetasker.tasklist.TaskListPipeline.safe;
 
@@ -38,6 +41,31 @@ public final class TaskRowsRenderer {
     private final Color edgeLight;
     private final Color edgeDark;
 
+    // derived once; render() must not allocate per frame
+    private final Color completedText;
+    private final Color pipInnerRing;
+    private final Color scrollThumbOutline;
+    private static final Color CHECK_MARK = new Color(30, 25, 18, 220);
+    private static final Color SCROLL_RAIL = new Color(0, 0, 0, 60);
+    private static final Color SCROLL_THUMB = new Color(78, 62, 38, 200);
+
+    private final TaskRowsLayout layout = new TaskRowsLayout();
+    private final Rectangle scrollThumb = new Rectangle();
+
+    // Row label per visible slot (see rowLabel)
+    private String[] labels = new String[0];
+    private XtremeTask[] labelTasks = new XtremeTask[0];
+    private boolean[] labelPrefixed = new boolean[0];
+    private FontMetrics labelFm = null;
+    private int labelMaxW = -1;
+
+    // Rendered rows for scrolling; sized for a few screens of the list
+    private static final int ROW_CACHE_CAPACITY = 128;
+    private final RowRasterCache rowCache = new RowRasterCache(ROW_CACHE_CAPACITY);
+    private FontMetrics rowCacheFm = null;
+    private int rowCachePackGeneration = Integer.MIN_VALUE;
+    private int rowCacheCompletionVersion = Integer.MIN_VALUE;
+
     // --- Visual boost (Option 2: more prominent checkbox/pip without changing layout) ---
     // Increase this to make the circle larger. Keep small so it doesn't collide with text.
     private static final int PIP_VISUAL_BOOST_PX = 4; // try 2–6; 4 is a nice "more prominent" bump
@@ -87,6 +115,10 @@ public final class TaskRowsRenderer {
         this.uiGold = uiGold;
         this.edgeLight = edgeLight;
         this.edgeDark = edgeDark;
+
+        this.completedText = UiPalette.withAlpha(uiTextDim, 220);
+        this.pipInnerRing = UiPalette.withAlpha(pipRing, 60);
+        this.scrollThumbOutline = UiPalette.withAlpha(uiGold, 140);
     }
 
     public int rowBlock() {
@@ -99,7 +131,17 @@ public final class TaskRowsRenderer {
     }
 
     /**
-     * Renders the task list and returns layout containing viewport + per-row bounds.
+     * Completion "pop" progress for a task id, [0..1].
+     */
+    @FunctionalInterface
+    public interface AnimProgressLookup
+    {
+        float progress(String taskId);
+    }
+
+    /**
+     * Renders the task list and returns layout containing viewport + row geometry.
+     * The returned layout is owned by this renderer and overwritten by the next call.
      *
      * @param selectedIndex        selected index in the tasks list
      * @param scrollOffsetRows     current scroll offset in rows
@@ -118,13 +160,10 @@ public final class TaskRowsRenderer {
             int scrollOffsetRows,
             int hoverMouseX,
             int hoverMouseY,
-            Function<String, Float> animProgressProvider,
-            Function<XtremeTask, Boolean> isCompleted,
+            AnimProgressLookup animProgressProvider,
+            TaskListFilter.CompletionLookup isCompleted,
             boolean showTierPrefix
     ) {
-        TaskRowsLayout layout = new TaskRowsLayout();
-        layout.rowBounds.clear();
-
         int viewportX = panelX + panelPadding;
         int viewportY = cursorYBaseline - fm.getAscent();
         int viewportW = panelWidth - 2 * panelPadding;
@@ -139,6 +178,28 @@ public final class TaskRowsRenderer {
         int start = clamp(scrollOffsetRows, Math.max(0, tasks.size() - visibleRows));
         int end = Math.min(tasks.size(), start + visibleRows);
 
+        int hitSize = Math.max(statusPipSize + 10, 18);
+
+        // Row i sits at firstRowTop + (i - start) * rb; the pip is at the same spot in every row
+        int firstRowTop = cursorYBaseline - fm.getAscent() - 2;
+        int pipCenterX = viewportX + statusPipPadLeft + (statusPipSize / 2);
+        int pipOffsetY = (fm.getAscent() - fm.getAscent() / 2) + (fm.getDescent() / 2) + 2;
+
+        layout.reset(end - start);
+        layout.rows.update(viewportX, viewportY, viewportW, viewportH, firstRowTop, rb, start, end - start, tasks.size());
+        layout.rowHeight = rowHeight + 4;
+        layout.checkboxX = pipCenterX - (hitSize / 2);
+        layout.checkboxOffsetY = pipOffsetY - (hitSize / 2);
+        layout.checkboxSize = hitSize;
+        ensureLabelSlots(end - start);
+
+        int hoveredSlot = (hoverMouseX >= 0 && hoverMouseY >= 0) ? layout.rows.slotAt(hoverMouseX, hoverMouseY) : -1;
+
+        if (fm != rowCacheFm) {
+            rowCache.clear();
+            rowCacheFm = fm;
+        }
+
         Shape oldClip = g.getClip();
         g.setClip(layout.viewportBounds);
 
@@ -146,107 +207,207 @@ public final class TaskRowsRenderer {
 
         for (int i = start; i < end; i++) {
             XtremeTask task = tasks.get(i);
-            boolean completed = isCompleted != null && Boolean.TRUE.equals(isCompleted.apply(task));
+            boolean completed = isCompleted != null && isCompleted.isCompleted(task);
+
+            int slot = i - start;
+            int rowTop = layout.rows.rowTop(slot);
+            int rowH = layout.rowHeight;
 
-            Rectangle rowBounds = new Rectangle(
-                    viewportX,
-                    (drawY - fm.getAscent()) - 2,
-                    viewportW,
-                    rowHeight + 4
-            );
-            layout.rowBounds.put(task, rowBounds);
+            layout.tasks[slot] = task;
 
-            boolean hovered = (hoverMouseX >= 0 && hoverMouseY >= 0) && rowBounds.contains(hoverMouseX, hoverMouseY);
+            boolean hovered = (slot == hoveredSlot);
             boolean selected = (i == selectedIndex);
 
             if (hovered) {
                 g.setColor(rowHoverBg);
-                g.fillRect(rowBounds.x, rowBounds.y, rowBounds.width, rowBounds.height);
+                g.fillRect(viewportX, rowTop, viewportW, rowH);
             }
 
-            if (selected) {
-                g.setColor(rowSelectedBg);
-                g.fillRect(rowBounds.x, rowBounds.y, rowBounds.width, rowBounds.height);
-                g.setColor(rowSelectedOutline);
-                g.drawRect(rowBounds.x + 1, rowBounds.y + 1, rowBounds.width - 2, rowBounds.height - 2);
+            float anim = 0f;
+            if (animProgressProvider != null && task != null) {
+                anim = animProgressProvider.progress(task.getId());
             }
 
-            if (completed) {
-                g.setColor(rowDoneBg);
-                g.fillRect(rowBounds.x, rowBounds.y, rowBounds.width, rowBounds.height);
-
-                g.setColor(rowLine);
-                g.drawLine(rowBounds.x, rowBounds.y, rowBounds.x + rowBounds.width, rowBounds.y);
+            assert task != null;
+            int textMaxW = Math.max(0, viewportW - taskTextPadLeft - 10);
+            String taskName = rowLabel(slot, task, fm, textMaxW, showTierPrefix);
+
+            if (anim > 0f || task.getOrdinal() < 0) {
+                // The completion pop changes every frame, and tasks outside a catalog have no ordinal to key on
+                paintRow(g, fm, taskName, viewportX, rowTop, viewportW, rowH, drawY, pipCenterX, rowTop + pipOffsetY, completed, selected, anim);
+            } else {
+                long key = RowRasterCache.key(task.getOrdinal(), completed, selected, showTierPrefix, viewportW);
+                BufferedImage row = rowCache.get(key, task);
+                if (row == null) {
+                    row = rowCache.put(key, task, viewportW, Math.max(rowH, rb));
+                    rasterizeRow(g, row, fm, taskName, viewportX, rowTop, viewportW, rowH, drawY, pipCenterX, rowTop + pipOffsetY, completed, selected);
+                }
+                g.drawImage(row, viewportX, rowTop, null);
             }
 
-            // pip center aligned with glyph center
-            int pipCenterX = rowBounds.x + statusPipPadLeft + (statusPipSize / 2);
-            int pipCenterY = drawY - (fm.getAscent() / 2) + (fm.getDescent() / 2);
+            drawY += rb;
+        }
 
-            int hitSize = Math.max(statusPipSize + 10, 18);
-            layout.checkboxBounds.put(task, new Rectangle(
-                    pipCenterX - hitSize / 2,
-                    pipCenterY - hitSize / 2,
-                    hitSize,
-                    hitSize
-            ));
+        g.setClip(oldClip);
 
-            // Checkbox hit target (bigger than the visual pip)
-            int hitX = pipCenterX - (hitSize / 2);
-            int hitY = pipCenterY - (hitSize / 2);
+        // scrollbar if needed
+        if (tasks.size() > visibleRows && visibleRows > 0 && viewportH > 0) {
+            drawScrollbar(g, tasks.size(), visibleRows, start, layout.viewportBounds);
+        }
 
-            Rectangle hit = new Rectangle(hitX, hitY, hitSize, hitSize);
-            layout.checkboxBounds.put(task, hit);
+        return layout;
+    }
 
-            float anim = 0f;
-            if (animProgressProvider != null && task != null) {
-                Float v = animProgressProvider.apply(task.getId());
-                anim = v == null ? 0f : v;
-            }
+    /**
+     * Everything in a row except the hover highlight: selection, completed shading, pip, label and strike-through.
+     */
+    private void paintRow(
+            Graphics2D g,
+            FontMetrics fm,
+            String taskName,
+            int x,
+            int rowTop,
+            int w,
+            int rowH,
+            int baseline,
+            int pipCenterX,
+            int pipCenterY,
+            boolean completed,
+            boolean selected,
+            float anim
+    ) {
+        if (selected) {
+            g.setColor(rowSelectedBg);
+            g.fillRect(x, rowTop, w, rowH);
+            g.setColor(rowSelectedOutline);
+            g.drawRect(x + 1, rowTop + 1, w - 2, rowH - 2);
+        }
 
-            // Draw slightly larger pip for better prominence (visual only)
-            drawStatusPip(g, pipCenterX, pipCenterY, completed, anim);
+        if (completed) {
+            g.setColor(rowDoneBg);
+            g.fillRect(x, rowTop, w, rowH);
 
-            int textX = viewportX + taskTextPadLeft;
-            int textMaxW = Math.max(0, viewportW - taskTextPadLeft - 10);
+            g.setColor(rowLine);
+            g.drawLine(x, rowTop, x + w, rowTop);
+        }
 
-            assert task != null;
-            String taskName = TextUtils.truncateToWidth(safe(task.getName()), fm, textMaxW);
+        // Draw slightly larger pip for better prominence (visual only)
+        drawStatusPip(g, pipCenterX, pipCenterY, completed, anim);
 
-            if (showTierPrefix)
-            {
-                String tier = (task.getTier() == null) ? "" : task.getTier().name();
-                if (!tier.isEmpty())
-                {
-                    taskName = "[" + prettyTier(task.getTier()) + "] " + taskName;
-                }
-            }
+        int textX = x + taskTextPadLeft;
+        g.setColor(completed ? completedText : uiText);
+        g.drawString(taskName, textX, baseline);
 
-            g.setColor(completed
-                    ? new Color(uiTextDim.getRed(), uiTextDim.getGreen(), uiTextDim.getBlue(), 220)
-                    : uiText);
+        if (completed) {
+            int textW = fm.stringWidth(taskName);
+            int strikeY = baseline - (fm.getAscent() / 2) + 1;
 
-            g.drawString(taskName, textX, drawY);
+            g.setColor(strikeColor);
+            g.drawLine(textX, strikeY, textX + textW, strikeY);
+        }
+    }
+
+    /**
+     * Paints a row into its cache image at frame coordinates, so the blit lands exactly where
+     * {@link #paintRow} would have drawn it.
+     */
+    private void rasterizeRow(
+            Graphics2D frame,
+            BufferedImage row,
+            FontMetrics fm,
+            String taskName,
+            int x,
+            int rowTop,
+            int w,
+            int rowH,
+            int baseline,
+            int pipCenterX,
+            int pipCenterY,
+            boolean completed,
+            boolean selected
+    ) {
+        Graphics2D rg = row.createGraphics();
+        try {
+            rg.setComposite(AlphaComposite.Clear);
+            rg.fillRect(0, 0, row.getWidth(), row.getHeight());
+            rg.setComposite(AlphaComposite.SrcOver);
+
+            rg.setRenderingHints(frame.getRenderingHints());
+            rg.setFont(fm.getFont());
+            rg.translate(-x, -rowTop);
+            paintRow(rg, fm, taskName, x, rowTop, w, rowH, baseline, pipCenterX, pipCenterY, completed, selected, 0f);
+        } finally {
+            rg.dispose();
+        }
+    }
 
-            if (completed) {
-                int textW = fm.stringWidth(taskName);
-                int strikeY = drawY - (fm.getAscent() / 2) + 1;
+    /**
+     * Rendered-row cache behind {@link #render}; exposed for its hit counters.
+     */
+    public RowRasterCache rowCache() {
+        return rowCache;
+    }
 
-                g.setColor(strikeColor);
-                g.drawLine(textX, strikeY, textX + textW, strikeY);
+    /**
+     * Evicts cached rows whose state moved on: everything after a pack reload or a bulk completion
+     * change, or just the toggled task's rows after a single toggle.
+     */
+    public void syncRowCache(int packGeneration, int completionVersion, XtremeTask lastCompletionChange) {
+        if (packGeneration != rowCachePackGeneration) {
+            rowCache.clear();
+        } else if (completionVersion != rowCacheCompletionVersion) {
+            if (lastCompletionChange != null) {
+                rowCache.evict(lastCompletionChange.getOrdinal());
+            } else {
+                rowCache.clear();
             }
+        }
+        rowCachePackGeneration = packGeneration;
+        rowCacheCompletionVersion = completionVersion;
+    }
 
-            drawY += rb;
+    /**
+     * Display text for a row, remembered per slot so an unchanged row reuses last frame's string.
+     */
+    private String rowLabel(int slot, XtremeTask task, FontMetrics fm, int maxW, boolean showTierPrefix)
+    {
+        if (labelFm != fm || labelMaxW != maxW)
+        {
+            Arrays.fill(labelTasks, null);
+            labelFm = fm;
+            labelMaxW = maxW;
         }
 
-        g.setClip(oldClip);
+        if (labelTasks[slot] == task && labelPrefixed[slot] == showTierPrefix && labels[slot] != null)
+        {
+            return labels[slot];
+        }
 
-        // scrollbar if needed
-        if (tasks.size() > visibleRows && visibleRows > 0 && viewportH > 0) {
-            drawScrollbar(g, tasks.size(), visibleRows, start, layout.viewportBounds);
+        String taskName = TextUtils.truncateToWidth(safe(task.getName()), fm, maxW);
+
+        if (showTierPrefix)
+        {
+            String tier = (task.getTier() == null) ? "" : task.getTier().name();
+            if (!tier.isEmpty())
+            {
+                taskName = "[" + prettyTier(task.getTier()) + "] " + taskName;
+            }
         }
 
-        return layout;
+        labelTasks[slot] = task;
+        labelPrefixed[slot] = showTierPrefix;
+        labels[slot] = taskName;
+        return taskName;
+    }
+
+    private void ensureLabelSlots(int n)
+    {
+        if (labels.length < n)
+        {
+            labels = Arrays.copyOf(labels, n);
+            labelTasks = Arrays.copyOf(labelTasks, n);
+            labelPrefixed = Arrays.copyOf(labelPrefixed, n);
+        }
     }
 
     private void drawStatusPip(Graphics2D g, int cx, int cy, boolean done, float animProgress) {
@@ -264,7 +425,7 @@ public final class TaskRowsRenderer {
 
         // Add a faint inner ring when not done (makes "toggle target" feel more obvious)
         if (!done) {
-            g.setColor(new Color(pipRing.getRed(), pipRing.getGreen(), pipRing.getBlue(), 60));
+            g.setColor(pipInnerRing);
             g.drawOval(x + 2, y + 2, drawSize - 4, drawSize - 4);
             return;
         }
@@ -281,18 +442,16 @@ public final class TaskRowsRenderer {
         int fx = cx - (fillSize / 2);
         int fy = cy - (fillSize / 2);
 
-        Color fill = new Color(
-                pipDoneFill.getRed(),
-                pipDoneFill.getGreen(),
-                pipDoneFill.getBlue(),
-                clamp(pipDoneFill.getAlpha() + alphaBoost, 255)
-        );
+        // Only the short pop animation needs a brighter fill
+        Color fill = (alphaBoost == 0)
+                ? pipDoneFill
+                : UiPalette.withAlpha(pipDoneFill, clamp(pipDoneFill.getAlpha() + alphaBoost, 255));
 
         g.setColor(fill);
         g.fillOval(fx, fy, fillSize, fillSize);
 
         // check mark (scaled to drawSize)
-        g.setColor(new Color(30, 25, 18, 220));
+        g.setColor(CHECK_MARK);
 
         // Use proportions based on drawSize so it stays centered and crisp
         int left = x;
@@ -317,7 +476,7 @@ public final class TaskRowsRenderer {
         int railY = viewport.y;
         int railH = viewport.height;
 
-        g.setColor(new Color(0, 0, 0, 60));
+        g.setColor(SCROLL_RAIL);
         g.fillRect(railX, railY, railW, railH);
 
         float fracVisible = (float) visibleRows / (float) totalRows;
@@ -328,10 +487,11 @@ public final class TaskRowsRenderer {
 
         int thumbY = railY + (int) ((railH - thumbH) * fracOffset);
 
-        Rectangle thumb = new Rectangle(railX, thumbY, railW, thumbH);
-        drawBevelBox(g, thumb, new Color(78, 62, 38, 200));
+        Rectangle thumb = scrollThumb;
+        thumb.setBounds(railX, thumbY, railW, thumbH);
+        drawBevelBox(g, thumb, SCROLL_THUMB);
 
-        g.setColor(new Color(uiGold.getRed(), uiGold.getGreen(), uiGold.getBlue(), 140));
+        g.setColor(scrollThumbOutline);
         g.drawRect(thumb.x, thumb.y, thumb.width, thumb.height);
     }
 
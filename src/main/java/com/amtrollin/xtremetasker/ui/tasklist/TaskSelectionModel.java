@@ -103,6 +103,20 @@ public final class TaskSelectionModel implements SelectionModel
         }
     }
 
+    /**
+     * Selects a known list position (e.g. from the result cache's position map); ignored when negative.
+     */
+    public void setSelectionToPosition(TaskTier tier, int position)
+    {
+        if (tier == null || position < 0)
+        {
+            return;
+        }
+
+        setActiveTier(tier);
+        selectedIndexByTier.put(tier, position);
+    }
+
     public void moveUp(int count)
     {
         if (count <= 0)
@@ -1,8 +1,10 @@
 package com.amtrollin.xtremetasker.ui.tasks;
 
 import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
+import com.amtrollin.xtremetasker.ui.style.UiPalette;
 import com.amtrollin.xtremetasker.ui.tasks.models.TaskControlsLayout;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskRowsRenderer;
+import com.amtrollin.xtremetasker.ui.widgets.RetainedLayer;
 
 import java.awt.Color;
 import java.awt.FontMetrics;
@@ -38,6 +40,61 @@ public class TaskControlsRenderer
     private final Color pillOnBg;
     private final Color pillOffBg;
 
+    // Alpha variants, derived once so render() doesn't allocate colors per frame
+    private final Color goldA30;
+    private final Color goldA60;
+    private final Color goldA90;
+    private final Color goldA120;
+    private final Color goldA200;
+    private final Color textA150;
+    private final Color textDimA150;
+    private final Color textDimA160;
+    private final Color pillOffDisabledBg;
+
+    private static final String FILTERS_HEADER = "-- Filters --";
+    private static final String SORTS_HEADER = "-- Sorts --";
+    private static final String SOURCE_LABEL = "Source:";
+    private static final String STATUS_LABEL = "Status:";
+    private static final String TIER_LABEL = "Tier:";
+    private static final String SORT_LABEL = "Sort by:";
+
+    private static final String SRC_ALL = "All";
+    private static final String SRC_CA = "Combat Achievements";
+    private static final String SRC_CL = "Collection Log";
+    private static final String ST_ALL = "All";
+    private static final String ST_INC = "Incomplete";
+    private static final String ST_COMP = "Complete";
+    private static final String T_ALL = "All Tiers";
+    private static final String RESET_TEXT = "Reset Sorts";
+
+    private static final int LEFT_PAD = 8;
+    private static final int RIGHT_PAD = 8;
+
+    // Scratch bounds for the cells that aren't part of the (hit-tested) layout
+    private final Rectangle filtersHeaderBounds = new Rectangle();
+    private final Rectangle sortHeaderBounds = new Rectangle();
+    private final Rectangle labelBounds = new Rectangle();
+    private final Rectangle tooltipBounds = new Rectangle();
+
+    // Per-frame strings that only change with their input
+    private String caretSource = null;
+    private String caretText = null;
+    private String tierThisLabel = null;
+    private String tierThisText = null;
+    private final BracketText tierScopeText = new BracketText();
+    private final BracketText completionSortText = new BracketText();
+
+    // Headers, label cells and pills; repainted only when the filters/sorts or tier change
+    private final RetainedLayer staticLayer = new RetainedLayer();
+    private final RetainedLayer.Painter staticPainter = this::paintStatic;
+
+    // What the last render() laid out, for staticPainter
+    private int labelColW;
+    private FontMetrics paintFm;
+    private TaskControlsLayout paintLayout;
+    private TaskListQuery paintQuery;
+    private String paintTierText;
+
     public TaskControlsRenderer(
             int panelWidth,
             int panelPadding,
@@ -69,10 +126,21 @@ public class TaskControlsRenderer
         this.inputFocusOutline = inputFocusOutline;
         this.pillOnBg = pillOnBg;
         this.pillOffBg = pillOffBg;
+
+        this.goldA30 = withAlpha(uiGold, 30);
+        this.goldA60 = withAlpha(uiGold, 60);
+        this.goldA90 = withAlpha(uiGold, 90);
+        this.goldA120 = withAlpha(uiGold, 120);
+        this.goldA200 = withAlpha(uiGold, 200);
+        this.textA150 = withAlpha(uiText, 150);
+        this.textDimA150 = withAlpha(uiTextDim, 150);
+        this.textDimA160 = withAlpha(uiTextDim, 160);
+        this.pillOffDisabledBg = withAlpha(pillOffBg, 160);
     }
 
     /**
-     * Draws the control block and mutates layout bounds.
+     * Lays out the control block, draws the search box and hover tooltip live and blits the rest
+     * (headers, label cells, pills) from the retained layer. Mutates layout bounds.
      * Returns the new cursorY after controls are rendered.
      */
     public int render(
@@ -92,15 +160,6 @@ public class TaskControlsRenderer
         int rowX = panelX + panelPadding;
         int rowW = panelW - 2 * panelPadding;
 
-        final String FILTERS_HEADER = "-- Filters --";
-        final String SORTS_HEADER = "-- Sorts --";
-        final String SOURCE_LABEL = "Source:";
-        final String STATUS_LABEL = "Status:";
-        final String TIER_LABEL = "Tier:";
-        final String SORT_LABEL = "Sort by:";
-
-        final int leftPad = 8;
-        final int rightPad = 8;
         final int labelGap = 8;
 
         // Visual spacing (these control the look you want)
@@ -116,9 +175,10 @@ public class TaskControlsRenderer
                         Math.max(fm.stringWidth(TIER_LABEL), fm.stringWidth(SORT_LABEL))
                 )
         ) + labelGap;
+        this.labelColW = labelColW;
 
         // Chips start after label column + blank gap
-        final int pillsStartX = rowX + leftPad + labelColW + labelToPillsGap;
+        final int pillsStartX = rowX + LEFT_PAD + labelColW + labelToPillsGap;
 
         // ================================
         // Row 1: Search (full width)
@@ -128,23 +188,6 @@ public class TaskControlsRenderer
 
         layout.searchBox.setBounds(rowX, searchRowTop, rowW, searchRowH);
 
-        drawBevelBox(g, layout.searchBox, inputBg, uiEdgeLight, uiEdgeDark);
-        g.setColor(query.searchFocused ? inputFocusOutline : withAlpha(uiGold, 120));
-        g.drawRect(layout.searchBox.x, layout.searchBox.y, layout.searchBox.width, layout.searchBox.height);
-
-        String placeholder = "Search...";
-        boolean empty = (query.searchText == null || query.searchText.isEmpty());
-        String shown = (!query.searchFocused && empty) ? placeholder : (empty ? "" : query.searchText);
-
-        g.setColor((!query.searchFocused && empty) ? uiTextDim : uiText);
-
-        int textX = layout.searchBox.x + 8;
-        int baseY = centeredTextBaseline(layout.searchBox, fm);
-
-        boolean caretOn = query.searchFocused && isCaretVisible();
-        String caretText = caretOn ? (shown + "|") : shown;
-        g.drawString(truncateToWidth(caretText, fm, layout.searchBox.width - 16), textX, baseY);
-
         // extra padding below search (you wanted this)
         cursorY += searchRowH + 12;
 
@@ -153,17 +196,7 @@ public class TaskControlsRenderer
         // ================================
         int headerTop = cursorY - fm.getAscent();
         int headerH = rowHeight + 6;
-        Rectangle headerBounds = new Rectangle(rowX, headerTop, rowW, headerH);
-
-        drawBevelBox(g, headerBounds, tabInactiveBg, uiEdgeLight, uiEdgeDark);
-        g.setColor(withAlpha(uiGold, 90));
-        g.drawRect(headerBounds.x, headerBounds.y, headerBounds.width, headerBounds.height);
-
-        g.setColor(uiGold);
-        int hw = fm.stringWidth(FILTERS_HEADER);
-        int hx = headerBounds.x + (headerBounds.width - hw) / 2;
-        int hy = centeredTextBaseline(headerBounds, fm);
-        g.drawString(FILTERS_HEADER, hx, hy);
+        filtersHeaderBounds.setBounds(rowX, headerTop, rowW, headerH);
 
         cursorY += headerH + 4;
 
@@ -173,13 +206,7 @@ public class TaskControlsRenderer
         int rowH = rowHeight + 6;
         int rowTop = cursorY - fm.getAscent();
 
-        drawLabelCell(g, fm, rowX, rowTop, labelColW, rowH, SOURCE_LABEL, leftPad);
-
-        final String SRC_ALL = "All";
-        final String SRC_CA = "Combat Achievements";
-        final String SRC_CL = "Collection Log";
-
-        int availableSource = (rowX + rowW - rightPad) - pillsStartX;
+        int availableSource = (rowX + rowW - RIGHT_PAD) - pillsStartX;
 
         int wAll = pillWidth(fm, SRC_ALL, pillPadX, 42, availableSource);
         int wCA = pillWidth(fm, SRC_CA, pillPadX, 70, availableSource);
@@ -194,23 +221,14 @@ public class TaskControlsRenderer
 
         layout.filterCL.setBounds(sx, rowTop, wCL, rowH);
 
-        drawPill(g, fm, layout.filterSourceAll, SRC_ALL, query.sourceFilter == TaskListQuery.SourceFilter.ALL);
-        drawPill(g, fm, layout.filterCA, SRC_CA, query.sourceFilter == TaskListQuery.SourceFilter.CA);
-        drawPill(g, fm, layout.filterCL, SRC_CL, query.sourceFilter == TaskListQuery.SourceFilter.CLOGS);
-
         cursorY += rowH + 6;
 
         // ================================
         // Row 4: Status chips
         // ================================
         rowTop = cursorY - fm.getAscent();
-        drawLabelCell(g, fm, rowX, rowTop, labelColW, rowH, STATUS_LABEL, leftPad);
 
-        final String ST_ALL = "All";
-        final String ST_INC = "Incomplete";
-        final String ST_COMP = "Complete";
-
-        int availableStatus = (rowX + rowW - rightPad) - pillsStartX;
+        int availableStatus = (rowX + rowW - RIGHT_PAD) - pillsStartX;
 
         int wAllS = pillWidth(fm, ST_ALL, pillPadX, 42, availableStatus);
         int wIncS = pillWidth(fm, ST_INC, pillPadX, 70, availableStatus);
@@ -225,22 +243,16 @@ public class TaskControlsRenderer
 
         layout.filterComplete.setBounds(stx, rowTop, wCompS, rowH);
 
-        drawPill(g, fm, layout.filterStatusAll, ST_ALL, query.statusFilter == TaskListQuery.StatusFilter.ALL);
-        drawPill(g, fm, layout.filterIncomplete, ST_INC, query.statusFilter == TaskListQuery.StatusFilter.INCOMPLETE);
-        drawPill(g, fm, layout.filterComplete, ST_COMP, query.statusFilter == TaskListQuery.StatusFilter.COMPLETE);
-
         cursorY += rowH + 6;
 
         // ================================
         // Row 5: Tier scope chips
         // ================================
         rowTop = cursorY - fm.getAscent();
-        drawLabelCell(g, fm, rowX, rowTop, labelColW, rowH, TIER_LABEL, leftPad);
 
-        final String T_THIS = "This Tier [" + activeTierLabel + "]";
-        final String T_ALL = "All Tiers";
+        final String T_THIS = thisTierText(activeTierLabel);
 
-        int availableTier = (rowX + rowW - rightPad) - pillsStartX;
+        int availableTier = (rowX + rowW - RIGHT_PAD) - pillsStartX;
 
         int wThis = pillWidth(fm, T_THIS, pillPadX, 70, availableTier);
         int wAllT = pillWidth(fm, T_ALL, pillPadX, 70, availableTier);
@@ -251,9 +263,6 @@ public class TaskControlsRenderer
 
         layout.filterTierAll.setBounds(tx, rowTop, wAllT, rowH);
 
-        drawTierScopePill(g, fm, layout.filterTierThis, T_THIS, query.tierScope == TaskListQuery.TierScope.THIS_TIER);
-        drawPill(g, fm, layout.filterTierAll, T_ALL, query.tierScope == TaskListQuery.TierScope.ALL_TIERS);
-
         cursorY += rowH + 10;
 
 
@@ -262,17 +271,7 @@ public class TaskControlsRenderer
 // ================================
         int sortHeaderTop = cursorY - fm.getAscent();
         int sortHeaderH = rowHeight + 6;
-        Rectangle sortHeaderBounds = new Rectangle(rowX, sortHeaderTop, rowW, sortHeaderH);
-
-        drawBevelBox(g, sortHeaderBounds, tabInactiveBg, uiEdgeLight, uiEdgeDark);
-        g.setColor(withAlpha(uiGold, 90));
-        g.drawRect(sortHeaderBounds.x, sortHeaderBounds.y, sortHeaderBounds.width, sortHeaderBounds.height);
-
-        g.setColor(uiGold);
-        int sHw = fm.stringWidth(SORTS_HEADER);
-        int sHx = sortHeaderBounds.x + (sortHeaderBounds.width - sHw) / 2;
-        int sHy = centeredTextBaseline(sortHeaderBounds, fm);
-        g.drawString(SORTS_HEADER, sHx, sHy);
+        sortHeaderBounds.setBounds(rowX, sortHeaderTop, rowW, sortHeaderH);
 
         cursorY += sortHeaderH + 4;
 
@@ -280,45 +279,8 @@ public class TaskControlsRenderer
 // Row 7: Sort chips (filters-style: label cell + chips only)
 // ================================
         rowTop = cursorY - fm.getAscent();
-        drawLabelCell(g, fm, rowX, rowTop, labelColW, rowH, SORT_LABEL, leftPad);
 
-        String completionText = query.sortByCompletion
-                ? (query.completedFirst ? "Completed First" : "Incomplete First")
-                : "Completion Sort: [OFF]";
-
-        String tierText = query.sortByTier
-                ? (query.easyTierFirst ? "Easy Tier First" : "Master Tier First")
-                : "Tier Sort: [OFF]";
-
-        String resetText = "Reset Sorts";
-
-// enabled rules
-        final boolean completionDisabled = query.statusFilter != TaskListQuery.StatusFilter.ALL;
-        final boolean tierEnabledScope = query.tierScope == TaskListQuery.TierScope.ALL_TIERS;
-        boolean hasAnySort = query.sortByCompletion || query.sortByTier;
-
-        layout.hoverTooltipText = null;
-
-        if (mouseX >= 0 && mouseY >= 0)
-        {
-            if (completionDisabled && layout.sortCompletion.contains(mouseX, mouseY))
-            {
-                layout.hoverTooltipText = "\"Status\" filter currently applied";
-                layout.hoverTooltipAnchor.setBounds(layout.sortCompletion);
-            }
-            else if (!tierEnabledScope && layout.sortTier.contains(mouseX, mouseY))
-            {
-                layout.hoverTooltipText = "\"All Tiers\" filter must be applied";
-                layout.hoverTooltipAnchor.setBounds(layout.sortTier);
-            }
-            else if (!hasAnySort && layout.sortReset.contains(mouseX, mouseY))
-            {
-                layout.hoverTooltipText = "No sorts currently applied";
-                layout.hoverTooltipAnchor.setBounds(layout.sortReset);
-            }
-        }
-
-        int availableSort = (rowX + rowW - rightPad) - pillsStartX;
+        int availableSort = (rowX + rowW - RIGHT_PAD) - pillsStartX;
         final int minW = 90;
 
 // Desired widths: based on MAX label each pill could show
@@ -330,7 +292,7 @@ public class TaskControlsRenderer
                         ? "Master Tier First"
                         : "Easy Tier First";
 
-        String resetMax = "Reset Sorts";
+        String resetMax = RESET_TEXT;
 
         int wCompletionDesired = pillWidth(fm, completionMax, pillPadX, minW, availableSort);
         int wTierDesired = pillWidth(fm, tierMax, pillPadX, minW, availableSort);
@@ -390,10 +352,22 @@ public class TaskControlsRenderer
 
         layout.sortReset.setBounds(sx2, rowTop, wReset, rowH);
 
-        drawBracketMetaPill(g, fm, layout.sortCompletion, completionText, query.sortByCompletion, !completionDisabled);
-        drawPill(g, fm, layout.sortTier, tierText, query.sortByTier, tierEnabledScope);
-        drawPill(g, fm, layout.sortReset, resetText, false, hasAnySort);
+        // ================================
+        // Drawing: search box live, the rest from the retained layer
+        // ================================
+        drawSearchBox(g, fm, layout.searchBox, query);
+
+        paintFm = fm;
+        paintLayout = layout;
+        paintQuery = query;
+        paintTierText = T_THIS;
+
+        // +1: outlines are drawn on the right/bottom edge of their bounds
+        int blockTop = filtersHeaderBounds.y;
+        int blockBottom = layout.sortCompletion.y + rowH + 1;
+        staticLayer.draw(g, rowX, blockTop, rowW + 1, blockBottom - blockTop, stateStamp(query, T_THIS), staticPainter);
 
+        updateTooltip(layout, query, mouseX, mouseY);
         if (layout.hoverTooltipText != null)
         {
             drawTooltip(g, fm, layout.hoverTooltipText, layout.hoverTooltipAnchor);
@@ -403,32 +377,207 @@ public class TaskControlsRenderer
 
     }
 
+    /**
+     * Marks the cached headers/pills stale. Call whenever the query's filters or sorts, or the
+     * active tier, change.
+     */
+    public void invalidate()
+    {
+        staticLayer.invalidate();
+    }
+
+    /**
+     * Headers, label cells and pills, drawn at the bounds the last {@link #render} laid out.
+     * Everything here is a function of the query's filters/sorts and the tier label.
+     */
+    private void paintStatic(Graphics2D g)
+    {
+        FontMetrics fm = paintFm;
+        TaskControlsLayout layout = paintLayout;
+        TaskListQuery query = paintQuery;
+
+        int rowX = filtersHeaderBounds.x;
+        int rowH = layout.filterSourceAll.height;
+
+        drawHeader(g, fm, filtersHeaderBounds, FILTERS_HEADER);
+
+        drawLabelCell(g, fm, rowX, layout.filterSourceAll.y, labelColW, rowH, SOURCE_LABEL, LEFT_PAD);
+        drawPill(g, fm, layout.filterSourceAll, SRC_ALL, query.sourceFilter == TaskListQuery.SourceFilter.ALL);
+        drawPill(g, fm, layout.filterCA, SRC_CA, query.sourceFilter == TaskListQuery.SourceFilter.CA);
+        drawPill(g, fm, layout.filterCL, SRC_CL, query.sourceFilter == TaskListQuery.SourceFilter.CLOGS);
+
+        drawLabelCell(g, fm, rowX, layout.filterStatusAll.y, labelColW, rowH, STATUS_LABEL, LEFT_PAD);
+        drawPill(g, fm, layout.filterStatusAll, ST_ALL, query.statusFilter == TaskListQuery.StatusFilter.ALL);
+        drawPill(g, fm, layout.filterIncomplete, ST_INC, query.statusFilter == TaskListQuery.StatusFilter.INCOMPLETE);
+        drawPill(g, fm, layout.filterComplete, ST_COMP, query.statusFilter == TaskListQuery.StatusFilter.COMPLETE);
+
+        drawLabelCell(g, fm, rowX, layout.filterTierThis.y, labelColW, rowH, TIER_LABEL, LEFT_PAD);
+        drawTierScopePill(g, fm, layout.filterTierThis, tierScopeText, paintTierText, query.tierScope == TaskListQuery.TierScope.THIS_TIER);
+        drawPill(g, fm, layout.filterTierAll, T_ALL, query.tierScope == TaskListQuery.TierScope.ALL_TIERS);
+
+        drawHeader(g, fm, sortHeaderBounds, SORTS_HEADER);
+
+        drawLabelCell(g, fm, rowX, layout.sortCompletion.y, labelColW, rowH, SORT_LABEL, LEFT_PAD);
+
+        String completionText = query.sortByCompletion
+                ? (query.completedFirst ? "Completed First" : "Incomplete First")
+                : "Completion Sort: [OFF]";
+
+        String tierText = query.sortByTier
+                ? (query.easyTierFirst ? "Easy Tier First" : "Master Tier First")
+                : "Tier Sort: [OFF]";
+
+        drawBracketMetaPill(g, fm, layout.sortCompletion, completionSortText, completionText, query.sortByCompletion, completionSortEnabled(query));
+        drawPill(g, fm, layout.sortTier, tierText, query.sortByTier, tierSortEnabled(query));
+        drawPill(g, fm, layout.sortReset, RESET_TEXT, false, hasAnySort(query));
+    }
+
+    private void drawSearchBox(Graphics2D g, FontMetrics fm, Rectangle searchBox, TaskListQuery query)
+    {
+        drawBevelBox(g, searchBox, inputBg, uiEdgeLight, uiEdgeDark);
+        g.setColor(query.searchFocused ? inputFocusOutline : goldA120);
+        g.drawRect(searchBox.x, searchBox.y, searchBox.width, searchBox.height);
+
+        String placeholder = "Search...";
+        boolean empty = (query.searchText == null || query.searchText.isEmpty());
+        String shown = (!query.searchFocused && empty) ? placeholder : (empty ? "" : query.searchText);
+
+        g.setColor((!query.searchFocused && empty) ? uiTextDim : uiText);
+
+        int textX = searchBox.x + 8;
+        int baseY = centeredTextBaseline(searchBox, fm);
+
+        boolean caretOn = query.searchFocused && isCaretVisible();
+        String caretText = caretOn ? withCaret(shown) : shown;
+        g.drawString(truncateToWidth(caretText, fm, searchBox.width - 16), textX, baseY);
+    }
+
+    private void drawHeader(Graphics2D g, FontMetrics fm, Rectangle bounds, String text)
+    {
+        drawBevelBox(g, bounds, tabInactiveBg, uiEdgeLight, uiEdgeDark);
+        g.setColor(goldA90);
+        g.drawRect(bounds.x, bounds.y, bounds.width, bounds.height);
+
+        g.setColor(uiGold);
+        int hw = fm.stringWidth(text);
+        int hx = bounds.x + (bounds.width - hw) / 2;
+        int hy = centeredTextBaseline(bounds, fm);
+        g.drawString(text, hx, hy);
+    }
+
+    private void updateTooltip(TaskControlsLayout layout, TaskListQuery query, int mouseX, int mouseY)
+    {
+        layout.hoverTooltipText = null;
+
+        if (mouseX < 0 || mouseY < 0)
+        {
+            return;
+        }
+
+        if (!completionSortEnabled(query) && layout.sortCompletion.contains(mouseX, mouseY))
+        {
+            layout.hoverTooltipText = "\"Status\" filter currently applied";
+            layout.hoverTooltipAnchor.setBounds(layout.sortCompletion);
+        }
+        else if (!tierSortEnabled(query) && layout.sortTier.contains(mouseX, mouseY))
+        {
+            layout.hoverTooltipText = "\"All Tiers\" filter must be applied";
+            layout.hoverTooltipAnchor.setBounds(layout.sortTier);
+        }
+        else if (!hasAnySort(query) && layout.sortReset.contains(mouseX, mouseY))
+        {
+            layout.hoverTooltipText = "No sorts currently applied";
+            layout.hoverTooltipAnchor.setBounds(layout.sortReset);
+        }
+    }
+
+    // enabled rules
+    private static boolean completionSortEnabled(TaskListQuery query)
+    {
+        return query.statusFilter == TaskListQuery.StatusFilter.ALL;
+    }
+
+    private static boolean tierSortEnabled(TaskListQuery query)
+    {
+        return query.tierScope == TaskListQuery.TierScope.ALL_TIERS;
+    }
+
+    private static boolean hasAnySort(TaskListQuery query)
+    {
+        return query.sortByCompletion || query.sortByTier;
+    }
+
+    /**
+     * Everything {@link #paintStatic} reads, packed; backs up the explicit {@link #invalidate()} calls.
+     */
+    private static int stateStamp(TaskListQuery query, String tierText)
+    {
+        int bits = query.sourceFilter.ordinal();
+        bits = (bits << 2) | query.statusFilter.ordinal();
+        bits = (bits << 2) | query.tierScope.ordinal();
+        bits = (bits << 1) | (query.sortByCompletion ? 1 : 0);
+        bits = (bits << 1) | (query.completedFirst ? 1 : 0);
+        bits = (bits << 1) | (query.sortByTier ? 1 : 0);
+        bits = (bits << 1) | (query.easyTierFirst ? 1 : 0);
+        return bits * 31 + (tierText == null ? 0 : tierText.hashCode());
+    }
     // ================================
     // Helpers
     // ================================
-    private static final class Row
+    /**
+     * A pill label split at its first '[' into main text and dimmer bracketed meta.
+     * Re-split only when a different label String comes in.
+     */
+    private static final class BracketText
+    {
+        private String source = null;
+        private String main = null;
+        private String meta = null;
+
+        /**
+         * @return false if the text has no bracketed part
+         */
+        boolean split(String fullText)
+        {
+            if (fullText != source)
+            {
+                source = fullText;
+                int bracketIdx = fullText.indexOf('[');
+                main = (bracketIdx < 0) ? null : fullText.substring(0, bracketIdx);
+                meta = (bracketIdx < 0) ? null : fullText.substring(bracketIdx);
+            }
+            return main != null;
+        }
+    }
+
+    private String withCaret(String shown)
     {
-        final int top;
-        final int h;
-        final int baseline;
-        final int nextY;
+        if (!shown.equals(caretSource))
+        {
+            caretSource = shown;
+            caretText = shown + "|";
+        }
+        return caretText;
+    }
 
-        private Row(int top, int h, int baseline, int nextY)
+    private String thisTierText(String activeTierLabel)
+    {
+        if (activeTierLabel == null || !activeTierLabel.equals(tierThisLabel))
         {
-            this.top = top;
-            this.h = h;
-            this.baseline = baseline;
-            this.nextY = nextY;
+            tierThisLabel = activeTierLabel;
+            tierThisText = "This Tier [" + activeTierLabel + "]";
         }
+        return tierThisText;
     }
 
     private void drawLabelCell(Graphics2D g, FontMetrics fm, int rowX, int rowTop, int labelColW, int rowH, String label, int leftPad)
     {
         // Draw only the label "cell" background; gaps to the right are pure panel background (no mini boxes)
-        Rectangle labelBounds = new Rectangle(rowX, rowTop, leftPad + labelColW, rowH);
+        Rectangle labelBounds = this.labelBounds;
+        labelBounds.setBounds(rowX, rowTop, leftPad + labelColW, rowH);
 
         drawBevelBox(g, labelBounds, tabInactiveBg, uiEdgeLight, uiEdgeDark);
-        g.setColor(withAlpha(uiGold, 90));
+        g.setColor(goldA90);
         g.drawRect(labelBounds.x, labelBounds.y, labelBounds.width, labelBounds.height);
 
         int baseline = centeredTextBaseline(labelBounds, fm);
@@ -447,7 +596,7 @@ public class TaskControlsRenderer
         if (!enabled)
         {
             // “disabled” look: use off bg but dimmer
-            bg = withAlpha(pillOffBg, 160);
+            bg = pillOffDisabledBg;
         }
         else
         {
@@ -456,11 +605,10 @@ public class TaskControlsRenderer
 
         drawBevelBox(g, bounds, bg, uiEdgeLight, uiEdgeDark);
 
-        int outlineAlpha = !enabled ? 30 : (on ? 200 : 60);
-        g.setColor(withAlpha(uiGold, outlineAlpha));
+        g.setColor(pillOutline(on, enabled));
         g.drawRect(bounds.x, bounds.y, bounds.width, bounds.height);
 
-        g.setColor(!enabled ? withAlpha(uiTextDim, 160) : (on ? uiText : uiTextDim));
+        g.setColor(!enabled ? textDimA160 : (on ? uiText : uiTextDim));
 
         String drawText = truncateToWidth(text, fm, bounds.width - 10);
         int tw = fm.stringWidth(drawText);
@@ -481,14 +629,14 @@ public class TaskControlsRenderer
         return bounds.y + ((bounds.height - fm.getHeight()) / 2) + fm.getAscent();
     }
 
-    private Color withAlpha(Color c, int a)
+    private static Color withAlpha(Color c, int a)
     {
-        return new Color(c.getRed(), c.getGreen(), c.getBlue(), clamp(a));
+        return UiPalette.withAlpha(c, a);
     }
 
-    private int clamp(int v)
+    private Color pillOutline(boolean on, boolean enabled)
     {
-        return Math.max(0, Math.min(255, v));
+        return !enabled ? goldA30 : (on ? goldA200 : goldA60);
     }
 
     // Blink timing: 500ms on, 500ms off
@@ -507,22 +655,21 @@ public class TaskControlsRenderer
         return w;
     }
 
-    private void drawTierScopePill(Graphics2D g, FontMetrics fm, Rectangle bounds, String fullText, boolean on)
+    private void drawTierScopePill(Graphics2D g, FontMetrics fm, Rectangle bounds, BracketText split, String fullText, boolean on)
     {
-        int bracketIdx = fullText.indexOf('[');
-        if (bracketIdx < 0)
+        if (!split.split(fullText))
         {
             drawPill(g, fm, bounds, fullText, on);
             return;
         }
 
-        String main = fullText.substring(0, bracketIdx);
-        String meta = fullText.substring(bracketIdx);
+        String main = split.main;
+        String meta = split.meta;
 
         Color bg = on ? pillOnBg : pillOffBg;
         drawBevelBox(g, bounds, bg, uiEdgeLight, uiEdgeDark);
 
-        g.setColor(on ? withAlpha(uiGold, 200) : withAlpha(uiGold, 60));
+        g.setColor(on ? goldA200 : goldA60);
         g.drawRect(bounds.x, bounds.y, bounds.width, bounds.height);
 
         int mainW = fm.stringWidth(main);
@@ -535,28 +682,27 @@ public class TaskControlsRenderer
         g.setColor(on ? uiText : uiTextDim);
         g.drawString(main, tx, ty);
 
-        Color metaColor = on ? withAlpha(uiText, 150) : withAlpha(uiTextDim, 160);
+        Color metaColor = on ? textA150 : textDimA160;
         g.setColor(metaColor);
         g.drawString(meta, tx + mainW, ty);
     }
 
-    private void drawBracketMetaPill(Graphics2D g, FontMetrics fm, Rectangle bounds, String fullText, boolean on, boolean enabled)
+    private void drawBracketMetaPill(Graphics2D g, FontMetrics fm, Rectangle bounds, BracketText split, String fullText, boolean on, boolean enabled)
     {
-        int bracketIdx = fullText.indexOf('[');
-        if (bracketIdx < 0)
+        if (!split.split(fullText))
         {
             drawPill(g, fm, bounds, fullText, on, enabled);
             return;
         }
 
-        String main = fullText.substring(0, bracketIdx);
-        String meta = fullText.substring(bracketIdx);
+        String main = split.main;
+        String meta = split.meta;
 
         // background + outline mimic drawPill(enabled)
         Color bg;
         if (!enabled)
         {
-            bg = withAlpha(pillOffBg, 160);
+            bg = pillOffDisabledBg;
         }
         else
         {
@@ -565,8 +711,7 @@ public class TaskControlsRenderer
 
         drawBevelBox(g, bounds, bg, uiEdgeLight, uiEdgeDark);
 
-        int outlineAlpha = !enabled ? 30 : (on ? 200 : 60);
-        g.setColor(withAlpha(uiGold, outlineAlpha));
+        g.setColor(pillOutline(on, enabled));
         g.drawRect(bounds.x, bounds.y, bounds.width, bounds.height);
 
         // centered main+meta
@@ -578,7 +723,7 @@ public class TaskControlsRenderer
         int ty = centeredTextBaseline(bounds, fm);
 
         // main text color follows enabled/on
-        Color mainColor = !enabled ? withAlpha(uiTextDim, 160) : (on ? uiText : uiTextDim);
+        Color mainColor = !enabled ? textDimA160 : (on ? uiText : uiTextDim);
         g.setColor(mainColor);
         g.drawString(main, tx, ty);
 
@@ -586,11 +731,11 @@ public class TaskControlsRenderer
         Color metaColor;
         if (!enabled)
         {
-            metaColor = withAlpha(uiTextDim, 150);
+            metaColor = textDimA150;
         }
         else
         {
-            metaColor = on ? withAlpha(uiText, 150) : withAlpha(uiTextDim, 160);
+            metaColor = on ? textA150 : textDimA160;
         }
 
         g.setColor(metaColor);
@@ -616,10 +761,11 @@ public class TaskControlsRenderer
         x = Math.max(4, x);
         y = Math.max(4, y);
 
-        Rectangle r = new Rectangle(x, y, w, h);
+        Rectangle r = tooltipBounds;
+        r.setBounds(x, y, w, h);
 
         drawBevelBox(g, r, tabInactiveBg, uiEdgeLight, uiEdgeDark);
-        g.setColor(withAlpha(uiGold, 120));
+        g.setColor(goldA120);
         g.drawRect(r.x, r.y, r.width, r.height);
 
         g.setColor(uiText);
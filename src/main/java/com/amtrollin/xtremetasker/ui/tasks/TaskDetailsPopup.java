@@ -1,37 +1,80 @@
 package com.amtrollin.xtremetasker.ui.tasks;
 
 import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.tasklist.TaskListFilter;
 import com.amtrollin.xtremetasker.ui.style.UiPalette;
+import com.amtrollin.xtremetasker.ui.tasklist.ListHitTester;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskListScrollController;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskRowsRenderer;
 import com.amtrollin.xtremetasker.ui.text.TaskLabelFormatter;
+import com.amtrollin.xtremetasker.ui.text.TextLayoutCache;
 import com.amtrollin.xtremetasker.ui.text.TextUtils;
-import net.runelite.client.ui.FontManager;
+import com.amtrollin.xtremetasker.ui.style.UiFonts;
 
 import java.awt.*;
-import java.util.function.Function;
+import java.util.ArrayList;
+import java.util.List;
 
 import static com.amtrollin.xtremetasker.ui.style.UiConstants.ROW_HEIGHT;
 
 public final class TaskDetailsPopup
 {
     private final UiPalette palette;
+    private final UiFonts fonts;
     private final TaskListScrollController scroll;
 
     private XtremeTask task = null;
 
     private final Rectangle bounds = new Rectangle();
-    private final Rectangle viewportBounds = new Rectangle();
     private final Rectangle closeBounds = new Rectangle();
     private final Rectangle wikiBounds = new Rectangle();
     private final Rectangle toggleBounds = new Rectangle();
 
-    private int totalContentRows = 0;
-
-    public TaskDetailsPopup(UiPalette palette, TaskListScrollController scroll)
+    // Scrollable description/prereqs area, in ROW_HEIGHT rows
+    private final ListHitTester rows = new ListHitTester();
+    private final Rectangle contentBounds = new Rectangle();
+    private final TextLayoutCache<XtremeTask> contentLayout = new TextLayoutCache<>(TaskDetailsPopup::buildContentLines);
+
+    private static final String LINE_DESCRIPTION_TITLE = "[DESCRIPTION_TITLE]";
+    private static final String LINE_PREREQS_TITLE = "[PREREQS_TITLE]";
+    private static final String LINE_DIVIDER = "[DIVIDER]";
+    private static final String LINE_NONE = "[NONE]";
+
+    // The divider sits 6px below the end of its row and leaves 12px under it, so it's 2px taller than a row
+    private static final int DIVIDER_LINE_DROP = 6;
+    private static final int DIVIDER_EXTRA_HEIGHT = 2;
+
+    private static final Color DIM_BEHIND = new Color(0, 0, 0, 120);
+    private static final Color POPUP_BG = new Color(45, 36, 24, 245);
+    private static final Color BUTTON_BG = new Color(32, 26, 17, 235);
+    private static final Color BUTTON_DISABLED_BG = new Color(32, 26, 17, 140);
+    private static final Color BADGE_ACTIVE_BG = new Color(78, 62, 38, 240);
+    private static final Color TOOLTIP_BG = new Color(20, 16, 10, 245);
+
+    private final Color goldA35;
+    private final Color goldA45;
+    private final Color goldA55;
+    private final Color goldA120;
+    private final Color goldA160;
+    private final Color goldA200;
+    private final Color textDimA140;
+
+    private final Rectangle badgeBounds = new Rectangle();
+    private final Rectangle tooltipBounds = new Rectangle();
+
+    public TaskDetailsPopup(UiPalette palette, UiFonts fonts, TaskListScrollController scroll)
     {
         this.palette = palette;
+        this.fonts = fonts;
         this.scroll = scroll;
+
+        this.goldA35 = UiPalette.withAlpha(palette.UI_GOLD, 35);
+        this.goldA45 = UiPalette.withAlpha(palette.UI_GOLD, 45);
+        this.goldA55 = UiPalette.withAlpha(palette.UI_GOLD, 55);
+        this.goldA120 = UiPalette.withAlpha(palette.UI_GOLD, 120);
+        this.goldA160 = UiPalette.withAlpha(palette.UI_GOLD, 160);
+        this.goldA200 = UiPalette.withAlpha(palette.UI_GOLD, 200);
+        this.textDimA140 = UiPalette.withAlpha(palette.UI_TEXT_DIM, 140);
     }
 
     public boolean isOpen()
@@ -60,11 +103,11 @@ public final class TaskDetailsPopup
         task = null;
         scroll.reset();
         bounds.setBounds(0, 0, 0, 0);
-        viewportBounds.setBounds(0, 0, 0, 0);
         closeBounds.setBounds(0, 0, 0, 0);
         wikiBounds.setBounds(0, 0, 0, 0);
         toggleBounds.setBounds(0, 0, 0, 0);
-        totalContentRows = 0;
+        rows.clear();
+        contentLayout.invalidate();
     }
 
     public Rectangle bounds()
@@ -72,9 +115,9 @@ public final class TaskDetailsPopup
         return bounds;
     }
 
-    public Rectangle viewportBounds()
+    public ListHitTester rows()
     {
-        return viewportBounds;
+        return rows;
     }
 
     public Rectangle closeBounds()
@@ -92,11 +135,6 @@ public final class TaskDetailsPopup
         return toggleBounds;
     }
 
-    public int totalContentRows()
-    {
-        return totalContentRows;
-    }
-
     public TaskListScrollController scroll()
     {
         return scroll;
@@ -106,7 +144,7 @@ public final class TaskDetailsPopup
             Graphics2D g,
             FontMetrics fm,
             Rectangle panelBounds,
-            Function<XtremeTask, Boolean> isCompleted,
+            TaskListFilter.CompletionLookup isCompleted,
             net.runelite.api.Point mouse
     )
     {
@@ -116,7 +154,7 @@ public final class TaskDetailsPopup
         }
 
         // Dim panel behind popup
-        g.setColor(new Color(0, 0, 0, 120));
+        g.setColor(DIM_BEHIND);
         g.fillRect(panelBounds.x, panelBounds.y, panelBounds.width, panelBounds.height);
 
         // Popup bounds (smaller)
@@ -130,14 +168,14 @@ public final class TaskDetailsPopup
         }
 
         // Background
-        drawBevelBox(g, bounds, new Color(45, 36, 24, 245));
+        drawBevelBox(g, bounds, POPUP_BG);
 
         final int pad = 12;
         final int x = bounds.x + pad;
         final int yTop = bounds.y + pad;
 
         // Use small font everywhere in header
-        g.setFont(FontManager.getRunescapeSmallFont());
+        g.setFont(fonts.small());
         FontMetrics headerFm = g.getFontMetrics();
         g.setColor(palette.UI_GOLD);
 
@@ -164,8 +202,8 @@ public final class TaskDetailsPopup
 
         drawPopupButton(g, headerFm, wikiBounds, "Wiki", true);
 
-        drawBevelBox(g, closeBounds, new Color(32, 26, 17, 235));
-        g.setColor(new Color(palette.UI_GOLD.getRed(), palette.UI_GOLD.getGreen(), palette.UI_GOLD.getBlue(), 200));
+        drawBevelBox(g, closeBounds, BUTTON_BG);
+        g.setColor(goldA200);
         g.drawRect(closeBounds.x, closeBounds.y, closeBounds.width, closeBounds.height);
 
         g.setColor(palette.UI_TEXT);
@@ -178,10 +216,10 @@ public final class TaskDetailsPopup
         );
 
         int headerBottomY = bounds.y + pad + btnH + 6;
-        g.setColor(new Color(palette.UI_GOLD.getRed(), palette.UI_GOLD.getGreen(), palette.UI_GOLD.getBlue(), 55));
+        g.setColor(goldA55);
         g.drawLine(bounds.x + pad, headerBottomY, bounds.x + bounds.width - pad, headerBottomY);
 
-        g.setFont(FontManager.getRunescapeSmallFont());
+        g.setFont(fonts.small());
         fm = g.getFontMetrics();
 
         final int badgeH = ROW_HEIGHT + 4;
@@ -196,90 +234,76 @@ public final class TaskDetailsPopup
         String tierBadge = (task.getTier() == null) ? "?" : TaskLabelFormatter.tierLabel(task.getTier());
         drawBevelBadge(g, fm, metaX, metaYTop, tierBadge, true);
 
-        // Content area
+        // Content area (scrolls between the badges and the footer)
         fm = g.getFontMetrics();
         int contentLeft = bounds.x + pad;
         int contentTop = metaYTop + badgeH + 12;
         int contentW = bounds.width - (pad * 2);
 
-        int y = contentTop + fm.getAscent();
+        int footerPad = 12;
+        int footerH = ROW_HEIGHT + 10;
+        int footerY = bounds.y + bounds.height - footerH - footerPad;
 
-        g.setColor(palette.UI_GOLD);
-        g.drawString("Description", contentLeft, y);
-        y += ROW_HEIGHT;
+        int contentH = Math.max(0, footerY - 8 - contentTop);
+        int visibleRows = contentH / ROW_HEIGHT;
 
-        String desc = safe(task.getDescription()).replace("\r", "").trim();
-        if (desc.isEmpty())
-        {
-            g.setColor(palette.UI_TEXT_DIM);
-            g.drawString("None", contentLeft, y);
-            y += ROW_HEIGHT;
-        }
-        else
-        {
-            g.setColor(palette.UI_TEXT);
-            for (String line : TextUtils.wrapText(desc, fm, contentW))
-            {
-                g.drawString(TextUtils.truncateToWidth(line, fm, contentW), contentLeft, y);
-                y += ROW_HEIGHT;
-            }
-        }
+        // Wrapped once per task, font and width; the scroll clamp reads the row count from the same layout
+        contentLayout.lines(task, fm, contentW);
+        int offset = Math.max(0, Math.min(scroll.offsetRows, contentLayout.totalRows() - visibleRows));
+        scroll.offsetRows = offset;
 
-        // Divider between sections
-        y += 6;
-        g.setColor(new Color(palette.UI_GOLD.getRed(), palette.UI_GOLD.getGreen(), palette.UI_GOLD.getBlue(), 35));
-        g.drawLine(contentLeft, y - (fm.getAscent() / 2), contentLeft + contentW, y - (fm.getAscent() / 2));
-        y += 12;
+        // One pixel wider than the text: drawLine includes the divider's end point
+        contentBounds.setBounds(contentLeft, contentTop, contentW + 1, contentH);
+        Shape oldClip = g.getClip();
+        g.setClip(contentBounds);
 
-        g.setColor(palette.UI_GOLD);
-        g.drawString("Prereqs", contentLeft, y);
-        y += ROW_HEIGHT;
 
-        String prereqs = safe(task.getPrereqs()).replace("\r", "").trim();
-        if (!prereqs.isEmpty())
-        {
-            prereqs = prereqs
-                    .replaceAll("\\s*;\\s*", "\n")
-                    .replaceAll("\n{2,}", "\n")
-                    .trim();
-        }
+        List<String> lines = contentLayout.lines(task, fm, contentW);
+        int totalRows = contentLayout.totalRows();
+        int end = Math.min(totalRows, offset + visibleRows);
 
-        if (prereqs.isEmpty())
-        {
-            g.setColor(palette.UI_TEXT_DIM);
-            g.drawString("None", contentLeft, y);
-        }
-        else
+        int y = contentTop + fm.getAscent();
+        for (int i = offset; i < end; i++)
         {
-            g.setColor(palette.UI_TEXT);
-            for (String para : prereqs.split("\n"))
-            {
-                String p = para.trim();
-                if (p.isEmpty()) continue;
+            String line = lines.get(i);
 
-                for (String line : TextUtils.wrapText(p, fm, contentW))
-                {
-                    g.drawString(TextUtils.truncateToWidth(line, fm, contentW), contentLeft, y);
-                    y += ROW_HEIGHT;
-                }
+            if (LINE_DESCRIPTION_TITLE.equals(line) || LINE_PREREQS_TITLE.equals(line))
+            {
+                g.setColor(palette.UI_GOLD);
+                g.drawString(LINE_DESCRIPTION_TITLE.equals(line) ? "Description" : "Prereqs", contentLeft, y);
+            }
+            else if (LINE_DIVIDER.equals(line))
+            {
+                int lineY = y + DIVIDER_LINE_DROP - (fm.getAscent() / 2);
+                g.setColor(goldA35);
+                g.drawLine(contentLeft, lineY, contentLeft + contentW, lineY);
+                y += DIVIDER_EXTRA_HEIGHT;
+            }
+            else if (LINE_NONE.equals(line))
+            {
+                g.setColor(palette.UI_TEXT_DIM);
+                g.drawString("None", contentLeft, y);
             }
+            else
+            {
+                g.setColor(palette.UI_TEXT);
+                g.drawString(TextUtils.truncateToWidth(line, fm, contentW), contentLeft, y);
+            }
+
+            y += ROW_HEIGHT;
         }
 
-        boolean done = isCompleted.apply(task);
+        g.setClip(oldClip);
 
-        int footerPad = 12;
-        int footerH = ROW_HEIGHT + 10;
+        rows.update(contentLeft, contentTop, contentW, contentH, contentTop, ROW_HEIGHT,
+                offset, end - offset, totalRows);
+
+        boolean done = isCompleted.isCompleted(task);
 
-        int footerY = bounds.y + bounds.height - footerH - footerPad;
         int footerX = bounds.x + footerPad;
         int footerW = bounds.width - (footerPad * 2);
 
-        g.setColor(new Color(
-                palette.UI_GOLD.getRed(),
-                palette.UI_GOLD.getGreen(),
-                palette.UI_GOLD.getBlue(),
-                45
-        ));
+        g.setColor(goldA45);
         g.drawLine(
                 footerX,
                 footerY - 6,
@@ -308,7 +332,7 @@ public final class TaskDetailsPopup
         if (done && toggleBounds.contains(mx, my))
         {
             Font old = g.getFont();
-            g.setFont(FontManager.getRunescapeSmallFont());
+            g.setFont(fonts.small());
             FontMetrics tfm = g.getFontMetrics();
 
             String tip = "Click to mark incomplete";
@@ -324,18 +348,67 @@ public final class TaskDetailsPopup
         }
     }
 
+    /**
+     * One entry per ROW_HEIGHT row of the content area: section titles, wrapped copy and the divider.
+     */
+    private static List<String> buildContentLines(XtremeTask task, FontMetrics fm, int maxWidth)
+    {
+        List<String> lines = new ArrayList<>();
+
+        lines.add(LINE_DESCRIPTION_TITLE);
+        String desc = safe(task.getDescription()).replace("\r", "").trim();
+        if (desc.isEmpty())
+        {
+            lines.add(LINE_NONE);
+        }
+        else
+        {
+            lines.addAll(TextUtils.wrapText(desc, fm, maxWidth));
+        }
+
+        // Divider between sections
+        lines.add(LINE_DIVIDER);
+
+        lines.add(LINE_PREREQS_TITLE);
+        String prereqs = safe(task.getPrereqs()).replace("\r", "").trim();
+        if (!prereqs.isEmpty())
+        {
+            prereqs = prereqs
+                    .replaceAll("\\s*;\\s*", "\n")
+                    .replaceAll("\n{2,}", "\n")
+                    .trim();
+        }
+
+        if (prereqs.isEmpty())
+        {
+            lines.add(LINE_NONE);
+        }
+        else
+        {
+            for (String para : prereqs.split("\n"))
+            {
+                String p = para.trim();
+                if (p.isEmpty()) continue;
+
+                lines.addAll(TextUtils.wrapText(p, fm, maxWidth));
+            }
+        }
+
+        return lines;
+    }
+
     private void drawPopupButton(Graphics2D g, FontMetrics fm, Rectangle bounds, String text, boolean enabled)
     {
-        Color bg = enabled ? new Color(32, 26, 17, 235) : new Color(32, 26, 17, 140);
+        Color bg = enabled ? BUTTON_BG : BUTTON_DISABLED_BG;
         drawBevelBox(g, bounds, bg);
 
         if (enabled)
         {
-            g.setColor(new Color(palette.UI_GOLD.getRed(), palette.UI_GOLD.getGreen(), palette.UI_GOLD.getBlue(), 200));
+            g.setColor(goldA200);
             g.drawRect(bounds.x, bounds.y, bounds.width, bounds.height);
         }
 
-        g.setColor(enabled ? palette.UI_TEXT : new Color(palette.UI_TEXT_DIM.getRed(), palette.UI_TEXT_DIM.getGreen(), palette.UI_TEXT_DIM.getBlue(), 140));
+        g.setColor(enabled ? palette.UI_TEXT : textDimA140);
 
         String drawText = TextUtils.truncateToWidth(text, fm, bounds.width - 10);
         int tw = fm.stringWidth(drawText);
@@ -352,12 +425,13 @@ public final class TaskDetailsPopup
         int textW = fm.stringWidth(text);
         int w = Math.max(26, textW + padX * 2);
 
-        Rectangle r = new Rectangle(x, yTop, w, h);
+        Rectangle r = badgeBounds;
+        r.setBounds(x, yTop, w, h);
 
-        Color bg = activeLook ? new Color(78, 62, 38, 240) : new Color(32, 26, 17, 235);
+        Color bg = activeLook ? BADGE_ACTIVE_BG : BUTTON_BG;
         drawBevelBox(g, r, bg);
 
-        g.setColor(new Color(palette.UI_GOLD.getRed(), palette.UI_GOLD.getGreen(), palette.UI_GOLD.getBlue(), 160));
+        g.setColor(goldA160);
         g.drawRect(r.x, r.y, r.width, r.height);
 
         g.setColor(palette.UI_TEXT);
@@ -395,10 +469,11 @@ public final class TaskDetailsPopup
         y = Math.max(bounds.y + 6,
                 Math.min(y, bounds.y + bounds.height - h - 6));
 
-        Rectangle r = new Rectangle(x, y, w, h);
+        Rectangle r = tooltipBounds;
+        r.setBounds(x, y, w, h);
 
-        drawBevelBox(g, r, new Color(20, 16, 10, 245));
-        g.setColor(new Color(palette.UI_GOLD.getRed(), palette.UI_GOLD.getGreen(), palette.UI_GOLD.getBlue(), 120));
+        drawBevelBox(g, r, TOOLTIP_BG);
+        g.setColor(goldA120);
         g.drawRect(r.x, r.y, r.width, r.height);
 
         g.setColor(palette.UI_TEXT);
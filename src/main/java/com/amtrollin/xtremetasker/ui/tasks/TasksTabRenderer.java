@@ -3,29 +3,86 @@ package com.amtrollin.xtremetasker.ui.tasks;
 import com.amtrollin.xtremetasker.TaskerService;
 import com.amtrollin.xtremetasker.enums.TaskTier;
 import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.tasklist.TaskListFilter;
 import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
-import com.amtrollin.xtremetasker.ui.anim.OverlayAnimations;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskRowsLayout;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskRowsRenderer;
+import com.amtrollin.xtremetasker.ui.text.FittedText;
 import com.amtrollin.xtremetasker.ui.text.TaskLabelFormatter;
 import com.amtrollin.xtremetasker.ui.text.TextUtils;
 import com.amtrollin.xtremetasker.ui.tasks.models.TasksTabState;
 import com.amtrollin.xtremetasker.ui.style.UiPalette;
-import net.runelite.client.ui.FontManager;
+import com.amtrollin.xtremetasker.ui.style.UiFonts;
 
 import java.awt.*;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 import static com.amtrollin.xtremetasker.ui.style.UiConstants.*;
 
 public final class TasksTabRenderer
 {
-    private final UiPalette palette;
+    private static final String TASK_HINT = "Task list: click circle to toggle status, click row for details";
+    private static final String NAV_HINT_1 = "[Keys] Tasks: Space/Enter - toggle status, Up/Down - scroll, Left/Right - switch tier tab";
+    private static final String NAV_HINT_2 = "Filters: 1/2/3 - source, Q/W/E - status, A - tier scope | Sorts: S/T/R";
+
+    // "0%".."100%", so tier tabs don't build the label every frame
+    private static final String[] PERCENT_LABELS = new String[101];
+
+    static
+    {
+        for (int i = 0; i < PERCENT_LABELS.length; i++)
+        {
+            PERCENT_LABELS[i] = i + "%";
+        }
+    }
+
+    private static final Color TIER_TAB_ACTIVE_BG = new Color(78, 62, 38, 240);
+    private static final Color TIER_TAB_INACTIVE_BG = new Color(32, 26, 17, 235);
+    private static final Color[] TIER_GLOW_ACTIVE = glow(150);
+    private static final Color[] TIER_GLOW_INACTIVE = glow(120);
 
-    public TasksTabRenderer(UiPalette palette)
+    private final UiPalette palette;
+    private final UiFonts fonts;
+
+    private final Color dividerColor;
+    private final Color hintColor;
+    private final Color navHintColor;
+    private final Color pctInactiveColor;
+    private final Color viewportFrameGold;
+    private final Color viewportFrameLight;
+    private final Color viewportFrameDark;
+
+    // Reused every frame; the tier tab rectangles are what the mouse handler hit-tests
+    private final Map<TaskTier, Rectangle> tierTabRects = new EnumMap<>(TaskTier.class);
+    private final Map<TaskTier, FittedText> tierTabText = new EnumMap<>(TaskTier.class);
+    private final Rectangle listPanelBounds = new Rectangle();
+
+    private final FittedText progressText = new FittedText();
+    private final FittedText taskHintText = new FittedText();
+    private final FittedText navHint1Text = new FittedText();
+    private final FittedText navHint2Text = new FittedText();
+    private final FittedText emptyText = new FittedText();
+
+    // Last progress line, rebuilt only when the tier or its label changes
+    private TaskTier progressTier = null;
+    private String progressLabel = null;
+    private String progressLine = null;
+
+    public TasksTabRenderer(UiPalette palette, UiFonts fonts)
     {
         this.palette = palette;
+        this.fonts = fonts;
+
+        this.dividerColor = UiPalette.withAlpha(palette.UI_GOLD, 55);
+        this.hintColor = UiPalette.withAlpha(palette.UI_TEXT_DIM, 170);
+        this.navHintColor = UiPalette.withAlpha(palette.UI_TEXT_DIM, 160);
+        this.pctInactiveColor = UiPalette.withAlpha(palette.UI_TEXT_DIM, 180);
+        this.viewportFrameGold = UiPalette.withAlpha(palette.UI_GOLD, 70);
+        this.viewportFrameLight = UiPalette.withAlpha(palette.UI_EDGE_LIGHT, 55);
+        this.viewportFrameDark = UiPalette.withAlpha(palette.UI_EDGE_DARK, 85);
     }
 
     public void render(
@@ -38,7 +95,8 @@ public final class TasksTabRenderer
             TaskControlsRenderer controlsRenderer,
             TaskRowsRenderer rowsRenderer,
             TaskerService plugin,
-            OverlayAnimations animations,
+            TaskRowsRenderer.AnimProgressLookup animProgress,
+            TaskListFilter.CompletionLookup isCompleted,
             List<TaskTier> tierTabs,
             TaskTier activeTier,
             Function<TaskTier, List<XtremeTask>> sortedTasksProvider,
@@ -66,15 +124,18 @@ public final class TasksTabRenderer
         int x = panelX + PANEL_PADDING;
 
         state.tierTabBounds().clear();
-        for (TaskTier t : tierTabs)
+        for (int i = 0; i < tierTabs.size(); i++)
         {
-            Rectangle r = new Rectangle(x, tierTabY, tierTabW, tierTabH);
+            TaskTier t = tierTabs.get(i);
+            Rectangle r = tierTabRects.computeIfAbsent(t, k -> new Rectangle());
+            r.setBounds(x, tierTabY, tierTabW, tierTabH);
             state.tierTabBounds().put(t, r);
 
             int pctVal = plugin.getTierPercent(t);
-            String pct = pctVal + "%";
+            String pct = PERCENT_LABELS[Math.max(0, Math.min(100, pctVal))];
 
-            drawTierTabWithPercent(g, r, TaskLabelFormatter.tierLabel(t), pct, pctVal, t == activeTier);
+            FittedText label = tierTabText.computeIfAbsent(t, k -> new FittedText());
+            drawTierTabWithPercent(g, r, TaskLabelFormatter.tierLabel(t), label, pct, pctVal, t == activeTier);
 
             x += tierTabW + 4;
         }
@@ -106,36 +167,30 @@ public final class TasksTabRenderer
 
         cursorYBaseline += dividerPadTop;
 
-        g.setColor(new Color(palette.UI_GOLD.getRed(), palette.UI_GOLD.getGreen(), palette.UI_GOLD.getBlue(), 55));
+        g.setColor(dividerColor);
         int lineY = cursorYBaseline - fm.getAscent();
         g.drawLine(panelX + PANEL_PADDING, lineY, panelX + panelBounds.width - PANEL_PADDING, lineY);
 
         cursorYBaseline += dividerPadBottom;
 
         Font oldFont = g.getFont();
-        g.setFont(FontManager.getRunescapeBoldFont());
+        g.setFont(fonts.bold());
         FontMetrics pfm = g.getFontMetrics();
 
-        String progress = TaskLabelFormatter.tierLabel(activeTier) + " progress: " + plugin.getTierProgressLabel(activeTier);
+        String progress = progressLine(activeTier, plugin.getTierProgressLabel(activeTier));
         g.setColor(palette.UI_TEXT);
-        g.drawString(TextUtils.truncateToWidth(progress, pfm, innerW), panelX + PANEL_PADDING, cursorYBaseline);
+        g.drawString(progressText.fit(progress, pfm, innerW), panelX + PANEL_PADDING, cursorYBaseline);
 
         g.setFont(oldFont);
         fm = g.getFontMetrics();
 
         cursorYBaseline += pfm.getHeight() + progressPadBottom;
 
-        g.setColor(new Color(
-                palette.UI_TEXT_DIM.getRed(),
-                palette.UI_TEXT_DIM.getGreen(),
-                palette.UI_TEXT_DIM.getBlue(),
-                170
-        ));
+        g.setColor(hintColor);
 
         int hintVisualOffset = -5;
-        String taskHint = "Task list: click circle to toggle status, click row for details";
         g.drawString(
-                TextUtils.truncateToWidth(taskHint, fm, innerW),
+                taskHintText.fit(TASK_HINT, fm, innerW),
                 panelX + PANEL_PADDING,
                 cursorYBaseline + hintVisualOffset
         );
@@ -155,23 +210,21 @@ public final class TasksTabRenderer
         int listBottomPad = (navHintLines * navLineH) + navHintPadTop - 2;
         int listMaxBottom = hintBaselineY - listBottomPad;
 
-        Rectangle listPanelBounds = new Rectangle(panelBounds.x, panelBounds.y, panelBounds.width, Math.max(0, listMaxBottom - panelBounds.y));
+        listPanelBounds.setBounds(panelBounds.x, panelBounds.y, panelBounds.width, Math.max(0, listMaxBottom - panelBounds.y));
 
         if (tasks.isEmpty())
         {
             int emptyTop = cursorYBaseline - fm.getAscent();
             int emptyH = Math.max(0, listMaxBottom - emptyTop);
 
-            Rectangle emptyViewport = new Rectangle(panelX + PANEL_PADDING, emptyTop, innerW, emptyH);
-
-            state.taskListViewportBounds().setBounds(emptyViewport);
-            state.taskRowBounds().clear();
-            state.taskCheckboxBounds().clear();
+            Rectangle emptyViewport = state.taskListViewportBounds();
+            emptyViewport.setBounds(panelX + PANEL_PADDING, emptyTop, innerW, emptyH);
+            state.taskRows().clear();
 
             g.setColor(palette.UI_TEXT_DIM);
             String msg = hasActiveConstraints(state.taskQuery()) ? "No matches." : "No tasks.";
             int textY = emptyViewport.y + Math.max(ROW_HEIGHT, emptyViewport.height / 3);
-            g.drawString(TextUtils.truncateToWidth(msg, fm, emptyViewport.width), emptyViewport.x, textY);
+            g.drawString(emptyText.fit(msg, fm, emptyViewport.width), emptyViewport.x, textY);
 
             displayTaskTierNavHints(g, fm, panelX, hintBaselineY, navLineH, innerW);
             return;
@@ -206,6 +259,7 @@ public final class TasksTabRenderer
 
         boolean showTierPrefix = (state.taskQuery().tierScope == TaskListQuery.TierScope.ALL_TIERS);
 
+        rowsRenderer.syncRowCache(plugin.getTaskPackGeneration(), plugin.getCompletionVersion(), plugin.getLastCompletionChange());
         TaskRowsLayout layout = rowsRenderer.render(
                 g,
                 fm,
@@ -217,40 +271,35 @@ public final class TasksTabRenderer
                 state.tasksScroll().offsetRows,
                 hoverX,
                 hoverY,
-                animations::completionProgress,
-                plugin::isTaskCompleted,
+                animProgress,
+                isCompleted,
                 showTierPrefix
         );
 
+        state.setTaskRows(layout);
         state.taskListViewportBounds().setBounds(layout.viewportBounds);
 
         Rectangle v = layout.viewportBounds;
         if (v.width > 0 && v.height > 0)
         {
-            g.setColor(new Color(palette.UI_GOLD.getRed(), palette.UI_GOLD.getGreen(), palette.UI_GOLD.getBlue(), 70));
+            g.setColor(viewportFrameGold);
             g.drawRect(v.x - 2, v.y - 2, v.width + 4, v.height + 4);
 
-            g.setColor(new Color(palette.UI_EDGE_LIGHT.getRed(), palette.UI_EDGE_LIGHT.getGreen(), palette.UI_EDGE_LIGHT.getBlue(), 55));
+            g.setColor(viewportFrameLight);
             g.drawLine(v.x - 1, v.y - 1, v.x + v.width + 2, v.y - 1);
             g.drawLine(v.x - 1, v.y - 1, v.x - 1, v.y + v.height + 2);
 
-            g.setColor(new Color(palette.UI_EDGE_DARK.getRed(), palette.UI_EDGE_DARK.getGreen(), palette.UI_EDGE_DARK.getBlue(), 85));
+            g.setColor(viewportFrameDark);
             g.drawLine(v.x + v.width + 2, v.y - 1, v.x + v.width + 2, v.y + v.height + 2);
             g.drawLine(v.x - 1, v.y + v.height + 2, v.x + v.width + 2, v.y + v.height + 2);
         }
 
-        state.taskRowBounds().clear();
-        state.taskRowBounds().putAll(layout.rowBounds);
-
-        state.taskCheckboxBounds().clear();
-        state.taskCheckboxBounds().putAll(layout.checkboxBounds);
-
         displayTaskTierNavHints(g, fm, panelX, hintBaselineY, navLineH, innerW);
     }
 
-    private void drawTierTabWithPercent(Graphics2D g, Rectangle bounds, String leftText, String rightText, int pctValue, boolean active)
+    private void drawTierTabWithPercent(Graphics2D g, Rectangle bounds, String leftText, FittedText leftFit, String rightText, int pctValue, boolean active)
     {
-        Color bg = active ? new Color(78, 62, 38, 240) : new Color(32, 26, 17, 235);
+        Color bg = active ? TIER_TAB_ACTIVE_BG : TIER_TAB_INACTIVE_BG;
         drawBevelBox(g, bounds, bg);
 
         if (active)
@@ -267,28 +316,27 @@ public final class TasksTabRenderer
         int pctX = bounds.x + bounds.width - 4 - pctW;
 
         int leftMaxW = Math.max(0, (pctX - (bounds.x + 4) - 4));
-        String tier = TextUtils.truncateToWidth(leftText, fm, leftMaxW);
+        String tier = leftFit.fit(leftText, fm, leftMaxW);
 
         int ty = centeredTextBaseline(bounds, fm);
 
         g.setColor(active ? palette.UI_TEXT : palette.UI_TEXT_DIM);
         g.drawString(tier, bounds.x + 4, ty);
 
-        g.setColor(active ? palette.UI_TEXT_DIM : new Color(palette.UI_TEXT_DIM.getRed(), palette.UI_TEXT_DIM.getGreen(), palette.UI_TEXT_DIM.getBlue(), 180));
+        g.setColor(active ? palette.UI_TEXT_DIM : pctInactiveColor);
         g.drawString(pct, pctX, ty);
 
         if (pctValue >= 100)
         {
-            int a = active ? 150 : 120;
-            Color glow = new Color(120, 200, 140, a);
+            Color[] glow = active ? TIER_GLOW_ACTIVE : TIER_GLOW_INACTIVE;
 
-            g.setColor(glow);
+            g.setColor(glow[0]);
             g.drawRect(bounds.x - 2, bounds.y - 2, bounds.width + 4, bounds.height + 4);
 
-            g.setColor(new Color(120, 200, 140, a - 35));
+            g.setColor(glow[1]);
             g.drawRect(bounds.x - 1, bounds.y - 1, bounds.width + 2, bounds.height + 2);
 
-            g.setColor(new Color(120, 200, 140, a - 65));
+            g.setColor(glow[2]);
             g.drawRect(bounds.x, bounds.y, bounds.width, bounds.height);
         }
     }
@@ -305,12 +353,32 @@ public final class TasksTabRenderer
 
     private void displayTaskTierNavHints(Graphics2D g, FontMetrics fm, int panelX, int hintBaselineY, int navLineH, int innerW)
     {
-        g.setColor(new Color(palette.UI_TEXT_DIM.getRed(), palette.UI_TEXT_DIM.getGreen(), palette.UI_TEXT_DIM.getBlue(), 160));
-        String navHint1 = "[Keys] Tasks: Space/Enter - toggle status, Up/Down - scroll, Left/Right - switch tier tab";
-        String navHint2 = "Filters: 1/2/3 - source, Q/W/E - status, A - tier scope | Sorts: S/T/R";
+        g.setColor(navHintColor);
+
+        g.drawString(navHint1Text.fit(NAV_HINT_1, fm, innerW), panelX + PANEL_PADDING, hintBaselineY - navLineH);
+        g.drawString(navHint2Text.fit(NAV_HINT_2, fm, innerW), panelX + PANEL_PADDING, hintBaselineY);
+    }
+
+    private String progressLine(TaskTier tier, String label)
+    {
+        if (tier != progressTier || label == null || !label.equals(progressLabel))
+        {
+            progressTier = tier;
+            progressLabel = label;
+            progressLine = TaskLabelFormatter.tierLabel(tier) + " progress: " + label;
+        }
+        return progressLine;
+    }
 
-        g.drawString(TextUtils.truncateToWidth(navHint1, fm, innerW), panelX + PANEL_PADDING, hintBaselineY - navLineH);
-        g.drawString(TextUtils.truncateToWidth(navHint2, fm, innerW), panelX + PANEL_PADDING, hintBaselineY);
+    // Complete-tier glow, outermost ring first
+    private static Color[] glow(int alpha)
+    {
+        Color c = UiPalette.TIER_COMPLETE_GLOW;
+        return new Color[]{
+                UiPalette.withAlpha(c, alpha),
+                UiPalette.withAlpha(c, alpha - 35),
+                UiPalette.withAlpha(c, alpha - 65)
+        };
     }
 
     private static boolean hasActiveConstraints(TaskListQuery q)
@@ -1,10 +1,10 @@
 package com.amtrollin.xtremetasker.ui.tasks.models;
 
 import com.amtrollin.xtremetasker.enums.TaskTier;
-import com.amtrollin.xtremetasker.models.XtremeTask;
 import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskListScrollController;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskListViewController;
+import com.amtrollin.xtremetasker.ui.tasklist.TaskRowsLayout;
 import com.amtrollin.xtremetasker.ui.tasklist.TaskSelectionModel;
 
 import java.awt.Rectangle;
@@ -19,10 +19,11 @@ public final class TasksTabState
     private final TaskListViewController taskListView;
 
     private final Map<TaskTier, Rectangle> tierTabBounds;
-    private final Map<XtremeTask, Rectangle> taskRowBounds;
-    private final Map<XtremeTask, Rectangle> taskCheckboxBounds;
     private final Rectangle taskListViewportBounds;
 
+    // Rows drawn in the last frame (the rows renderer's layout, replaced when the tab renders)
+    private TaskRowsLayout taskRows = new TaskRowsLayout();
+
     public TasksTabState(
             TaskListQuery taskQuery,
             TaskControlsLayout controlsLayout,
@@ -30,8 +31,6 @@ public final class TasksTabState
             TaskListScrollController tasksScroll,
             TaskListViewController taskListView,
             Map<TaskTier, Rectangle> tierTabBounds,
-            Map<XtremeTask, Rectangle> taskRowBounds,
-            Map<XtremeTask, Rectangle> taskCheckboxBounds,
             Rectangle taskListViewportBounds
     )
     {
@@ -41,8 +40,6 @@ public final class TasksTabState
         this.tasksScroll = tasksScroll;
         this.taskListView = taskListView;
         this.tierTabBounds = tierTabBounds;
-        this.taskRowBounds = taskRowBounds;
-        this.taskCheckboxBounds = taskCheckboxBounds;
         this.taskListViewportBounds = taskListViewportBounds;
     }
 
@@ -76,14 +73,14 @@ public final class TasksTabState
         return tierTabBounds;
     }
 
-    public Map<XtremeTask, Rectangle> taskRowBounds()
+    public TaskRowsLayout taskRows()
     {
-        return taskRowBounds;
+        return taskRows;
     }
 
-    public Map<XtremeTask, Rectangle> taskCheckboxBounds()
+    public void setTaskRows(TaskRowsLayout taskRows)
     {
-        return taskCheckboxBounds;
+        this.taskRows = taskRows;
     }
 
     public Rectangle taskListViewportBounds()
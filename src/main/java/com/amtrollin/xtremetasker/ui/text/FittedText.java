@@ -0,0 +1,30 @@
+package com.amtrollin.xtremetasker.ui.text;
+
+import java.awt.FontMetrics;
+
+/**
+ * Remembers the last {@link TextUtils#truncateToWidth} result for one draw site,
+ * so text that doesn't change between frames isn't re-measured and re-built every frame.
+ * <p>
+ * Inputs are compared by identity (text, metrics) plus the width; callers pass the same
+ * String instance while the text is unchanged.
+ */
+public final class FittedText
+{
+    private String text = null;
+    private FontMetrics fm = null;
+    private int maxWidth = -1;
+    private String fitted = "";
+
+    public String fit(String text, FontMetrics fm, int maxWidth)
+    {
+        if (text != this.text || fm != this.fm || maxWidth != this.maxWidth)
+        {
+            this.text = text;
+            this.fm = fm;
+            this.maxWidth = maxWidth;
+            this.fitted = TextUtils.truncateToWidth(text, fm, maxWidth);
+        }
+        return fitted;
+    }
+}
@@ -0,0 +1,104 @@
+package com.amtrollin.xtremetasker.ui.text;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.font.FontRenderContext;
+
+/**
+ * Per-font advance widths for Latin-1 characters.
+ * <p>
+ * The RuneScape fonts are bitmap fonts with fixed advances and no kerning, so a string's width is the
+ * sum of its characters' advances. Sums are accumulated in float and rounded at the end, the same way
+ * {@link FontMetrics#stringWidth} does for simple text, so widths match it exactly.
+ * Text outside Latin-1, or fonts with layout attributes, can't be measured here ({@link #measurable}).
+ */
+final class GlyphAdvances
+{
+    private static final int TABLE_SIZE = 256;
+    private static final String CHECK_TEXT = "The quick brown fox jumps over the lazy dog: AVAWAY Ty To 0123456789 (%).";
+
+    private final Font font;
+    private final FontRenderContext frc;
+    private final float[] advances = new float[TABLE_SIZE];
+    private final boolean simple;
+
+    GlyphAdvances(FontMetrics fm)
+    {
+        this.font = fm.getFont();
+        this.frc = fm.getFontRenderContext();
+
+        char[] one = new char[1];
+        for (int c = 0; c < TABLE_SIZE; c++)
+        {
+            one[0] = (char) c;
+            advances[c] = (float) font.getStringBounds(one, 0, 1, frc).getWidth();
+        }
+
+        // If summed advances don't reproduce the metrics (kerning, layout attributes), don't use the table
+        this.simple = !font.hasLayoutAttributes() && round(width(CHECK_TEXT)) == fm.stringWidth(CHECK_TEXT);
+    }
+
+    boolean isFor(FontMetrics fm)
+    {
+        return font.equals(fm.getFont()) && frc.equals(fm.getFontRenderContext());
+    }
+
+    Font font()
+    {
+        return font;
+    }
+
+    boolean measurable(String text)
+    {
+        if (!simple)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < text.length(); i++)
+        {
+            if (text.charAt(i) >= TABLE_SIZE)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    float advance(char c)
+    {
+        return advances[c];
+    }
+
+    /**
+     * Unrounded width of {@code text}; only valid when {@link #measurable}.
+     */
+    float width(String text)
+    {
+        float w = 0f;
+        for (int i = 0; i < text.length(); i++)
+        {
+            w += advances[text.charAt(i)];
+        }
+        return w;
+    }
+
+    /**
+     * Fills {@code prefix[0..n]} with the running width of the first {@code n} characters.
+     */
+    void prefixWidths(String text, float[] prefix)
+    {
+        float w = 0f;
+        prefix[0] = 0f;
+        for (int i = 0; i < text.length(); i++)
+        {
+            w += advances[text.charAt(i)];
+            prefix[i + 1] = w;
+        }
+    }
+
+    static int round(float width)
+    {
+        return (int) (0.5 + width);
+    }
+}
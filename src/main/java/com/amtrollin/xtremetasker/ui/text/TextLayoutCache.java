@@ -0,0 +1,68 @@
+package com.amtrollin.xtremetasker.ui.text;
+
+import java.awt.FontMetrics;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Wrapped lines of one block of copy (help text, a task's details) for one draw site.
+ * <p>
+ * Keyed by content identity, font metrics and width: the lines are only rebuilt when the content
+ * object changes, the font changes or the panel is resized. Renderers read {@link #totalRows()}
+ * for their scroll math instead of re-wrapping to count.
+ *
+ * @param <T> the content the lines are built from
+ */
+public final class TextLayoutCache<T>
+{
+    @FunctionalInterface
+    public interface Builder<T>
+    {
+        List<String> build(T content, FontMetrics fm, int maxWidth);
+    }
+
+    private final Builder<T> builder;
+
+    private T content = null;
+    private FontMetrics fm = null;
+    private int maxWidth = -1;
+    private List<String> lines = Collections.emptyList();
+
+    public TextLayoutCache(Builder<T> builder)
+    {
+        this.builder = builder;
+    }
+
+    /**
+     * @return the lines for {@code content} at this font and width; shared, don't mutate
+     */
+    public List<String> lines(T content, FontMetrics fm, int maxWidth)
+    {
+        if (content != this.content || fm != this.fm || maxWidth != this.maxWidth)
+        {
+            this.content = content;
+            this.fm = fm;
+            this.maxWidth = maxWidth;
+            this.lines = (content == null)
+                    ? Collections.emptyList()
+                    : Collections.unmodifiableList(builder.build(content, fm, maxWidth));
+        }
+        return lines;
+    }
+
+    /**
+     * Rows in the last layout returned by {@link #lines}.
+     */
+    public int totalRows()
+    {
+        return lines.size();
+    }
+
+    public void invalidate()
+    {
+        content = null;
+        fm = null;
+        maxWidth = -1;
+        lines = Collections.emptyList();
+    }
+}
@@ -1,49 +1,155 @@
 package com.amtrollin.xtremetasker.ui.text;
 
+import java.awt.Font;
 import java.awt.FontMetrics;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Text fitting for the overlay.
+ * <p>
+ * Widths come from per-font {@link GlyphAdvances} tables rather than {@link FontMetrics#stringWidth},
+ * truncation binary-searches prefix widths, and results are kept in small LRUs keyed by
+ * (text, font, maxWidth), so labels drawn every frame are measured once.
+ * Called from the render path; the caches are guarded by the class lock.
+ */
 public final class TextUtils
 {
+    private static final String ELLIPSIS = "...";
+
+    private static final int TRUNCATE_CACHE_SIZE = 1024;
+    private static final int WRAP_CACHE_SIZE = 64;
+
+    private static final Map<Font, GlyphAdvances> ADVANCES = new HashMap<>();
+    private static FontMetrics lastFm = null;
+    private static GlyphAdvances lastAdvances = null;
+
+    private static final Map<Key, String> TRUNCATED = lru(TRUNCATE_CACHE_SIZE);
+    private static final Map<Key, List<String>> WRAPPED = lru(WRAP_CACHE_SIZE);
+
+    // Lookups go through this probe so a cache hit doesn't allocate a key
+    private static final Key PROBE = new Key();
+
+    // Prefix widths of the string being truncated
+    private static float[] prefix = new float[64];
+
     private TextUtils() {}
 
-    public static String truncateToWidth(String text, FontMetrics fm, int maxWidth)
+    public static synchronized String truncateToWidth(String text, FontMetrics fm, int maxWidth)
     {
         if (text == null)
         {
             return "";
         }
 
-        if (fm.stringWidth(text) <= maxWidth)
+        GlyphAdvances adv = advancesFor(fm);
+        String cached = TRUNCATED.get(PROBE.set(text, adv, maxWidth));
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        String fitted = adv.measurable(text)
+                ? truncateMeasured(text, adv, maxWidth)
+                : truncateWithMetrics(text, fm, maxWidth);
+
+        TRUNCATED.put(new Key(text, adv, maxWidth), fitted);
+        return fitted;
+    }
+
+    /**
+     * @return the wrapped lines; unmodifiable and shared, so don't mutate it
+     */
+    public static synchronized List<String> wrapText(String text, FontMetrics fm, int maxWidth)
+    {
+        if (text == null)
+        {
+            return Collections.emptyList();
+        }
+
+        GlyphAdvances adv = advancesFor(fm);
+        List<String> cached = WRAPPED.get(PROBE.set(text, adv, maxWidth));
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        List<String> lines = Collections.unmodifiableList(wrap(text, fm, adv, maxWidth));
+        WRAPPED.put(new Key(text, adv, maxWidth), lines);
+        return lines;
+    }
+
+    private static String truncateMeasured(String text, GlyphAdvances adv, int maxWidth)
+    {
+        int n = text.length();
+        if (prefix.length < n + 1)
+        {
+            prefix = new float[Math.max(n + 1, prefix.length * 2)];
+        }
+        adv.prefixWidths(text, prefix);
+
+        if (GlyphAdvances.round(prefix[n]) <= maxWidth)
         {
             return text;
         }
 
-        String ellipsis = "...";
-        int ellipsisWidth = fm.stringWidth(ellipsis);
+        int budget = maxWidth - GlyphAdvances.round(adv.width(ELLIPSIS));
 
-        StringBuilder sb = new StringBuilder();
-        for (char c : text.toCharArray())
+        // Longest prefix that still fits next to the ellipsis; prefix widths never decrease
+        int lo = 0;
+        int hi = n;
+        while (lo < hi)
         {
-            if (fm.stringWidth(sb.toString() + c) + ellipsisWidth > maxWidth)
+            int mid = (lo + hi + 1) >>> 1;
+            if (GlyphAdvances.round(prefix[mid]) <= budget)
             {
-                break;
+                lo = mid;
+            }
+            else
+            {
+                hi = mid - 1;
             }
-            sb.append(c);
         }
-        sb.append(ellipsis);
-        return sb.toString();
+        return text.substring(0, lo) + ELLIPSIS;
     }
 
-    public static List<String> wrapText(String text, FontMetrics fm, int maxWidth)
+    /**
+     * Fallback for text the advance table can't measure; same search, measured by the font metrics.
+     */
+    private static String truncateWithMetrics(String text, FontMetrics fm, int maxWidth)
     {
-        List<String> lines = new ArrayList<>();
-        if (text == null)
+        if (fm.stringWidth(text) <= maxWidth)
         {
-            return lines;
+            return text;
         }
 
+        int budget = maxWidth - fm.stringWidth(ELLIPSIS);
+
+        int lo = 0;
+        int hi = text.length();
+        while (lo < hi)
+        {
+            int mid = (lo + hi + 1) >>> 1;
+            if (fm.stringWidth(text.substring(0, mid)) <= budget)
+            {
+                lo = mid;
+            }
+            else
+            {
+                hi = mid - 1;
+            }
+        }
+        return text.substring(0, lo) + ELLIPSIS;
+    }
+
+    private static List<String> wrap(String text, FontMetrics fm, GlyphAdvances adv, int maxWidth)
+    {
+        List<String> lines = new ArrayList<>();
+
         String cleaned = text.trim().replace("\r", "");
         if (cleaned.isEmpty())
         {
@@ -61,14 +167,42 @@ public final class TextUtils
 
             String[] words = p.split("\\s+");
             StringBuilder line = new StringBuilder();
+            boolean measurable = adv.measurable(p);
+
+            // Width of the current line, grown a word at a time instead of re-measuring it
+            float lineW = 0f;
 
             for (String w : words)
             {
-                String candidate = (line.length() == 0) ? w : (line + " " + w);
-                if (fm.stringWidth(candidate) <= maxWidth)
+                boolean fits;
+                float candidateW = 0f;
+                if (measurable)
+                {
+                    candidateW = lineW;
+                    if (line.length() > 0)
+                    {
+                        candidateW += adv.advance(' ');
+                    }
+                    for (int i = 0; i < w.length(); i++)
+                    {
+                        candidateW += adv.advance(w.charAt(i));
+                    }
+                    fits = GlyphAdvances.round(candidateW) <= maxWidth;
+                }
+                else
                 {
-                    line.setLength(0);
-                    line.append(candidate);
+                    String candidate = (line.length() == 0) ? w : (line + " " + w);
+                    fits = fm.stringWidth(candidate) <= maxWidth;
+                }
+
+                if (fits)
+                {
+                    if (line.length() > 0)
+                    {
+                        line.append(' ');
+                    }
+                    line.append(w);
+                    lineW = candidateW;
                 }
                 else
                 {
@@ -77,6 +211,7 @@ public final class TextUtils
                         lines.add(line.toString());
                         line.setLength(0);
                         line.append(w);
+                        lineW = measurable ? adv.width(w) : 0f;
                     }
                     else
                     {
@@ -93,4 +228,86 @@ public final class TextUtils
 
         return lines;
     }
+
+    private static GlyphAdvances advancesFor(FontMetrics fm)
+    {
+        if (fm == lastFm)
+        {
+            return lastAdvances;
+        }
+
+        GlyphAdvances adv = ADVANCES.get(fm.getFont());
+        if (adv == null || !adv.isFor(fm))
+        {
+            adv = new GlyphAdvances(fm);
+            ADVANCES.put(adv.font(), adv);
+        }
+
+        lastFm = fm;
+        lastAdvances = adv;
+        return adv;
+    }
+
+    private static <V> Map<Key, V> lru(int capacity)
+    {
+        return new LinkedHashMap<Key, V>(capacity * 2, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, V> eldest)
+            {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * (text, font, maxWidth). The font side is the advance table, which also pins the render context.
+     */
+    private static final class Key
+    {
+        private String text;
+        private GlyphAdvances font;
+        private int maxWidth;
+        private int hash;
+
+        private Key()
+        {
+        }
+
+        private Key(String text, GlyphAdvances font, int maxWidth)
+        {
+            set(text, font, maxWidth);
+        }
+
+        private Key set(String text, GlyphAdvances font, int maxWidth)
+        {
+            this.text = text;
+            this.font = font;
+            this.maxWidth = maxWidth;
+            this.hash = (text.hashCode() * 31 + System.identityHashCode(font)) * 31 + maxWidth;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof Key))
+            {
+                return false;
+            }
+
+            Key k = (Key) o;
+            return maxWidth == k.maxWidth && font == k.font && text.equals(k.text);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
 }
@@ -12,10 +12,12 @@ import java.awt.Rectangle;
 public final class ButtonRenderer
 {
     private final UiPalette palette;
+    private final Color disabledText;
 
     public ButtonRenderer(UiPalette palette)
     {
         this.palette = palette;
+        this.disabledText = UiPalette.withAlpha(palette.UI_TEXT_DIM, 130);
     }
 
     public void drawTab(Graphics2D g, Rectangle bounds, String text, boolean active)
@@ -57,7 +59,7 @@ public final class ButtonRenderer
             g.drawRect(bounds.x, bounds.y, bounds.width, bounds.height);
         }
 
-        g.setColor(enabled ? palette.UI_TEXT : new Color(palette.UI_TEXT_DIM.getRed(), palette.UI_TEXT_DIM.getGreen(), palette.UI_TEXT_DIM.getBlue(), 130));
+        g.setColor(enabled ? palette.UI_TEXT : disabledText);
 
         FontMetrics fm = g.getFontMetrics();
         String drawText = TextUtils.truncateToWidth(text, fm, bounds.width - 10);
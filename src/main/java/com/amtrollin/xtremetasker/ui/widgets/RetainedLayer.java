@@ -0,0 +1,90 @@
+package com.amtrollin.xtremetasker.ui.widgets;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * A block of the overlay that only changes with UI state, painted once into an offscreen image and
+ * blitted every frame after that.
+ * <p>
+ * The image is repainted when its size or state stamp changes, or after {@link #invalidate()}; owners
+ * call that from the places the state actually changes. Painters draw in frame coordinates (the layer
+ * translates to its origin), so the same code paints live or cached, and moving the panel only moves
+ * the blit.
+ */
+public final class RetainedLayer
+{
+    @FunctionalInterface
+    public interface Painter
+    {
+        void paint(Graphics2D g);
+    }
+
+    private BufferedImage image = null;
+    private int stamp = 0;
+    private boolean dirty = true;
+    private int repaints = 0;
+
+    /**
+     * Draws the layer at (x, y), repainting it first if it's stale.
+     *
+     * @param stamp packed state the contents depend on; any change repaints
+     */
+    public void draw(Graphics2D g, int x, int y, int width, int height, int stamp, Painter painter)
+    {
+        if (width <= 0 || height <= 0)
+        {
+            return;
+        }
+
+        if (dirty || stamp != this.stamp || image == null || image.getWidth() != width || image.getHeight() != height)
+        {
+            repaint(g, x, y, width, height, painter);
+            this.stamp = stamp;
+            this.dirty = false;
+        }
+
+        g.drawImage(image, x, y, null);
+    }
+
+    public void invalidate()
+    {
+        dirty = true;
+    }
+
+    /**
+     * Times the image has been repainted; a steady frame shouldn't move this.
+     */
+    public int repaintCount()
+    {
+        return repaints;
+    }
+
+    private void repaint(Graphics2D g, int x, int y, int width, int height, Painter painter)
+    {
+        if (image == null || image.getWidth() != width || image.getHeight() != height)
+        {
+            // Premultiplied, so translucent fills composite the same as drawing them straight onto the frame
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+
+        Graphics2D ig = image.createGraphics();
+        try
+        {
+            ig.setComposite(AlphaComposite.Clear);
+            ig.fillRect(0, 0, width, height);
+            ig.setComposite(AlphaComposite.SrcOver);
+
+            ig.setRenderingHints(g.getRenderingHints());
+            ig.setFont(g.getFont());
+            ig.translate(-x, -y);
+            painter.paint(ig);
+        }
+        finally
+        {
+            ig.dispose();
+        }
+        repaints++;
+    }
+}
@@ -0,0 +1,178 @@
+package com.amtrollin.xtremetasker;
+
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A {@link TaskerService} over a fixed catalog with in-memory completion, for driving the overlay
+ * without a client. Toggles bump the completion version like the plugin does, so render caches see
+ * the change; nothing is persisted and no chat messages are sent.
+ */
+public class StubTaskerService implements TaskerService
+{
+    private final TaskCatalog catalog;
+    private final BitSet completed = new BitSet();
+
+    private XtremeTask currentTask;
+    private int completionVersion = 0;
+    private XtremeTask lastChange = null;
+
+    // Counted and built on demand, then kept until completion changes, like the plugin's, so idle
+    // frames don't allocate
+    private final int[] doneByTier = new int[TaskTier.values().length];
+    private int countedVersion = -1;
+    private final String[] progressLabels = new String[TaskTier.values().length];
+
+    public StubTaskerService(TaskCatalog catalog)
+    {
+        this.catalog = catalog;
+    }
+
+    public StubTaskerService setCompleted(XtremeTask task, boolean done)
+    {
+        completed.set(task.getOrdinal(), done);
+        Arrays.fill(progressLabels, null);
+        completionVersion++;
+        lastChange = task;
+        return this;
+    }
+
+    public StubTaskerService setCurrentTask(XtremeTask task)
+    {
+        currentTask = task;
+        return this;
+    }
+
+    @Override
+    public boolean isOverlayEnabled()
+    {
+        return true;
+    }
+
+    @Override
+    public boolean hasTaskPackLoaded()
+    {
+        return !catalog.isEmpty();
+    }
+
+    @Override
+    public boolean isStateLoading()
+    {
+        return false;
+    }
+
+    @Override
+    public XtremeTask getCurrentTask()
+    {
+        return currentTask;
+    }
+
+    @Override
+    public TaskTier getCurrentTier()
+    {
+        for (TaskTier tier : TaskTier.values())
+        {
+            if (catalog.tierTotal(tier) > done(tier))
+            {
+                return tier;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getTierPercent(TaskTier tier)
+    {
+        int total = catalog.tierTotal(tier);
+        return (total == 0) ? 0 : (int) (done(tier) * 100L / total);
+    }
+
+    @Override
+    public String getTierProgressLabel(TaskTier tier)
+    {
+        String label = progressLabels[tier.ordinal()];
+        if (label == null)
+        {
+            label = done(tier) + "/" + catalog.tierTotal(tier) + " (" + getTierPercent(tier) + "%)";
+            progressLabels[tier.ordinal()] = label;
+        }
+        return label;
+    }
+
+    @Override
+    public TaskCatalog getCatalog()
+    {
+        return catalog;
+    }
+
+    @Override
+    public boolean isTaskCompleted(XtremeTask task)
+    {
+        return task != null && task.getOrdinal() >= 0 && completed.get(task.getOrdinal());
+    }
+
+    @Override
+    public int getTaskPackGeneration()
+    {
+        return 1;
+    }
+
+    @Override
+    public int getCompletionVersion()
+    {
+        return completionVersion;
+    }
+
+    @Override
+    public XtremeTask getLastCompletionChange()
+    {
+        return lastChange;
+    }
+
+    @Override
+    public void toggleTaskCompletedAndPersist(XtremeTask task)
+    {
+        setCompleted(task, !isTaskCompleted(task));
+    }
+
+    @Override
+    public void completeCurrentTaskAndPersist()
+    {
+        if (currentTask != null)
+        {
+            setCompleted(currentTask, true);
+        }
+    }
+
+    @Override
+    public void rollRandomTaskAndPersist()
+    {
+    }
+
+    @Override
+    public void reloadTaskPack()
+    {
+    }
+
+    @Override
+    public void pushGameMessage(String msg)
+    {
+    }
+
+    private int done(TaskTier tier)
+    {
+        if (countedVersion != completionVersion)
+        {
+            for (TaskTier t : TaskTier.values())
+            {
+                doneByTier[t.ordinal()] = catalog.countInTier(t, completed);
+            }
+            countedVersion = completionVersion;
+        }
+        return doneByTier[tier.ordinal()];
+    }
+}
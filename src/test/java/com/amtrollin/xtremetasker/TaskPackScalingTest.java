@@ -0,0 +1,302 @@
+package com.amtrollin.xtremetasker;
+
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.tasklist.TaskListFilter;
+import com.amtrollin.xtremetasker.tasklist.TaskListPipeline;
+import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
+import com.amtrollin.xtremetasker.taskpack.SyntheticTaskPack;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.amtrollin.xtremetasker.taskpack.TaskPackJsonReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.fail;
+
+/**
+ * Times the pack-sized operations on synthetic packs of growing size and fails if any of them grows
+ * faster than linearly: loading and indexing a pack, swapping it in (what a pack reload does on the
+ * client thread), the full tier count rebuild, random rolls and the task list pipeline.
+ * <p>
+ * Each step compares time and allocated bytes per operation against the previous size. Time growth
+ * is judged against a linear baseline (an id lookup per task) measured at the same sizes, so a pack
+ * outgrowing the CPU caches doesn't read as an algorithmic problem: anything linear or better
+ * (n log n included) stays well under {@link #TIME_SLACK} times the baseline's growth, quadratic
+ * work blows straight through it. Allocation is deterministic enough to check against the size
+ * ratio directly.
+ * <p>
+ * Wall-clock ratios are too noisy for every build, so the regular {@code test} task excludes this
+ * class; run it with {@code ./gradlew scalingTest}, which covers 10k, 100k and 1M with a 4 GB heap.
+ * Run directly, it defaults to 10k and 100k ({@code -Dxtremetasker.scaling.sizes} overrides).
+ */
+public class TaskPackScalingTest
+{
+    private static final String SIZES_PROPERTY = "xtremetasker.scaling.sizes";
+    private static final String DEFAULT_SIZES = "10000,100000";
+
+    // Per-op cost may grow at most this much faster than the pack (timings are best-of-N)
+    private static final double TIME_SLACK = 3.0;
+    private static final double ALLOC_SLACK = 2.0;
+    // Allocation below this is noise (TLAB refills, lazily created iterators) rather than a trend
+    private static final long ALLOC_FLOOR = 64 * 1024;
+
+    private static final int ROLLS_PER_OP = 10_000;
+    private static final long MIN_MEASURE_NANOS = 200_000_000L;
+    private static final long MAX_MEASURE_NANOS = 3_000_000_000L;
+
+    private enum Op
+    {
+        BASELINE("baseline (id lookups)"),
+        LOAD("parse + index"),
+        SWAP("swap catalog"),
+        TIER_COUNTS("tier counts"),
+        ROLL("10k rolls"),
+        PIPELINE("pipeline, default"),
+        PIPELINE_SEARCH("pipeline, search"),
+        PIPELINE_SORTED("pipeline, sorted");
+
+        private final String label;
+
+        Op(String label)
+        {
+            this.label = label;
+        }
+    }
+
+    private static final class Sample
+    {
+        final long nanos;
+        final long bytes;
+
+        Sample(long nanos, long bytes)
+        {
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+    }
+
+    // Keeps the baseline loop from being optimized away
+    private static volatile int sink;
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void packOperationsScaleLinearlyOrBetter() throws Exception
+    {
+        int[] sizes = sizes();
+
+        // Untimed pass so the first measured size isn't paying for class loading and JIT
+        measure(Math.max(1000, sizes[0] / 10));
+
+        List<Sample[]> results = new ArrayList<>();
+        for (int n : sizes)
+        {
+            results.add(measure(n));
+        }
+
+        print(sizes, results);
+
+        List<String> failures = new ArrayList<>();
+        for (int s = 1; s < sizes.length; s++)
+        {
+            double growth = (double) sizes[s] / sizes[s - 1];
+            double baseline = ratio(results, s, Op.BASELINE);
+            for (Op op : Op.values())
+            {
+                Sample prev = results.get(s - 1)[op.ordinal()];
+                Sample cur = results.get(s)[op.ordinal()];
+
+                double time = ratio(results, s, op);
+                if (time > baseline * TIME_SLACK)
+                {
+                    failures.add(String.format(Locale.ROOT, "%s took %.1fx longer going from %d to %d tasks (baseline %.1fx)",
+                            op.label, time, sizes[s - 1], sizes[s], baseline));
+                }
+
+                double alloc = (double) Math.max(ALLOC_FLOOR, cur.bytes) / Math.max(ALLOC_FLOOR, prev.bytes);
+                if (alloc > growth * ALLOC_SLACK)
+                {
+                    failures.add(String.format(Locale.ROOT, "%s allocated %.1fx more going from %d to %d tasks",
+                            op.label, alloc, sizes[s - 1], sizes[s]));
+                }
+            }
+        }
+
+        if (!failures.isEmpty())
+        {
+            fail("Super-linear growth:\n  " + String.join("\n  ", failures));
+        }
+    }
+
+    private Sample[] measure(int n) throws Exception
+    {
+        Path file = SyntheticTaskPack.write(n, SyntheticTaskPack.DEFAULT_SEED, tmp.newFile("tasks-" + n + ".json").toPath());
+        Sample[] out = new Sample[Op.values().length];
+
+        TaskCatalog[] loaded = new TaskCatalog[1];
+        out[Op.LOAD.ordinal()] = time(() ->
+        {
+            try (InputStream in = Files.newInputStream(file))
+            {
+                loaded[0] = TaskCatalog.of(TaskPackJsonReader.read(in));
+            }
+        });
+        Files.delete(file);
+        TaskCatalog catalog = loaded[0];
+
+        // About a third complete, carried across each swap by id like a real reload
+        XtremeTaskerPlugin plugin = new XtremeTaskerPlugin();
+        plugin.swapCatalog(catalog, true);
+        BitSet done = new BitSet(n);
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++)
+        {
+            if (random.nextInt(3) == 0)
+            {
+                done.set(i);
+                plugin.setManualCompleted(i, true);
+            }
+        }
+
+        out[Op.BASELINE.ordinal()] = time(() ->
+        {
+            int sum = 0;
+            for (XtremeTask t : catalog.getTasks())
+            {
+                sum += catalog.ordinalOf(t.getId());
+            }
+            sink = sum;
+        });
+        out[Op.SWAP.ordinal()] = time(() -> plugin.swapCatalog(catalog, true));
+        out[Op.TIER_COUNTS.ordinal()] = time(() -> plugin.rebuildTierCounts());
+        out[Op.ROLL.ordinal()] = time(() ->
+        {
+            for (int i = 0; i < ROLLS_PER_OP; i++)
+            {
+                plugin.rollRandomTask();
+            }
+        });
+
+        TaskListFilter.CompletionLookup completed = t -> t.getOrdinal() >= 0 && done.get(t.getOrdinal());
+        List<XtremeTask> all = catalog.getTieredTasks();
+
+        TaskListQuery plain = allTiers();
+        TaskListQuery search = allTiers();
+        search.searchText = "kill boss";
+        TaskListQuery sorted = allTiers();
+        sorted.sortByCompletion = true;
+        sorted.sortByTier = true;
+
+        out[Op.PIPELINE.ordinal()] = time(() -> TaskListPipeline.apply(all, plain, completed, catalog.getSearchIndex(), null, catalog.getNameRanks()));
+        out[Op.PIPELINE_SEARCH.ordinal()] = time(() -> TaskListPipeline.apply(all, search, completed, catalog.getSearchIndex(), null, catalog.getNameRanks()));
+        out[Op.PIPELINE_SORTED.ordinal()] = time(() -> TaskListPipeline.apply(all, sorted, completed, catalog.getSearchIndex(), null, catalog.getNameRanks()));
+
+        return out;
+    }
+
+    private static double ratio(List<Sample[]> results, int step, Op op)
+    {
+        long prev = results.get(step - 1)[op.ordinal()].nanos;
+        long cur = results.get(step)[op.ordinal()].nanos;
+        return (double) cur / Math.max(1L, prev);
+    }
+
+    @FunctionalInterface
+    private interface Action
+    {
+        void run() throws Exception;
+    }
+
+    /**
+     * Best of several runs (at least one, more while the op is cheap), plus what the last run allocated.
+     */
+    private static Sample time(Action action) throws Exception
+    {
+        long best = Long.MAX_VALUE;
+        long bytes = 0;
+        long started = System.nanoTime();
+        int runs = 0;
+
+        do
+        {
+            long alloc = allocatedBytes();
+            long t0 = System.nanoTime();
+            action.run();
+            long elapsed = System.nanoTime() - t0;
+            bytes = allocatedBytes() - alloc;
+            best = Math.min(best, elapsed);
+            runs++;
+        }
+        while (runs < 200
+                && System.nanoTime() - started < MAX_MEASURE_NANOS
+                && (runs < 3 || System.nanoTime() - started < MIN_MEASURE_NANOS));
+
+        return new Sample(best, bytes);
+    }
+
+    private static TaskListQuery allTiers()
+    {
+        TaskListQuery q = new TaskListQuery();
+        q.tierScope = TaskListQuery.TierScope.ALL_TIERS;
+        return q;
+    }
+
+    private static long allocatedBytes()
+    {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean)
+        {
+            com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+            if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled())
+            {
+                return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0;
+    }
+
+    private static int[] sizes()
+    {
+        String[] parts = System.getProperty(SIZES_PROPERTY, DEFAULT_SIZES).split(",");
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++)
+        {
+            sizes[i] = Integer.parseInt(parts[i].trim());
+        }
+        return sizes;
+    }
+
+    private static void print(int[] sizes, List<Sample[]> results)
+    {
+        StringBuilder sb = new StringBuilder("Task pack scaling (best time / allocated per op)\n");
+        sb.append(String.format(Locale.ROOT, "%-20s", "operation"));
+        for (int n : sizes)
+        {
+            sb.append(String.format(Locale.ROOT, "%26s", n + " tasks"));
+        }
+        sb.append('\n');
+
+        for (Op op : Op.values())
+        {
+            sb.append(String.format(Locale.ROOT, "%-20s", op.label));
+            for (Sample[] row : results)
+            {
+                Sample s = row[op.ordinal()];
+                sb.append(String.format(Locale.ROOT, "%13.3f ms %9d KB", s.nanos / 1e6, s.bytes / 1024));
+            }
+            sb.append('\n');
+        }
+        System.out.print(sb);
+    }
+}
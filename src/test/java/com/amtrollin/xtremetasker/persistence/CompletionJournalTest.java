@@ -0,0 +1,180 @@
+package com.amtrollin.xtremetasker.persistence;
+
+import com.amtrollin.xtremetasker.models.persistence.PersistedState;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.google.gson.Gson;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompletionJournalTest
+{
+    private static final String BOLT_RACKS = "collection_log_easy_get-bolt-racks-from-barrows_001_0c221876a7";
+    private static final String MOLE_CLAW = "collection_log_easy_get-a-mole-claw-skin_001_79bd65ec5d";
+    private static final String WINTERTODT = "collection_log_easy_get-1-unique-from-wintertodt_001_a723f44ff0";
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private final Gson gson = new Gson();
+    private final PersistedStateCodec codec = new PersistedStateCodec(null);
+
+    @Test
+    public void nothingWrittenLoadsAsNull() throws IOException
+    {
+        CompletionJournal journal = new CompletionJournal(tmp.getRoot().toPath().resolve("1234"), gson, codec);
+        assertFalse(journal.exists());
+        assertNull(journal.load(TaskCatalog.EMPTY));
+    }
+
+    @Test
+    public void replaysTheJournalOverTheSnapshot() throws IOException
+    {
+        Path dir = tmp.getRoot().toPath();
+        CompletionJournal journal = new CompletionJournal(dir, gson, codec);
+        journal.compact(state(Arrays.asList(BOLT_RACKS, MOLE_CLAW), BOLT_RACKS));
+
+        journal.append(CompletionJournal.Op.UNDONE, MOLE_CLAW);
+        journal.append(CompletionJournal.Op.DONE, WINTERTODT);
+        journal.append(CompletionJournal.Op.CURRENT, null);
+        journal.close();
+
+        CompletionJournal reopened = new CompletionJournal(dir, gson, codec);
+        PersistedState loaded = reopened.load(TaskCatalog.EMPTY);
+        assertEquals(new HashSet<>(Arrays.asList(BOLT_RACKS, WINTERTODT)), loaded.getManualCompletedTaskIds());
+        assertNull(loaded.getCurrentTaskId());
+        assertEquals(3, reopened.size());
+    }
+
+    @Test
+    public void aToggleAppendsOneShortLine() throws IOException
+    {
+        Path dir = tmp.getRoot().toPath();
+        CompletionJournal journal = new CompletionJournal(dir, gson, codec);
+        journal.append(CompletionJournal.Op.DONE, BOLT_RACKS);
+        long one = Files.size(dir.resolve(CompletionJournal.JOURNAL_FILE));
+        journal.append(CompletionJournal.Op.UNDONE, BOLT_RACKS);
+        long two = Files.size(dir.resolve(CompletionJournal.JOURNAL_FILE));
+        journal.close();
+
+        assertEquals(one, two - one);
+        assertTrue("bytes per toggle: " + one, one < BOLT_RACKS.length() + 24);
+    }
+
+    @Test
+    public void compactionFoldsTheJournalIntoTheSnapshot() throws IOException
+    {
+        Path dir = tmp.getRoot().toPath();
+        CompletionJournal journal = new CompletionJournal(dir, gson, codec);
+        journal.append(CompletionJournal.Op.DONE, BOLT_RACKS);
+        journal.append(CompletionJournal.Op.CURRENT, MOLE_CLAW);
+
+        PersistedState state = state(Collections.singletonList(BOLT_RACKS), MOLE_CLAW);
+        journal.compact(state);
+        assertEquals(0, journal.size());
+        assertEquals(0, Files.size(dir.resolve(CompletionJournal.JOURNAL_FILE)));
+
+        // Appends after a compaction land in the fresh journal
+        journal.append(CompletionJournal.Op.DONE, WINTERTODT);
+        journal.close();
+
+        PersistedState loaded = new CompletionJournal(dir, gson, codec).load(TaskCatalog.EMPTY);
+        assertEquals(new HashSet<>(Arrays.asList(BOLT_RACKS, WINTERTODT)), loaded.getManualCompletedTaskIds());
+        assertEquals(MOLE_CLAW, loaded.getCurrentTaskId());
+    }
+
+    @Test
+    public void replayingEntriesAlreadyInTheSnapshotIsHarmless() throws IOException
+    {
+        // A crash after the snapshot was replaced but before the journal was emptied
+        Path dir = tmp.getRoot().toPath();
+        CompletionJournal journal = new CompletionJournal(dir, gson, codec);
+        journal.append(CompletionJournal.Op.DONE, BOLT_RACKS);
+        journal.append(CompletionJournal.Op.DONE, MOLE_CLAW);
+        journal.append(CompletionJournal.Op.UNDONE, BOLT_RACKS);
+        journal.close();
+        byte[] log = Files.readAllBytes(dir.resolve(CompletionJournal.JOURNAL_FILE));
+
+        journal.compact(state(Collections.singletonList(MOLE_CLAW), null));
+        Files.write(dir.resolve(CompletionJournal.JOURNAL_FILE), log);
+
+        PersistedState loaded = new CompletionJournal(dir, gson, codec).load(TaskCatalog.EMPTY);
+        assertEquals(Collections.singleton(MOLE_CLAW), loaded.getManualCompletedTaskIds());
+    }
+
+    @Test
+    public void tornLastEntryIsDroppedAndTheNextAppendStartsClean() throws IOException
+    {
+        Path dir = tmp.getRoot().toPath();
+        Path file = dir.resolve(CompletionJournal.JOURNAL_FILE);
+        CompletionJournal journal = new CompletionJournal(dir, gson, codec);
+        journal.append(CompletionJournal.Op.DONE, BOLT_RACKS);
+        journal.close();
+        Files.write(file, "1700000000000\t+\tcollection_log_ea".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        CompletionJournal reopened = new CompletionJournal(dir, gson, codec);
+        assertEquals(Collections.singleton(BOLT_RACKS), reopened.load(TaskCatalog.EMPTY).getManualCompletedTaskIds());
+
+        reopened.append(CompletionJournal.Op.DONE, WINTERTODT);
+        reopened.close();
+
+        PersistedState loaded = new CompletionJournal(dir, gson, codec).load(TaskCatalog.EMPTY);
+        assertEquals(new HashSet<>(Arrays.asList(BOLT_RACKS, WINTERTODT)), loaded.getManualCompletedTaskIds());
+    }
+
+    @Test
+    public void loadedStateIsStampedWithItsNewestChange() throws IOException
+    {
+        Path dir = tmp.getRoot().toPath();
+        CompletionJournal journal = new CompletionJournal(dir, gson, codec);
+        PersistedState snapshot = state(Collections.singletonList(BOLT_RACKS), null);
+        snapshot.setSavedAt(1_000L);
+        journal.compact(snapshot);
+        assertEquals(1_000L, new CompletionJournal(dir, gson, codec).load(TaskCatalog.EMPTY).getSavedAt());
+
+        long before = System.currentTimeMillis();
+        journal.append(CompletionJournal.Op.DONE, MOLE_CLAW);
+        journal.close();
+
+        assertTrue(new CompletionJournal(dir, gson, codec).load(TaskCatalog.EMPTY).getSavedAt() >= before);
+    }
+
+    @Test
+    public void sizeIsReadableWhileTheJournalIsLocked() throws Exception
+    {
+        CompletionJournal journal = new CompletionJournal(tmp.getRoot().toPath(), gson, codec);
+        journal.append(CompletionJournal.Op.DONE, BOLT_RACKS);
+
+        // A long append or compaction on the persistence worker holds the journal's monitor
+        synchronized (journal)
+        {
+            FutureTask<Integer> size = new FutureTask<>(journal::size);
+            Thread poller = new Thread(size);
+            poller.start();
+            assertEquals(Integer.valueOf(1), size.get(5, TimeUnit.SECONDS));
+        }
+        journal.close();
+    }
+
+    private static PersistedState state(List<String> manual, String current)
+    {
+        return new PersistedState(new HashSet<>(manual), new HashSet<>(), current);
+    }
+}
@@ -0,0 +1,262 @@
+package com.amtrollin.xtremetasker.persistence;
+
+import com.amtrollin.xtremetasker.enums.TaskSource;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.models.persistence.PersistedState;
+import com.amtrollin.xtremetasker.models.persistence.UnreadBits;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.amtrollin.xtremetasker.taskpack.TaskPackBinary;
+import com.amtrollin.xtremetasker.taskpack.TaskPackJsonReader;
+import com.google.gson.Gson;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PersistedStateCodecTest
+{
+    private static final String RETIRED = "collection_log_easy_retired-task_001_00000000ff";
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void roundTripsAgainstTheSamePack() throws IOException
+    {
+        TaskCatalog catalog = bundled();
+        BitSet manual = every(catalog, 3, 0);
+        BitSet synced = every(catalog, 7, 1);
+        PersistedStateCodec codec = new PersistedStateCodec(tmp.getRoot().toPath());
+
+        PersistedState encoded = codec.encode(catalog, manual, Collections.singleton(RETIRED), synced, Collections.emptySet(), catalog.get(5).getId());
+        assertEquals(catalog.getContentHash(), encoded.getPackHash());
+        assertEquals(Collections.singleton(RETIRED), encoded.getManualCompletedTaskIds());
+
+        encoded.setSavedAt(1_700_000_000_000L);
+
+        PersistedState decoded = new PersistedStateCodec(null).decode(gson.fromJson(gson.toJson(encoded), PersistedState.class), catalog);
+        Set<String> expectedManual = ids(catalog, manual);
+        expectedManual.add(RETIRED);
+        assertEquals(expectedManual, decoded.getManualCompletedTaskIds());
+        assertEquals(ids(catalog, synced), decoded.getSyncedCompletedTaskIds());
+        assertEquals(catalog.get(5).getId(), decoded.getCurrentTaskId());
+        assertEquals(1_700_000_000_000L, decoded.getSavedAt());
+        assertNull(decoded.getPackHash());
+    }
+
+    @Test
+    public void savedStateIsAnOrderOfMagnitudeSmaller() throws IOException
+    {
+        TaskCatalog catalog = bundled();
+        BitSet manual = every(catalog, 3, 0);
+        BitSet synced = every(catalog, 5, 2);
+        String v1 = gson.toJson(new PersistedState(ids(catalog, manual), ids(catalog, synced), null));
+        String v2 = gson.toJson(new PersistedStateCodec(tmp.getRoot().toPath())
+                .encode(catalog, manual, Collections.emptySet(), synced, Collections.emptySet(), null));
+
+        assertTrue("v1 " + v1.length() + " bytes, v2 " + v2.length() + " bytes", v2.length() * 10 < v1.length());
+    }
+
+    @Test
+    public void versionOneStatesDecodeAsTheyAre()
+    {
+        String v1 = "{\"manualCompletedTaskIds\":[\"a\",\"b\"],\"syncedCompletedTaskIds\":[\"c\"],\"currentTaskId\":\"a\"}";
+        PersistedState decoded = new PersistedStateCodec(null).decode(gson.fromJson(v1, PersistedState.class), TaskCatalog.EMPTY);
+
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), decoded.getManualCompletedTaskIds());
+        assertEquals(Collections.singleton("c"), decoded.getSyncedCompletedTaskIds());
+        assertEquals("a", decoded.getCurrentTaskId());
+    }
+
+    @Test
+    public void bitsFromAnOlderPackAreReadThroughItsArchivedIdList()
+    {
+        Path archive = tmp.getRoot().toPath();
+        TaskCatalog before = catalog(Arrays.asList("a", "b", "c", "d"));
+        TaskCatalog after = catalog(Arrays.asList("e", "d", "b", "a"));
+        assertNotEquals(before.getContentHash(), after.getContentHash());
+
+        BitSet done = new BitSet();
+        done.set(1);
+        done.set(3);
+        PersistedState saved = new PersistedStateCodec(archive).encode(before, done, Collections.emptySet(), new BitSet(), Collections.emptySet(), null);
+
+        PersistedState decoded = new PersistedStateCodec(archive).decode(saved, after);
+        assertEquals(new HashSet<>(Arrays.asList("b", "d")), decoded.getManualCompletedTaskIds());
+    }
+
+    @Test
+    public void packsThatCantBeArchivedAreSavedAsIds() throws IOException
+    {
+        Path blocked = tmp.newFile("not-a-directory").toPath();
+        TaskCatalog catalog = catalog(Arrays.asList("a", "b", "c"));
+        BitSet done = new BitSet();
+        done.set(2);
+
+        PersistedState saved = new PersistedStateCodec(blocked).encode(catalog, done, Collections.emptySet(), new BitSet(), Collections.emptySet(), null);
+        assertNull(saved.getPackHash());
+        assertEquals(Collections.singleton("c"), saved.getManualCompletedTaskIds());
+    }
+
+    @Test
+    public void missingArchiveKeepsTheFallbackIds() throws IOException
+    {
+        PersistedState saved = new PersistedState(new HashSet<>(Collections.singleton(RETIRED)), new HashSet<>(), null);
+        saved.setVersion(PersistedStateCodec.VERSION);
+        saved.setPackHash("00000000000000000000000000000000");
+        saved.setManualCompletedBits(PersistedStateCodec.encodeBits(BitSet.valueOf(new long[]{0xFF})));
+
+        PersistedState decoded = new PersistedStateCodec(tmp.newFolder().toPath()).decode(saved, catalog(Collections.singletonList("a")));
+        assertEquals(Collections.singleton(RETIRED), decoded.getManualCompletedTaskIds());
+        assertEquals(Collections.singletonList(new UnreadBits(saved.getPackHash(), saved.getManualCompletedBits(), null)),
+                decoded.getUnreadBits());
+    }
+
+    @Test
+    public void archiveMissingThenSaveThenReloadKeepsCompletions() throws IOException
+    {
+        Path archive = tmp.newFolder("archive").toPath();
+        TaskCatalog before = catalog(Arrays.asList("a", "b", "c", "d"));
+        TaskCatalog after = catalog(Arrays.asList("e", "d", "b", "a"));
+
+        BitSet done = new BitSet();
+        done.set(1);
+        done.set(3);
+        PersistedState saved = new PersistedStateCodec(archive).encode(before, done, Collections.emptySet(), new BitSet(), Collections.emptySet(), null);
+
+        // Loaded on a machine without the archive, running a newer pack: nothing readable
+        PersistedStateCodec elsewhere = new PersistedStateCodec(tmp.newFolder("elsewhere").toPath());
+        PersistedState loaded = elsewhere.decode(gson.fromJson(gson.toJson(saved), PersistedState.class), after);
+        assertTrue(loaded.getManualCompletedTaskIds().isEmpty());
+
+        // Saved there with one new completion; the old bits go back out as they came in
+        BitSet doneThere = new BitSet();
+        doneThere.set(0);
+        PersistedState resaved = elsewhere.encode(after, doneThere, Collections.emptySet(), new BitSet(), Collections.emptySet(), null,
+                loaded.getUnreadBits());
+
+        PersistedState reloaded = new PersistedStateCodec(archive).decode(gson.fromJson(gson.toJson(resaved), PersistedState.class), after);
+        assertEquals(new HashSet<>(Arrays.asList("b", "d", "e")), reloaded.getManualCompletedTaskIds());
+        assertNull(reloaded.getUnreadBits());
+    }
+
+    @Test
+    public void unreadBitsAreResolvedOnceTheirPackLoads() throws IOException
+    {
+        TaskCatalog pack = catalog(Arrays.asList("a", "b", "c"));
+        BitSet manual = new BitSet();
+        manual.set(2);
+        BitSet synced = new BitSet();
+        synced.set(0);
+        PersistedState saved = new PersistedStateCodec(null).encode(pack, manual, Collections.emptySet(), synced, Collections.emptySet(), null);
+
+        // State read before any pack loaded
+        PersistedStateCodec codec = new PersistedStateCodec(tmp.newFolder().toPath());
+        List<UnreadBits> unread = codec.decode(saved, TaskCatalog.EMPTY).getUnreadBits();
+        assertEquals(1, unread.size());
+
+        Set<String> manualIds = new HashSet<>();
+        Set<String> syncedIds = new HashSet<>();
+        assertEquals(unread, codec.resolve(unread, catalog(Collections.singletonList("z")), manualIds, syncedIds));
+        assertTrue(manualIds.isEmpty());
+
+        assertTrue(codec.resolve(unread, pack, manualIds, syncedIds).isEmpty());
+        assertEquals(Collections.singleton("c"), manualIds);
+        assertEquals(Collections.singleton("a"), syncedIds);
+    }
+
+    @Test
+    public void bitsetEncodingPicksTheShorterForm() throws Exception
+    {
+        BitSet sparse = new BitSet();
+        sparse.set(3);
+        sparse.set(40_000);
+        BitSet dense = new BitSet();
+        for (int i = 0; i < 4096; i++)
+        {
+            if (Long.bitCount(i * 0x9E3779B97F4A7C15L) % 2 == 0)
+            {
+                dense.set(i);
+            }
+        }
+
+        String sparseEncoded = PersistedStateCodec.encodeBits(sparse);
+        assertEquals(PersistedStateCodec.DEFLATED, sparseEncoded.charAt(0));
+        assertEquals(sparse, PersistedStateCodec.decodeBits(sparseEncoded));
+        assertEquals(dense, PersistedStateCodec.decodeBits(PersistedStateCodec.encodeBits(dense)));
+        assertEquals(new BitSet(), PersistedStateCodec.decodeBits(PersistedStateCodec.encodeBits(new BitSet())));
+    }
+
+    @Test
+    public void archiveIsWrittenOncePerPack() throws IOException
+    {
+        Path archive = tmp.getRoot().toPath();
+        TaskCatalog catalog = catalog(Arrays.asList("a", "b"));
+        PersistedStateCodec codec = new PersistedStateCodec(archive);
+        codec.encode(catalog, new BitSet(), Collections.emptySet(), new BitSet(), Collections.emptySet(), null);
+        codec.encode(catalog, new BitSet(), Collections.emptySet(), new BitSet(), Collections.emptySet(), null);
+
+        try (Stream<Path> files = Files.list(archive))
+        {
+            assertEquals(1, files.count());
+        }
+    }
+
+    private static TaskCatalog bundled() throws IOException
+    {
+        try (InputStream in = PersistedStateCodecTest.class.getClassLoader().getResourceAsStream(TaskPackBinary.JSON_RESOURCE))
+        {
+            return TaskCatalog.of(TaskPackJsonReader.read(in));
+        }
+    }
+
+    private static TaskCatalog catalog(List<String> ids)
+    {
+        List<XtremeTask> tasks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++)
+        {
+            tasks.add(new XtremeTask(i, ids.get(i), "Task " + ids.get(i), TaskSource.COLLECTION_LOG, TaskTier.EASY, null, null, null, null, null));
+        }
+        return TaskCatalog.of(tasks);
+    }
+
+    private static BitSet every(TaskCatalog catalog, int step, int offset)
+    {
+        BitSet bits = new BitSet();
+        for (int i = offset; i < catalog.size(); i += step)
+        {
+            bits.set(i);
+        }
+        return bits;
+    }
+
+    private static Set<String> ids(TaskCatalog catalog, BitSet bits)
+    {
+        Set<String> out = new HashSet<>();
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1))
+        {
+            out.add(catalog.get(i).getId());
+        }
+        return out;
+    }
+}
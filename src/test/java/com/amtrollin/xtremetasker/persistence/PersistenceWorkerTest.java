@@ -0,0 +1,145 @@
+package com.amtrollin.xtremetasker.persistence;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PersistenceWorkerTest
+{
+    private final PersistenceWorker worker = new PersistenceWorker();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void tearDown()
+    {
+        release.countDown();
+        worker.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void savesQueuedBehindABusyWorkerCoalesceIntoTheLatest()
+    {
+        worker.start();
+        block();
+
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 5; i++)
+        {
+            int snapshot = i;
+            worker.save("acct", () -> written.add(snapshot));
+        }
+        assertTrue(worker.isSavePending("acct"));
+
+        release.countDown();
+        assertTrue(worker.flush(5, TimeUnit.SECONDS));
+
+        assertEquals(Collections.singletonList(4), written);
+        assertEquals(5, worker.getSaveRequests());
+        assertEquals(1, worker.getWrites());
+        assertFalse(worker.isSavePending("acct"));
+    }
+
+    @Test
+    public void workRunsInSubmissionOrderOffTheCallingThread()
+    {
+        worker.start();
+        List<String> log = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+
+        worker.execute(() -> log.add("append 1"));
+        worker.save("acct", () ->
+        {
+            threads.add(Thread.currentThread());
+            log.add("save");
+        });
+        worker.execute(() -> log.add("append 2"));
+        assertTrue(worker.flush(5, TimeUnit.SECONDS));
+
+        assertEquals(Arrays.asList("append 1", "save", "append 2"), log);
+        assertNotEquals(Thread.currentThread(), threads.get(0));
+    }
+
+    @Test
+    public void savesForDifferentKeysDontReplaceEachOther()
+    {
+        worker.start();
+        block();
+
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        worker.save("a", () -> written.add("a"));
+        worker.save("b", () -> written.add("b"));
+
+        release.countDown();
+        assertTrue(worker.flush(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("a", "b"), written);
+    }
+
+    @Test
+    public void flushGivesUpAfterItsTimeout()
+    {
+        worker.start();
+        block();
+
+        long t0 = System.nanoTime();
+        assertFalse(worker.flush(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - t0 < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    public void shutdownDrainsQueuedSaves()
+    {
+        worker.start();
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        worker.save("acct", () -> written.add("last"));
+
+        assertTrue(worker.shutdown(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("last"), written);
+
+        // Stopped: later work runs on the caller
+        worker.save("acct", () -> written.add(Thread.currentThread().getName()));
+        assertEquals(Thread.currentThread().getName(), written.get(1));
+    }
+
+    @Test
+    public void failedWritesAreCountedAndDontStopTheWorker()
+    {
+        worker.start();
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        worker.save("acct", () ->
+        {
+            throw new IllegalStateException("disk full");
+        });
+        assertTrue(worker.flush(5, TimeUnit.SECONDS));
+        worker.save("acct", () -> written.add("ok"));
+        assertTrue(worker.flush(5, TimeUnit.SECONDS));
+
+        assertEquals(1, worker.getFailures());
+        assertEquals(Collections.singletonList("ok"), written);
+    }
+
+    private void block()
+    {
+        worker.execute(() ->
+        {
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+}
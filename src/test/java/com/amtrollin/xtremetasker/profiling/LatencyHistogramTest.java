@@ -0,0 +1,104 @@
+package com.amtrollin.xtremetasker.profiling;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest
+{
+    @Test
+    public void everyValueLandsInTheBucketThatBoundsIt()
+    {
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++)
+        {
+            long v = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int idx = LatencyHistogram.indexOf(v);
+
+            assertTrue(idx >= 0 && idx < LatencyHistogram.BUCKETS);
+            assertTrue(v + " <= bucket " + idx, v <= LatencyHistogram.upperBound(idx));
+            if (idx > 0)
+            {
+                assertTrue(v + " > bucket " + (idx - 1), v > LatencyHistogram.upperBound(idx - 1));
+            }
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.indexOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentilesAreWithinOneBucketOfTheTrueValue()
+    {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++)
+        {
+            h.record(v * 1_000);
+        }
+
+        assertEquals(10_000, h.count());
+        assertEquals(10_000_000, h.max());
+        assertWithinBucket(5_000_000, h.percentile(0.50));
+        assertWithinBucket(9_900_000, h.percentile(0.99));
+        assertEquals(h.max(), h.percentile(1.0));
+
+        h.reset();
+        assertEquals(0, h.count());
+        assertEquals(0, h.percentile(0.5));
+    }
+
+    @Test
+    public void concurrentRecordingLosesNothing() throws InterruptedException
+    {
+        LatencyHistogram h = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++)
+        {
+            final long base = t;
+            threads[t] = new Thread(() ->
+            {
+                for (int i = 0; i < 50_000; i++)
+                {
+                    h.record(base * 1_000 + i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads)
+        {
+            t.join();
+        }
+
+        assertEquals(200_000, h.count());
+        assertEquals(3_000 + 49_999, h.max());
+    }
+
+    @Test
+    public void disabledProfilerRecordsNothing()
+    {
+        Profiler.setEnabled(false);
+        long t0 = Profiler.start();
+        assertEquals(0L, t0);
+        Profiler.stop(ProfilerSection.PIPELINE, t0);
+        assertEquals(0, Profiler.histogram(ProfilerSection.PIPELINE).count());
+
+        Profiler.setEnabled(true);
+        try
+        {
+            Profiler.stop(ProfilerSection.PIPELINE, Profiler.start());
+            assertEquals(1, Profiler.histogram(ProfilerSection.PIPELINE).count());
+        }
+        finally
+        {
+            Profiler.setEnabled(false);
+            Profiler.reset();
+        }
+    }
+
+    private static void assertWithinBucket(long expected, long actual)
+    {
+        // Four buckets per power of two: a reported value is at most ~25% above the true one
+        assertTrue(expected + " vs " + actual, actual >= expected && actual <= expected + expected / 4);
+    }
+}
@@ -0,0 +1,199 @@
+package com.amtrollin.xtremetasker.tasklist;
+
+import com.amtrollin.xtremetasker.enums.TaskSource;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.amtrollin.xtremetasker.taskpack.TaskPackBinary;
+import com.amtrollin.xtremetasker.taskpack.TaskPackJsonReader;
+import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A single checkbox toggle patches the cached list instead of re-running the pipeline. Every patched
+ * list (and the positions the cache reports for it) must match a fresh {@link TaskListPipeline#apply}.
+ */
+public class TaskListResultCacheTest
+{
+    // Same-named tasks (case aside) only differ by ordinal, which must break the tie
+    private static final TaskCatalog TIES = catalog(
+            "Alpha", "beta", "Alpha", "Gamma", "alpha", "Beta", "delta", "ALPHA", "Gamma", "beta");
+
+    private final BitSet done = new BitSet();
+    private final TaskListFilter.CompletionLookup completed = t -> done.get(t.getOrdinal());
+    private final TaskListResultCache cache = new TaskListResultCache();
+    private int version = 1;
+    private int inputCalls = 0;
+
+    @Test
+    public void tiesAreBrokenByOrdinalUnderCompletionSort()
+    {
+        TaskListQuery q = new TaskListQuery();
+        q.sortByCompletion = true;
+        done.set(4);
+        done.set(5);
+
+        for (int ord : new int[]{2, 0, 7, 2, 4, 9, 1})
+        {
+            assertToggleMatchesFresh(TIES, q, TIES.get(ord), false);
+        }
+    }
+
+    @Test
+    public void completedFirstSortMovesTheToggledTaskToItsGroup()
+    {
+        TaskListQuery q = new TaskListQuery();
+        q.sortByCompletion = true;
+        q.completedFirst = true;
+
+        for (int ord : new int[]{9, 0, 4, 7, 0, 3, 8})
+        {
+            assertToggleMatchesFresh(TIES, q, TIES.get(ord), false);
+        }
+    }
+
+    @Test
+    public void taskLeavesAndReturnsUnderTheIncompleteFilter()
+    {
+        TaskListQuery q = new TaskListQuery();
+        q.statusFilter = TaskListQuery.StatusFilter.INCOMPLETE;
+
+        // Ticked: drops out without consulting the input
+        assertToggleMatchesFresh(TIES, q, TIES.get(2), false);
+        assertToggleMatchesFresh(TIES, q, TIES.get(7), false);
+        // Unticked: comes back, which needs the input to confirm it's in scope
+        assertToggleMatchesFresh(TIES, q, TIES.get(2), true);
+    }
+
+    @Test
+    public void taskJoinsAndLeavesUnderTheCompleteFilter()
+    {
+        TaskListQuery q = new TaskListQuery();
+        q.statusFilter = TaskListQuery.StatusFilter.COMPLETE;
+        done.set(3);
+
+        assertToggleMatchesFresh(TIES, q, TIES.get(0), true);
+        assertToggleMatchesFresh(TIES, q, TIES.get(4), true);
+        assertToggleMatchesFresh(TIES, q, TIES.get(0), false);
+    }
+
+    @Test
+    public void toggleUnderAnActiveSearch()
+    {
+        TaskListQuery q = new TaskListQuery();
+        q.searchText = "alp";
+        q.sortByCompletion = true;
+
+        // In the search results
+        assertToggleMatchesFresh(TIES, q, TIES.get(4), false);
+        assertToggleMatchesFresh(TIES, q, TIES.get(0), false);
+
+        // Outside them: nothing may appear
+        q.statusFilter = TaskListQuery.StatusFilter.INCOMPLETE;
+        assertToggleMatchesFresh(TIES, q, TIES.get(3), false);
+        assertToggleMatchesFresh(TIES, q, TIES.get(3), false);
+    }
+
+    @Test
+    public void randomTogglesOnTheBundledPackMatchFreshRuns() throws IOException
+    {
+        TaskCatalog catalog;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(TaskPackBinary.JSON_RESOURCE))
+        {
+            catalog = TaskCatalog.of(TaskPackJsonReader.read(in));
+        }
+
+        Random random = new Random(7);
+        List<XtremeTask> tasks = catalog.getTieredTasks();
+        for (int mode = 0; mode < 24; mode++)
+        {
+            TaskListQuery q = new TaskListQuery();
+            q.sortByCompletion = (mode & 1) != 0;
+            q.completedFirst = (mode & 2) != 0;
+            q.tierScope = (mode & 4) != 0 ? TaskListQuery.TierScope.ALL_TIERS : TaskListQuery.TierScope.THIS_TIER;
+            q.sortByTier = q.tierScope == TaskListQuery.TierScope.ALL_TIERS;
+            q.statusFilter = TaskListQuery.StatusFilter.values()[(mode >> 3) % 3];
+            if (q.statusFilter == TaskListQuery.StatusFilter.ALL && !q.sortByCompletion)
+            {
+                // Completion doesn't affect that list, so there's nothing to patch
+                continue;
+            }
+
+            cache.invalidate();
+            for (int i = 0; i < 40; i++)
+            {
+                assertToggle(catalog, q, tasks.get(random.nextInt(tasks.size())));
+            }
+        }
+    }
+
+    /**
+     * @param needsInput whether the patch may consult the scoped input (only a task becoming visible
+     *                   does); a fallback to a full run would consult it too, so this also checks the
+     *                   patch path was taken
+     */
+    private void assertToggleMatchesFresh(TaskCatalog catalog, TaskListQuery q, XtremeTask task, boolean needsInput)
+    {
+        assertEquals("input consulted for " + task.getName(), needsInput, assertToggle(catalog, q, task) > 0);
+    }
+
+    /**
+     * Toggles {@code task} and checks the patched list and positions against a fresh pipeline run.
+     *
+     * @return how often the patch consulted the scoped input
+     */
+    private int assertToggle(TaskCatalog catalog, TaskListQuery q, XtremeTask task)
+    {
+        TaskTier tier = task.getTier();
+        List<XtremeTask> scope = (q.tierScope == TaskListQuery.TierScope.ALL_TIERS) ? catalog.getTieredTasks() : catalog.getTasksForTier(tier);
+        Supplier<List<XtremeTask>> input = () ->
+        {
+            inputCalls++;
+            return scope;
+        };
+
+        // Settle the cache at the current version, then toggle and patch
+        get(catalog, q, tier, input, null);
+
+        done.flip(task.getOrdinal());
+        version++;
+        int before = inputCalls;
+        List<XtremeTask> patched = get(catalog, q, tier, input, task);
+        int calls = inputCalls - before;
+
+        List<XtremeTask> fresh = TaskListPipeline.apply(scope, q, completed, catalog.getSearchIndex(), null, catalog.getNameRanks());
+        assertEquals("after toggling " + task.getName(), fresh, patched);
+
+        for (int i = 0; i < fresh.size(); i++)
+        {
+            assertEquals(fresh.get(i).getName(), i, cache.positionOf(fresh.get(i)));
+        }
+        assertEquals(fresh.indexOf(task), cache.positionOf(task));
+        return calls;
+    }
+
+    private List<XtremeTask> get(TaskCatalog catalog, TaskListQuery q, TaskTier tier, Supplier<List<XtremeTask>> input, XtremeTask changed)
+    {
+        return new ArrayList<>(cache.get(input, q, tier, 1, version, completed, catalog.getSearchIndex(), catalog.getNameRanks(), changed));
+    }
+
+    private static TaskCatalog catalog(String... names)
+    {
+        List<XtremeTask> tasks = new ArrayList<>();
+        for (int i = 0; i < names.length; i++)
+        {
+            tasks.add(new XtremeTask(i, "task_" + i, names[i], TaskSource.COLLECTION_LOG, TaskTier.EASY, null, null, null, null, null));
+        }
+        return TaskCatalog.of(tasks);
+    }
+}
@@ -0,0 +1,68 @@
+package com.amtrollin.xtremetasker.tasklist;
+
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.amtrollin.xtremetasker.taskpack.TaskPackBinary;
+import com.amtrollin.xtremetasker.taskpack.TaskPackJsonReader;
+import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class TaskListSorterTest
+{
+    @Test
+    public void radixSortMatchesComparatorInEveryMode() throws IOException
+    {
+        TaskCatalog catalog;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(TaskPackBinary.JSON_RESOURCE))
+        {
+            catalog = TaskCatalog.of(TaskPackJsonReader.read(in));
+        }
+
+        Random random = new Random(42);
+        Set<XtremeTask> done = new HashSet<>();
+        for (XtremeTask t : catalog.getTasks())
+        {
+            if (random.nextInt(3) == 0)
+            {
+                done.add(t);
+            }
+        }
+        TaskListFilter.CompletionLookup completed = done::contains;
+
+        // Shuffled input too, so stability on ties is exercised from a non-ordinal order
+        List<XtremeTask> shuffled = new ArrayList<>(catalog.getTieredTasks());
+        Collections.shuffle(shuffled, random);
+
+        for (List<XtremeTask> input : List.of(catalog.getTieredTasks(), shuffled))
+        {
+            for (int mode = 0; mode < 32; mode++)
+            {
+                TaskListQuery q = new TaskListQuery();
+                q.sortByCompletion = (mode & 1) != 0;
+                q.completedFirst = (mode & 2) != 0;
+                q.sortByTier = (mode & 4) != 0;
+                q.easyTierFirst = (mode & 8) != 0;
+                q.tierScope = (mode & 16) != 0 ? TaskListQuery.TierScope.ALL_TIERS : TaskListQuery.TierScope.THIS_TIER;
+
+                List<XtremeTask> expected = new ArrayList<>(input);
+                expected.sort(TaskListSorter.comparator(q, completed));
+
+                List<XtremeTask> actual = new ArrayList<>(input);
+                TaskListSorter.sort(actual, q, completed, catalog.getNameRanks());
+
+                assertEquals("mode " + mode, expected, actual);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.amtrollin.xtremetasker.tasklist;
+
+import com.amtrollin.xtremetasker.enums.TaskSource;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.amtrollin.xtremetasker.taskpack.TaskPackBinary;
+import com.amtrollin.xtremetasker.taskpack.TaskPackJsonReader;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The inverted index answers keyword search with the same AND-of-prefix rules as the per-task
+ * token scan ({@link TaskListPipeline#matchesKeywordSearch}) it replaced.
+ */
+public class TaskSearchIndexTest
+{
+    private static final List<XtremeTask> TASKS = Arrays.asList(
+            task(0, "dragon_slayer", "Dragon Slayer I", "Complete the Dragon Slayer quest.", null),
+            task(1, "kill_vorkath", "Kill Vorkath", "Defeat Vorkath on Ungael.", "Dragon Slayer II"),
+            task(2, "rune_defender", "Obtain a Rune Defender", "Earned in the Warriors' Guild.", "Level 130 combined Attack/Strength"),
+            task(3, "barrows_gloves", "Barrows Gloves", "Buy them from the Culinaromancer's Chest.", "Recipe for Disaster"),
+            task(4, "fire_cape", "Fire Cape", "Beat the TzHaar Fight Cave.", null),
+            task(5, "dragon_defender", "Dragon Defender", "Drops from dragons in the Warriors' Guild basement.", "Rune Defender")
+    );
+
+    private static final String[] ALL = {"dragon_slayer", "kill_vorkath", "rune_defender", "barrows_gloves", "fire_cape", "dragon_defender"};
+
+    private final TaskSearchIndex index = TaskSearchIndex.build(TASKS);
+
+    @Test
+    public void singleTermsMatchByPrefix()
+    {
+        assertSearch("dragon", "dragon_slayer", "kill_vorkath", "dragon_defender");
+        assertSearch("drag", "dragon_slayer", "kill_vorkath", "dragon_defender");
+        assertSearch("dragons", "dragon_defender");
+        assertSearch("130", "rune_defender");
+        assertSearch("ungael", "kill_vorkath");
+        assertSearch("xyz");
+    }
+
+    @Test
+    public void everyTermMustMatchSomewhere()
+    {
+        assertSearch("dragon slayer", "dragon_slayer", "kill_vorkath");
+        assertSearch("rune defender", "rune_defender", "dragon_defender");
+        // "def" also prefixes "defeat" in Vorkath's description
+        assertSearch("dragon def", "kill_vorkath", "dragon_defender");
+        assertSearch("dragon defender", "dragon_defender");
+        assertSearch("vorkath ungael", "kill_vorkath");
+        assertSearch("cape fire", "fire_cape");
+        assertSearch("vorkath fire");
+    }
+
+    @Test
+    public void caseAndPunctuationAreIgnored()
+    {
+        assertSearch("DRAGON Slayer", "dragon_slayer", "kill_vorkath");
+        assertSearch("  Fire--CAPE!! ", "fire_cape");
+        assertSearch("warriors' guild", "rune_defender", "dragon_defender");
+        assertSearch("attack/strength", "rune_defender");
+        assertSearch("culinaromancer's chest", "barrows_gloves");
+    }
+
+    @Test
+    public void shortTermsAndStopwordsDoNotConstrain()
+    {
+        assertSearch("", ALL);
+        assertSearch("dr", ALL);
+        assertSearch("of", ALL);
+        assertSearch("the cape", "fire_cape");
+        assertSearch("dr vork", "kill_vorkath");
+        // "ii" is a token but too short to search by
+        assertSearch("slayer ii", "dragon_slayer", "kill_vorkath");
+    }
+
+    @Test
+    public void bundledPackMatchesTheTokenScan() throws IOException
+    {
+        TaskCatalog catalog;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(TaskPackBinary.JSON_RESOURCE))
+        {
+            catalog = TaskCatalog.of(TaskPackJsonReader.read(in));
+        }
+        List<XtremeTask> tasks = catalog.getTieredTasks();
+        TaskSearchIndex bundled = TaskSearchIndex.build(tasks);
+
+        String[] queries = {"dragon", "kill", "kill drag", "complete quest", "obtain pet", "barrows", "rune def",
+                "clue", "combat achievement", "zul", "vorkath", "the", "a b", "slayer level", "xyzzy", "99"};
+        for (String q : queries)
+        {
+            assertEquals(q, scan(tasks, q), ids(bundled, tasks, q));
+        }
+    }
+
+    private void assertSearch(String query, String... expectedIds)
+    {
+        Set<String> expected = new TreeSet<>(Arrays.asList(expectedIds));
+        assertEquals(query, expected, ids(index, TASKS, query));
+        assertEquals(query + " (token scan)", expected, scan(TASKS, query));
+    }
+
+    /**
+     * What the index answers for {@code query}, with "no constraint" expanded to every task.
+     */
+    private static Set<String> ids(TaskSearchIndex index, List<XtremeTask> tasks, String query)
+    {
+        BitSet hits = index.match(TaskListPipeline.searchTerms(query));
+        Set<String> out = new TreeSet<>();
+        for (XtremeTask t : tasks)
+        {
+            if (hits == null || hits.get(index.indexOf(t)))
+            {
+                out.add(t.getId());
+            }
+        }
+        return out;
+    }
+
+    private static Set<String> scan(List<XtremeTask> tasks, String query)
+    {
+        List<String> terms = TaskListPipeline.searchTerms(query);
+        Set<String> out = new TreeSet<>();
+        for (XtremeTask t : tasks)
+        {
+            if (TaskListPipeline.matchesKeywordSearch(terms, t))
+            {
+                out.add(t.getId());
+            }
+        }
+        return out;
+    }
+
+    private static XtremeTask task(int ordinal, String id, String name, String description, String prereqs)
+    {
+        return new XtremeTask(ordinal, id, name, TaskSource.COLLECTION_LOG, TaskTier.EASY, null, null, description, prereqs, null);
+    }
+}
@@ -0,0 +1,269 @@
+package com.amtrollin.xtremetasker.tasklist;
+
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.amtrollin.xtremetasker.taskpack.TaskPackBinary;
+import com.amtrollin.xtremetasker.taskpack.TaskPackJsonReader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Whatever the refiner serves from its stack (a refined ancestor, a cached entry, or a fresh query
+ * after its stack was dropped) must equal an unrefined {@link TaskSearchIndex#match} of the same terms.
+ */
+public class TaskSearchRefinerTest
+{
+    private TaskCatalog catalog;
+    private TaskSearchIndex index;
+    private final TaskSearchRefiner refiner = new TaskSearchRefiner();
+
+    @Before
+    public void setUp() throws IOException
+    {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(TaskPackBinary.JSON_RESOURCE))
+        {
+            catalog = TaskCatalog.of(TaskPackJsonReader.read(in));
+        }
+        index = catalog.getSearchIndex();
+    }
+
+    @Test
+    public void typingAndBackspacingMatchUnrefinedQueries()
+    {
+        type("kill dragon slayer");
+        backspace("kill dragon slayer");
+        type("complete the vorkath");
+        backspace("complete the vorkath");
+    }
+
+    @Test
+    public void backspacePopsBackToTheCachedAncestor()
+    {
+        BitSet drag = assertMatches("drag");
+        BitSet dragSla = assertMatches("drag sla");
+        assertMatches("drag slayer");
+
+        // Both are still on the stack, so they come back as-is rather than being recomputed
+        assertSame(dragSla, assertMatches("drag sla"));
+        assertSame(drag, assertMatches("drag"));
+    }
+
+    @Test
+    public void newTermAndLongerLastPrefixAreBothRefinements()
+    {
+        assertMatches("dra");
+        // A new term narrows the same survivors...
+        assertMatches("dra sla");
+        // ...and so does growing the first term instead, which drops the two-term entry
+        assertMatches("drag");
+        assertMatches("dragon sla");
+        assertMatches("dragon slay");
+        // Growing an earlier term while a later one exists isn't a refinement of the top entry
+        assertMatches("dragons slay");
+        assertMatches("dragon slay");
+    }
+
+    @Test
+    public void replacedTermsAreNotRefinedFromTheOldQuery()
+    {
+        assertMatches("vork");
+        assertMatches("vorkath");
+        assertMatches("vorl");
+        assertMatches("slay dragon");
+        assertMatches("dragon slay");
+        assertMatches("dragon");
+        assertMatches("zulrah");
+        assertMatches("zul dragon");
+    }
+
+    @Test
+    public void termsUnderThreeCharactersDoNotConstrain()
+    {
+        assertNull(assertMatches("d"));
+        assertNull(assertMatches("dr"));
+        assertMatches("dra");
+        assertMatches("dra s");
+        assertMatches("dra sl");
+        assertMatches("dra sla");
+        assertMatches("dr sla");
+        assertMatches("a sla");
+        assertNull(assertMatches("a"));
+        assertNull(assertMatches("of an it"));
+        assertMatches("of an item");
+    }
+
+    @Test
+    public void growthPastMaxDepthEvictsTheOldestEntries()
+    {
+        List<List<String>> steps = growthSteps(longestTask());
+        int n = steps.size();
+        assertTrue("need more steps than the stack holds, got " + n, n > TaskSearchRefiner.MAX_DEPTH);
+
+        BitSet[] results = new BitSet[n];
+        for (int i = 0; i < n; i++)
+        {
+            results[i] = assertMatches(steps.get(i));
+        }
+
+        // Shrinking back: the newest MAX_DEPTH entries are still cached, anything older was evicted
+        // and has to be answered from the index again, with the same result
+        int oldestKept = n - TaskSearchRefiner.MAX_DEPTH;
+        for (int i = n - 1; i >= 0; i--)
+        {
+            BitSet again = assertMatches(steps.get(i));
+            if (i >= oldestKept)
+            {
+                assertSame("step " + i, results[i], again);
+            }
+            else
+            {
+                assertNotSame("step " + i, results[i], again);
+            }
+        }
+    }
+
+    @Test
+    public void switchingIndexesDropsTheStack()
+    {
+        assertMatches("drag");
+
+        TaskSearchIndex other = TaskSearchIndex.build(catalog.getTieredTasks().subList(0, 50));
+        List<String> terms = TaskListPipeline.searchTerms("drago");
+        assertEquals(other.match(terms), refiner.match(other, terms));
+
+        terms = TaskListPipeline.searchTerms("dragon");
+        assertEquals(index.match(terms), refiner.match(index, terms));
+    }
+
+    @Test
+    public void randomEditsMatchUnrefinedQueries()
+    {
+        String[] words = {"kill", "dragon", "slayer", "vorkath", "complete", "obtain", "quest", "barrows",
+                "the", "of", "a", "zulrah", "rune", "defender", "clue", "pet", "combat"};
+        Random random = new Random(11);
+        StringBuilder text = new StringBuilder();
+
+        for (int step = 0; step < 4_000; step++)
+        {
+            int edit = random.nextInt(10);
+            if (edit < 5 && text.length() < 40)
+            {
+                // Type the next character of a word, or start a new one
+                String word = words[random.nextInt(words.length)];
+                int lastSpace = text.lastIndexOf(" ");
+                String current = text.substring(lastSpace + 1);
+                if (!current.isEmpty() && word.startsWith(current) && word.length() > current.length())
+                {
+                    text.append(word.charAt(current.length()));
+                }
+                else if (text.length() > 0 && random.nextBoolean())
+                {
+                    text.append(' ').append(word.charAt(0));
+                }
+                else
+                {
+                    text.append(word.charAt(0));
+                }
+            }
+            else if (edit < 8 && text.length() > 0)
+            {
+                text.setLength(text.length() - 1);
+            }
+            else if (edit < 9)
+            {
+                // Replace one word with another
+                String[] parts = text.toString().split(" ");
+                parts[random.nextInt(parts.length)] = words[random.nextInt(words.length)];
+                text.setLength(0);
+                text.append(String.join(" ", parts));
+            }
+            else
+            {
+                text.setLength(0);
+            }
+
+            assertMatches(text.toString());
+        }
+    }
+
+    private void type(String text)
+    {
+        for (int i = 1; i <= text.length(); i++)
+        {
+            assertMatches(text.substring(0, i));
+        }
+    }
+
+    private void backspace(String text)
+    {
+        for (int i = text.length(); i >= 0; i--)
+        {
+            assertMatches(text.substring(0, i));
+        }
+    }
+
+    private BitSet assertMatches(String query)
+    {
+        return assertMatches(TaskListPipeline.searchTerms(query));
+    }
+
+    private BitSet assertMatches(List<String> terms)
+    {
+        BitSet refined = refiner.match(index, terms);
+        assertEquals(terms.toString(), index.match(terms), refined);
+        return refined;
+    }
+
+    /**
+     * Typing the task's own searchable words one character at a time, as distinct term lists, each
+     * one a refinement of the last.
+     */
+    private static List<List<String>> growthSteps(XtremeTask task)
+    {
+        List<List<String>> steps = new ArrayList<>();
+        List<String> typed = new ArrayList<>();
+        for (String token : TaskListPipeline.taskTokens(task))
+        {
+            for (int len = 3; len <= token.length(); len++)
+            {
+                List<String> step = new ArrayList<>(typed);
+                step.add(token.substring(0, len));
+                steps.add(step);
+            }
+            if (token.length() >= 3)
+            {
+                typed.add(token);
+            }
+        }
+        return steps;
+    }
+
+    private XtremeTask longestTask()
+    {
+        XtremeTask longest = null;
+        int most = -1;
+        for (XtremeTask t : catalog.getTieredTasks())
+        {
+            int steps = growthSteps(t).size();
+            if (steps > most)
+            {
+                most = steps;
+                longest = t;
+            }
+        }
+        return longest;
+    }
+}
@@ -0,0 +1,317 @@
+package com.amtrollin.xtremetasker.taskpack;
+
+import com.amtrollin.xtremetasker.enums.TaskSource;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Writes tasks.json-shaped packs of any size for scaling tests, the same bytes for the same
+ * (count, seed).
+ * <p>
+ * Shapes follow the bundled pack: about 40% combat achievements (short titles plus a ~30 word
+ * description) and 60% collection log tasks ("Get ... from ..."), tiers weighted like the bundled
+ * pack, a third of prereqs "None" and the rest drawn from a shared pool of quest/skill lists.
+ * Words are picked with a Zipf skew, so a few terms are very common (the way "kill" and "get" are)
+ * and names repeat across tasks.
+ * <p>
+ * Run {@link #main} to write a pack to disk: {@code <count> [seed] [out]}.
+ */
+public final class SyntheticTaskPack
+{
+    public static final long DEFAULT_SEED = 0x5EEDL;
+
+    private static final String WIKI = "https://oldschool.runescape.wiki/w/";
+
+    // Bundled pack: 213 / 251 / 310 / 376 / 434 tasks, no grandmaster
+    private static final TaskTier[] TIERS = {TaskTier.EASY, TaskTier.MEDIUM, TaskTier.HARD, TaskTier.ELITE, TaskTier.MASTER};
+    private static final double[] TIER_WEIGHTS = {213, 251, 310, 376, 434};
+
+    private static final double COMBAT_SHARE = 625.0 / 1584.0;
+    private static final double NO_PREREQ_SHARE = 557.0 / 1584.0;
+
+    private static final String[] CA_VERBS = {
+            "kill", "defeat", "complete", "finish", "survive", "avoid", "slay", "hunt", "outlast", "damage"
+    };
+    private static final String[] CL_VERBS = {"Get", "Obtain", "Collect", "Receive"};
+    private static final String[] COUNTS = {
+            "a", "1", "5", "10", "2", "3", "25", "50", "100", "an"
+    };
+    private static final String[] TARGETS = {
+            "boss", "Vorkath", "Zulrah", "Barrows", "Jad", "Wintertodt", "Tempoross", "Scurrius", "Vardorvis",
+            "Leviathan", "Duke Sucellus", "Whisperer", "Sarachnis", "Kraken", "Cerberus", "Hydra", "Nex",
+            "Corporeal Beast", "Zalcano", "Gauntlet", "Nightmare", "Araxxor", "Hueycoatl", "Amoxliatl",
+            "Colosseum", "Inferno", "Theatre of Blood", "Chambers of Xeric", "Tombs of Amascut", "Mimic",
+            "Obor", "Bryophyta", "Skotizo", "Kalphite Queen", "Giant Mole", "Dagannoth Kings", "Phantom Muspah"
+    };
+    private static final String[] ITEMS = {
+            "unique", "pet", "log slot", "clue", "casket", "key", "shard", "ring", "staff", "shield", "helm",
+            "claw", "hide", "tome", "crossbow", "bow", "sceptre", "crystal", "seed", "jar", "fang", "scale",
+            "visage", "head", "ancient relic", "trophy", "cape", "boots", "gloves", "amulet", "outfit piece"
+    };
+    private static final String[] ADJECTIVES = {
+            "Perfect", "Speedy", "Flawless", "Fearless", "Ancient", "Master", "Grand", "Royal", "Dark",
+            "Frozen", "Burning", "Silent", "Hidden", "Lucky", "Heavy", "Swift", "Cursed", "Shattered"
+    };
+    private static final String[] NOUNS = {
+            "Runner", "Hunter", "Champion", "Survivor", "Slayer", "Conqueror", "Novice", "Adept", "Veteran",
+            "Challenger", "Duelist", "Punching Bag", "Tank", "Specialist", "Collector", "Finisher"
+    };
+    private static final String[] FILLER = {
+            "the", "player", "to", "a", "of", "in", "is", "which", "requires", "kill", "without", "taking",
+            "damage", "within", "using", "only", "any", "can", "be", "used", "boosts", "level", "required",
+            "task", "count", "towards", "this", "while", "melee", "magic", "ranged", "prayer", "attack",
+            "special", "phase", "minutes", "seconds", "once", "times", "team", "solo", "mode", "hard", "entry",
+            "completion", "quest", "area", "enter", "access", "drop", "rate", "invocation", "hit", "points"
+    };
+    private static final String[] QUESTS = {
+            "Priest in Peril", "Desert Treasure 2", "Song of the Elves", "Children of the Sun",
+            "Beneath Cursed Sands", "Perilous Moons", "A Kingdom Divided", "The Final Dawn", "Dragon Slayer II",
+            "Monkey Madness II", "Sins of the Father", "While Guthix Sleeps"
+    };
+    private static final String[] SKILLS = {
+            "Slayer", "Agility", "Construction", "Farming", "Herblore", "Hunter", "Mining", "Smithing",
+            "Woodcutting", "Thieving", "Firemaking", "Crafting", "Magic", "Runecraft", "Fishing", "Fletching"
+    };
+
+    private final Random random;
+    private final String[] prereqPool;
+
+    private final double[] verbCdf = zipf(CA_VERBS.length);
+    private final double[] clVerbCdf = zipf(CL_VERBS.length);
+    private final double[] countCdf = zipf(COUNTS.length);
+    private final double[] targetCdf = zipf(TARGETS.length);
+    private final double[] itemCdf = zipf(ITEMS.length);
+    private final double[] adjectiveCdf = zipf(ADJECTIVES.length);
+    private final double[] nounCdf = zipf(NOUNS.length);
+    private final double[] fillerCdf = zipf(FILLER.length);
+    private final double[] prereqCdf;
+    private final double[] tierCdf = cumulative(TIER_WEIGHTS);
+
+    private SyntheticTaskPack(int count, long seed)
+    {
+        this.random = new Random(seed);
+
+        // Bundled pack has ~1 distinct prereq string per 25 tasks; bigger packs reuse a capped pool
+        int pool = Math.max(16, Math.min(4096, count / 25));
+        this.prereqPool = new String[pool];
+        for (int i = 0; i < pool; i++)
+        {
+            prereqPool[i] = prereqs();
+        }
+        this.prereqCdf = zipf(pool);
+    }
+
+    /**
+     * Writes a pack of {@code count} tasks as tasks.json. Streams, so a 1M pack doesn't need to fit
+     * in memory as a String.
+     */
+    public static void write(int count, long seed, Writer out) throws IOException
+    {
+        SyntheticTaskPack gen = new SyntheticTaskPack(count, seed);
+
+        JsonWriter json = new JsonWriter(out);
+        json.setIndent("  ");
+        json.beginObject();
+        json.name("version").value(1);
+        json.name("tasks").beginArray();
+        for (int i = 0; i < count; i++)
+        {
+            gen.writeTask(json, i);
+        }
+        json.endArray();
+        json.endObject();
+        json.flush();
+    }
+
+    /**
+     * Writes a pack to {@code file} and returns it.
+     */
+    public static Path write(int count, long seed, Path file) throws IOException
+    {
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), 1 << 16))
+        {
+            write(count, seed, out);
+        }
+        return file;
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            System.err.println("usage: SyntheticTaskPack <count> [seed] [out.json]");
+            System.exit(2);
+        }
+
+        int count = Integer.parseInt(args[0]);
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        Path out = Paths.get((args.length > 2) ? args[2] : "tasks-" + count + ".json");
+        write(count, seed, out);
+        System.out.println("Wrote " + count + " tasks to " + out.toAbsolutePath());
+    }
+
+    private void writeTask(JsonWriter json, int index) throws IOException
+    {
+        boolean combat = random.nextDouble() < COMBAT_SHARE;
+        TaskSource source = combat ? TaskSource.COMBAT_ACHIEVEMENT : TaskSource.COLLECTION_LOG;
+        TaskTier tier = TIERS[pick(tierCdf)];
+        String target = TARGETS[pick(targetCdf)];
+
+        String name = combat ? combatTitle(target) : collectionName(target);
+
+        json.beginObject();
+        json.name("id").value(id(source, tier, name, index));
+        json.name("name").value(name);
+        json.name("source").value(source.name());
+        json.name("tier").value(tier.name());
+        if (combat)
+        {
+            json.name("description").value(description(name, tier, target));
+        }
+        json.name("prereqs").value(random.nextDouble() < NO_PREREQ_SHARE ? "None" : prereqPool[pick(prereqCdf)]);
+        json.name("wikiTitle").value(target);
+        json.name("wikiUrl").value(WIKI + target.replace(' ', '_'));
+        json.endObject();
+    }
+
+    private String combatTitle(String target)
+    {
+        switch (random.nextInt(3))
+        {
+            case 0:
+                return target + " " + NOUNS[pick(nounCdf)];
+            case 1:
+                return ADJECTIVES[pick(adjectiveCdf)] + " " + NOUNS[pick(nounCdf)];
+            default:
+                return ADJECTIVES[pick(adjectiveCdf)] + " " + target + " " + NOUNS[pick(nounCdf)];
+        }
+    }
+
+    private String collectionName(String target)
+    {
+        String count = COUNTS[pick(countCdf)];
+        String item = ITEMS[pick(itemCdf)];
+        boolean plural = !"a".equals(count) && !"an".equals(count) && !"1".equals(count);
+        return CL_VERBS[pick(clVerbCdf)] + " " + count + " " + item + (plural ? "s" : "") + " from " + target;
+    }
+
+    private String description(String name, TaskTier tier, String target)
+    {
+        String tierName = tier.name().toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(220);
+        sb.append(name).append("aeiou".indexOf(tierName.charAt(0)) >= 0 ? " is an " : " is a ").append(tierName)
+                .append(" combat achievement which requires the player to ")
+                .append(CA_VERBS[pick(verbCdf)]).append(' ').append(target);
+
+        // ~30 words in total, split over one or two sentences like the bundled copy
+        int words = 12 + random.nextInt(24);
+        for (int w = 0; w < words; w++)
+        {
+            if (w == words / 2 && random.nextBoolean())
+            {
+                sb.append(".\n").append(capitalize(FILLER[pick(fillerCdf)]));
+                continue;
+            }
+            sb.append(' ').append(FILLER[pick(fillerCdf)]);
+        }
+        return sb.append('.').toString();
+    }
+
+    private String prereqs()
+    {
+        StringBuilder sb = new StringBuilder(96);
+        if (random.nextInt(3) > 0)
+        {
+            sb.append(QUESTS[random.nextInt(QUESTS.length)]).append(" quest");
+        }
+
+        int skills = random.nextInt(9);
+        int level = 90;
+        for (int s = 0; s < skills; s++)
+        {
+            if (sb.length() > 0)
+            {
+                sb.append("; ");
+            }
+            level = Math.max(10, level - random.nextInt(15));
+            sb.append(level).append(' ').append(SKILLS[random.nextInt(SKILLS.length)]);
+        }
+        return (sb.length() == 0) ? "75 Slayer" : sb.toString();
+    }
+
+    // Same layout as the bundled ids: <source>_<tier>_<slug>_<nnn>_<10 hex>
+    private static String id(TaskSource source, TaskTier tier, String name, int index)
+    {
+        StringBuilder sb = new StringBuilder(80);
+        sb.append(source.name().toLowerCase(Locale.ROOT)).append('_')
+                .append(tier.name().toLowerCase(Locale.ROOT)).append('_');
+
+        boolean dash = false;
+        int slugStart = sb.length();
+        for (int i = 0; i < name.length() && sb.length() - slugStart < 48; i++)
+        {
+            char c = Character.toLowerCase(name.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))
+            {
+                sb.append(c);
+                dash = false;
+            }
+            else if (!dash)
+            {
+                sb.append('-');
+                dash = true;
+            }
+        }
+
+        // The index makes ids unique; the mix just makes them look like the bundled hashes
+        long mixed = (index * 0x9E3779B97F4A7C15L) >>> 24;
+        String hex = Long.toHexString(mixed | (1L << 40)).substring(1);
+        return sb.append("_001_").append(hex).append(Integer.toHexString(index)).toString();
+    }
+
+    private int pick(double[] cdf)
+    {
+        int i = Arrays.binarySearch(cdf, random.nextDouble() * cdf[cdf.length - 1]);
+        return Math.min(cdf.length - 1, (i >= 0) ? i : -i - 1);
+    }
+
+    // Cumulative Zipf weights (s = 1.1) for ranks 1..n
+    private static double[] zipf(int n)
+    {
+        double[] w = new double[n];
+        for (int k = 0; k < n; k++)
+        {
+            w[k] = 1.0 / Math.pow(k + 1, 1.1);
+        }
+        return cumulative(w);
+    }
+
+    private static double[] cumulative(double[] weights)
+    {
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++)
+        {
+            sum += weights[i];
+            cdf[i] = sum;
+        }
+        return cdf;
+    }
+
+    private static String capitalize(String s)
+    {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+}
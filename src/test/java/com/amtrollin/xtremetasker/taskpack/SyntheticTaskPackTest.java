@@ -0,0 +1,37 @@
+package com.amtrollin.xtremetasker.taskpack;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class SyntheticTaskPackTest
+{
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void generatorIsDeterministic() throws Exception
+    {
+        Path a = SyntheticTaskPack.write(2000, 7L, tmp.newFile("a.json").toPath());
+        Path b = SyntheticTaskPack.write(2000, 7L, tmp.newFile("b.json").toPath());
+        Path c = SyntheticTaskPack.write(2000, 8L, tmp.newFile("c.json").toPath());
+
+        assertArrayEquals(Files.readAllBytes(a), Files.readAllBytes(b));
+        assertFalse(Arrays.equals(Files.readAllBytes(a), Files.readAllBytes(c)));
+
+        // Every generated id is unique, so nothing is dropped as a duplicate on load
+        try (InputStream in = Files.newInputStream(a))
+        {
+            assertEquals(2000, TaskPackJsonReader.read(in).size());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.amtrollin.xtremetasker.taskpack;
+
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.tasklist.TaskSearchIndex;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TaskPackBinaryTest
+{
+    @Test
+    public void binaryAndJsonLoadersProduceIdenticalCatalogs() throws IOException
+    {
+        byte[] json = bundledJson();
+
+        TaskCatalog fromJson = TaskPackLoader.loadJson(getClass().getClassLoader());
+        TaskCatalog fromBinary = TaskPackBinary.read(ByteBuffer.wrap(TaskPackCompiler.compile(json)));
+
+        assertTrue(fromJson.size() > 0);
+        assertEquals(fromJson.size(), fromBinary.size());
+
+        for (int i = 0; i < fromJson.size(); i++)
+        {
+            XtremeTask a = fromJson.get(i);
+            XtremeTask b = fromBinary.get(i);
+
+            assertEquals(i, b.getOrdinal());
+            assertEquals(a.getId(), b.getId());
+            assertEquals(a.getName(), b.getName());
+            assertEquals(a.getSource(), b.getSource());
+            assertEquals(a.getTier(), b.getTier());
+            assertEquals(a.getIconItemId(), b.getIconItemId());
+            assertEquals(a.getIconKey(), b.getIconKey());
+            assertEquals(a.getDescription(), b.getDescription());
+            assertEquals(a.getPrereqs(), b.getPrereqs());
+            assertEquals(a.getWikiUrl(), b.getWikiUrl());
+            assertEquals(i, fromBinary.ordinalOf(a.getId()));
+        }
+
+        TaskSearchIndex ja = fromJson.getSearchIndex();
+        TaskSearchIndex bi = fromBinary.getSearchIndex();
+        assertEquals(ja.termCount(), bi.termCount());
+        for (int k = 0; k < ja.termCount(); k++)
+        {
+            assertEquals(ja.termAt(k), bi.termAt(k));
+        }
+        for (int i = 0; i < ja.size(); i++)
+        {
+            assertArrayEquals(ja.tokensOf(i), bi.tokensOf(i));
+        }
+
+        for (String q : new String[]{"vork", "barrows bolt", "get 1 unique", "zzz"})
+        {
+            assertEquals(q, ja.match(Arrays.asList(q.split(" "))), bi.match(Arrays.asList(q.split(" "))));
+        }
+    }
+
+    @Test
+    public void binaryRecordsTheSourceHash() throws IOException
+    {
+        byte[] json = bundledJson();
+        ByteBuffer pack = ByteBuffer.wrap(TaskPackCompiler.compile(json));
+
+        assertTrue(Arrays.equals(TaskPackBinary.sha256(json), TaskPackBinary.sourceHash(pack)));
+
+        byte[] edited = Arrays.copyOf(json, json.length + 1);
+        edited[json.length] = '\n';
+        assertFalse(Arrays.equals(TaskPackBinary.sha256(edited), TaskPackBinary.sourceHash(pack)));
+
+        assertNull(TaskPackBinary.sourceHash(ByteBuffer.wrap("{}".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private byte[] bundledJson() throws IOException
+    {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(TaskPackBinary.JSON_RESOURCE))
+        {
+            return in.readAllBytes();
+        }
+    }
+}
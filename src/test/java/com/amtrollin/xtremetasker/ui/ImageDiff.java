@@ -0,0 +1,89 @@
+package com.amtrollin.xtremetasker.ui;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Per-pixel comparison of two rendered frames. Channels within {@code tolerance} of each other
+ * count as equal, which absorbs the 1-2 step rounding differences of compositing translucent fills
+ * through an offscreen layer.
+ */
+public final class ImageDiff
+{
+    private static final int MISMATCH = 0xFFFF00FF;
+
+    private final int differing;
+    private final int maxDelta;
+    private final BufferedImage image;
+
+    private ImageDiff(int differing, int maxDelta, BufferedImage image)
+    {
+        this.differing = differing;
+        this.maxDelta = maxDelta;
+        this.image = image;
+    }
+
+    public static ImageDiff compare(BufferedImage expected, BufferedImage actual, int tolerance)
+    {
+        int w = Math.max(expected.getWidth(), actual.getWidth());
+        int h = Math.max(expected.getHeight(), actual.getHeight());
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+
+        int differing = 0;
+        int maxDelta = 0;
+        for (int y = 0; y < h; y++)
+        {
+            for (int x = 0; x < w; x++)
+            {
+                if (x >= expected.getWidth() || y >= expected.getHeight() || x >= actual.getWidth() || y >= actual.getHeight())
+                {
+                    out.setRGB(x, y, MISMATCH);
+                    differing++;
+                    maxDelta = 255;
+                    continue;
+                }
+
+                int a = expected.getRGB(x, y);
+                int b = actual.getRGB(x, y);
+                int delta = 0;
+                for (int shift = 0; shift < 24; shift += 8)
+                {
+                    delta = Math.max(delta, Math.abs(((a >> shift) & 0xFF) - ((b >> shift) & 0xFF)));
+                }
+                maxDelta = Math.max(maxDelta, delta);
+
+                if (delta > tolerance)
+                {
+                    out.setRGB(x, y, MISMATCH);
+                    differing++;
+                }
+                else
+                {
+                    // Dimmed copy of the expected frame, so mismatches stand out in context
+                    out.setRGB(x, y, (a >> 2) & 0x3F3F3F);
+                }
+            }
+        }
+        return new ImageDiff(differing, maxDelta, out);
+    }
+
+    /**
+     * Pixels with any channel further apart than the tolerance.
+     */
+    public int differingPixels()
+    {
+        return differing;
+    }
+
+    public int maxChannelDelta()
+    {
+        return maxDelta;
+    }
+
+    /**
+     * The expected frame dimmed, with differing pixels in magenta.
+     */
+    public BufferedImage image()
+    {
+        return image;
+    }
+}
@@ -0,0 +1,180 @@
+package com.amtrollin.xtremetasker.ui;
+
+import com.amtrollin.xtremetasker.StubTaskerService;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.amtrollin.xtremetasker.taskpack.TaskPackBinary;
+import com.amtrollin.xtremetasker.taskpack.TaskPackJsonReader;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Pixel-diffs headless overlay frames so rendering changes (caching, layout tweaks) can't slip
+ * through unnoticed.
+ * <p>
+ * Golden images live next to this class under {@code golden/}, drawn with the harness's bundled
+ * fonts. A missing golden is a failure, not a skip; after an intended rendering change, run the tests
+ * with {@code -Dxtremetasker.golden.update=true} to rewrite them, then review and commit the PNGs.
+ * When a golden is missing or doesn't match, the actual frame (and a diff image, for a mismatch) is
+ * written to {@code build/golden/}.
+ * <p>
+ * The other tests don't need goldens: they compare the overlay against itself, so a retained layer
+ * or row cache that misses an invalidation shows up as a difference from a freshly built overlay.
+ */
+public class OverlayGoldenTest
+{
+    private static final String GOLDEN_SOURCE_DIR = "src/test/resources/com/amtrollin/xtremetasker/ui/golden";
+    private static final String OUTPUT_DIR = "build/golden";
+    private static final int TOLERANCE = 2;
+
+    private static TaskCatalog catalog;
+
+    @BeforeClass
+    public static void loadCatalog() throws IOException
+    {
+        try (InputStream in = OverlayGoldenTest.class.getClassLoader().getResourceAsStream(TaskPackBinary.JSON_RESOURCE))
+        {
+            catalog = TaskCatalog.of(TaskPackJsonReader.read(in));
+        }
+    }
+
+    @Test
+    public void currentTabMatchesGolden() throws IOException
+    {
+        assertMatchesGolden(OverlayHarness.View.CURRENT);
+    }
+
+    @Test
+    public void tasksTabMatchesGolden() throws IOException
+    {
+        assertMatchesGolden(OverlayHarness.View.TASKS);
+    }
+
+    @Test
+    public void rulesTabMatchesGolden() throws IOException
+    {
+        assertMatchesGolden(OverlayHarness.View.RULES);
+    }
+
+    @Test
+    public void detailsPopupMatchesGolden() throws IOException
+    {
+        assertMatchesGolden(OverlayHarness.View.DETAILS);
+    }
+
+    @Test
+    public void repeatedFramesAreIdentical()
+    {
+        for (OverlayHarness.View view : OverlayHarness.View.values())
+        {
+            OverlayHarness harness = new OverlayHarness(scene()).show(view);
+            BufferedImage first = OverlayHarness.copy(harness.render());
+            for (int i = 0; i < 4; i++)
+            {
+                harness.render();
+            }
+
+            assertEquals(view + " drifted between frames", 0, ImageDiff.compare(first, harness.render(), 0).differingPixels());
+        }
+    }
+
+    @Test
+    public void longLivedOverlayMatchesAFreshOneAfterStateChanges()
+    {
+        StubTaskerService service = scene();
+        OverlayHarness live = new OverlayHarness(service).show(OverlayHarness.View.TASKS);
+        live.render();
+
+        // Completion flips, a filter change and a tab round trip: each has to invalidate something cached
+        List<XtremeTask> easy = catalog.getTasksForTier(TaskTier.EASY);
+        service.setCompleted(easy.get(0), true);
+        live.render();
+        service.setCompleted(easy.get(3), false);
+        live.access().taskQuery().statusFilter = TaskListQuery.StatusFilter.INCOMPLETE;
+        live.access().resetTaskListViewAfterQueryChange();
+        live.render();
+        live.show(OverlayHarness.View.RULES).render();
+        live.show(OverlayHarness.View.TASKS);
+
+        BufferedImage actual = live.render();
+
+        OverlayHarness fresh = new OverlayHarness(service).show(OverlayHarness.View.TASKS);
+        fresh.access().taskQuery().statusFilter = TaskListQuery.StatusFilter.INCOMPLETE;
+        fresh.access().resetTaskListViewAfterQueryChange();
+        BufferedImage expected = fresh.render();
+
+        ImageDiff diff = ImageDiff.compare(expected, actual, TOLERANCE);
+        assertEquals("stale pixels (max delta " + diff.maxChannelDelta() + ")", 0, diff.differingPixels());
+    }
+
+    /**
+     * The fixed scene every golden is rendered from: the bundled pack, every third easy task done,
+     * and the second easy task current.
+     */
+    static StubTaskerService scene()
+    {
+        StubTaskerService service = new StubTaskerService(catalog);
+        List<XtremeTask> easy = catalog.getTasksForTier(TaskTier.EASY);
+        for (int i = 0; i < easy.size(); i += 3)
+        {
+            service.setCompleted(easy.get(i), true);
+        }
+        return service.setCurrentTask(easy.get(1));
+    }
+
+    private void assertMatchesGolden(OverlayHarness.View view) throws IOException
+    {
+        String name = view.name().toLowerCase(Locale.ROOT) + ".png";
+        BufferedImage actual = new OverlayHarness(scene()).show(view).render();
+
+        if (Boolean.getBoolean("xtremetasker.golden.update"))
+        {
+            write(actual, new File(GOLDEN_SOURCE_DIR, name));
+            return;
+        }
+
+        BufferedImage golden;
+        try (InputStream in = getClass().getResourceAsStream("golden/" + name))
+        {
+            golden = (in == null) ? null : ImageIO.read(in);
+        }
+
+        if (golden == null)
+        {
+            write(actual, new File(OUTPUT_DIR, "actual-" + name));
+            fail("No golden image golden/" + name + " for " + view + "; record with -Dxtremetasker.golden.update=true");
+        }
+
+        ImageDiff diff = ImageDiff.compare(golden, actual, TOLERANCE);
+        if (diff.differingPixels() > 0)
+        {
+            write(actual, new File(OUTPUT_DIR, "actual-" + name));
+            write(diff.image(), new File(OUTPUT_DIR, "diff-" + name));
+        }
+        assertEquals(view + " differs from golden/" + name + " (max delta " + diff.maxChannelDelta() + "), see " + OUTPUT_DIR,
+                0, diff.differingPixels());
+    }
+
+    private static void write(BufferedImage image, File file) throws IOException
+    {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs())
+        {
+            throw new IOException("Couldn't create " + dir);
+        }
+        ImageIO.write(image, "png", file);
+    }
+}
@@ -0,0 +1,274 @@
+package com.amtrollin.xtremetasker.ui;
+
+import com.amtrollin.xtremetasker.TaskerService;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.ui.input.OverlayInputAccess;
+import com.amtrollin.xtremetasker.ui.style.UiFonts;
+import net.runelite.api.Client;
+import net.runelite.api.Point;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * Renders {@link XtremeTaskerOverlay} headlessly: a stub {@link Client} (canvas size, mouse
+ * position, no widgets) and any {@link TaskerService}, drawing into a reusable {@link BufferedImage}.
+ * <p>
+ * Scenes are set up through the overlay's input bridge rather than synthesized clicks, so a golden
+ * image or frame benchmark doesn't depend on where the tabs happen to be laid out.
+ * <p>
+ * Text is drawn with the DejaVu Sans fonts bundled under {@code fonts/} instead of the client's,
+ * so frames come out the same whichever client build and platform fonts are around.
+ */
+public final class OverlayHarness
+{
+    public static final int CANVAS_WIDTH = 800;
+    public static final int CANVAS_HEIGHT = 640;
+
+    private static final Color CANVAS_BG = new Color(48, 42, 34);
+
+    // Boxed once: the stub client answers through a proxy, and a fresh Integer per call would show
+    // up in frame allocation counts
+    private static final Integer BOXED_WIDTH = CANVAS_WIDTH;
+    private static final Integer BOXED_HEIGHT = CANVAS_HEIGHT;
+
+    private static final Font SMALL_FONT = bundledFont("DejaVuSans.ttf", 11f);
+    private static final Font BOLD_FONT = bundledFont("DejaVuSans-Bold.ttf", 12f);
+
+    public static final UiFonts BUNDLED_FONTS = new UiFonts()
+    {
+        @Override
+        public Font small()
+        {
+            return SMALL_FONT;
+        }
+
+        @Override
+        public Font bold()
+        {
+            return BOLD_FONT;
+        }
+    };
+
+    public enum View
+    {
+        CURRENT,
+        TASKS,
+        RULES,
+        DETAILS
+    }
+
+    private final TaskerService service;
+    private final XtremeTaskerOverlay overlay;
+    private final OverlayInputAccess access;
+    private final BufferedImage frame = new BufferedImage(CANVAS_WIDTH, CANVAS_HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+    private Point mouse = new Point(-1, -1);
+    private long stubCallsWithArgs = 0;
+
+    public OverlayHarness(TaskerService service)
+    {
+        this.service = service;
+        this.overlay = new XtremeTaskerOverlay(stubClient(), service, BUNDLED_FONTS);
+        this.access = overlay.inputAccess();
+    }
+
+    /**
+     * Opens the panel on {@code view}. For {@link View#DETAILS} that's the Tasks tab with the details
+     * popup open on the first task of the active tier.
+     */
+    public OverlayHarness show(View view)
+    {
+        access.setPanelOpen(true);
+        access.closeTaskDetails();
+
+        switch (view)
+        {
+            case CURRENT:
+                access.setActiveTab(OverlayInputAccess.MainTab.CURRENT);
+                break;
+            case TASKS:
+                access.setActiveTab(OverlayInputAccess.MainTab.TASKS);
+                break;
+            case RULES:
+                access.setActiveTab(OverlayInputAccess.MainTab.RULES);
+                break;
+            case DETAILS:
+                access.setActiveTab(OverlayInputAccess.MainTab.TASKS);
+                TaskTier tier = access.activeTier();
+                List<XtremeTask> tasks = service.getCatalog().getTasksForTier(tier);
+                if (!tasks.isEmpty())
+                {
+                    access.openTaskDetails(tasks.get(0));
+                }
+                break;
+        }
+        return this;
+    }
+
+    public OverlayHarness moveMouse(int x, int y)
+    {
+        mouse = new Point(x, y);
+        return this;
+    }
+
+    public OverlayInputAccess access()
+    {
+        return access;
+    }
+
+    public XtremeTaskerOverlay overlay()
+    {
+        return overlay;
+    }
+
+    /**
+     * Calls the stub client has taken that had arguments. The proxy boxes those into a fresh
+     * {@code Object[]} per call, an allocation a real client doesn't make.
+     */
+    public long stubCallsWithArgs()
+    {
+        return stubCallsWithArgs;
+    }
+
+    /**
+     * Clears the canvas and draws one overlay frame.
+     *
+     * @return the harness's canvas, reused by the next call; copy it to keep a frame
+     */
+    public BufferedImage render()
+    {
+        Graphics2D g = frame.createGraphics();
+        try
+        {
+            g.setColor(CANVAS_BG);
+            g.fillRect(0, 0, CANVAS_WIDTH, CANVAS_HEIGHT);
+
+            // Pinned so output doesn't depend on the platform's default text rendering
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+            g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+            g.setFont(SMALL_FONT);
+
+            overlay.render(g);
+        }
+        finally
+        {
+            g.dispose();
+        }
+        return frame;
+    }
+
+    /**
+     * Draws one frame onto the caller's graphics, as the client's overlay renderer would.
+     */
+    public void render(Graphics2D g)
+    {
+        overlay.render(g);
+    }
+
+    public static BufferedImage copy(BufferedImage image)
+    {
+        BufferedImage out = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return out;
+    }
+
+    private static Font bundledFont(String name, float size)
+    {
+        try (InputStream in = OverlayHarness.class.getResourceAsStream("fonts/" + name))
+        {
+            if (in == null)
+            {
+                throw new IllegalStateException("Missing test font fonts/" + name);
+            }
+            return Font.createFont(Font.TRUETYPE_FONT, in).deriveFont(size);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        catch (FontFormatException e)
+        {
+            throw new IllegalStateException("Unreadable test font fonts/" + name, e);
+        }
+    }
+
+    private Client stubClient()
+    {
+        return (Client) Proxy.newProxyInstance(Client.class.getClassLoader(), new Class<?>[]{Client.class}, (proxy, method, args) ->
+        {
+            if (args != null)
+            {
+                stubCallsWithArgs++;
+            }
+            switch (method.getName())
+            {
+                case "getCanvasWidth":
+                    return BOXED_WIDTH;
+                case "getCanvasHeight":
+                    return BOXED_HEIGHT;
+                case "getMouseCanvasPosition":
+                    return mouse;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "StubClient";
+                default:
+                    // Widget lookups and everything else: absent, so the icon uses its fallback position
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private static Object defaultValue(Class<?> type)
+    {
+        if (!type.isPrimitive() || type == void.class)
+        {
+            return null;
+        }
+        if (type == boolean.class)
+        {
+            return false;
+        }
+        if (type == char.class)
+        {
+            return '\0';
+        }
+        if (type == long.class)
+        {
+            return 0L;
+        }
+        if (type == float.class)
+        {
+            return 0f;
+        }
+        if (type == double.class)
+        {
+            return 0d;
+        }
+        if (type == byte.class)
+        {
+            return (byte) 0;
+        }
+        if (type == short.class)
+        {
+            return (short) 0;
+        }
+        return 0;
+    }
+}
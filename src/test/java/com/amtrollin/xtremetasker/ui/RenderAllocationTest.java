@@ -0,0 +1,202 @@
+package com.amtrollin.xtremetasker.ui;
+
+import com.amtrollin.xtremetasker.StubTaskerService;
+import com.amtrollin.xtremetasker.enums.TaskSource;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import com.amtrollin.xtremetasker.tasklist.TaskListFilter;
+import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.amtrollin.xtremetasker.taskpack.TaskPackBinary;
+import com.amtrollin.xtremetasker.taskpack.TaskPackJsonReader;
+import com.amtrollin.xtremetasker.ui.anim.OverlayAnimations;
+import com.amtrollin.xtremetasker.ui.current.CurrentTabLayout;
+import com.amtrollin.xtremetasker.ui.current.CurrentTabRenderer;
+import com.amtrollin.xtremetasker.ui.current.CurrentTabViewRenderer;
+import com.amtrollin.xtremetasker.ui.current.models.CurrentTabState;
+import com.amtrollin.xtremetasker.ui.rules.RulesTabRenderer;
+import com.amtrollin.xtremetasker.ui.style.UiPalette;
+import com.amtrollin.xtremetasker.ui.tasklist.TaskListScrollController;
+import com.amtrollin.xtremetasker.ui.tasklist.TaskListViewController;
+import com.amtrollin.xtremetasker.ui.tasklist.TaskRowsRenderer;
+import com.amtrollin.xtremetasker.ui.tasklist.TaskSelectionModel;
+import com.amtrollin.xtremetasker.ui.tasks.TaskControlsRenderer;
+import com.amtrollin.xtremetasker.ui.tasks.TasksTabRenderer;
+import com.amtrollin.xtremetasker.ui.tasks.models.TaskControlsLayout;
+import com.amtrollin.xtremetasker.ui.tasks.models.TasksTabState;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.FontMetrics;
+import java.awt.Rectangle;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.amtrollin.xtremetasker.ui.style.UiConstants.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * An open, idle panel redraws the same frame over and over; once warmed up that frame shouldn't allocate.
+ * Measured with the per-thread allocated-bytes counter, drawing into {@link NullGraphics2D}: whole
+ * overlay frames through {@link OverlayHarness}, and each tab renderer on its own so a failure points
+ * at the part that allocates.
+ */
+public class RenderAllocationTest
+{
+    private static final UiPalette P = UiPalette.DEFAULT;
+    private static final int PANEL_W = 520;
+    private static final int PANEL_H = 560;
+    private static final int WARMUP_FRAMES = 20_000;
+    private static final int FRAMES = 2_000;
+    // The stub client's per-call argument array (an Object[1]) on a 64-bit JVM
+    private static final long STUB_ARGS_BYTES = 24;
+
+    private com.sun.management.ThreadMXBean threads;
+    private TaskCatalog catalog;
+    private StubTaskerService service;
+
+    private final NullGraphics2D g = new NullGraphics2D();
+    private final Rectangle panelBounds = new Rectangle(100, 50, PANEL_W, PANEL_H);
+
+    @Before
+    public void setUp() throws Exception
+    {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(TaskPackBinary.JSON_RESOURCE))
+        {
+            catalog = TaskCatalog.of(TaskPackJsonReader.read(in));
+        }
+
+        service = new StubTaskerService(catalog);
+        List<XtremeTask> easy = catalog.getTasksForTier(TaskTier.EASY);
+        for (int i = 0; i < easy.size(); i += 3)
+        {
+            service.setCompleted(easy.get(i), true);
+        }
+    }
+
+    @Test
+    public void idleOverlayFramesAllocateNothing()
+    {
+        service.setCurrentTask(catalog.getTasksForTier(TaskTier.EASY).get(1));
+        OverlayHarness harness = new OverlayHarness(service);
+
+        // Hover over a row so the hover path is part of the Tasks frame
+        harness.moveMouse(OverlayHarness.CANVAS_WIDTH / 2, OverlayHarness.CANVAS_HEIGHT / 2);
+        for (OverlayHarness.View view : OverlayHarness.View.values())
+        {
+            harness.show(view);
+
+            long calls = harness.stubCallsWithArgs();
+            long bytes = allocatedPerFrame(() -> harness.render(g));
+            // Widget lookups go through the stub's proxy, which allocates where a real client wouldn't.
+            // Escape analysis sometimes removes those arrays, hence the floor at 0
+            long stubBytes = (harness.stubCallsWithArgs() - calls) / (WARMUP_FRAMES + FRAMES) * STUB_ARGS_BYTES;
+            assertEquals(view + " frame", 0, Math.max(0, bytes - stubBytes));
+        }
+    }
+
+    @Test
+    public void idleTasksTabFrameAllocatesNothing()
+    {
+        TaskListFilter.CompletionLookup completed = service::isTaskCompleted;
+        OverlayAnimations animations = new OverlayAnimations(COMPLETE_ANIM_MS, ROLL_ANIM_MS);
+        TaskRowsRenderer.AnimProgressLookup animProgress = animations::completionProgress;
+        Function<TaskTier, List<XtremeTask>> sorted = catalog::getTasksForTier;
+        List<TaskTier> tierTabs = Arrays.asList(TaskTier.values());
+
+        TaskSelectionModel selection = new TaskSelectionModel();
+        selection.setSelectedIndex(2);
+        TaskListScrollController scroll = new TaskListScrollController(SCROLL_ROWS_PER_NOTCH);
+        TasksTabState state = new TasksTabState(
+                new TaskListQuery(),
+                new TaskControlsLayout(),
+                selection,
+                scroll,
+                new TaskListViewController(selection, scroll),
+                new EnumMap<>(TaskTier.class),
+                new Rectangle()
+        );
+
+        TasksTabRenderer renderer = new TasksTabRenderer(P, OverlayHarness.BUNDLED_FONTS);
+        TaskControlsRenderer controls = new TaskControlsRenderer(PANEL_W, PANEL_PADDING, ROW_HEIGHT, P.TAB_INACTIVE_BG, P.UI_EDGE_LIGHT, P.UI_EDGE_DARK, P.UI_GOLD, P.UI_TEXT, P.UI_TEXT_DIM, P.INPUT_BG, P.INPUT_FOCUS_OUTLINE, P.PILL_ON_BG, P.PILL_OFF_BG);
+        TaskRowsRenderer rows = new TaskRowsRenderer(PANEL_W, PANEL_PADDING, ROW_HEIGHT, LIST_ROW_SPACING, STATUS_PIP_SIZE, STATUS_PIP_PAD_LEFT + 4, TASK_TEXT_PAD_LEFT + 4, P.ROW_HOVER_BG, P.ROW_SELECTED_BG, P.ROW_SELECTED_OUTLINE, P.ROW_DONE_BG, P.ROW_LINE, P.STRIKE_COLOR, P.UI_TEXT, P.UI_TEXT_DIM, P.PIP_RING, P.PIP_DONE_FILL, P.PIP_DONE_RING, P.UI_GOLD, P.UI_EDGE_LIGHT, P.UI_EDGE_DARK);
+
+        FontMetrics fm = g.getFontMetrics();
+        int baseline = panelBounds.y + 40;
+
+        // Hover over a row so the hover path is part of the frame
+        Runnable frame = () -> renderer.render(g, fm, panelBounds.x, baseline, panelBounds, state, controls, rows,
+                service, animProgress, completed, tierTabs, TaskTier.EASY, sorted, panelBounds.x + 60, panelBounds.y + 260);
+
+        assertEquals(0, allocatedPerFrame(frame));
+    }
+
+    @Test
+    public void idleCurrentTabFrameAllocatesNothing()
+    {
+        XtremeTask current = catalog.getTasksForTier(TaskTier.EASY).get(1);
+        Function<TaskTier, String> progressLabel = service::getTierProgressLabel;
+        Function<TaskTier, List<XtremeTask>> forTier = catalog::getTasksForTier;
+        String line = "Current: " + current.getName();
+
+        CurrentTabRenderer base = new CurrentTabRenderer(PANEL_W, PANEL_PADDING, ROW_HEIGHT, P.UI_GOLD, P.UI_TEXT, P.UI_TEXT_DIM, P.TAB_ACTIVE_BG, P.UI_EDGE_LIGHT, P.UI_EDGE_DARK, "Wiki");
+        CurrentTabViewRenderer renderer = new CurrentTabViewRenderer(base, P);
+        CurrentTabState state = new CurrentTabState(new CurrentTabLayout());
+
+        FontMetrics fm = g.getFontMetrics();
+        int baseline = panelBounds.y + 40;
+
+        Runnable frame = () -> renderer.render(g, fm, panelBounds.x, baseline, panelBounds, state, true,
+                current, false, false, progressLabel, line, forTier, TaskTier.EASY, TaskSource.COMBAT_ACHIEVEMENT);
+
+        assertEquals(0, allocatedPerFrame(frame));
+    }
+
+    @Test
+    public void idleRulesTabFrameAllocatesNothing()
+    {
+        RulesTabRenderer renderer = new RulesTabRenderer(PANEL_W, PANEL_PADDING, ROW_HEIGHT, LIST_ROW_SPACING, P.UI_GOLD, P.UI_TEXT_DIM, OverlayHarness.BUNDLED_FONTS);
+
+        FontMetrics fm = g.getFontMetrics();
+        int baseline = panelBounds.y + 40;
+
+        Runnable frame = () -> renderer.render(g, fm, panelBounds.x, baseline, panelBounds, 3);
+
+        assertEquals(0, allocatedPerFrame(frame));
+    }
+
+    private long allocatedPerFrame(Runnable frame)
+    {
+        long tid = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_FRAMES; i++)
+        {
+            frame.run();
+        }
+
+        // What reading the counter itself costs, so it isn't charged to the frames
+        long b0 = threads.getThreadAllocatedBytes(tid);
+        long b1 = threads.getThreadAllocatedBytes(tid);
+        long overhead = b1 - b0;
+
+        long before = threads.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < FRAMES; i++)
+        {
+            frame.run();
+        }
+        long after = threads.getThreadAllocatedBytes(tid);
+
+        return Math.max(0, after - before - overhead) / FRAMES;
+    }
+}
@@ -0,0 +1,75 @@
+package com.amtrollin.xtremetasker.ui.tasklist;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ListHitTesterTest
+{
+    @Test
+    public void mapsPointsToRowsByDivision()
+    {
+        ListHitTester rows = new ListHitTester();
+        // 5 visible rows of 18px from y=98 (2px above the viewport), scrolled to row 10 of 40
+        rows.update(10, 100, 200, 90, 98, 18, 10, 5, 40);
+
+        assertEquals(0, rows.slotAt(10, 100));
+        assertEquals(0, rows.slotAt(209, 115));
+        assertEquals(1, rows.slotAt(50, 116));
+        assertEquals(4, rows.slotAt(50, 187));
+        assertEquals(14, rows.indexAt(50, 187));
+        assertEquals(98 + 3 * 18, rows.rowTop(3));
+        assertEquals(15, rows.visibleEnd());
+
+        // Outside the viewport
+        assertEquals(-1, rows.slotAt(9, 120));
+        assertEquals(-1, rows.slotAt(210, 120));
+        assertEquals(-1, rows.slotAt(50, 99));
+        assertEquals(-1, rows.indexAt(50, 190));
+
+        // Inside the viewport but past the last visible row
+        assertEquals(-1, rows.slotAt(50, 188));
+    }
+
+    @Test
+    public void rowsPastTheEndOfAShortListMiss()
+    {
+        ListHitTester rows = new ListHitTester();
+        rows.update(0, 0, 100, 100, 0, 20, 0, 2, 2);
+
+        assertEquals(1, rows.slotAt(5, 39));
+        assertEquals(-1, rows.slotAt(5, 40));
+    }
+
+    @Test
+    public void clearedTesterHitsNothing()
+    {
+        ListHitTester rows = new ListHitTester();
+        rows.update(0, 0, 100, 100, 0, 20, 0, 5, 5);
+        assertTrue(rows.contains(5, 5));
+
+        rows.clear();
+        assertFalse(rows.contains(0, 0));
+        assertEquals(-1, rows.slotAt(0, 0));
+    }
+
+    @Test
+    public void checkboxIsOneRangeCheckPerRow()
+    {
+        TaskRowsLayout layout = new TaskRowsLayout();
+        layout.reset(3);
+        layout.rows.update(0, 0, 200, 60, 0, 18, 0, 3, 3);
+        layout.checkboxX = 4;
+        layout.checkboxOffsetY = 1;
+        layout.checkboxSize = 18;
+
+        int slot = layout.rowAt(10, 18 * 2 + 5);
+        assertEquals(2, slot);
+        assertTrue(layout.checkboxContains(slot, 4, 18 * 2 + 1));
+        assertTrue(layout.checkboxContains(slot, 21, 18 * 2 + 18));
+        assertFalse(layout.checkboxContains(slot, 22, 18 * 2 + 5));
+        assertFalse(layout.checkboxContains(slot, 10, 18 * 2));
+    }
+}
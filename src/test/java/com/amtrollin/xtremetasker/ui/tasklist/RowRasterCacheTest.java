@@ -0,0 +1,112 @@
+package com.amtrollin.xtremetasker.ui.tasklist;
+
+import com.amtrollin.xtremetasker.enums.TaskSource;
+import com.amtrollin.xtremetasker.enums.TaskTier;
+import com.amtrollin.xtremetasker.models.XtremeTask;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class RowRasterCacheTest
+{
+    @Test
+    public void keysSeparateEveryRowState()
+    {
+        long base = RowRasterCache.key(7, false, false, false, 300);
+        assertNotEquals(base, RowRasterCache.key(7, true, false, false, 300));
+        assertNotEquals(base, RowRasterCache.key(7, false, true, false, 300));
+        assertNotEquals(base, RowRasterCache.key(7, false, false, true, 300));
+        assertNotEquals(base, RowRasterCache.key(7, false, false, false, 301));
+        assertNotEquals(base, RowRasterCache.key(8, false, false, false, 300));
+    }
+
+    @Test
+    public void evictsTheLeastRecentlyUsedRowAndReusesItsImage()
+    {
+        RowRasterCache cache = new RowRasterCache(2);
+        XtremeTask a = task(0);
+        XtremeTask b = task(1);
+        XtremeTask c = task(2);
+
+        BufferedImage imgA = cache.put(key(a), a, 100, 18);
+        cache.put(key(b), b, 100, 18);
+        assertNotNull(cache.get(key(a), a));
+
+        // b is now the oldest
+        BufferedImage imgC = cache.put(key(c), c, 100, 18);
+        assertNull(cache.get(key(b), b));
+        assertSame(imgA, cache.get(key(a), a));
+        assertNotNull(cache.get(key(c), c));
+        assertEquals(2, cache.size());
+        assertNotNull(imgC);
+    }
+
+    @Test
+    public void reloadedTaskWithTheSameOrdinalMisses()
+    {
+        RowRasterCache cache = new RowRasterCache(4);
+        XtremeTask before = task(3);
+        XtremeTask after = task(3);
+
+        cache.put(key(before), before, 100, 18);
+        assertNull(cache.get(key(after), after));
+
+        cache.put(key(after), after, 100, 18);
+        assertNotNull(cache.get(key(after), after));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void evictDropsEveryStateOfOneTask()
+    {
+        RowRasterCache cache = new RowRasterCache(8);
+        XtremeTask a = task(4);
+        XtremeTask b = task(5);
+
+        long doneA = RowRasterCache.key(4, true, false, false, 100);
+        long selectedA = RowRasterCache.key(4, false, true, false, 100);
+        cache.put(doneA, a, 100, 18);
+        cache.put(selectedA, a, 100, 18);
+        cache.put(key(b), b, 100, 18);
+
+        cache.evict(4);
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get(doneA, a));
+        assertNull(cache.get(selectedA, a));
+        assertNotNull(cache.get(key(b), b));
+    }
+
+    @Test
+    public void countsHitsAndMisses()
+    {
+        RowRasterCache cache = new RowRasterCache(4);
+        XtremeTask a = task(0);
+
+        assertNull(cache.get(key(a), a));
+        cache.put(key(a), a, 100, 18);
+        cache.get(key(a), a);
+        cache.get(key(a), a);
+        cache.get(key(a), a);
+
+        assertEquals(3, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(0.75, cache.hitRate(), 1e-9);
+    }
+
+    private static long key(XtremeTask t)
+    {
+        return RowRasterCache.key(t.getOrdinal(), false, false, false, 100);
+    }
+
+    private static XtremeTask task(int ordinal)
+    {
+        return new XtremeTask(ordinal, "t" + ordinal, "Task " + ordinal, TaskSource.COMBAT_ACHIEVEMENT, TaskTier.EASY, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.amtrollin.xtremetasker.ui.tasks;
+
+import com.amtrollin.xtremetasker.StubTaskerService;
+import com.amtrollin.xtremetasker.tasklist.models.TaskListQuery;
+import com.amtrollin.xtremetasker.taskpack.TaskCatalog;
+import com.amtrollin.xtremetasker.taskpack.TaskPackBinary;
+import com.amtrollin.xtremetasker.taskpack.TaskPackJsonReader;
+import com.amtrollin.xtremetasker.ui.OverlayHarness;
+import com.amtrollin.xtremetasker.ui.tasks.models.TaskControlsLayout;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * The sort pills grey out when their filter rule disallows them. Both pills share one enabled /
+ * disabled look, so with neither sort switched on their backgrounds must match whenever the
+ * completion and tier rules agree, and differ when they don't.
+ */
+public class TaskControlsRendererTest
+{
+    private static TaskCatalog catalog;
+
+    @BeforeClass
+    public static void loadCatalog() throws IOException
+    {
+        try (InputStream in = TaskControlsRendererTest.class.getClassLoader().getResourceAsStream(TaskPackBinary.JSON_RESOURCE))
+        {
+            catalog = TaskCatalog.of(TaskPackJsonReader.read(in));
+        }
+    }
+
+    @Test
+    public void bothSortPillsEnabledUnderAllStatusesAndAllTiers()
+    {
+        int[] bg = pillBackgrounds(TaskListQuery.StatusFilter.ALL, TaskListQuery.TierScope.ALL_TIERS);
+        assertEquals("completion sort pill should look enabled", Integer.toHexString(bg[1]), Integer.toHexString(bg[0]));
+    }
+
+    @Test
+    public void bothSortPillsDisabledUnderAStatusFilterAndOneTier()
+    {
+        int[] bg = pillBackgrounds(TaskListQuery.StatusFilter.INCOMPLETE, TaskListQuery.TierScope.THIS_TIER);
+        assertEquals("completion sort pill should look disabled", Integer.toHexString(bg[1]), Integer.toHexString(bg[0]));
+    }
+
+    @Test
+    public void completionSortPillFollowsTheStatusFilterOnly()
+    {
+        int[] bg = pillBackgrounds(TaskListQuery.StatusFilter.ALL, TaskListQuery.TierScope.THIS_TIER);
+        assertNotEquals(Integer.toHexString(bg[1]), Integer.toHexString(bg[0]));
+    }
+
+    /**
+     * @return background pixel of the completion sort pill, then of the tier sort pill
+     */
+    private static int[] pillBackgrounds(TaskListQuery.StatusFilter status, TaskListQuery.TierScope scope)
+    {
+        OverlayHarness harness = new OverlayHarness(new StubTaskerService(catalog)).show(OverlayHarness.View.TASKS);
+        TaskListQuery query = harness.access().taskQuery();
+        query.statusFilter = status;
+        query.tierScope = scope;
+        query.sortByCompletion = false;
+        query.sortByTier = false;
+        harness.access().resetTaskListViewAfterQueryChange();
+
+        BufferedImage frame = harness.render();
+        TaskControlsLayout layout = harness.access().controlsLayout();
+        return new int[]{background(frame, layout.sortCompletion), background(frame, layout.sortTier)};
+    }
+
+    // Just inside the bevel, left of any centered label
+    private static int background(BufferedImage frame, Rectangle pill)
+    {
+        return frame.getRGB(pill.x + 3, pill.y + pill.height / 2);
+    }
+}
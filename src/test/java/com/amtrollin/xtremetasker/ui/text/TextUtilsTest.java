@@ -0,0 +1,157 @@
+package com.amtrollin.xtremetasker.ui.text;
+
+import org.junit.Test;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TextUtilsTest
+{
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 .,:;'()[]-/%\u00e9\u00fc\u4e2d";
+
+    @Test
+    public void truncationMatchesCharByCharMeasurement()
+    {
+        Random random = new Random(7);
+        for (FontMetrics fm : metrics())
+        {
+            for (int i = 0; i < 500; i++)
+            {
+                String text = randomText(random, 1 + random.nextInt(60));
+                int maxWidth = random.nextInt(fm.stringWidth(text) + 20);
+
+                assertEquals(text + " @" + maxWidth, referenceTruncate(text, fm, maxWidth), TextUtils.truncateToWidth(text, fm, maxWidth));
+            }
+        }
+    }
+
+    @Test
+    public void wrappingMatchesCandidateLineMeasurement()
+    {
+        Random random = new Random(11);
+        for (FontMetrics fm : metrics())
+        {
+            for (int i = 0; i < 200; i++)
+            {
+                String text = randomText(random, 20 + random.nextInt(300)).replace('/', '\n');
+                int maxWidth = 40 + random.nextInt(300);
+
+                assertEquals(referenceWrap(text, fm, maxWidth), TextUtils.wrapText(text, fm, maxWidth));
+            }
+        }
+    }
+
+    @Test
+    public void repeatedCallsReuseTheCachedResult()
+    {
+        FontMetrics fm = metrics().get(0);
+        String text = "Defeat the Corrupted Gauntlet without taking damage";
+
+        String first = TextUtils.truncateToWidth(text, fm, 60);
+        assertSame(first, TextUtils.truncateToWidth(text, fm, 60));
+        assertSame(TextUtils.wrapText(text, fm, 80), TextUtils.wrapText(text, fm, 80));
+    }
+
+    private static List<FontMetrics> metrics()
+    {
+        BufferedImage img = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D plain = img.createGraphics();
+        Graphics2D fractional = img.createGraphics();
+        fractional.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+
+        List<FontMetrics> out = new ArrayList<>();
+        out.add(plain.getFontMetrics(new Font(Font.MONOSPACED, Font.PLAIN, 12)));
+        out.add(plain.getFontMetrics(new Font(Font.SANS_SERIF, Font.BOLD, 16)));
+        out.add(fractional.getFontMetrics(new Font(Font.SERIF, Font.PLAIN, 13)));
+        return out;
+    }
+
+    private static String randomText(Random random, int length)
+    {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++)
+        {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+
+    // The previous implementations, kept here as the reference behaviour
+
+    private static String referenceTruncate(String text, FontMetrics fm, int maxWidth)
+    {
+        if (fm.stringWidth(text) <= maxWidth)
+        {
+            return text;
+        }
+
+        int ellipsisWidth = fm.stringWidth("...");
+        StringBuilder sb = new StringBuilder();
+        for (char c : text.toCharArray())
+        {
+            if (fm.stringWidth(sb.toString() + c) + ellipsisWidth > maxWidth)
+            {
+                break;
+            }
+            sb.append(c);
+        }
+        sb.append("...");
+        return sb.toString();
+    }
+
+    private static List<String> referenceWrap(String text, FontMetrics fm, int maxWidth)
+    {
+        List<String> lines = new ArrayList<>();
+        String cleaned = text.trim().replace("\r", "");
+        if (cleaned.isEmpty())
+        {
+            return lines;
+        }
+
+        for (String paragraph : cleaned.split("\n"))
+        {
+            String p = paragraph.trim();
+            if (p.isEmpty())
+            {
+                lines.add("");
+                continue;
+            }
+
+            StringBuilder line = new StringBuilder();
+            for (String w : p.split("\\s+"))
+            {
+                String candidate = (line.length() == 0) ? w : (line + " " + w);
+                if (fm.stringWidth(candidate) <= maxWidth)
+                {
+                    line.setLength(0);
+                    line.append(candidate);
+                }
+                else if (line.length() > 0)
+                {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                    line.append(w);
+                }
+                else
+                {
+                    lines.add(referenceTruncate(w, fm, maxWidth));
+                }
+            }
+
+            if (line.length() > 0)
+            {
+                lines.add(line.toString());
+            }
+        }
+        return lines;
+    }
+}
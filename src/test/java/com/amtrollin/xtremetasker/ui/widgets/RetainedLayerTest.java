@@ -0,0 +1,88 @@
+package com.amtrollin.xtremetasker.ui.widgets;
+
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RetainedLayerTest
+{
+    private static final Color TRANSLUCENT = new Color(40, 90, 160, 120);
+
+    @Test
+    public void repaintsOnlyWhenStaleSizeOrStampChanges()
+    {
+        RetainedLayer layer = new RetainedLayer();
+        int[] paints = {0};
+        RetainedLayer.Painter painter = g -> paints[0]++;
+
+        Graphics2D g = frame().createGraphics();
+        layer.draw(g, 10, 10, 50, 20, 1, painter);
+        layer.draw(g, 30, 40, 50, 20, 1, painter);
+        assertEquals("moving the layer only moves the blit", 1, paints[0]);
+
+        layer.draw(g, 30, 40, 50, 20, 2, painter);
+        assertEquals(2, paints[0]);
+
+        layer.draw(g, 30, 40, 60, 20, 2, painter);
+        assertEquals(3, paints[0]);
+
+        layer.invalidate();
+        layer.draw(g, 30, 40, 60, 20, 2, painter);
+        layer.draw(g, 30, 40, 60, 20, 2, painter);
+        assertEquals(4, paints[0]);
+        assertEquals(4, layer.repaintCount());
+    }
+
+    @Test
+    public void blitMatchesDrawingStraightOntoTheFrame()
+    {
+        RetainedLayer.Painter painter = g ->
+        {
+            g.setColor(TRANSLUCENT);
+            g.fillRect(20, 15, 40, 25);
+            g.setColor(Color.ORANGE);
+            g.drawRect(20, 15, 40, 25);
+            g.drawString("Tab", 24, 32);
+        };
+
+        BufferedImage direct = frame();
+        Graphics2D dg = direct.createGraphics();
+        dg.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        painter.paint(dg);
+
+        BufferedImage cached = frame();
+        Graphics2D cg = cached.createGraphics();
+        cg.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        new RetainedLayer().draw(cg, 20, 15, 41, 26, 0, painter);
+
+        for (int y = 0; y < direct.getHeight(); y++)
+        {
+            for (int x = 0; x < direct.getWidth(); x++)
+            {
+                int a = direct.getRGB(x, y);
+                int b = cached.getRGB(x, y);
+                for (int shift = 0; shift < 24; shift += 8)
+                {
+                    int diff = Math.abs(((a >> shift) & 0xFF) - ((b >> shift) & 0xFF));
+                    assertTrue("pixel " + x + "," + y, diff <= 1);
+                }
+            }
+        }
+    }
+
+    private static BufferedImage frame()
+    {
+        BufferedImage img = new BufferedImage(100, 60, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(new Color(30, 28, 24));
+        g.fillRect(0, 0, 100, 60);
+        g.dispose();
+        return img;
+    }
+}